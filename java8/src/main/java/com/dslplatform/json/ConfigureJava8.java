@@ -29,10 +29,28 @@ public class ConfigureJava8 implements Configuration {
 	public void configure(DslJson json) {
 		json.registerReader(LocalDate.class, JavaTimeConverter.LOCAL_DATE_READER);
 		json.registerWriter(LocalDate.class, JavaTimeConverter.LOCAL_DATE_WRITER);
-		json.registerReader(LocalDateTime.class, JavaTimeConverter.LocalDateTimeReader);
-		json.registerWriter(LocalDateTime.class, JavaTimeConverter.LocalDateTimeWriter);
-		json.registerReader(OffsetDateTime.class, JavaTimeConverter.DATE_TIME_READER);
-		json.registerWriter(OffsetDateTime.class, JavaTimeConverter.DATE_TIME_WRITER);
+		if (json.timestampFormat == DslJson.TimestampFormat.EPOCH_MILLIS) {
+			json.registerReader(LocalDateTime.class, JavaTimeEpochConverter.LOCAL_DATE_TIME_MILLIS_READER);
+			json.registerWriter(LocalDateTime.class, JavaTimeEpochConverter.LOCAL_DATE_TIME_MILLIS_WRITER);
+			json.registerReader(OffsetDateTime.class, JavaTimeEpochConverter.DATE_TIME_MILLIS_READER);
+			json.registerWriter(OffsetDateTime.class, JavaTimeEpochConverter.DATE_TIME_MILLIS_WRITER);
+			json.registerReader(Instant.class, JavaTimeEpochConverter.INSTANT_MILLIS_READER);
+			json.registerWriter(Instant.class, JavaTimeEpochConverter.INSTANT_MILLIS_WRITER);
+		} else if (json.timestampFormat == DslJson.TimestampFormat.EPOCH_NANOS) {
+			json.registerReader(LocalDateTime.class, JavaTimeEpochConverter.LOCAL_DATE_TIME_NANOS_READER);
+			json.registerWriter(LocalDateTime.class, JavaTimeEpochConverter.LOCAL_DATE_TIME_NANOS_WRITER);
+			json.registerReader(OffsetDateTime.class, JavaTimeEpochConverter.DATE_TIME_NANOS_READER);
+			json.registerWriter(OffsetDateTime.class, JavaTimeEpochConverter.DATE_TIME_NANOS_WRITER);
+			json.registerReader(Instant.class, JavaTimeEpochConverter.INSTANT_NANOS_READER);
+			json.registerWriter(Instant.class, JavaTimeEpochConverter.INSTANT_NANOS_WRITER);
+		} else {
+			json.registerReader(LocalDateTime.class, JavaTimeConverter.LocalDateTimeReader);
+			json.registerWriter(LocalDateTime.class, JavaTimeConverter.LocalDateTimeWriter);
+			json.registerReader(OffsetDateTime.class, JavaTimeConverter.DATE_TIME_READER);
+			json.registerWriter(OffsetDateTime.class, JavaTimeConverter.DATE_TIME_WRITER);
+			json.registerReader(Instant.class, JavaTimeConverter.InstantReader);
+			json.registerWriter(Instant.class, JavaTimeConverter.InstantWriter);
+		}
 		json.registerReader(ZonedDateTime.class, JavaTimeConverter.ZonedDateTimeReader);
 		json.registerWriter(ZonedDateTime.class, JavaTimeConverter.ZonedDateTimeWriter);
 		json.registerReader(java.sql.Date.class, rdr -> rdr.wasNull() ? null : java.sql.Date.valueOf(JavaTimeConverter.deserializeLocalDate(rdr)));
@@ -16,6 +16,11 @@ public abstract class JavaTimeConverter {
 	public static final JsonWriter.WriteObject<OffsetDateTime> DATE_TIME_WRITER = (writer, value) -> serializeNullable(value, writer);
 	static final JsonReader.ReadObject<LocalDateTime> LocalDateTimeReader = rdr -> rdr.wasNull() ? null : JavaTimeConverter.deserializeLocalDateTime(rdr);
 	static final JsonWriter.WriteObject<LocalDateTime> LocalDateTimeWriter = (writer, value) -> serializeNullable(value, writer);
+	static final JsonReader.ReadObject<Instant> InstantReader = rdr -> rdr.wasNull() ? null : JavaTimeConverter.deserializeDateTime(rdr).toInstant();
+	static final JsonWriter.WriteObject<Instant> InstantWriter = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serialize(OffsetDateTime.ofInstant(value, ZoneOffset.UTC), writer);
+	};
 	static final JsonReader.ReadObject<ZonedDateTime> ZonedDateTimeReader = rdr -> rdr.wasNull() ? null : JavaTimeConverter.deserializeDateTime(rdr).toZonedDateTime();
 	static final JsonWriter.WriteObject<ZonedDateTime> ZonedDateTimeWriter = (writer, value) -> {
 		if (value == null) writer.writeNull();
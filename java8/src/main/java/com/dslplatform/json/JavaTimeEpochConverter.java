@@ -0,0 +1,151 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.time.*;
+
+/**
+ * Numeric representation of java.time timestamps.
+ * Values are encoded as number of milliseconds or nanoseconds since 1970-01-01T00:00:00Z.
+ * LocalDateTime is converted as if it was in UTC and OffsetDateTime is always decoded with UTC offset.
+ * <p>
+ * When decoding, ISO-8601 strings are still accepted.
+ * <p>
+ * Nested classes can be used as property converter via {@literal @}JsonAttribute(converter = ...)
+ */
+public abstract class JavaTimeEpochConverter {
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	public static final JsonReader.ReadObject<OffsetDateTime> DATE_TIME_MILLIS_READER = rdr -> rdr.wasNull() ? null : deserializeDateTimeMillis(rdr);
+	public static final JsonWriter.WriteObject<OffsetDateTime> DATE_TIME_MILLIS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeMillis(value, writer);
+	};
+	public static final JsonReader.ReadObject<OffsetDateTime> DATE_TIME_NANOS_READER = rdr -> rdr.wasNull() ? null : deserializeDateTimeNanos(rdr);
+	public static final JsonWriter.WriteObject<OffsetDateTime> DATE_TIME_NANOS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeNanos(value, writer);
+	};
+	public static final JsonReader.ReadObject<LocalDateTime> LOCAL_DATE_TIME_MILLIS_READER = rdr -> rdr.wasNull() ? null : deserializeLocalDateTimeMillis(rdr);
+	public static final JsonWriter.WriteObject<LocalDateTime> LOCAL_DATE_TIME_MILLIS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeMillis(value, writer);
+	};
+	public static final JsonReader.ReadObject<LocalDateTime> LOCAL_DATE_TIME_NANOS_READER = rdr -> rdr.wasNull() ? null : deserializeLocalDateTimeNanos(rdr);
+	public static final JsonWriter.WriteObject<LocalDateTime> LOCAL_DATE_TIME_NANOS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeNanos(value, writer);
+	};
+	public static final JsonReader.ReadObject<Instant> INSTANT_MILLIS_READER = rdr -> rdr.wasNull() ? null : deserializeInstantMillis(rdr);
+	public static final JsonWriter.WriteObject<Instant> INSTANT_MILLIS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeMillis(value, writer);
+	};
+	public static final JsonReader.ReadObject<Instant> INSTANT_NANOS_READER = rdr -> rdr.wasNull() ? null : deserializeInstantNanos(rdr);
+	public static final JsonWriter.WriteObject<Instant> INSTANT_NANOS_WRITER = (writer, value) -> {
+		if (value == null) writer.writeNull();
+		else serializeNanos(value, writer);
+	};
+
+	public static class OffsetDateTimeMillis {
+		public static final JsonReader.ReadObject<OffsetDateTime> JSON_READER = DATE_TIME_MILLIS_READER;
+		public static final JsonWriter.WriteObject<OffsetDateTime> JSON_WRITER = DATE_TIME_MILLIS_WRITER;
+	}
+
+	public static class OffsetDateTimeNanos {
+		public static final JsonReader.ReadObject<OffsetDateTime> JSON_READER = DATE_TIME_NANOS_READER;
+		public static final JsonWriter.WriteObject<OffsetDateTime> JSON_WRITER = DATE_TIME_NANOS_WRITER;
+	}
+
+	public static class LocalDateTimeMillis {
+		public static final JsonReader.ReadObject<LocalDateTime> JSON_READER = LOCAL_DATE_TIME_MILLIS_READER;
+		public static final JsonWriter.WriteObject<LocalDateTime> JSON_WRITER = LOCAL_DATE_TIME_MILLIS_WRITER;
+	}
+
+	public static class LocalDateTimeNanos {
+		public static final JsonReader.ReadObject<LocalDateTime> JSON_READER = LOCAL_DATE_TIME_NANOS_READER;
+		public static final JsonWriter.WriteObject<LocalDateTime> JSON_WRITER = LOCAL_DATE_TIME_NANOS_WRITER;
+	}
+
+	public static class InstantMillis {
+		public static final JsonReader.ReadObject<Instant> JSON_READER = INSTANT_MILLIS_READER;
+		public static final JsonWriter.WriteObject<Instant> JSON_WRITER = INSTANT_MILLIS_WRITER;
+	}
+
+	public static class InstantNanos {
+		public static final JsonReader.ReadObject<Instant> JSON_READER = INSTANT_NANOS_READER;
+		public static final JsonWriter.WriteObject<Instant> JSON_WRITER = INSTANT_NANOS_WRITER;
+	}
+
+	private static long toMillis(final long seconds, final int nanos) {
+		try {
+			return Math.addExact(Math.multiplyExact(seconds, 1000L), nanos / 1000000);
+		} catch (ArithmeticException ex) {
+			throw new SerializationException("Timestamp is out of range for epoch milliseconds.");
+		}
+	}
+
+	private static long toNanos(final long seconds, final int nanos) {
+		try {
+			return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), nanos);
+		} catch (ArithmeticException ex) {
+			throw new SerializationException("Timestamp is out of range for epoch nanoseconds.");
+		}
+	}
+
+	public static void serializeMillis(final OffsetDateTime value, final JsonWriter sw) {
+		NumberConverter.serialize(toMillis(value.toEpochSecond(), value.getNano()), sw);
+	}
+
+	public static void serializeNanos(final OffsetDateTime value, final JsonWriter sw) {
+		NumberConverter.serialize(toNanos(value.toEpochSecond(), value.getNano()), sw);
+	}
+
+	public static void serializeMillis(final LocalDateTime value, final JsonWriter sw) {
+		NumberConverter.serialize(toMillis(value.toEpochSecond(ZoneOffset.UTC), value.getNano()), sw);
+	}
+
+	public static void serializeNanos(final LocalDateTime value, final JsonWriter sw) {
+		NumberConverter.serialize(toNanos(value.toEpochSecond(ZoneOffset.UTC), value.getNano()), sw);
+	}
+
+	public static void serializeMillis(final Instant value, final JsonWriter sw) {
+		NumberConverter.serialize(toMillis(value.getEpochSecond(), value.getNano()), sw);
+	}
+
+	public static void serializeNanos(final Instant value, final JsonWriter sw) {
+		NumberConverter.serialize(toNanos(value.getEpochSecond(), value.getNano()), sw);
+	}
+
+	public static OffsetDateTime deserializeDateTimeMillis(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeDateTime(reader);
+		return OffsetDateTime.ofInstant(Instant.ofEpochMilli(NumberConverter.deserializeLong(reader)), ZoneOffset.UTC);
+	}
+
+	public static OffsetDateTime deserializeDateTimeNanos(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeDateTime(reader);
+		return OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, NumberConverter.deserializeLong(reader)), ZoneOffset.UTC);
+	}
+
+	public static LocalDateTime deserializeLocalDateTimeMillis(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeLocalDateTime(reader);
+		final long millis = NumberConverter.deserializeLong(reader);
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1000000, ZoneOffset.UTC);
+	}
+
+	public static LocalDateTime deserializeLocalDateTimeNanos(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeLocalDateTime(reader);
+		final long nanos = NumberConverter.deserializeLong(reader);
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+	}
+
+	public static Instant deserializeInstantMillis(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeDateTime(reader).toInstant();
+		return Instant.ofEpochMilli(NumberConverter.deserializeLong(reader));
+	}
+
+	public static Instant deserializeInstantNanos(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JavaTimeConverter.deserializeDateTime(reader).toInstant();
+		return Instant.ofEpochSecond(0, NumberConverter.deserializeLong(reader));
+	}
+}
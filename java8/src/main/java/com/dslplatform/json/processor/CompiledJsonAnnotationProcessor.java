@@ -7,8 +7,14 @@ import com.dslplatform.json.runtime.Settings;
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
 import javax.tools.StandardLocation;
 import java.io.*;
@@ -19,7 +25,7 @@ import static com.dslplatform.json.processor.Context.nonGenericObject;
 import static com.dslplatform.json.processor.Context.typeOrClass;
 
 @SupportedAnnotationTypes({"com.dslplatform.json.CompiledJson", "com.dslplatform.json.JsonAttribute", "com.dslplatform.json.JsonConverter", "com.fasterxml.jackson.annotation.JsonCreator", "javax.json.bind.annotation.JsonbCreator"})
-@SupportedOptions({"dsljson.loglevel", "dsljson.annotation", "dsljson.unknown", "dsljson.inline", "dsljson.jackson", "dsljson.jsonb"})
+@SupportedOptions({"dsljson.loglevel", "dsljson.annotation", "dsljson.unknown", "dsljson.inline", "dsljson.lazy", "dsljson.configuration", "dsljson.jackson", "dsljson.jsonb"})
 public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 
 	private static final Set<String> JsonIgnore;
@@ -32,6 +38,8 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 	private static final Map<String, String> Defaults;
 
 	private static final String CONFIG = "META-INF/services/com.dslplatform.json.Configuration";
+	private static final String NATIVE_IMAGE = "META-INF/native-image/com.dslplatform.json/";
+	private static final String DEFAULT_CONFIGURATION = "dsl_json_Annotation_Processor_External_Serialization";
 
 	static {
 		JsonIgnore = new HashSet<>();
@@ -64,25 +72,26 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 		Indexes = new HashMap<>();
 		Indexes.put("com.fasterxml.jackson.annotation.JsonProperty", "index()");
 		InlinedConverters = new HashMap<>();
-		InlinedConverters.put("int", new OptimizedConverter("com.dslplatform.json.NumberConverter", "INT_WRITER", "serialize", "INT_READER", "deserializeInt", "0"));
+		InlinedConverters.put("int", new OptimizedConverter("com.dslplatform.json.NumberConverter", "INT_WRITER", "serialize", "INT_READER", "deserializeInt", "0", "serializeUnchecked", 11));
 		InlinedConverters.put("int[]", new OptimizedConverter("com.dslplatform.json.NumberConverter", "INT_ARRAY_WRITER", "serialize", "INT_ARRAY_READER"));
-		InlinedConverters.put("java.lang.Integer", new OptimizedConverter("com.dslplatform.json.NumberConverter", "INT_WRITER", "serialize", "NULLABLE_INT_READER", "deserializeInt", null));
-		InlinedConverters.put("long", new OptimizedConverter("com.dslplatform.json.NumberConverter", "LONG_WRITER", "serialize", "LONG_READER", "deserializeLong", "0L"));
+		InlinedConverters.put("java.lang.Integer", new OptimizedConverter("com.dslplatform.json.NumberConverter", "INT_WRITER", "serialize", "NULLABLE_INT_READER", "deserializeInt", null, "serializeUnchecked", 11));
+		InlinedConverters.put("long", new OptimizedConverter("com.dslplatform.json.NumberConverter", "LONG_WRITER", "serialize", "LONG_READER", "deserializeLong", "0L", "serializeUnchecked", 21));
 		InlinedConverters.put("long[]", new OptimizedConverter("com.dslplatform.json.NumberConverter", "LONG_ARRAY_WRITER", "serialize", "LONG_ARRAY_READER"));
-		InlinedConverters.put("java.lang.Long", new OptimizedConverter("com.dslplatform.json.NumberConverter", "LONG_WRITER", "serialize", "LONG_READER", "deserializeLong", null));
+		InlinedConverters.put("java.lang.Long", new OptimizedConverter("com.dslplatform.json.NumberConverter", "LONG_WRITER", "serialize", "LONG_READER", "deserializeLong", null, "serializeUnchecked", 21));
 		InlinedConverters.put("float", new OptimizedConverter("com.dslplatform.json.NumberConverter", "FLOAT_WRITER", "serialize", "FLOAT_READER", "deserializeFloat", "0.0"));
 		InlinedConverters.put("float[]", new OptimizedConverter("com.dslplatform.json.NumberConverter", "FLOAT_ARRAY_WRITER", "serialize", "FLOAT_ARRAY_READER"));
 		InlinedConverters.put("java.lang.Float", new OptimizedConverter("com.dslplatform.json.NumberConverter", "FLOAT_WRITER", "serialize", "NULLABLE_FLOAT_READER", "deserializeFloat", null));
 		InlinedConverters.put("double", new OptimizedConverter("com.dslplatform.json.NumberConverter", "DOUBLE_WRITER", "serialize", "DOUBLE_READER", "deserializeDouble", "0.0"));
 		InlinedConverters.put("double[]", new OptimizedConverter("com.dslplatform.json.NumberConverter", "DOUBLE_ARRAY_WRITER", "serialize", "DOUBLE_ARRAY_READER"));
 		InlinedConverters.put("java.lang.Double", new OptimizedConverter("com.dslplatform.json.NumberConverter", "DOUBLE_WRITER", "serialize", "NULLABLE_DOUBLE_READER", "deserializeDouble", null));
-		InlinedConverters.put("boolean", new OptimizedConverter("com.dslplatform.json.BoolConverter", "WRITER", "serialize", "READER", "deserialize", "false"));
+		InlinedConverters.put("boolean", new OptimizedConverter("com.dslplatform.json.BoolConverter", "WRITER", "serialize", "READER", "deserialize", "false", "serializeUnchecked", 5));
 		InlinedConverters.put("boolean[]", new OptimizedConverter("com.dslplatform.json.BoolConverter", "ARRAY_WRITER", "serialize", "ARRAY_READER"));
 		InlinedConverters.put("java.lang.Boolean", new OptimizedConverter("com.dslplatform.BoolConverter", "WRITER", "serialize", "NULLABLE_READER", "deserialize", null));
 		InlinedConverters.put("java.lang.String", new OptimizedConverter("com.dslplatform.json.StringConverter", "WRITER", "serialize", "READER", "deserialize", null));
-		InlinedConverters.put("java.util.UUID", new OptimizedConverter("com.dslplatform.json.UUIDConverter", "WRITER", "serialize", "READER", "deserialize", null));
+		InlinedConverters.put("java.util.UUID", new OptimizedConverter("com.dslplatform.json.UUIDConverter", "WRITER", "serialize", "READER", "deserialize", null, "serializeUnchecked", 38));
+		InlinedConverters.put("com.dslplatform.json.RawJson", new OptimizedConverter("com.dslplatform.json.RawJsonConverter", "WRITER", "serialize", "READER", "deserialize", null));
 		InlinedConverters.put("java.time.LocalDate", new OptimizedConverter("com.dslplatform.json.JavaTimeConverter", "LOCAL_DATE_WRITER", "serialize", "LOCAL_DATE_READER", "deserializeLocalDate", null));
-		InlinedConverters.put("java.time.OffsetDateTime", new OptimizedConverter("com.dslplatform.json.JavaTimeConverter", "DATE_TIME_READER", "serialize", "DATE_TIME_WRITER", "deserializeDateTime", null));
+		//OffsetDateTime is not inlined since its converter depends on DslJson timestampFormat
 		Defaults = new HashMap<>();
 		Defaults.put("byte", "(byte)0");
 		Defaults.put("boolean", "false");
@@ -102,6 +111,8 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 	private AnnotationUsage annotationUsage = AnnotationUsage.IMPLICIT;
 	private UnknownTypes unknownTypes = UnknownTypes.ERROR;
 	private boolean allowInline = true;
+	private boolean lazyRegistration = false;
+	private String configurationName = DEFAULT_CONFIGURATION;
 	private boolean withJackson = false;
 	private boolean withJsonb = false;
 
@@ -130,6 +141,18 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 		if (inl != null && inl.length() > 0) {
 			allowInline = Boolean.parseBoolean(inl);
 		}
+		String lzy = options.get("dsljson.lazy");
+		if (lzy != null && lzy.length() > 0) {
+			lazyRegistration = Boolean.parseBoolean(lzy);
+		}
+		String cfg = options.get("dsljson.configuration");
+		if (cfg != null && cfg.length() > 0) {
+			if (SourceVersion.isName(cfg)) {
+				configurationName = cfg;
+			} else {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Invalid configuration name: " + cfg + ". Expecting fully qualified class name");
+			}
+		}
 		String jks = options.get("dsljson.jackson");
 		if (jks != null && jks.length() > 0) {
 			withJackson = Boolean.parseBoolean(jks);
@@ -199,19 +222,25 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 			if (analysis.hasError()) {
 				return false;
 			}
+			final boolean validDelta = validateDelta(structs);
+			final boolean validCache = validateCacheSerialized(structs);
+			if (!validDelta || !validCache) {
+				return false;
+			}
 
 			try {
-				String className = "dsl_json_Annotation_Processor_External_Serialization";
-				Writer writer = processingEnv.getFiler().createSourceFile(className).openWriter();
-				buildCode(writer, structs, allowInline, allTypes);
+				Writer writer = processingEnv.getFiler().createSourceFile(configurationName).openWriter();
+				buildCode(writer, configurationName, structs, allowInline, lazyRegistration, allTypes, processingEnv.getElementUtils());
 				writer.close();
+				buildFlyweights(structs, allTypes);
 				writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", CONFIG).openWriter();
-				writer.write(className);
+				writer.write(configurationName);
 				for (String conf : configurations) {
 					writer.write('\n');
 					writer.write(conf);
 				}
 				writer.close();
+				writeNativeImageConfig(configurations);
 			} catch (IOException e) {
 				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed saving compiled json serialization files");
 			}
@@ -230,18 +259,61 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 		return SourceVersion.RELEASE_8;
 	}
 
-	private static void buildCode(final Writer code, final Map<String, StructInfo> structs, final boolean allowInline, final Set<String> knownTypes) throws IOException {
+	private void writeNativeImageConfig(final List<String> configurations) throws IOException {
+		final String path = NATIVE_IMAGE + configurationName + "/";
+		Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path + "reflect-config.json").openWriter();
+		writer.write("[\n");
+		final List<String> services = new ArrayList<>();
+		services.add(configurationName);
+		services.addAll(configurations);
+		for (int i = 0; i < services.size(); i++) {
+			writer.write("  {\n");
+			writer.write("    \"name\": \"" + services.get(i) + "\",\n");
+			writer.write("    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]\n");
+			writer.write(i + 1 < services.size() ? "  },\n" : "  }\n");
+		}
+		writer.write("]\n");
+		writer.close();
+		writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path + "resource-config.json").openWriter();
+		writer.write("{\n");
+		writer.write("  \"resources\": {\n");
+		writer.write("    \"includes\": [{\"pattern\": \"\\\\Q" + CONFIG + "\\\\E\"}]\n");
+		writer.write("  }\n");
+		writer.write("}\n");
+		writer.close();
+	}
+
+	private static void buildCode(
+			final Writer code,
+			final String configurationName,
+			final Map<String, StructInfo> structs,
+			final boolean allowInline,
+			final boolean lazyRegistration,
+			final Set<String> knownTypes,
+			final Elements elements) throws IOException {
 		final Context context = new Context(code, allowInline, InlinedConverters, Defaults, structs, knownTypes);
 		final DescriptionTemplate descriptionTemplate = new DescriptionTemplate(context);
 		final InlinedTemplate inlinedTemplate = new InlinedTemplate(context);
 		final EnumTemplate enumTemplate = new EnumTemplate(context);
-		code.append("public class dsl_json_Annotation_Processor_External_Serialization implements com.dslplatform.json.Configuration {\n");
+		final int lastDot = configurationName.lastIndexOf('.');
+		final String simpleName = configurationName.substring(lastDot + 1);
+		if (lastDot != -1) {
+			code.append("package ").append(configurationName.substring(0, lastDot)).append(";\n\n");
+		}
+		code.append("public class ").append(simpleName).append(" implements com.dslplatform.json.Configuration {\n");
 		code.append("\tprivate static final java.nio.charset.Charset utf8 = java.nio.charset.Charset.forName(\"UTF-8\");\n");
 		code.append("\t@Override\n");
 		code.append("\tpublic void configure(com.dslplatform.json.DslJson json) {\n");
+		final Map<String, StructInfo> lazyStructs = new LinkedHashMap<>();
+		if (lazyRegistration) {
+			lazyStructs.putAll(lazyStructs(structs));
+		}
 		for (Map.Entry<String, StructInfo> kv : structs.entrySet()) {
 			final String className = kv.getKey();
 			final StructInfo si = kv.getValue();
+			if (lazyStructs.containsKey(className)) {
+				continue;
+			}
 			if (si.type == ObjectType.CLASS && si.constructor != null && !si.attributes.isEmpty()) {
 				String descriptionName = si.name;
 				if (si.formats.contains(CompiledJson.Format.OBJECT)) {
@@ -279,13 +351,19 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 						code.append("\t\tjson.registerBinder(").append(className).append(".class, ").append(si.name).append(");\n");
 					}
 					code.append("\t\tjson.registerReader(").append(className).append(".class, ").append(si.name).append(");\n");
-					code.append("\t\tjson.registerWriter(").append(className).append(".class, ").append(si.name).append(");\n");
+					code.append("\t\tjson.registerWriter(").append(className).append(".class, ").append(cachedWriter(si, si.name)).append(");\n");
 				} else {
 					if (si.hasEmptyCtor()) {
 						code.append("\t\tjson.registerBinder(").append(className).append(".class, ").append(descriptionName).append(");\n");
 					}
 					code.append("\t\tjson.registerReader(").append(className).append(".class, ").append(descriptionName).append(");\n");
-					code.append("\t\tjson.registerWriter(").append(className).append(".class, ").append(descriptionName).append(");\n");
+					code.append("\t\tjson.registerWriter(").append(className).append(".class, ").append(cachedWriter(si, descriptionName)).append(");\n");
+				}
+				if (si.formats.contains(CompiledJson.Format.OBJECT)) {
+					for (int i = 0; i < si.views.size(); i++) {
+						code.append("\t\tjson.registerWriter(").append(className).append(".class, ").append(si.views.get(i));
+						code.append(".class, new ").append(InlinedTemplate.viewName(si, i)).append("(json));\n");
+					}
 				}
 			} else if (si.type == ObjectType.CONVERTER) {
 				String type = typeOrClass(nonGenericObject(className), className);
@@ -325,7 +403,17 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 				code.append(target.name).append(");\n");
 			}
 		}
+		if (!lazyStructs.isEmpty()) {
+			//reader, writer and binder of a type share a single converter instance per DslJson
+			code.append("\t\tfinal java.util.concurrent.ConcurrentMap<String, Object> converters = new java.util.concurrent.ConcurrentHashMap<>();\n");
+			code.append("\t\tjson.registerReaderFactory((manifest, dslJson) -> lazy_reader(manifest, dslJson, converters));\n");
+			code.append("\t\tjson.registerWriterFactory((manifest, dslJson) -> lazy_writer(manifest, dslJson, converters));\n");
+			code.append("\t\tjson.registerBinderFactory((manifest, dslJson) -> lazy_binder(manifest, dslJson, converters));\n");
+		}
 		code.append("\t}\n");
+		if (!lazyStructs.isEmpty()) {
+			lazyFactories(code, lazyStructs, allowInline, elements);
+		}
 		for (Map.Entry<String, StructInfo> it : structs.entrySet()) {
 			StructInfo si = it.getValue();
 			String className = it.getKey();
@@ -352,6 +440,11 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 						else descriptionTemplate.fromCtorArray(si, className);
 					}
 				}
+				if (si.constructor != null && si.formats.contains(CompiledJson.Format.OBJECT)) {
+					for (int i = 0; i < si.views.size(); i++) {
+						inlinedTemplate.viewObject(si, className, i);
+					}
+				}
 			} else if (si.type == ObjectType.MIXIN && !si.implementations.isEmpty()) {
 				if (si.deserializeAs == null) mixin(code, false, si, className);
 				else mixin(code, true, si, className);
@@ -362,6 +455,183 @@ public class CompiledJsonAnnotationProcessor extends AbstractProcessor {
 		code.append("}\n");
 	}
 
+	private boolean validateDelta(final Map<String, StructInfo> structs) {
+		boolean isValid = true;
+		for (StructInfo si : structs.values()) {
+			if (si.type != ObjectType.CLASS || !InlinedTemplate.hasDelta(si)) continue;
+			final String error;
+			if (!allowInline) {
+				error = "Delta serialization requires inlined converters";
+			} else if (!si.hasEmptyCtor() || !si.element.getTypeParameters().isEmpty()) {
+				error = "Delta serialization is supported only on non-generic classes with an empty constructor";
+			} else if (si.formats.size() != 1 || !si.formats.contains(CompiledJson.Format.OBJECT)) {
+				error = "Delta serialization is supported only with object format";
+			} else if (Analysis.booleanAnnotationValue(si.annotation, "cacheSerialized()", false)) {
+				error = "Delta serialization can't be combined with cacheSerialized";
+			} else {
+				continue;
+			}
+			processingEnv.getMessager().printMessage(
+					Diagnostic.Kind.ERROR,
+					error + ". Found on " + si.element.getQualifiedName(),
+					si.element,
+					si.annotation);
+			isValid = false;
+		}
+		return isValid;
+	}
+
+	private boolean validateCacheSerialized(final Map<String, StructInfo> structs) {
+		boolean isValid = true;
+		for (StructInfo si : structs.values()) {
+			if (si.type != ObjectType.CLASS || si.annotation == null
+					|| !Analysis.booleanAnnotationValue(si.annotation, "cacheSerialized()", false)) {
+				continue;
+			}
+			//instances are cached by identity, so their state must not change after construction
+			TypeElement current = si.element;
+			while (current != null && !"java.lang.Object".equals(current.getQualifiedName().toString())) {
+				for (Element member : current.getEnclosedElements()) {
+					if (member.getModifiers().contains(Modifier.STATIC)) continue;
+					final String error;
+					if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.FINAL)) {
+						error = "Field '" + member.getSimpleName() + "' is not final";
+					} else if (member.getKind() == ElementKind.METHOD
+							&& member.getSimpleName().toString().startsWith("set")
+							&& ((ExecutableElement) member).getParameters().size() == 1) {
+						error = "Setter '" + member.getSimpleName() + "' found";
+					} else {
+						continue;
+					}
+					processingEnv.getMessager().printMessage(
+							Diagnostic.Kind.ERROR,
+							"cacheSerialized can only be used on immutable classes. " + error + " on " + si.element.getQualifiedName(),
+							member);
+					isValid = false;
+				}
+				final TypeMirror parent = current.getSuperclass();
+				current = parent instanceof DeclaredType ? (TypeElement) ((DeclaredType) parent).asElement() : null;
+			}
+		}
+		return isValid;
+	}
+
+	private void buildFlyweights(final Map<String, StructInfo> structs, final Set<String> knownTypes) throws IOException {
+		for (Map.Entry<String, StructInfo> kv : structs.entrySet()) {
+			final StructInfo si = kv.getValue();
+			if (si.type != ObjectType.CLASS || si.annotation == null
+					|| !Analysis.booleanAnnotationValue(si.annotation, "flyweight()", false)) {
+				continue;
+			}
+			if (!si.element.getTypeParameters().isEmpty()) {
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.ERROR,
+						"Flyweight is not supported on generic type " + si.element.getQualifiedName(),
+						si.element,
+						si.annotation);
+				continue;
+			}
+			final String packageName = processingEnv.getElementUtils().getPackageOf(si.element).getQualifiedName().toString();
+			String flyweightName = si.element.getSimpleName() + "Flyweight";
+			Element outer = si.element.getEnclosingElement();
+			while (outer instanceof TypeElement) {
+				flyweightName = outer.getSimpleName() + "_" + flyweightName;
+				outer = outer.getEnclosingElement();
+			}
+			final String fullName = packageName.isEmpty() ? flyweightName : packageName + "." + flyweightName;
+			final Writer writer = processingEnv.getFiler().createSourceFile(fullName, si.element).openWriter();
+			final Context context = new Context(writer, true, InlinedConverters, Defaults, structs, knownTypes);
+			new InlinedTemplate(context).flyweight(si, packageName, flyweightName);
+			writer.close();
+		}
+	}
+
+	private static Map<String, StructInfo> lazyStructs(final Map<String, StructInfo> structs) {
+		final Set<StructInfo> eager = new HashSet<>();
+		for (StructInfo si : structs.values()) {
+			if (si.type == ObjectType.MIXIN) {
+				//mixins are registered with converters of their implementations during configure
+				eager.addAll(si.implementations);
+				if (si.deserializeAs != null) eager.add(si.deserializeTarget());
+			}
+		}
+		final Map<String, StructInfo> result = new LinkedHashMap<>();
+		for (Map.Entry<String, StructInfo> kv : structs.entrySet()) {
+			final StructInfo si = kv.getValue();
+			if (eager.contains(si)) continue;
+			if (si.type == ObjectType.CLASS && si.constructor != null && !si.attributes.isEmpty() || si.type == ObjectType.ENUM) {
+				result.put(kv.getKey(), si);
+			}
+		}
+		return result;
+	}
+
+	private static String converterFor(final StructInfo si, final String className, final boolean allowInline) {
+		if (si.type == ObjectType.ENUM) {
+			return "new Enum_" + si.name + "()";
+		}
+		final String object = allowInline ? "new Object_" + si.name + "(json)" : "register_object_" + si.name + "(json)";
+		final String array = allowInline ? "new Array_" + si.name + "(json)" : "register_array_" + si.name + "(json)";
+		if (si.formats.contains(CompiledJson.Format.OBJECT) && si.formats.contains(CompiledJson.Format.ARRAY)) {
+			String typeAlias = si.deserializeName.isEmpty() ? className : si.deserializeName;
+			return "new com.dslplatform.json.runtime.FormatDescription(" + className + ".class, " + object + ", " + array
+					+ ", " + si.isObjectFormatFirst + ", \"" + typeAlias + "\", json)";
+		}
+		return si.formats.contains(CompiledJson.Format.OBJECT) ? object : array;
+	}
+
+	private static String cachedWriter(final StructInfo si, final String writer) {
+		if (si.type != ObjectType.CLASS || si.annotation == null
+				|| !Analysis.booleanAnnotationValue(si.annotation, "cacheSerialized()", false)) {
+			return writer;
+		}
+		return "com.dslplatform.json.runtime.CachingEncoder.create(json, " + writer + ")";
+	}
+
+	private static void lazyFactories(
+			final Writer code,
+			final Map<String, StructInfo> lazyStructs,
+			final boolean allowInline,
+			final Elements elements) throws IOException {
+		final String[] kinds = {"reader", "writer", "binder"};
+		final String[] types = {"com.dslplatform.json.JsonReader.ReadObject", "com.dslplatform.json.JsonWriter.WriteObject", "com.dslplatform.json.JsonReader.BindObject"};
+		code.append("\tprivate static Object lazy_converter(final java.util.concurrent.ConcurrentMap<String, Object> converters, final String name, final java.util.function.Supplier<Object> factory) {\n");
+		code.append("\t\tObject converter = converters.get(name);\n");
+		code.append("\t\tif (converter == null) {\n");
+		code.append("\t\t\tconverter = factory.get();\n");
+		code.append("\t\t\tfinal Object previous = converters.putIfAbsent(name, converter);\n");
+		code.append("\t\t\tif (previous != null) converter = previous;\n");
+		code.append("\t\t}\n");
+		code.append("\t\treturn converter;\n");
+		code.append("\t}\n");
+		for (int i = 0; i < kinds.length; i++) {
+			code.append("\tprivate static ").append(types[i]).append(" lazy_").append(kinds[i]);
+			code.append("(final java.lang.reflect.Type manifest, final com.dslplatform.json.DslJson json, final java.util.concurrent.ConcurrentMap<String, Object> converters) {\n");
+			code.append("\t\tif (!(manifest instanceof Class<?>)) return null;\n");
+			code.append("\t\tswitch (((Class<?>) manifest).getName()) {\n");
+			for (Map.Entry<String, StructInfo> kv : lazyStructs.entrySet()) {
+				final String className = kv.getKey();
+				final StructInfo si = kv.getValue();
+				final boolean hasViews = si.type == ObjectType.CLASS && si.formats.contains(CompiledJson.Format.OBJECT) && !si.views.isEmpty();
+				if ("binder".equals(kinds[i]) && (si.type != ObjectType.CLASS || !si.hasEmptyCtor())) continue;
+				final Name binaryName = elements.getBinaryName(si.element);
+				code.append("\t\t\tcase \"").append(binaryName).append("\":\n");
+				if ("writer".equals(kinds[i]) && hasViews) {
+					for (int v = 0; v < si.views.size(); v++) {
+						code.append("\t\t\t\tjson.registerWriter(").append(className).append(".class, ").append(si.views.get(v));
+						code.append(".class, new ").append(InlinedTemplate.viewName(si, v)).append("(json));\n");
+					}
+				}
+				final String converter = "(" + types[i] + ") lazy_converter(converters, \"" + binaryName + "\", () -> " + converterFor(si, className, allowInline) + ")";
+				code.append("\t\t\t\treturn ").append("writer".equals(kinds[i]) ? cachedWriter(si, converter) : converter).append(";\n");
+			}
+			code.append("\t\t\tdefault:\n");
+			code.append("\t\t\t\treturn null;\n");
+			code.append("\t\t}\n");
+			code.append("\t}\n");
+		}
+	}
+
 	private static void mixin(final Writer code, final boolean writeOnly, final StructInfo si, final String className) throws IOException {
 		final String mixinType = writeOnly ? "MixinWriter" : "MixinDescription";
 		code.append("\tprivate static com.dslplatform.json.runtime.").append(mixinType).append("<").append(className).append("> register_").append(si.name).append("(com.dslplatform.json.DslJson json");
@@ -34,6 +34,22 @@ final class Context {
 		return "null";
 	}
 
+	static boolean isAsciiOnly(final AttributeInfo attr) {
+		return attr.converter == null && attr.annotation != null
+				&& "java.lang.String".equals(attr.typeName)
+				&& Analysis.booleanAnnotationValue(attr.annotation, "asciiOnly()", false);
+	}
+
+	static String asciiDecoder(final AttributeInfo attr) {
+		return "reader.readSimpleString(" + Analysis.booleanAnnotationValue(attr.annotation, "validateAscii()", true) + ")";
+	}
+
+	private static String asciiReader(final AttributeInfo attr) {
+		return Analysis.booleanAnnotationValue(attr.annotation, "validateAscii()", true)
+				? "com.dslplatform.json.StringConverter.ASCII_READER"
+				: "com.dslplatform.json.StringConverter.UNVALIDATED_ASCII_READER";
+	}
+
 	static String nonGenericObject(String type) {
 		String objectType = Analysis.objectName(type);
 		int genInd = objectType.indexOf('<');
@@ -99,6 +115,7 @@ final class Context {
 		else code.append("c -> c.").append(attr.field.getSimpleName());
 		code.append(", \"").append(attr.id).append("\", json, ");
 		if (converter != null) code.append(converter).append(".JSON_WRITER)");
+		else if (isAsciiOnly(attr)) code.append("com.dslplatform.json.StringConverter.ASCII_WRITER)");
 		else if (inline != null) code.append(inline).append(")");
 		else code.append(typeOrClass(objectType, actualType)).append(")");
 	}
@@ -115,6 +132,7 @@ final class Context {
 		else code.append("c -> c.").append(attr.field.getSimpleName());
 		code.append(", ");
 		if (converter != null) code.append(converter).append(".JSON_WRITER)");
+		else if (isAsciiOnly(attr)) code.append("com.dslplatform.json.StringConverter.ASCII_WRITER)");
 		else if (inline != null) code.append(inline).append(")");
 		else code.append("json ,").append(typeOrClass(objectType, actualType)).append(")");
 	}
@@ -134,6 +152,7 @@ final class Context {
 		code.append(Integer.toString(attr.index)).append(", ");
 		code.append(attr.notNull ? "true" : "false").append(", ");
 		if (converter != null) code.append(converter).append(".JSON_READER)");
+		else if (isAsciiOnly(attr)) code.append(asciiReader(attr)).append(")");
 		else if (inline != null) code.append(inline).append(")");
 		else code.append(typeOrClass(objectType, actualType)).append(")");
 	}
@@ -149,6 +168,7 @@ final class Context {
 		code.append(readValue);
 		code.append(", ");
 		if (converter != null) code.append(converter).append(".JSON_READER)");
+		else if (isAsciiOnly(attr)) code.append(asciiReader(attr)).append(")");
 		else if (inline != null) code.append(inline).append(")");
 		else code.append("json, ").append(typeOrClass(objectType, actualType)).append(")");
 	}
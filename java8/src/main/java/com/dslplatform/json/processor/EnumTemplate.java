@@ -4,8 +4,8 @@ import com.dslplatform.json.CompiledJson;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
 
 class EnumTemplate {
 
@@ -22,9 +22,20 @@ class EnumTemplate {
 		return true;
 	}
 
-	static void writeName(Context context, AttributeInfo attr, String readValue) throws IOException {
+	static int maxNameSize(StructInfo si) {
+		if (!isAllSimple(si)) return -1;
+		int max = 0;
+		for (String c : si.constants) {
+			max = Math.max(max, c.length());
+		}
+		return max + 2;
+	}
+
+	static void writeName(Context context, AttributeInfo attr, String readValue, boolean unchecked) throws IOException {
 		StructInfo target = context.structs.get(attr.typeName);
-		if (isAllSimple(target)) {
+		if (isAllSimple(target) && unchecked) {
+			context.code.append("{ writer.writeByteUnchecked((byte)'\"'); writer.writeAsciiUnchecked(").append(readValue).append(".name()); writer.writeByteUnchecked((byte)'\"'); }");
+		} else if (isAllSimple(target)) {
 			context.code.append("{ writer.writeByte((byte)'\"'); writer.writeAscii(").append(readValue).append(".name()); writer.writeByte((byte)'\"'); }");
 		} else {
 			context.code.append("writer.writeString(value.name());\n");
@@ -32,14 +43,17 @@ class EnumTemplate {
 	}
 
 	void create(final StructInfo si, final String className) throws IOException {
-		Set<Integer> hashCodes = new HashSet<>();
-		for(String c : si.constants) {
-			hashCodes.add(StructInfo.calcHash(c));
-		}
+		final PerfectHash perfectHash = new PerfectHash(si.constants);
 		boolean allSimple = isAllSimple(si);
 		code.append("\tfinal static class Enum_").append(si.name);
 		code.append(" implements com.dslplatform.json.JsonWriter.WriteObject<").append(className);
 		code.append(">, com.dslplatform.json.JsonReader.ReadObject<").append(className).append("> {\n");
+		for (List<String> names : perfectHash.slots().values()) {
+			if (names.size() == 1) continue;
+			for (String c : names) {
+				code.append("\t\tprivate static final byte[] name_").append(c).append(" = \"").append(c).append("\".getBytes(utf8);\n");
+			}
+		}
 		code.append("\t\tpublic void write(final com.dslplatform.json.JsonWriter writer, final ");
 		code.append(className).append(" value) {\n");
 		code.append("\t\t\tif (value == null) writer.writeNull();\n");
@@ -52,22 +66,26 @@ class EnumTemplate {
 		code.append("\t\t\treturn reader.wasNull() ? null : readStatic(reader);\n");
 		code.append("\t\t}\n");
 		code.append("\t\tstatic ").append(className).append(" readStatic(final com.dslplatform.json.JsonReader reader) throws java.io.IOException {\n");
-		if (hashCodes.size() == si.constants.size()) {
-			code.append("\t\t\tswitch (reader.calcHash()) {\n");
-			for(String c : si.constants) {
-				int hash = StructInfo.calcHash(c);
-				code.append("\t\t\t\tcase ").append(Integer.toString(hash)).append(":\n");
-				code.append("\t\t\t\t\treturn ").append(className).append(".").append(c).append(";\n");
-			}
-			code.append("\t\t\t\tdefault:\n");
-			if (si.onUnknown == CompiledJson.Behavior.IGNORE) {
-				code.append("\t\t\t\t\treturn ").append(className).append(".").append(si.constants.get(0)).append(";\n");
-			} else {
-				code.append("\t\t\t\t\treturn ").append(className).append(".valueOf(reader.getLastName());\n");
+		code.append("\t\t\tfinal int hash = reader.calcHash();\n");
+		code.append("\t\t\tswitch (").append(perfectHash.slotOf("hash")).append(") {\n");
+		for (Map.Entry<Integer, List<String>> slot : perfectHash.slots().entrySet()) {
+			code.append("\t\t\t\tcase ").append(Integer.toString(slot.getKey())).append(":\n");
+			for (String c : slot.getValue()) {
+				if (slot.getValue().size() == 1) {
+					code.append("\t\t\t\t\tif (hash == ").append(Integer.toString(StructInfo.calcHash(c))).append(")");
+				} else {
+					code.append("\t\t\t\t\tif (reader.wasLastName(name_").append(c).append("))");
+				}
+				code.append(" return ").append(className).append(".").append(c).append(";\n");
 			}
-			code.append("\t\t\t}\n");
-			//TODO: better handle for collision
-		} else code.append("\t\t\treturn ").append(className).append(".valueOf(reader.getLastName());\n");
+			code.append("\t\t\t\t\tbreak;\n");
+		}
+		code.append("\t\t\t}\n");
+		if (si.onUnknown == CompiledJson.Behavior.IGNORE) {
+			code.append("\t\t\treturn ").append(className).append(".").append(si.constants.get(0)).append(";\n");
+		} else {
+			code.append("\t\t\treturn ").append(className).append(".valueOf(reader.getLastName());\n");
+		}
 		code.append("\t\t}\n");
 		code.append("\t}\n");
 	}
@@ -4,9 +4,12 @@ import com.dslplatform.json.CompiledJson;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 import static com.dslplatform.json.processor.Context.nonGenericObject;
 import static com.dslplatform.json.processor.Context.sortedAttributes;
@@ -16,6 +19,8 @@ class InlinedTemplate {
 
 	private final Writer code;
 	private final Context context;
+	//view writers resolve collection content writers on first write, since views can be registered later
+	private boolean lazyContentWriters;
 
 	InlinedTemplate(Context context) {
 		this.code = context.code;
@@ -28,6 +33,9 @@ class InlinedTemplate {
 		if (binding) {
 			code.append(className).append(">, com.dslplatform.json.JsonReader.BindObject<");
 		}
+		if (binding && !name.startsWith("Array_") && hasDelta(si)) {
+			code.append(className).append(">, com.dslplatform.json.runtime.DeltaConverter<");
+		}
 		code.append(className).append("> {\n");
 		code.append("\t\tprivate final boolean alwaysSerialize;\n");
 		code.append("\t\tprivate final com.dslplatform.json.DslJson json;\n");
@@ -80,10 +88,181 @@ class InlinedTemplate {
 		}
 	}
 
+	static String viewName(final StructInfo si, final int index) {
+		return "View_" + si.name + "_" + index;
+	}
+
+	void viewObject(final StructInfo si, final String className, final int index) throws IOException {
+		final String view = si.views.get(index) + ".class";
+		final List<AttributeInfo> attributes = new ArrayList<>();
+		for (AttributeInfo attr : sortedAttributes(si)) {
+			if (attr.views.isEmpty() || attr.views.contains(si.views.get(index))) {
+				attributes.add(attr);
+			}
+		}
+		code.append("\tfinal static class ").append(viewName(si, index));
+		code.append(" implements com.dslplatform.json.JsonWriter.WriteObject<").append(className).append("> {\n");
+		code.append("\t\tprivate final boolean alwaysSerialize;\n");
+		code.append("\t\tprivate final com.dslplatform.json.DslJson json;\n");
+		for (AttributeInfo attr : attributes) {
+			String typeName = attr.type.toString();
+			boolean hasConverter = context.inlinedConverters.containsKey(typeName);
+			if (attr.converter == null && !hasConverter && !attr.isEnum(context.structs)) {
+				String content = viewContent(attr);
+				String writerType = content != null ? content : typeName;
+				String type = typeOrClass(nonGenericObject(writerType), writerType);
+				code.append("\t\tprivate com.dslplatform.json.JsonWriter.WriteObject<").append(writerType).append("> writer_").append(attr.name).append(";\n");
+				code.append("\t\tprivate com.dslplatform.json.JsonWriter.WriteObject<").append(writerType).append("> writer_").append(attr.name).append("() {\n");
+				code.append("\t\t\tif (writer_").append(attr.name).append(" == null) { writer_").append(attr.name).append(" = json.tryFindWriter(");
+				code.append(type).append(", ").append(view).append("); if (writer_").append(attr.name);
+				code.append(" == null) throw new com.dslplatform.json.SerializationException(\"Unable to find writer for ").append(writerType).append("\"); }\n");
+				code.append("\t\t\treturn writer_").append(attr.name).append(";\n");
+				code.append("\t\t}\n");
+			}
+		}
+		code.append("\t\t").append(viewName(si, index)).append("(com.dslplatform.json.DslJson json) {\n");
+		code.append("\t\t\tthis.alwaysSerialize = !json.omitDefaults;\n");
+		code.append("\t\t\tthis.json = json;\n");
+		code.append("\t\t}\n");
+		lazyContentWriters = true;
+		try {
+			writeObject(className, attributes);
+		} finally {
+			lazyContentWriters = false;
+		}
+		code.append("\t}\n");
+	}
+
+	//collections of structs are written element by element so that view writer is used for the elements
+	private String viewContent(final AttributeInfo attr) {
+		final String content = attr.collectionContent(context.knownTypes);
+		return content != null ? content : attr.collectionContent(context.structs.keySet());
+	}
+
+	void flyweight(final StructInfo si, final String packageName, final String flyweightName) throws IOException {
+		final List<AttributeInfo> sortedAttributes = sortedAttributes(si);
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+		code.append("/**\n");
+		code.append(" * Flyweight reader which decodes properties from the input only when they are accessed.\n");
+		code.append(" * Decoded values are cached in the instance without synchronization,\n");
+		code.append(" * so flyweight is not thread-safe and must not be shared between threads while accessors are used.\n");
+		code.append(" */\n");
+		code.append("public final class ").append(flyweightName).append(" {\n");
+		code.append("\tprivate static final java.nio.charset.Charset utf8 = java.nio.charset.Charset.forName(\"UTF-8\");\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			code.append("\tprivate static final byte[] name_").append(attr.name).append(" = \"").append(attr.id).append("\".getBytes(utf8);\n");
+		}
+		final Map<String, String> dispatchNames = writeDispatchNames(si, "\t");
+		code.append("\tprivate final com.dslplatform.json.DslJson json;\n");
+		code.append("\tprivate final byte[] input;\n");
+		code.append("\tprivate final int length;\n");
+		code.append("\tprivate com.dslplatform.json.JsonReader reader;\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			String typeName = attr.type.toString();
+			code.append("\tprivate int at_").append(attr.name).append(" = -1;\n");
+			code.append("\tprivate ").append(typeName).append(" value_").append(attr.name).append(" = ");
+			code.append(context.getDefault(typeName)).append(";\n");
+		}
+		code.append("\tprivate ").append(flyweightName).append("(final com.dslplatform.json.DslJson json, final byte[] input, final int length) {\n");
+		code.append("\t\tthis.json = json;\n");
+		code.append("\t\tthis.input = input;\n");
+		code.append("\t\tthis.length = length;\n");
+		code.append("\t}\n");
+		code.append("\t/**\n");
+		code.append("\t * Scan the input and record where property values start.\n");
+		code.append("\t * Provided reader is used only during the scan, so it can be reused for parsing other inputs.\n");
+		code.append("\t * Flyweight decodes values with its own reader, which is created on the first access.\n");
+		code.append("\t */\n");
+		code.append("\tpublic static ").append(flyweightName).append(" parse(final com.dslplatform.json.DslJson json, final com.dslplatform.json.JsonReader reader, final byte[] input, final int length) throws java.io.IOException {\n");
+		code.append("\t\treader.process(input, length);\n");
+		code.append("\t\treader.getNextToken();\n");
+		code.append("\t\tif (reader.wasNull()) return null;\n");
+		code.append("\t\telse if (reader.last() != '{') throw new java.io.IOException(\"Expecting '{' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\tfinal ").append(flyweightName).append(" instance = new ").append(flyweightName).append("(json, input, length);\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			if (attr.mandatory) {
+				code.append("\t\tboolean __detected_").append(attr.name).append("__ = false;\n");
+			}
+		}
+		code.append("\t\tif (reader.getNextToken() != '}') {\n");
+		code.append("\t\t\tint hash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t", this::recordPosition);
+		code.append("\t\t\twhile (reader.last() == ','){\n");
+		code.append("\t\t\t\treader.getNextToken();\n");
+		code.append("\t\t\t\thash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t\t", this::recordPosition);
+		code.append("\t\t\t}\n");
+		code.append("\t\t\tif (reader.last() != '}') throw new java.io.IOException(\"Expecting '}' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\t}\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			if (attr.mandatory) {
+				code.append("\t\tif (!__detected_").append(attr.name).append("__) throw new java.io.IOException(\"Property '").append(attr.name);
+				code.append("' is mandatory but was not found in JSON \" + reader.positionDescription());\n");
+			}
+		}
+		code.append("\t\treturn instance;\n");
+		code.append("\t}\n");
+		code.append("\tprivate com.dslplatform.json.JsonReader reader() {\n");
+		code.append("\t\tif (reader == null) reader = json.newReader(input, length);\n");
+		code.append("\t\treturn reader;\n");
+		code.append("\t}\n");
+		code.append("\t@SuppressWarnings(\"unchecked\")\n");
+		code.append("\tprivate <T> com.dslplatform.json.JsonReader.ReadObject<T> readerFor(final java.lang.reflect.Type type) {\n");
+		code.append("\t\tfinal com.dslplatform.json.JsonReader.ReadObject<T> found = (com.dslplatform.json.JsonReader.ReadObject<T>) json.tryFindReader(type);\n");
+		code.append("\t\tif (found == null) throw new com.dslplatform.json.SerializationException(\"Unable to find reader for \" + type.getTypeName());\n");
+		code.append("\t\treturn found;\n");
+		code.append("\t}\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			lazyGetter(attr);
+		}
+		code.append("}\n");
+	}
+
+	private void recordPosition(AttributeInfo attr, String alignment) throws IOException {
+		code.append(alignment).append("\t\tinstance.at_").append(attr.name).append(" = reader.getCurrentIndex() - 1;\n");
+		code.append(alignment).append("\t\treader.skip();\n");
+	}
+
+	private void lazyGetter(AttributeInfo attr) throws IOException {
+		final String typeName = attr.type.toString();
+		final OptimizedConverter converter = context.inlinedConverters.get(typeName);
+		code.append("\tpublic ").append(typeName).append(" ").append(attr.name).append("() {\n");
+		code.append("\t\tif (at_").append(attr.name).append(" != -1) {\n");
+		code.append("\t\t\ttry {\n");
+		code.append("\t\t\t\tfinal com.dslplatform.json.JsonReader reader = reader();\n");
+		code.append("\t\t\t\treader.seek(at_").append(attr.name).append(");\n");
+		if (attr.notNull) {
+			code.append("\t\t\t\tif (reader.wasNull()) throw new java.io.IOException(\"Property '").append(attr.name).append("' is not allowed to be null.");
+			code.append(" Null value found \" + reader.positionDescription());\n");
+		}
+		code.append("\t\t\t\tvalue_").append(attr.name).append(" = ");
+		if (attr.converter != null) {
+			code.append(attr.converter.toString()).append(".JSON_READER.read(reader);\n");
+		} else if (converter != null) {
+			if (converter.defaultValue == null && !attr.notNull && converter.hasNonNullableMethod()) {
+				code.append("reader.wasNull() ? null : ");
+			}
+			code.append(nonNullableDecoder(attr, converter)).append(";\n");
+		} else {
+			String type = typeOrClass(nonGenericObject(typeName), typeName);
+			code.append("this.<").append(Analysis.objectName(typeName)).append(">readerFor(").append(type).append(").read(reader);\n");
+		}
+		code.append("\t\t\t} catch (java.io.IOException ex) {\n");
+		code.append("\t\t\t\tthrow new com.dslplatform.json.SerializationException(\"Unable to read property '").append(attr.name).append("'\", ex);\n");
+		code.append("\t\t\t}\n");
+		code.append("\t\t\tat_").append(attr.name).append(" = -1;\n");
+		code.append("\t\t}\n");
+		code.append("\t\treturn value_").append(attr.name).append(";\n");
+		code.append("\t}\n");
+	}
+
 	void emptyCtorObject(final StructInfo si, final String className) throws IOException {
 		asFormatConverter(si, "Object_" + si.name, className, true);
 		List<AttributeInfo> sortedAttributes = sortedAttributes(si);
 		writeObject(className, sortedAttributes);
+		final Map<String, String> dispatchNames = writeDispatchNames(si, "\t\t");
 		code.append("\t\tpublic ").append(className).append(" bind(final com.dslplatform.json.JsonReader reader, final ");
 		code.append(className).append(" instance) throws java.io.IOException {\n");
 		code.append("\t\t\tif (reader.last() != '{') throw new java.io.IOException(\"Expecting '{' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
@@ -139,14 +318,12 @@ class InlinedTemplate {
 				i += 1;
 			}
 		}
-		code.append("\t\t\tswitch(reader.getLastHash()) {\n");
-		handleSwitch(si, "\t\t\t", false);
-		code.append("\t\t\t}\n");
+		code.append("\t\t\tint hash = reader.getLastHash();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t", this::setAndAdvance);
 		code.append("\t\t\twhile (reader.last() == ','){\n");
 		code.append("\t\t\t\treader.getNextToken();\n");
-		code.append("\t\t\t\tswitch(reader.fillName()) {\n");
-		handleSwitch(si, "\t\t\t\t", false);
-		code.append("\t\t\t\t}\n");
+		code.append("\t\t\t\thash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t\t", this::setAndAdvance);
 		code.append("\t\t\t}\n");
 		code.append("\t\t\tif (reader.last() != '}') throw new java.io.IOException(\"Expecting '}' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
 		for (AttributeInfo attr : sortedAttributes) {
@@ -156,13 +333,128 @@ class InlinedTemplate {
 			}
 		}
 		code.append("\t\t}\n");
+		if (hasDelta(si)) {
+			delta(si, className, sortedAttributes, dispatchNames);
+		}
 		code.append("\t}\n");
 	}
 
+	static boolean hasDelta(final StructInfo si) {
+		return si.annotation != null && Analysis.booleanAnnotationValue(si.annotation, "delta()", false);
+	}
+
+	private boolean isNestedObject(final AttributeInfo attr) {
+		return attr.converter == null
+				&& !context.inlinedConverters.containsKey(attr.type.toString())
+				&& !attr.isEnum(context.structs)
+				&& attr.collectionContent(context.knownTypes) == null;
+	}
+
+	private static String changed(final AttributeInfo attr, final String previous, final String current) {
+		final String typeName = attr.type.toString();
+		if ("double".equals(typeName)) return "Double.compare(" + previous + ", " + current + ") != 0";
+		if ("float".equals(typeName)) return "Float.compare(" + previous + ", " + current + ") != 0";
+		if (attr.type.getKind().isPrimitive()) return previous + " != " + current;
+		if (attr.type.getKind() == TypeKind.ARRAY) {
+			final boolean primitiveContent = ((ArrayType) attr.type).getComponentType().getKind().isPrimitive();
+			return "!java.util.Arrays." + (primitiveContent ? "equals(" : "deepEquals(") + previous + ", " + current + ")";
+		}
+		return "!java.util.Objects.equals(" + previous + ", " + current + ")";
+	}
+
+	private void delta(final StructInfo si, final String className, final List<AttributeInfo> sortedAttributes, final Map<String, String> dispatchNames) throws IOException {
+		code.append("\t\tpublic boolean isChanged(final ").append(className).append(" previous, final ").append(className).append(" current) {\n");
+		code.append("\t\t\tif (previous == current) return false;\n");
+		code.append("\t\t\tif (previous == null || current == null) return true;\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			final String previous = "previous." + attr.readProperty;
+			final String current = "current." + attr.readProperty;
+			if (isNestedObject(attr)) {
+				code.append("\t\t\tif (").append(previous).append(" != ").append(current).append(") {\n");
+				code.append("\t\t\t\tif (").append(previous).append(" == null || ").append(current).append(" == null || !(writer_").append(attr.name);
+				code.append("() instanceof com.dslplatform.json.runtime.DeltaConverter)) { if (").append(changed(attr, previous, current)).append(") return true; }\n");
+				code.append("\t\t\t\telse if (((com.dslplatform.json.runtime.DeltaConverter<").append(attr.type.toString()).append(">) writer_").append(attr.name);
+				code.append("()).isChanged(").append(previous).append(", ").append(current).append(")) return true;\n");
+				code.append("\t\t\t}\n");
+			} else {
+				code.append("\t\t\tif (").append(changed(attr, previous, current)).append(") return true;\n");
+			}
+		}
+		code.append("\t\t\treturn false;\n");
+		code.append("\t\t}\n");
+		code.append("\t\tpublic void writeDelta(final com.dslplatform.json.JsonWriter writer, final ").append(className);
+		code.append(" previous, final ").append(className).append(" instance) {\n");
+		code.append("\t\t\tif (instance == null) { writer.writeNull(); return; }\n");
+		code.append("\t\t\tif (previous == null) { write(writer, instance); return; }\n");
+		code.append("\t\t\twriter.writeByte((byte)'{');\n");
+		code.append("\t\t\tboolean hasWritten = false;\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			final String previous = "previous." + attr.readProperty;
+			final String current = "instance." + attr.readProperty;
+			final String writeName = "\t\t\t\twriter.writeByte((byte)'\"'); writer.writeAscii(name_" + attr.name + "); writer.writeByte((byte)'\"'); writer.writeByte((byte)':');\n";
+			if (isNestedObject(attr)) {
+				final String delta = "((com.dslplatform.json.runtime.DeltaConverter<" + attr.type.toString() + ">) writer_" + attr.name + "())";
+				code.append("\t\t\tif (").append(previous).append(" != null && ").append(current).append(" != null && writer_").append(attr.name);
+				code.append("() instanceof com.dslplatform.json.runtime.DeltaConverter) {\n");
+				code.append("\t\t\t\tif (").append(delta).append(".isChanged(").append(previous).append(", ").append(current).append(")) {\n");
+				code.append("\t").append(writeName);
+				code.append("\t\t\t\t\t").append(delta).append(".writeDelta(writer, ").append(previous).append(", ").append(current).append(");\n");
+				code.append("\t\t\t\t\twriter.writeByte((byte)','); hasWritten = true;\n");
+				code.append("\t\t\t\t}\n");
+				code.append("\t\t\t} else if (").append(changed(attr, previous, current)).append(") {\n");
+			} else {
+				code.append("\t\t\tif (").append(changed(attr, previous, current)).append(") {\n");
+			}
+			code.append(writeName);
+			writeProperty(attr, false);
+			code.append("\t\t\t\twriter.writeByte((byte)','); hasWritten = true;\n");
+			code.append("\t\t\t}\n");
+		}
+		code.append("\t\t\tif (hasWritten) writer.getByteBuffer()[writer.size() - 1] = '}';\n");
+		code.append("\t\t\telse writer.writeByte((byte)'}');\n");
+		code.append("\t\t}\n");
+		code.append("\t\tpublic ").append(className).append(" bindDelta(final com.dslplatform.json.JsonReader reader, final ");
+		code.append(className).append(" instance) throws java.io.IOException {\n");
+		code.append("\t\t\tif (reader.last() != '{') throw new java.io.IOException(\"Expecting '{' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\t\tif (reader.getNextToken() == '}') return instance;\n");
+		for (AttributeInfo attr : sortedAttributes) {
+			if (attr.mandatory) {
+				code.append("\t\t\tboolean __detected_").append(attr.name).append("__ = false;\n");
+			}
+		}
+		code.append("\t\t\tint hash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t", this::bindDeltaAndAdvance);
+		code.append("\t\t\twhile (reader.last() == ','){\n");
+		code.append("\t\t\t\treader.getNextToken();\n");
+		code.append("\t\t\t\thash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t\t", this::bindDeltaAndAdvance);
+		code.append("\t\t\t}\n");
+		code.append("\t\t\tif (reader.last() != '}') throw new java.io.IOException(\"Expecting '}' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\t\treturn instance;\n");
+		code.append("\t\t}\n");
+	}
+
+	private void bindDeltaAndAdvance(AttributeInfo attr, String alignment) throws IOException {
+		if (isNestedObject(attr)) {
+			final String current = "instance." + attr.readProperty;
+			code.append(alignment).append("\t\tif (reader.last() == '{' && ").append(current).append(" != null && writer_").append(attr.name);
+			code.append("() instanceof com.dslplatform.json.runtime.DeltaConverter) {\n");
+			code.append(alignment).append("\t\t\t((com.dslplatform.json.runtime.DeltaConverter<").append(attr.type.toString()).append(">) writer_").append(attr.name);
+			code.append("()).bindDelta(reader, ").append(current).append(");\n");
+			code.append(alignment).append("\t\t} else {\n");
+			setPropertyValue(attr, alignment + "\t");
+			code.append(alignment).append("\t\t}\n");
+			code.append(alignment).append("\t\treader.getNextToken();\n");
+		} else {
+			setAndAdvance(attr, alignment);
+		}
+	}
+
 	void fromCtorObject(final StructInfo si, final String className) throws IOException {
 		asFormatConverter(si, "Object_" + si.name, className, false);
 		List<AttributeInfo> sortedAttributes = sortedAttributes(si);
 		writeObject(className, sortedAttributes);
+		final Map<String, String> dispatchNames = writeDispatchNames(si, "\t\t");
 		code.append("\t\tpublic ").append(className).append(" read(final com.dslplatform.json.JsonReader reader) throws java.io.IOException {\n");
 		code.append("\t\t\tif (reader.wasNull()) return null;\n");
 		code.append("\t\t\telse if (reader.last() != '{') throw new java.io.IOException(\"Expecting '{' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
@@ -183,14 +475,12 @@ class InlinedTemplate {
 		checkMandatory(sortedAttributes);
 		returnInstance("\t\t\t\t", si.constructor, className);
 		code.append("\t\t\t}\n");
-		code.append("\t\t\tswitch(reader.fillName()) {\n");
-		handleSwitch(si, "\t\t\t", true);
-		code.append("\t\t\t}\n");
+		code.append("\t\t\tint hash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t", this::readAndAdvance);
 		code.append("\t\t\twhile (reader.last() == ','){\n");
 		code.append("\t\t\t\treader.getNextToken();\n");
-		code.append("\t\t\t\tswitch(reader.fillName()) {\n");
-		handleSwitch(si, "\t\t\t\t", true);
-		code.append("\t\t\t\t}\n");
+		code.append("\t\t\t\thash = reader.fillName();\n");
+		handleSwitch(si, dispatchNames, "\t\t\t\t", this::readAndAdvance);
 		code.append("\t\t\t}\n");
 		code.append("\t\t\tif (reader.last() != '}') throw new java.io.IOException(\"Expecting '}' \" + reader.positionDescription() + \". Found \" + (char) reader.last());\n");
 		checkMandatory(sortedAttributes);
@@ -220,9 +510,32 @@ class InlinedTemplate {
 		code.append("\t\t}\n");
 		code.append("\t\tpublic void writeContentFull(final com.dslplatform.json.JsonWriter writer, final ");
 		code.append(className).append(" instance) {\n");
-		for (AttributeInfo attr : sortedAttributes) {
-			code.append("\t\t\twriter.writeAscii(quoted_").append(attr.name).append(");\n");
-			writeProperty(attr, false);
+		int i = 0;
+		while (i < sortedAttributes.size()) {
+			int end = i;
+			int reserved = 0;
+			while (end < sortedAttributes.size() && fixedSize(sortedAttributes.get(end)) != -1) {
+				AttributeInfo attr = sortedAttributes.get(end);
+				reserved += quotedSize(attr, end) + fixedSize(attr);
+				end++;
+			}
+			if (end < sortedAttributes.size() && end > i) {
+				reserved += quotedSize(sortedAttributes.get(end), end);
+			}
+			if (reserved > 0) {
+				code.append("\t\t\twriter.reserve(").append(Integer.toString(reserved)).append(");\n");
+			}
+			for (; i < end; i++) {
+				AttributeInfo attr = sortedAttributes.get(i);
+				code.append("\t\t\twriter.writeAsciiUnchecked(quoted_").append(attr.name).append(");\n");
+				writeProperty(attr, false, true);
+			}
+			if (i < sortedAttributes.size()) {
+				AttributeInfo attr = sortedAttributes.get(i);
+				code.append("\t\t\twriter.").append(reserved > 0 ? "writeAsciiUnchecked" : "writeAscii").append("(quoted_").append(attr.name).append(");\n");
+				writeProperty(attr, false);
+				i++;
+			}
 		}
 		code.append("\t\t}\n");
 		code.append("\t\tpublic boolean writeContentMinimal(final com.dslplatform.json.JsonWriter writer, final ");
@@ -364,7 +677,28 @@ class InlinedTemplate {
 		code.append("\t\t}\n");
 	}
 
+	private static int quotedSize(AttributeInfo attr, int index) {
+		return attr.id.getBytes(StandardCharsets.UTF_8).length + (index > 0 ? 4 : 3);
+	}
+
+	private int fixedSize(AttributeInfo attr) {
+		if (attr.converter != null) return -1;
+		OptimizedConverter converter = context.inlinedConverters.get(attr.type.toString());
+		if (converter != null) {
+			return converter.hasUncheckedEncoder() ? Math.max(4, converter.maxSize) : -1;
+		}
+		if (attr.isEnum(context.structs)) {
+			int size = EnumTemplate.maxNameSize(context.structs.get(attr.typeName));
+			return size == -1 ? -1 : Math.max(4, size);
+		}
+		return -1;
+	}
+
 	private void writeProperty(AttributeInfo attr, boolean checkedDefault) throws IOException {
+		writeProperty(attr, checkedDefault, false);
+	}
+
+	private void writeProperty(AttributeInfo attr, boolean checkedDefault, boolean unchecked) throws IOException {
 		String typeName = attr.type.toString();
 		String readValue = "instance." + attr.readProperty;
 		OptimizedConverter converter = context.inlinedConverters.get(typeName);
@@ -383,10 +717,16 @@ class InlinedTemplate {
 		if (attr.converter != null) {
 			code.append(attr.converter.toString()).append(".JSON_WRITER.write(writer, ").append(readValue).append(")");
 		} else {
-			if (converter != null) {
+			if (Context.isAsciiOnly(attr)) {
+				code.append("com.dslplatform.json.StringConverter.serializeAscii(").append(readValue).append(", writer)");
+			} else if (converter != null && unchecked) {
+				code.append(converter.uncheckedEncoder("writer", readValue));
+			} else if (converter != null) {
 				code.append(converter.nonNullableEncoder("writer", readValue));
 			} else if (attr.isEnum(context.structs)) {
-				EnumTemplate.writeName(context, attr, readValue);
+				EnumTemplate.writeName(context, attr, readValue, unchecked);
+			} else if (lazyContentWriters && viewContent(attr) != null) {
+				code.append("writer.serialize(").append(readValue).append(", writer_").append(attr.name).append("())");
 			} else if (attr.collectionContent(context.knownTypes) != null) {
 				code.append("writer.serialize(").append(readValue).append(", writer_").append(attr.name).append(")");
 			} else {
@@ -396,43 +736,96 @@ class InlinedTemplate {
 		code.append(";\n");
 	}
 
-	private void handleSwitch(StructInfo si, String alignment, boolean localNames) throws IOException {
+	private static Map<String, AttributeInfo> acceptedNames(final StructInfo si) {
+		final Map<String, AttributeInfo> names = new LinkedHashMap<>();
 		for (AttributeInfo attr : si.attributes.values()) {
 			String mn = si.minifiedNames.get(attr.id);
-			code.append(alignment).append("\tcase ").append(Integer.toString(StructInfo.calcHash(mn != null ? mn : attr.id))).append(":\n");
-			for(String an : attr.alternativeNames) {
-				code.append(alignment).append("\tcase ").append(Integer.toString(StructInfo.calcHash(an))).append(":\n");
+			names.putIfAbsent(mn != null ? mn : attr.id, attr);
+			for (String an : attr.alternativeNames) {
+				names.putIfAbsent(an, attr);
 			}
-			if (attr.fullMatch) {
-				code.append(alignment).append("\t\tif (!reader.wasLastName(name_").append(attr.name).append(")) {\n");
-				if (si.onUnknown == CompiledJson.Behavior.FAIL) {
-					code.append(alignment).append("\t\tthrow new java.io.IOException(\"Unknown property detected: '\" + reader.getLastName()");
-					code.append(" + \"' \" + reader.positionDescription(reader.getLastName().length() + 3));\n");
+		}
+		return names;
+	}
+
+	private Map<String, String> writeDispatchNames(final StructInfo si, final String alignment) throws IOException {
+		final Map<String, String> fields = new HashMap<>();
+		final Map<String, Integer> counters = new HashMap<>();
+		for (Map.Entry<String, AttributeInfo> kv : acceptedNames(si).entrySet()) {
+			AttributeInfo attr = kv.getValue();
+			if (kv.getKey().equals(attr.id)) {
+				fields.put(kv.getKey(), "name_" + attr.name);
+			} else {
+				int index = counters.merge(attr.name, 1, Integer::sum);
+				String field = "name_" + attr.name + "_" + index;
+				code.append(alignment).append("private static final byte[] ").append(field).append(" = \"").append(kv.getKey()).append("\".getBytes(utf8);\n");
+				fields.put(kv.getKey(), field);
+			}
+		}
+		return fields;
+	}
+
+	@FunctionalInterface
+	private interface PropertyHandler {
+		void handle(AttributeInfo attr, String alignment) throws IOException;
+	}
+
+	private void setAndAdvance(AttributeInfo attr, String alignment) throws IOException {
+		setPropertyValue(attr, alignment);
+		code.append(alignment).append("\t\treader.getNextToken();\n");
+	}
+
+	private void readAndAdvance(AttributeInfo attr, String alignment) throws IOException {
+		readPropertyValue(attr, alignment);
+		code.append(alignment).append("\t\treader.getNextToken();\n");
+	}
+
+	private void handleSwitch(StructInfo si, Map<String, String> dispatchNames, String alignment, PropertyHandler handler) throws IOException {
+		final Map<String, AttributeInfo> names = acceptedNames(si);
+		final PerfectHash perfectHash = new PerfectHash(names.keySet());
+		code.append(alignment).append("switch (").append(perfectHash.slotOf("hash")).append(") {\n");
+		for (Map.Entry<Integer, List<String>> slot : perfectHash.slots().entrySet()) {
+			code.append(alignment).append("\tcase ").append(Integer.toString(slot.getKey())).append(":\n");
+			for (String name : slot.getValue()) {
+				AttributeInfo attr = names.get(name);
+				code.append(alignment).append("\t\tif (");
+				if (attr.fullMatch || slot.getValue().size() > 1) {
+					code.append("reader.wasLastName(").append(dispatchNames.get(name)).append(")");
 				} else {
-					code.append(alignment).append("\t\treader.getNextToken(); reader.skip(); break;\n");
+					code.append("hash == ").append(Integer.toString(StructInfo.calcHash(name)));
 				}
+				code.append(") {\n");
+				if (attr.mandatory) {
+					code.append(alignment).append("\t\t\t__detected_").append(attr.name).append("__ = true;\n");
+				}
+				code.append(alignment).append("\t\t\treader.getNextToken();\n");
+				handler.handle(attr, alignment + "\t");
+				code.append(alignment).append("\t\t\tbreak;\n");
 				code.append(alignment).append("\t\t}\n");
 			}
-			if (attr.mandatory) {
-				code.append(alignment).append("\t\t__detected_").append(attr.name).append("__ = true;\n");
-			}
-			code.append(alignment).append("\t\treader.getNextToken();\n");
-			if (localNames) readPropertyValue(attr, alignment);
-			else setPropertyValue(attr, alignment);
-			code.append(alignment).append("\t\treader.getNextToken();\n");
-			code.append(alignment).append("\t\tbreak;\n");
+			handleUnknown(si, alignment);
 		}
 		code.append(alignment).append("\tdefault:\n");
+		handleUnknown(si, alignment);
+		code.append(alignment).append("}\n");
+	}
+
+	private void handleUnknown(StructInfo si, String alignment) throws IOException {
 		if (si.onUnknown == CompiledJson.Behavior.FAIL) {
-			code.append(alignment).append("\t\tString lastName = reader.getLastName();\n");
-			code.append(alignment).append("\t\tthrow new java.io.IOException(\"Unknown property detected: '\" + lastName");
-			code.append(" + \"' \" + reader.positionDescription(lastName.length() + 3));\n");
+			code.append(alignment).append("\t\tthrow new java.io.IOException(\"Unknown property detected: '\" + reader.getLastName()");
+			code.append(" + \"' \" + reader.positionDescription(reader.getLastName().length() + 3));\n");
 		} else {
 			code.append(alignment).append("\t\treader.getNextToken();\n");
 			code.append(alignment).append("\t\treader.skip();\n");
+			code.append(alignment).append("\t\tbreak;\n");
 		}
 	}
 
+	private static String nonNullableDecoder(AttributeInfo attr, OptimizedConverter converter) {
+		if (Context.isAsciiOnly(attr)) return Context.asciiDecoder(attr);
+		return converter.nonNullableDecoder() + "(reader)";
+	}
+
 	private void setPropertyValue(AttributeInfo attr, String alignment) throws IOException {
 		if (attr.notNull) {
 			code.append(alignment).append("\t\tif (reader.wasNull()) throw new java.io.IOException(\"Property '").append(attr.name).append("' is not allowed to be null.");
@@ -447,14 +840,14 @@ class InlinedTemplate {
 			code.append(alignment).append("\t\telse instance.");
 			if (attr.field != null) code.append(attr.field.getSimpleName()).append(" = ");
 			else code.append(attr.writeMethod.getSimpleName()).append("(");
-			code.append(converter.nonNullableDecoder()).append("(reader)");
+			code.append(nonNullableDecoder(attr, converter));
 		} else {
 			code.append(alignment).append("\t\tinstance.");
 			if (attr.field != null) code.append(attr.field.getSimpleName()).append(" = ");
 			else code.append(attr.writeMethod.getSimpleName()).append("(");
 			if (attr.converter != null || converter != null) {
 				if (attr.converter != null) code.append(attr.converter.toString()).append(".JSON_READER.read(reader)");
-				else code.append(converter.nonNullableDecoder()).append("(reader)");
+				else code.append(nonNullableDecoder(attr, converter));
 			} else if (attr.isEnum(context.structs)) {
 				if (!attr.notNull) code.append("reader.wasNull() ? null : ");
 				StructInfo target = context.structs.get(attr.typeName);
@@ -486,14 +879,12 @@ class InlinedTemplate {
 		OptimizedConverter converter = context.inlinedConverters.get(typeName);
 		if (attr.converter == null && converter != null && converter.defaultValue == null && !attr.notNull && converter.hasNonNullableMethod()) {
 			code.append(alignment).append("\t\t_").append(attr.name).append("_ = reader.wasNull() ? null : ");
-			code.append(converter.nonNullableDecoder());
-			code.append("(reader);\n");
+			code.append(nonNullableDecoder(attr, converter)).append(";\n");
 		} else {
 			code.append(alignment).append("\t\t_").append(attr.name).append("_ = ");
 			if (attr.converter != null || converter != null) {
-				if (attr.converter != null) code.append(attr.converter.toString()).append(".JSON_READER.read");
-				else code.append(converter.nonNullableDecoder());
-				code.append("(reader);\n");
+				if (attr.converter != null) code.append(attr.converter.toString()).append(".JSON_READER.read(reader);\n");
+				else code.append(nonNullableDecoder(attr, converter)).append(";\n");
 			} else if (attr.isEnum(context.structs)) {
 				if (!attr.notNull) code.append("reader.wasNull() ? null : ");
 				StructInfo target = context.structs.get(attr.typeName);
@@ -6,17 +6,25 @@ final class OptimizedConverter {
 	private final String decoderField;
 	private final String nonNullableDecoderMethod;
 	final String defaultValue;
+	private final String uncheckedEncoderMethod;
+	final int maxSize;
 
 	OptimizedConverter(String converter, String encoderField, String nonNullableEncoderMethod, String decoderField) {
 		this(converter, encoderField, nonNullableEncoderMethod, decoderField, null, null);
 	}
 
 	OptimizedConverter(String converter, String encoderField, String nonNullableEncoderMethod, String decoderField, String nonNullableDecoderMethod, String defaultValue) {
+		this(converter, encoderField, nonNullableEncoderMethod, decoderField, nonNullableDecoderMethod, defaultValue, null, 0);
+	}
+
+	OptimizedConverter(String converter, String encoderField, String nonNullableEncoderMethod, String decoderField, String nonNullableDecoderMethod, String defaultValue, String uncheckedEncoderMethod, int maxSize) {
 		this.encoderField = converter + "." + encoderField;
 		this.nonNullableEncoderMethod = nonNullableEncoderMethod != null ? converter + "." + nonNullableEncoderMethod : null;
 		this.decoderField = converter + "." + decoderField;
 		this.nonNullableDecoderMethod = nonNullableDecoderMethod != null ? converter + "." + nonNullableDecoderMethod : null;
 		this.defaultValue = defaultValue;
+		this.uncheckedEncoderMethod = uncheckedEncoderMethod != null ? converter + "." + uncheckedEncoderMethod : null;
+		this.maxSize = uncheckedEncoderMethod != null ? maxSize : 0;
 	}
 
 	String encoder(String name, boolean nonNull) {
@@ -34,6 +42,14 @@ final class OptimizedConverter {
 		return encoderField + ".write(" + writer + ", " + value + ")";
 	}
 
+	boolean hasUncheckedEncoder() {
+		return uncheckedEncoderMethod != null;
+	}
+
+	String uncheckedEncoder(String writer, String value) {
+		return uncheckedEncoderMethod + "(" + value + ", " + writer + ")";
+	}
+
 	String decoder(String name, boolean nonNull) {
 		if (nonNull && defaultValue == null) {
 			return "rdr -> { if (rdr.wasNull()) throw new java.io.IOException(\"Property '" + name + "' is not allowed to be null\"); return " + nonNullableDecoderMethod + "(rdr); }";
@@ -0,0 +1,78 @@
+package com.dslplatform.json.processor;
+
+import java.util.*;
+
+/**
+ * Minimal perfect hash over property (or constant) names.
+ * <p>
+ * Reader calculates FNV hash of each name during parsing.
+ * Processor searches for a multiplier which maps FNV hashes of all known names into distinct slots
+ * of a small dense table, so generated code can dispatch with a tableswitch
+ * and verify the match with a single comparison, instead of looking up sparse hashes.
+ * Names with the same FNV hash end up in the same slot and are distinguished by comparing bytes.
+ * If such multiplier can't be found, FNV hash is used as is.
+ */
+final class PerfectHash {
+
+	private static final int MAX_ATTEMPTS = 1 << 16;
+	private static final int EXTRA_BITS = 3;
+
+	private final int multiplier;
+	private final int shift;
+	private final Map<Integer, List<String>> slots;
+
+	PerfectHash(final Collection<String> names) {
+		final Map<Integer, List<String>> byHash = new LinkedHashMap<>();
+		for (String n : names) {
+			List<String> same = byHash.computeIfAbsent(StructInfo.calcHash(n), k -> new ArrayList<>());
+			if (!same.contains(n)) same.add(n);
+		}
+		int minBits = 1;
+		while ((1 << minBits) < byHash.size()) minBits++;
+		for (int bits = minBits; bits <= minBits + EXTRA_BITS; bits++) {
+			int m = 0x9E3779B9;
+			for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++, m += 0x6A09E666) {
+				final int multiplier = m | 1;
+				final Map<Integer, List<String>> placed = place(byHash, multiplier, 32 - bits);
+				if (placed != null) {
+					this.multiplier = multiplier;
+					this.shift = 32 - bits;
+					this.slots = placed;
+					return;
+				}
+			}
+		}
+		this.multiplier = 1;
+		this.shift = 0;
+		this.slots = new TreeMap<>(byHash);
+	}
+
+	private static Map<Integer, List<String>> place(final Map<Integer, List<String>> byHash, final int multiplier, final int shift) {
+		final Map<Integer, List<String>> result = new TreeMap<>();
+		for (Map.Entry<Integer, List<String>> kv : byHash.entrySet()) {
+			if (result.put((kv.getKey() * multiplier) >>> shift, kv.getValue()) != null) return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Used slots with all names which map into them.
+	 * More than a single name means names have the same FNV hash.
+	 *
+	 * @return slot to names mapping, ordered by slot
+	 */
+	Map<Integer, List<String>> slots() {
+		return slots;
+	}
+
+	/**
+	 * Java expression which converts FNV hash into a slot
+	 *
+	 * @param hash variable holding the FNV hash
+	 * @return expression for the switch
+	 */
+	String slotOf(final String hash) {
+		if (shift == 0) return hash;
+		return "(" + hash + " * " + multiplier + ") >>> " + shift;
+	}
+}
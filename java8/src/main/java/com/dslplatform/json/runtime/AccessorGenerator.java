@@ -0,0 +1,136 @@
+package com.dslplatform.json.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+
+import static com.dslplatform.json.runtime.PropertyDispatchGenerator.*;
+
+/**
+ * Emits a hidden class per accessed member which extends {@link Reflection.BoundAccessor}.
+ * Method handle of the member is passed as class data and bound to a static final field
+ * of the generated class, which JIT treats as a constant,
+ * so the handle is inlined into the accessor instead of being invoked through an instance field.
+ * <p>
+ * Generated class references only library and JDK types, so it can be defined next to the library classes
+ * regardless of the visibility of the accessed member.
+ */
+abstract class AccessorGenerator {
+
+	private static final String CLASS_NAME = "com/dslplatform/json/runtime/Reflection$BoundAccessor$Generated";
+	private static final String ACCESSOR = "com/dslplatform/json/runtime/Reflection$BoundAccessor";
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	private static final String MEMBER = "java/lang/reflect/Member";
+	private static final String OBJECT = "Ljava/lang/Object;";
+
+	/**
+	 * Generate accessor for provided member.
+	 *
+	 * @param member accessed field or method
+	 * @param handle getter or setter handle of the member
+	 * @param value  accessed type: int, long, double or boolean for primitive access and Object for boxed access
+	 * @param write  accessor is a setter
+	 * @return accessor or null if it can't be generated
+	 */
+	static Reflection.BoundAccessor generate(
+			final Member member,
+			final MethodHandle handle,
+			final Class<?> value,
+			final boolean write) {
+		if (!isSupported()) return null;
+		try {
+			final MethodType type = write
+					? MethodType.methodType(void.class, Object.class, value)
+					: MethodType.methodType(value, Object.class);
+			final ConstantPool cp = new ConstantPool();
+			final Class<?> generated = define(emit(cp, value, write), handle.asType(type), cp.classData);
+			final Constructor<?> ctor = generated.getDeclaredConstructor(Member.class);
+			ctor.setAccessible(true);
+			return (Reflection.BoundAccessor) ctor.newInstance(member);
+		} catch (Exception | LinkageError ex) {
+			return failed("accessor", member.getDeclaringClass(), ex);
+		}
+	}
+
+	private static String suffix(final Class<?> value) {
+		if (value == int.class) return "Int";
+		if (value == long.class) return "Long";
+		if (value == double.class) return "Double";
+		if (value == boolean.class) return "Bool";
+		return "";
+	}
+
+	static byte[] emit(final ConstantPool cp, final Class<?> value, final boolean write) throws IOException {
+		final int thisClass = cp.type(CLASS_NAME);
+		final int superClass = cp.type(ACCESSOR);
+		final int codeName = cp.utf8("Code");
+		final int frameName = cp.utf8("StackMapTable");
+		final String valueDescriptor = value.isPrimitive() ? descriptor(value) : OBJECT;
+		final String accessDescriptor = write
+				? "(" + OBJECT + valueDescriptor + ")V"
+				: "(" + OBJECT + ")" + valueDescriptor;
+		final int valueSize = value == long.class || value == double.class ? 2 : 1;
+		final int handleField = cp.field(CLASS_NAME, "HANDLE", "L" + METHOD_HANDLE + ";");
+		final int methodHandleClass = cp.type(METHOD_HANDLE);
+		final int superInit = cp.method(ACCESSOR, "<init>", "(L" + MEMBER + ";)V");
+		final int invokeExact = cp.method(METHOD_HANDLE, "invokeExact", accessDescriptor);
+
+		final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+		final DataOutputStream mo = new DataOutputStream(methods);
+
+		//static initializer which binds class data to a constant
+		ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+		DataOutputStream code = new DataOutputStream(codeBytes);
+		loadClassData(code, cp);
+		code.writeByte(CHECKCAST);
+		code.writeShort(methodHandleClass);
+		code.writeByte(PUTSTATIC);
+		code.writeShort(handleField);
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_STATIC, "<clinit>", "()V", codeName, 3, 0, codeBytes.toByteArray(), frameName, null);
+
+		//constructor which keeps the member for error reporting
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(ALOAD_0);
+		code.writeByte(ALOAD_1);
+		code.writeByte(INVOKESPECIAL);
+		code.writeShort(superInit);
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_PUBLIC, "<init>", "(L" + MEMBER + ";)V", codeName, 2, 2, codeBytes.toByteArray(), frameName, null);
+
+		//typed get or set which invokes the constant handle
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(GETSTATIC);
+		code.writeShort(handleField);
+		code.writeByte(ALOAD_1);
+		if (write) {
+			if (value == long.class) code.writeByte(LLOAD_2);
+			else if (value == double.class) code.writeByte(DLOAD_2);
+			else if (value.isPrimitive()) code.writeByte(ILOAD_2);
+			else code.writeByte(ALOAD_2);
+		}
+		code.writeByte(INVOKEVIRTUAL);
+		code.writeShort(invokeExact);
+		if (write) code.writeByte(RETURN);
+		else if (value == long.class) code.writeByte(LRETURN);
+		else if (value == double.class) code.writeByte(DRETURN);
+		else if (value.isPrimitive()) code.writeByte(IRETURN);
+		else code.writeByte(ARETURN);
+		final int maxStack = write ? 2 + valueSize : 2;
+		final int maxLocals = write ? 2 + valueSize : 2;
+		writeMethod(mo, cp, 0, (write ? "set" : "get") + suffix(value), accessDescriptor, codeName, maxStack, maxLocals, codeBytes.toByteArray(), frameName, null);
+
+		final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+		final DataOutputStream fo = new DataOutputStream(fields);
+		writeField(fo, cp, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "HANDLE", "L" + METHOD_HANDLE + ";");
+		fo.flush();
+		mo.flush();
+		return assemble(cp, thisClass, superClass, 0, 1, fields, 3, methods);
+	}
+}
@@ -3,20 +3,24 @@ package com.dslplatform.json.runtime;
 import com.dslplatform.json.JsonReader;
 
 import java.io.IOException;
+import java.lang.reflect.Member;
 import java.util.function.BiConsumer;
 
 class AttributeDecoder<T, P> implements JsonReader.BindObject<T> {
 
 	private final BiConsumer<T, P> write;
-	private final JsonReader.ReadObject<P> decoder;
+	final JsonReader.ReadObject<P> decoder;
+	final Member setter;
 
 	AttributeDecoder(
 			final BiConsumer<T, P> write,
-			final JsonReader.ReadObject<P> decoder) {
+			final JsonReader.ReadObject<P> decoder,
+			final Member setter) {
 		if (write == null) throw new IllegalArgumentException("write can't be null");
 		if (decoder == null) throw new IllegalArgumentException("decoder can't be null");
 		this.write = write;
 		this.decoder = decoder;
+		this.setter = setter;
 	}
 
 	@Override
@@ -0,0 +1,39 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.NumberConverter;
+
+import java.lang.reflect.Member;
+import java.nio.charset.Charset;
+import java.util.function.ToDoubleFunction;
+
+class AttributeDoubleEncoder<T> implements JsonWriter.WriteObject<T> {
+
+	private static final Charset utf8 = Charset.forName("UTF-8");
+
+	private final ToDoubleFunction<T> read;
+	final byte[] quotedName;
+	final boolean omitDefaults;
+	final Member getter;
+
+	AttributeDoubleEncoder(
+			final ToDoubleFunction<T> read,
+			final String name,
+			final boolean omitDefaults,
+			final Member getter) {
+		if (read == null) throw new IllegalArgumentException("read can't be null");
+		if (name == null || name.isEmpty()) throw new IllegalArgumentException("name can't be null");
+		this.read = read;
+		quotedName = ("\"" + name + "\":").getBytes(utf8);
+		this.omitDefaults = omitDefaults;
+		this.getter = getter;
+	}
+
+	@Override
+	public void write(final JsonWriter writer, final T value) {
+		final double attr = read.applyAsDouble(value);
+		if (omitDefaults && Double.doubleToRawLongBits(attr) == 0) return;
+		writer.writeAscii(quotedName);
+		NumberConverter.serialize(attr, writer);
+	}
+}
@@ -0,0 +1,26 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.NumberConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Member;
+import java.util.function.ObjIntConsumer;
+
+class AttributeIntDecoder<T> implements JsonReader.BindObject<T> {
+
+	private final ObjIntConsumer<T> write;
+	final Member setter;
+
+	AttributeIntDecoder(final ObjIntConsumer<T> write, final Member setter) {
+		if (write == null) throw new IllegalArgumentException("write can't be null");
+		this.write = write;
+		this.setter = setter;
+	}
+
+	@Override
+	public T bind(final JsonReader reader, final T instance) throws IOException {
+		write.accept(instance, NumberConverter.deserializeInt(reader));
+		return instance;
+	}
+}
@@ -2,6 +2,7 @@ package com.dslplatform.json.runtime;
 
 import com.dslplatform.json.JsonWriter;
 
+import java.lang.reflect.Member;
 import java.nio.charset.Charset;
 import java.util.function.Function;
 
@@ -10,19 +11,22 @@ class AttributeObjectAlwaysEncoder<T, R> implements JsonWriter.WriteObject<T> {
 	private static final Charset utf8 = Charset.forName("UTF-8");
 
 	private final Function<T, R> read;
-	private final byte[] quotedName;
-	private final JsonWriter.WriteObject<R> encoder;
+	final byte[] quotedName;
+	final JsonWriter.WriteObject<R> encoder;
+	final Member getter;
 
 	AttributeObjectAlwaysEncoder(
 			final Function<T, R> read,
 			final String name,
-			final JsonWriter.WriteObject<R> encoder) {
+			final JsonWriter.WriteObject<R> encoder,
+			final Member getter) {
 		if (read == null) throw new IllegalArgumentException("read can't be null");
 		if (name == null || name.isEmpty()) throw new IllegalArgumentException("name can't be null");
 		if (encoder == null) throw new IllegalArgumentException("encoder can't be null");
 		this.read = read;
 		quotedName = ("\"" + name + "\":").getBytes(utf8);
 		this.encoder = encoder;
+		this.getter = getter;
 	}
 
 	@Override
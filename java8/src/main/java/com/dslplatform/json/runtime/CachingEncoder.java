@@ -0,0 +1,93 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonWriter;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Writer which remembers encoded bytes of the instances it has written.
+ * When the same instance is written again, bytes are copied into the output without invoking the underlying encoder.
+ * This is only valid for immutable instances, since changes after the first write will not be visible in the output.
+ * <p>
+ * Cache is a fixed size structure indexed by instance identity hash.
+ * Different instance with the same index will overwrite the previous one.
+ * Instances are referenced only weakly, so cache will not prevent them from being collected.
+ * Instance which was flushed to the output stream while it was being written will not be cached.
+ *
+ * @param <T> type of cached instances
+ */
+public final class CachingEncoder<T> implements JsonWriter.WriteObject<T> {
+
+	public static final int DEFAULT_SIZE = 1024;
+
+	private final JsonWriter.WriteObject<T> encoder;
+	private final Entry[] entries;
+	private final int mask;
+
+	private static final class Entry extends WeakReference<Object> {
+		final byte[] bytes;
+
+		Entry(final Object instance, final byte[] bytes) {
+			super(instance);
+			this.bytes = bytes;
+		}
+	}
+
+	public CachingEncoder(final JsonWriter.WriteObject<T> encoder) {
+		this(encoder, DEFAULT_SIZE);
+	}
+
+	/**
+	 * Cache encoded instances of the provided writer.
+	 * Size will be rounded up to the power of 2.
+	 *
+	 * @param encoder underlying writer
+	 * @param size    maximum number of cached instances
+	 */
+	public CachingEncoder(final JsonWriter.WriteObject<T> encoder, final int size) {
+		if (encoder == null) throw new IllegalArgumentException("encoder can't be null");
+		if (size < 1 || size > 1 << 30) throw new IllegalArgumentException("size must be between 1 and 2^30");
+		this.encoder = encoder;
+		int length = 1;
+		while (length < size) {
+			length <<= 1;
+		}
+		this.entries = new Entry[length];
+		this.mask = length - 1;
+	}
+
+	/**
+	 * Wrap writer with a cache unless DslJson is configured to omit default values.
+	 *
+	 * @param json    DslJson with settings
+	 * @param encoder underlying writer
+	 * @param <T>     type of cached instances
+	 * @return caching writer or provided writer when cache should not be used
+	 */
+	public static <T> JsonWriter.WriteObject<T> create(final DslJson json, final JsonWriter.WriteObject<T> encoder) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return json.omitDefaults ? encoder : new CachingEncoder<>(encoder);
+	}
+
+	@Override
+	public void write(final JsonWriter writer, final T value) {
+		if (value == null) {
+			writer.writeNull();
+			return;
+		}
+		final int index = System.identityHashCode(value) & mask;
+		final Entry entry = entries[index];
+		if (entry != null && entry.get() == value) {
+			writer.writeAscii(entry.bytes);
+			return;
+		}
+		final long flushed = writer.flushed();
+		final int start = writer.size();
+		encoder.write(writer, value);
+		if (writer.flushed() == flushed) {
+			entries[index] = new Entry(value, Arrays.copyOfRange(writer.getByteBuffer(), start, writer.size()));
+		}
+	}
+}
@@ -11,42 +11,57 @@ import java.util.concurrent.Callable;
 
 public abstract class CollectionAnalyzer {
 
-	public static final DslJson.ConverterFactory<CollectionDecoder> READER = (manifest, dslJson) -> {
+	public static final DslJson.ConverterFactory<CollectionDecoder> READER = (manifest, dslJson) -> analyzeDecoding(manifest, dslJson, true);
+
+	/**
+	 * Collection reader which does not use reflection for creating collection instances.
+	 * Only collection interfaces are supported (eg. List, Set, Queue and Collection),
+	 * while concrete collection types must be handled by some other converter.
+	 */
+	static final DslJson.ConverterFactory<CollectionDecoder> INTERFACE_READER = (manifest, dslJson) -> analyzeDecoding(manifest, dslJson, false);
+
+	public static final DslJson.ConverterFactory<CollectionEncoder> WRITER = (manifest, dslJson) -> {
 		if (manifest instanceof Class<?>) {
-			return analyzeDecoding(manifest, Object.class, (Class<?>)manifest, dslJson);
+			return analyzeEncoding(manifest, Object.class, (Class<?>)manifest, dslJson);
 		}
 		if (manifest instanceof ParameterizedType) {
 			final ParameterizedType pt = (ParameterizedType) manifest;
 			if (pt.getActualTypeArguments().length == 1 && pt.getRawType() instanceof Class<?>) {
-				return analyzeDecoding(manifest, pt.getActualTypeArguments()[0], (Class<?>) pt.getRawType(), dslJson);
+				return analyzeEncoding(manifest, pt.getActualTypeArguments()[0], (Class<?>) pt.getRawType(), dslJson);
 			}
 		}
 		return null;
 	};
 
-	public static final DslJson.ConverterFactory<CollectionEncoder> WRITER = (manifest, dslJson) -> {
+	private static CollectionDecoder analyzeDecoding(final Type manifest, final DslJson json, final boolean allowConcrete) {
 		if (manifest instanceof Class<?>) {
-			return analyzeEncoding(manifest, Object.class, (Class<?>)manifest, dslJson);
+			return analyzeDecoding(manifest, Object.class, (Class<?>)manifest, json, allowConcrete);
 		}
 		if (manifest instanceof ParameterizedType) {
 			final ParameterizedType pt = (ParameterizedType) manifest;
 			if (pt.getActualTypeArguments().length == 1 && pt.getRawType() instanceof Class<?>) {
-				return analyzeEncoding(manifest, pt.getActualTypeArguments()[0], (Class<?>) pt.getRawType(), dslJson);
+				return analyzeDecoding(manifest, pt.getActualTypeArguments()[0], (Class<?>) pt.getRawType(), json, allowConcrete);
 			}
 		}
 		return null;
-	};
+	}
 
-	private static CollectionDecoder analyzeDecoding(final Type manifest, final Type element, final Class<?> collection, final DslJson json) {
+	private static CollectionDecoder analyzeDecoding(
+			final Type manifest,
+			final Type element,
+			final Class<?> collection,
+			final DslJson json,
+			final boolean allowConcrete) {
 		if (!Collection.class.isAssignableFrom(collection)) return null;
 		final Callable newInstance;
 		if (!collection.isInterface()) {
+			if (!allowConcrete) return null;
 			try {
 				collection.newInstance();
 			} catch (Exception ex) {
 				return null;
 			}
-			newInstance = collection::newInstance;
+			newInstance = Reflection.callableFactory(collection);
 		} else if (Set.class.isAssignableFrom(collection)) {
 			newInstance = () -> new LinkedHashSet<>(4);
 		} else if (List.class.isAssignableFrom(collection) || Collection.class == collection) {
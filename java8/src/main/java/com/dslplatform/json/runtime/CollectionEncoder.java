@@ -3,9 +3,11 @@ package com.dslplatform.json.runtime;
 import com.dslplatform.json.DslJson;
 import com.dslplatform.json.JsonWriter;
 import com.dslplatform.json.SerializationException;
+import com.dslplatform.json.UUIDConverter;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.UUID;
 
 public final class CollectionEncoder<E, T extends Collection<E>> implements JsonWriter.WriteObject<T> {
 
@@ -26,6 +28,7 @@ public final class CollectionEncoder<E, T extends Collection<E>> implements Json
 	public void write(final JsonWriter writer, final T value) {
 		if (value == null) writer.writeNull();
 		else if (value.isEmpty()) writer.writeAscii(EMPTY);
+		else if (encoder == UUIDConverter.WRITER) UUIDConverter.serialize((Collection<UUID>) value, writer);
 		else if (encoder != null) {
 			writer.writeByte(JsonWriter.ARRAY_START);
 			if (value instanceof ArrayList) {
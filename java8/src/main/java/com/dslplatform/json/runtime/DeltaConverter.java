@@ -0,0 +1,48 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Converter which can serialize only the difference between two instances
+ * and apply such partial object onto an existing instance.
+ * Compiled converters implement it when class is annotated with {@literal @}CompiledJson(delta = true).
+ * Nested objects which are also handled by a delta converter are compared and written recursively.
+ * Other properties are compared with equals.
+ *
+ * @param <T> type of the object
+ */
+public interface DeltaConverter<T> {
+	/**
+	 * Check if any property differs between the instances.
+	 *
+	 * @param previous baseline instance
+	 * @param current  current instance
+	 * @return true if delta would contain any property
+	 */
+	boolean isChanged(T previous, T current);
+
+	/**
+	 * Write an object with only those properties which differ from the baseline instance.
+	 * When there is no baseline, whole object is written.
+	 *
+	 * @param writer   output
+	 * @param previous baseline instance
+	 * @param current  current instance
+	 */
+	void writeDelta(JsonWriter writer, T previous, T current);
+
+	/**
+	 * Apply properties found in the partial object onto an existing instance.
+	 * Missing properties are left as is and mandatory properties are not checked.
+	 * Can be used as JsonReader.BindObject through a method reference.
+	 *
+	 * @param reader   input positioned at the start of the object
+	 * @param instance instance to update
+	 * @return updated instance
+	 * @throws IOException unable to process JSON
+	 */
+	T bindDelta(JsonReader reader, T instance) throws IOException;
+}
@@ -8,6 +8,9 @@ import com.dslplatform.json.SerializationException;
 import java.io.IOException;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public abstract class ImmutableAnalyzer {
 
@@ -20,35 +23,44 @@ public abstract class ImmutableAnalyzer {
 		}
 	}
 
-	private static class LazyImmutableDescription implements JsonWriter.WriteObject, JsonReader.ReadObject {
+	static class LazyImmutableDescription implements JsonWriter.WriteObject, JsonReader.ReadObject {
 
 		private final DslJson json;
 		private final Type type;
 		private JsonWriter.WriteObject encoder;
 		private JsonReader.ReadObject decoder;
-		volatile ImmutableDescription resolved;
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile Thread analyzer = Thread.currentThread();
+		private volatile ImmutableDescription resolved;
 
 		LazyImmutableDescription(DslJson json, Type type) {
 			this.json = json;
 			this.type = type;
 		}
 
+		void complete(final ImmutableDescription converter) {
+			resolved = converter;
+			analyzer = null;
+			completed.countDown();
+		}
+
+		boolean isCompleted() {
+			return completed.getCount() == 0;
+		}
+
 		private boolean checkSignatureNotFound() {
-			int i = 0;
-			ImmutableDescription local = null;
-			while (i < 50) {
+			ImmutableDescription local = resolved;
+			if (local == null && analyzer != Thread.currentThread()) {
 				try {
-					Thread.sleep(100);
+					completed.await(5, TimeUnit.SECONDS);
 				} catch (InterruptedException e) {
 					throw new SerializationException(e);
 				}
 				local = resolved;
-				if (local != null) {
-					encoder = local;
-					decoder = local;
-					break;
-				}
-				i++;
+			}
+			if (local != null) {
+				encoder = local;
+				decoder = local;
 			}
 			return local == null;
 		}
@@ -82,18 +94,28 @@ public abstract class ImmutableAnalyzer {
 		}
 	}
 
-	public static final DslJson.ConverterFactory<ImmutableDescription> CONVERTER = (manifest, dslJson) -> {
-		if (manifest instanceof Class<?>) {
-			return analyze(manifest, (Class<?>) manifest, dslJson);
-		}
-		if (manifest instanceof ParameterizedType) {
-			final ParameterizedType pt = (ParameterizedType) manifest;
-			if (pt.getActualTypeArguments().length == 1 && pt.getRawType() instanceof Class<?>) {
-				return analyze(manifest, (Class<?>) pt.getRawType(), dslJson);
+	public static final DslJson.ConverterFactory<ImmutableDescription> CONVERTER = converter(false);
+
+	/**
+	 * Same as CONVERTER, but analyzed types will use runtime generated property dispatch
+	 * and constructor invocation when supported.
+	 */
+	public static final DslJson.ConverterFactory<ImmutableDescription> GENERATING_CONVERTER = converter(true);
+
+	private static DslJson.ConverterFactory<ImmutableDescription> converter(final boolean generate) {
+		return (manifest, dslJson) -> {
+			if (manifest instanceof Class<?>) {
+				return analyze(manifest, (Class<?>) manifest, dslJson, generate);
 			}
-		}
-		return null;
-	};
+			if (manifest instanceof ParameterizedType) {
+				final ParameterizedType pt = (ParameterizedType) manifest;
+				if (pt.getActualTypeArguments().length == 1 && pt.getRawType() instanceof Class<?>) {
+					return analyze(manifest, (Class<?>) pt.getRawType(), dslJson, generate);
+				}
+			}
+			return null;
+		};
+	}
 
 	private static String[] tryParanamerIfPresent(Constructor<?> ctor) {
 		com.thoughtworks.paranamer.AdaptiveParanamer paranamer = new com.thoughtworks.paranamer.AdaptiveParanamer();
@@ -116,7 +138,7 @@ public abstract class ImmutableAnalyzer {
 		return Optional.of(names);
 	}
 
-	private static <T> ImmutableDescription<T> analyze(final Type manifest, final Class<T> raw, final DslJson json) {
+	private static <T> ImmutableDescription<T> analyze(final Type manifest, final Class<T> raw, final DslJson json, final boolean generate) {
 		if (raw.isArray()
 				|| Collection.class.isAssignableFrom(raw)
 				|| (raw.getModifiers() & Modifier.ABSTRACT) != 0
@@ -146,101 +168,101 @@ public abstract class ImmutableAnalyzer {
 		final LazyImmutableDescription lazy = new LazyImmutableDescription(json, manifest);
 		final JsonWriter.WriteObject oldWriter = json.registerWriter(manifest, lazy);
 		final JsonReader.ReadObject oldReader = json.registerReader(manifest, lazy);
-		final LinkedHashMap<String, JsonWriter.WriteObject> fields = new LinkedHashMap<>();
-		final LinkedHashMap<String, JsonWriter.WriteObject> methods = new LinkedHashMap<>();
-		final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
-		final Object[] defArgs = findDefaultArguments(ctorParams, genericMappings, json);
-		final LinkedHashMap<String, Field> matchingFields = new LinkedHashMap<>();
-		for (final Field f : raw.getFields()) {
-			if (isPublicFinalNonStatic(f.getModifiers())) {
-				matchingFields.put(f.getName(), f);
-			}
-		}
-		final LinkedHashMap<String, Method> matchingMethods = new LinkedHashMap<>();
-		for (final Method mget : raw.getMethods()) {
-			if (mget.getParameterTypes().length != 0) continue;
-			final String name = mget.getName().startsWith("get") && mget.getName().length() > 3
-					? Character.toLowerCase(mget.getName().charAt(3)) + mget.getName().substring(4)
-					: mget.getName();
-			if (isPublicNonStatic(mget.getModifiers()) && !name.contains("$") && !objectMethods.contains(name)) {
-				matchingMethods.put(name, mget);
-			}
-		}
-		final JsonWriter.WriteObject[] writeProps;
-		if (names != null) {
-			if (matchingFields.size() == ctorParams.length) {
-				for (int i = 0; i < ctorParams.length; i++) {
-					final Field f = matchingFields.get(names[i]);
-					if (f == null || !analyzeField(json, ctorParams[i], fields, f, genericMappings)) {
-						return unregister(manifest, json, oldWriter, oldReader);
-					}
+		try {
+			final LinkedHashMap<String, JsonWriter.WriteObject> fields = new LinkedHashMap<>();
+			final LinkedHashMap<String, JsonWriter.WriteObject> methods = new LinkedHashMap<>();
+			final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
+			final Object[] defArgs = findDefaultArguments(ctorParams, genericMappings, json);
+			final LinkedHashMap<String, Field> matchingFields = new LinkedHashMap<>();
+			for (final Field f : raw.getFields()) {
+				if (isPublicFinalNonStatic(f.getModifiers())) {
+					matchingFields.put(f.getName(), f);
 				}
-				writeProps = fields.values().toArray(new JsonWriter.WriteObject[0]);
-			} else {
-				for (int i = 0; i < ctorParams.length; i++) {
-					final Method m = matchingMethods.get(names[i]);
-					if (m == null || !analyzeMethod(m, json, ctorParams[i], names[i], methods, genericMappings)) {
-						return unregister(manifest, json, oldWriter, oldReader);
-					}
+			}
+			final LinkedHashMap<String, Method> matchingMethods = new LinkedHashMap<>();
+			for (final Method mget : raw.getMethods()) {
+				if (mget.getParameterTypes().length != 0) continue;
+				final String name = mget.getName().startsWith("get") && mget.getName().length() > 3
+						? Character.toLowerCase(mget.getName().charAt(3)) + mget.getName().substring(4)
+						: mget.getName();
+				if (isPublicNonStatic(mget.getModifiers()) && !name.contains("$") && !objectMethods.contains(name)) {
+					matchingMethods.put(name, mget);
 				}
-				writeProps = methods.values().toArray(new JsonWriter.WriteObject[0]);
 			}
-		} else {
-			names = new String[ctorParams.length];
-			if (matchingFields.size() == ctorParams.length) {
-				List<Field> orderedFields = new ArrayList<>(matchingFields.values());
-				for (int i = 0; i < ctorParams.length; i++) {
-					final Field f = orderedFields.get(i);
-					if (!analyzeField(json, ctorParams[i], fields, f, genericMappings)) {
-						return unregister(manifest, json, oldWriter, oldReader);
+			final JsonWriter.WriteObject[] writeProps;
+			if (names != null) {
+				if (matchingFields.size() == ctorParams.length) {
+					for (int i = 0; i < ctorParams.length; i++) {
+						final Field f = matchingFields.get(names[i]);
+						if (f == null || !analyzeField(json, ctorParams[i], fields, f, genericMappings)) {
+							return unregister(manifest, json, lazy, oldWriter, oldReader);
+						}
 					}
-					names[i] = f.getName();
+					writeProps = fields.values().toArray(new JsonWriter.WriteObject[0]);
+				} else {
+					for (int i = 0; i < ctorParams.length; i++) {
+						final Method m = matchingMethods.get(names[i]);
+						if (m == null || !analyzeMethod(m, json, ctorParams[i], names[i], methods, genericMappings)) {
+							return unregister(manifest, json, lazy, oldWriter, oldReader);
+						}
+					}
+					writeProps = methods.values().toArray(new JsonWriter.WriteObject[0]);
 				}
-				writeProps = fields.values().toArray(new JsonWriter.WriteObject[0]);
 			} else {
-				for (Parameter p : ctorParams) {
-					for (Map.Entry<String, Method> kv : matchingMethods.entrySet()) {
-						final Method m = kv.getValue();
-						if (analyzeMethod(m, json, p, kv.getKey(), methods, genericMappings)) {
-							matchingMethods.remove(kv.getKey());
-							break;
+				names = new String[ctorParams.length];
+				if (matchingFields.size() == ctorParams.length) {
+					List<Field> orderedFields = new ArrayList<>(matchingFields.values());
+					for (int i = 0; i < ctorParams.length; i++) {
+						final Field f = orderedFields.get(i);
+						if (!analyzeField(json, ctorParams[i], fields, f, genericMappings)) {
+							return unregister(manifest, json, lazy, oldWriter, oldReader);
 						}
+						names[i] = f.getName();
 					}
-				}
-				if (methods.size() == ctorParams.length) {
-					writeProps = methods.values().toArray(new JsonWriter.WriteObject[0]);
+					writeProps = fields.values().toArray(new JsonWriter.WriteObject[0]);
 				} else {
-					return unregister(manifest, json, oldWriter, oldReader);
+					for (Parameter p : ctorParams) {
+						for (Map.Entry<String, Method> kv : matchingMethods.entrySet()) {
+							final Method m = kv.getValue();
+							if (analyzeMethod(m, json, p, kv.getKey(), methods, genericMappings)) {
+								matchingMethods.remove(kv.getKey());
+								break;
+							}
+						}
+					}
+					if (methods.size() == ctorParams.length) {
+						writeProps = methods.values().toArray(new JsonWriter.WriteObject[0]);
+					} else {
+						return unregister(manifest, json, lazy, oldWriter, oldReader);
+					}
+					names = (fields.isEmpty() ? methods.keySet() : fields.keySet()).toArray(new String[0]);
 				}
-				names = (fields.isEmpty() ? methods.keySet() : fields.keySet()).toArray(new String[0]);
 			}
+			final DecodePropertyInfo<JsonReader.ReadObject>[] readProps = new DecodePropertyInfo[ctorParams.length];
+			for (int i = 0; i < ctorParams.length; i++) {
+				final Type concreteType = Generics.makeConcrete(ctorParams[i].getParameterizedType(), genericMappings);
+				readProps[i] = new DecodePropertyInfo<>(names[i], false, false, i, false, new WriteCtor(json, concreteType, ctor));
+			}
+			final ImmutableDescription<T> converter = new ImmutableDescription<T>(
+					manifest,
+					defArgs,
+					(Function<Object[], T>) Reflection.constructor(ctor),
+					generate ? ImmutableSlotsGenerator.generate(ctor, defArgs, ImmutableDescription.readers(defArgs.length, readProps), json) : null,
+					writeProps,
+					readProps,
+					!json.omitDefaults,
+					true,
+					generate);
+			json.registerWriter(manifest, converter);
+			json.registerReader(manifest, converter);
+			lazy.complete(converter);
+			return converter;
+		} finally {
+			if (!lazy.isCompleted()) unregister(manifest, json, lazy, oldWriter, oldReader);
 		}
-		final DecodePropertyInfo<JsonReader.ReadObject>[] readProps = new DecodePropertyInfo[ctorParams.length];
-		for (int i = 0; i < ctorParams.length; i++) {
-			final Type concreteType = Generics.makeConcrete(ctorParams[i].getParameterizedType(), genericMappings);
-			readProps[i] = new DecodePropertyInfo<>(names[i], false, false, i, false, new WriteCtor(json, concreteType, ctor));
-		}
-		final ImmutableDescription<T> converter = new ImmutableDescription<T>(
-				manifest,
-				defArgs,
-				args -> {
-					try {
-						return (T) ctor.newInstance(args);
-					} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-						throw new RuntimeException(e);
-					}
-				},
-				writeProps,
-				readProps,
-				!json.omitDefaults,
-				true);
-		json.registerWriter(manifest, converter);
-		json.registerReader(manifest, converter);
-		lazy.resolved = converter;
-		return converter;
 	}
 
-	private static class WriteCtor implements JsonReader.ReadObject {
+	static class WriteCtor implements JsonReader.ReadObject {
 		private final DslJson json;
 		private final Type type;
 		private final Constructor<?> ctor;
@@ -264,9 +286,10 @@ public abstract class ImmutableAnalyzer {
 		}
 	}
 
-	private static <T> ImmutableDescription<T> unregister(Type manifest, DslJson json, JsonWriter.WriteObject oldWriter, JsonReader.ReadObject oldReader) {
+	static <T> ImmutableDescription<T> unregister(Type manifest, DslJson json, LazyImmutableDescription lazy, JsonWriter.WriteObject oldWriter, JsonReader.ReadObject oldReader) {
 		json.registerWriter(manifest, oldWriter);
 		json.registerReader(manifest, oldReader);
+		lazy.complete(null);
 		return null;
 	}
 
@@ -296,7 +319,7 @@ public abstract class ImmutableAnalyzer {
 			found.put(
 					field.getName(),
 					Settings.createEncoder(
-							new Reflection.ReadField(field),
+							field,
 							field.getName(),
 							json,
 							isUnknown ? null : concreteType));
@@ -320,7 +343,7 @@ public abstract class ImmutableAnalyzer {
 			found.put(
 					name,
 					Settings.createEncoder(
-							new Reflection.ReadMethod(mget),
+							mget,
 							name,
 							json,
 							isUnknown ? null : concreteType));
@@ -10,8 +10,7 @@ import java.util.function.Function;
 public final class ImmutableDescription<T> extends WriteDescription<T> implements JsonReader.ReadObject<T> {
 
 	private final Type manifest;
-	private final Object[] defArgs;
-	private final Function<Object[], T> newInstance;
+	private final ImmutableSlots slots;
 	private final DecodePropertyInfo<JsonReader.ReadObject>[] decoders;
 	private final boolean skipOnUnknown;
 	private final boolean hasMandatory;
@@ -25,31 +24,44 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 			final DecodePropertyInfo<JsonReader.ReadObject>[] decoders,
 			final boolean alwaysSerialize,
 			final boolean skipOnUnknown) {
-		this((Type) manifest, defArgs, newInstance, encoders, decoders, alwaysSerialize, skipOnUnknown);
+		this((Type) manifest, defArgs, newInstance, null, encoders, decoders, alwaysSerialize, skipOnUnknown, false);
 	}
 
 	ImmutableDescription(
 			final Type manifest,
 			final Object[] defArgs,
 			final Function<Object[], T> newInstance,
+			final ImmutableSlots slots,
 			final JsonWriter.WriteObject[] encoders,
 			final DecodePropertyInfo<JsonReader.ReadObject>[] decoders,
 			final boolean alwaysSerialize,
-			final boolean skipOnUnknown) {
-		super(encoders, alwaysSerialize);
+			final boolean skipOnUnknown,
+			final boolean generateDispatch) {
+		super(encoders, alwaysSerialize,
+				generateDispatch && encoders != null ? PropertyDispatchGenerator.generate(manifest, encoders, new DecodePropertyInfo[0]) : null);
 		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
 		if (defArgs == null) throw new IllegalArgumentException("defArgs can't be null");
 		if (newInstance == null) throw new IllegalArgumentException("create can't be null");
 		if (decoders == null) throw new IllegalArgumentException("decoders can't be null");
 		this.manifest = manifest;
-		this.defArgs = defArgs;
-		this.newInstance = newInstance;
+		this.slots = slots != null ? slots : new ImmutableSlots.ArraySlots(defArgs, newInstance, readers(defArgs.length, decoders));
 		this.decoders = DecodePropertyInfo.prepare(decoders);
 		this.skipOnUnknown = skipOnUnknown;
 		this.mandatoryFlag = DecodePropertyInfo.calculateMandatory(this.decoders);
 		hasMandatory = mandatoryFlag != 0;
 	}
 
+	static JsonReader.ReadObject[] readers(final int length, final DecodePropertyInfo<JsonReader.ReadObject>[] decoders) {
+		final JsonReader.ReadObject[] readers = new JsonReader.ReadObject[length];
+		for (final DecodePropertyInfo<JsonReader.ReadObject> ri : decoders) {
+			if (ri.index < 0 || ri.index >= length) {
+				throw new IllegalArgumentException("Invalid index " + ri.index + " for property " + ri.name);
+			}
+			readers[ri.index] = ri.value;
+		}
+		return readers;
+	}
+
 	public T read(final JsonReader reader) throws IOException {
 		if (reader.wasNull()) return null;
 		else if (reader.last() != '{') {
@@ -59,9 +71,9 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 			if (hasMandatory) {
 				DecodePropertyInfo.showMandatoryError(reader, mandatoryFlag, decoders);
 			}
-			return newInstance.apply(defArgs);
+			return create(slots.defaults());
 		}
-		final Object[] args = defArgs.clone();
+		final Object args = slots.fresh();
 		long currentMandatory = mandatoryFlag;
 		int i = 0;
 		while(i < decoders.length) {
@@ -74,7 +86,7 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 			if (ri.nonNull && reader.wasNull()) {
 				throw new IOException("Null value found for property " + ri.name + " " + reader.positionDescription());
 			}
-			args[ri.index] = ri.value.read(reader);
+			slots.read(args, ri.index, reader);
 			currentMandatory = currentMandatory & ri.mandatoryValue;
 			if (reader.getNextToken() == ',' && i != decoders.length) reader.getNextToken();
 			else break;
@@ -82,7 +94,7 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 		return finalChecks(args, reader, currentMandatory);
 	}
 
-	private T readObjectSlow(final Object[] args, final JsonReader reader, long currentMandatory) throws IOException {
+	private T readObjectSlow(final Object args, final JsonReader reader, long currentMandatory) throws IOException {
 		boolean processed = false;
 		final int oldHash = reader.getLastHash();
 		for (final DecodePropertyInfo<JsonReader.ReadObject> ri : decoders) {
@@ -94,7 +106,7 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 			if (ri.nonNull && reader.wasNull()) {
 				throw new IOException("Null value found for property " + ri.name + " " + reader.positionDescription());
 			}
-			args[ri.index] = ri.value.read(reader);
+			slots.read(args, ri.index, reader);
 			currentMandatory = currentMandatory & ri.mandatoryValue;
 			processed = true;
 			break;
@@ -114,7 +126,7 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 				if (ri.nonNull && reader.wasNull()) {
 					throw new IOException("Null value found for property " + ri.name + " " + reader.positionDescription());
 				}
-				args[ri.index] = ri.value.read(reader);
+				slots.read(args, ri.index, reader);
 				currentMandatory = currentMandatory & ri.mandatoryValue;
 				processed = true;
 				break;
@@ -125,7 +137,7 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 		return finalChecks(args, reader, currentMandatory);
 	}
 
-	private T finalChecks(Object[] args, JsonReader reader, long currentMandatory) throws IOException {
+	private T finalChecks(Object args, JsonReader reader, long currentMandatory) throws IOException {
 		if (reader.last() != '}') {
 			if (reader.last() == ',') {
 				reader.getNextToken();
@@ -136,7 +148,18 @@ public final class ImmutableDescription<T> extends WriteDescription<T> implement
 		if (hasMandatory && currentMandatory != 0) {
 			DecodePropertyInfo.showMandatoryError(reader, currentMandatory, decoders);
 		}
-		return newInstance.apply(args);
+		return create(args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T create(final Object args) {
+		try {
+			return (T) slots.create(args);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	private void skip(final JsonReader reader) throws IOException {
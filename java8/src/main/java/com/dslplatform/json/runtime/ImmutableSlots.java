@@ -0,0 +1,58 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonReader;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Reads constructor arguments while an immutable object is being read.
+ * Arguments are kept in a separate state object: each read works on a fresh state
+ * which is discarded once the object is constructed, while default state is never modified.
+ * <p>
+ * Generated implementations from {@link ImmutableSlotsGenerator} use instances of the generated class as state,
+ * with arguments in typed fields and direct constructor invocation,
+ * while {@link ArraySlots} is used as a fallback and keeps arguments in an array.
+ */
+abstract class ImmutableSlots {
+
+	abstract Object defaults();
+
+	abstract Object fresh();
+
+	abstract void read(Object args, int index, JsonReader reader) throws IOException;
+
+	abstract Object create(Object args) throws Throwable;
+
+	static final class ArraySlots extends ImmutableSlots {
+		private final Object[] defArgs;
+		private final Function<Object[], ?> newInstance;
+		private final JsonReader.ReadObject[] readers;
+
+		ArraySlots(final Object[] defArgs, final Function<Object[], ?> newInstance, final JsonReader.ReadObject[] readers) {
+			this.defArgs = defArgs;
+			this.newInstance = newInstance;
+			this.readers = readers;
+		}
+
+		@Override
+		Object defaults() {
+			return defArgs;
+		}
+
+		@Override
+		Object fresh() {
+			return defArgs.clone();
+		}
+
+		@Override
+		void read(final Object args, final int index, final JsonReader reader) throws IOException {
+			((Object[]) args)[index] = readers[index].read(reader);
+		}
+
+		@Override
+		Object create(final Object args) {
+			return newInstance.apply((Object[]) args);
+		}
+	}
+}
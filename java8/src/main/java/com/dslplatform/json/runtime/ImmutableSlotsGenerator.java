@@ -0,0 +1,303 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.BoolConverter;
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.NumberConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+import static com.dslplatform.json.runtime.PropertyDispatchGenerator.*;
+
+/**
+ * Emits a hidden class per immutable type which extends {@link ImmutableSlots}.
+ * Instances of the generated class are used as read state, with constructor arguments kept in typed fields,
+ * so reading an immutable object does not allocate an argument array.
+ * Constructor handle, argument readers and default values are passed as class data
+ * and bound to static final fields of the generated class, which JIT treats as constants,
+ * so the constructor is invoked through an inlined exact invocation.
+ * Arguments of int, long, double and boolean types with default converters
+ * are parsed directly into primitive fields, without boxing,
+ * while other arguments are kept in fields of their own type when it's visible from the library.
+ * <p>
+ * Generated class references only library types and argument types visible from the library,
+ * so it can be defined next to the library classes.
+ */
+abstract class ImmutableSlotsGenerator {
+
+	private static final String CLASS_NAME = "com/dslplatform/json/runtime/ImmutableSlots$Generated";
+	private static final String SLOTS = "com/dslplatform/json/runtime/ImmutableSlots";
+	private static final String READ_OBJECT = "com/dslplatform/json/JsonReader$ReadObject";
+	private static final String JSON_READER = "com/dslplatform/json/JsonReader";
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	private static final String OBJECT = "Ljava/lang/Object;";
+
+	/**
+	 * Generate slots for provided constructor.
+	 *
+	 * @param ctor     constructor of the immutable type
+	 * @param defArgs  default argument values
+	 * @param readers  argument readers in constructor order
+	 * @param json     used to check if primitive arguments can be read directly
+	 * @return template slots or null if they can't be generated
+	 */
+	static ImmutableSlots generate(
+			final Constructor<?> ctor,
+			final Object[] defArgs,
+			final JsonReader.ReadObject[] readers,
+			final DslJson json) {
+		if (!isSupported()) return null;
+		final MethodHandle handle = Reflection.constructorHandle(ctor);
+		if (handle == null) return null;
+		final Class<?>[] params = ctor.getParameterTypes();
+		final Class<?>[] slots = new Class<?>[params.length];
+		for (int i = 0; i < params.length; i++) {
+			if (isPrimitiveSlot(params[i], defArgs[i], json)) slots[i] = params[i];
+			else if (!params[i].isPrimitive() && isVisible(params[i])) slots[i] = params[i];
+			else slots[i] = Object.class;
+		}
+		try {
+			//class data is [constructor, defaults..., readers...]
+			final Object[] data = new Object[1 + 2 * slots.length];
+			data[0] = handle.asType(MethodType.methodType(Object.class, slots));
+			System.arraycopy(defArgs, 0, data, 1, slots.length);
+			System.arraycopy(readers, 0, data, 1 + slots.length, slots.length);
+			final ConstantPool cp = new ConstantPool();
+			final Class<?> generated = define(emit(cp, slots, defArgs), data, cp.classData);
+			final Constructor<?> init = generated.getDeclaredConstructor();
+			init.setAccessible(true);
+			return (ImmutableSlots) init.newInstance();
+		} catch (Exception | LinkageError ex) {
+			return failed("immutable slots", ctor.getDeclaringClass(), ex);
+		}
+	}
+
+	private static boolean isPrimitiveSlot(final Class<?> type, final Object defArg, final DslJson json) {
+		if (type == int.class) {
+			return json.tryFindReader(int.class) == NumberConverter.INT_READER
+					&& (defArg == null || ((Integer) defArg) == 0);
+		} else if (type == long.class) {
+			return json.tryFindReader(long.class) == NumberConverter.LONG_READER
+					&& (defArg == null || ((Long) defArg) == 0L);
+		} else if (type == double.class) {
+			return json.tryFindReader(double.class) == NumberConverter.DOUBLE_READER
+					&& (defArg == null || Double.doubleToRawLongBits((Double) defArg) == 0);
+		} else if (type == boolean.class) {
+			return json.tryFindReader(boolean.class) == BoolConverter.READER
+					&& (defArg == null || !((Boolean) defArg));
+		}
+		return false;
+	}
+
+	static byte[] emit(final ConstantPool cp, final Class<?>[] slots, final Object[] defArgs) throws IOException {
+		final int thisClass = cp.type(CLASS_NAME);
+		final int superClass = cp.type(SLOTS);
+		final int codeName = cp.utf8("Code");
+		final int frameName = cp.utf8("StackMapTable");
+		final int ctorField = cp.field(CLASS_NAME, "CTOR", "L" + METHOD_HANDLE + ";");
+		final int[] slotFields = new int[slots.length];
+		final int[] readerFields = new int[slots.length];
+		final int[] defaultFields = new int[slots.length];
+		final StringBuilder invokeDescriptor = new StringBuilder("(");
+		int createStack = 1;
+		int staticFields = 1;
+		for (int i = 0; i < slots.length; i++) {
+			final String desc = descriptor(slots[i]);
+			slotFields[i] = cp.field(CLASS_NAME, "s" + i, desc);
+			invokeDescriptor.append(desc);
+			createStack += slots[i] == long.class || slots[i] == double.class ? 2 : 1;
+			//primitive slots are only used for zero defaults and default converters
+			if (slots[i].isPrimitive()) continue;
+			readerFields[i] = cp.field(CLASS_NAME, "R" + i, "L" + READ_OBJECT + ";");
+			staticFields++;
+			if (defArgs[i] != null) {
+				defaultFields[i] = cp.field(CLASS_NAME, "D" + i, desc);
+				staticFields++;
+			}
+		}
+		invokeDescriptor.append(")").append(OBJECT);
+		final int superInit = cp.method(SLOTS, "<init>", "()V");
+		final int thisInit = cp.method(CLASS_NAME, "<init>", "()V");
+		final int objectArrayClass = cp.type("[" + OBJECT);
+		final int methodHandleClass = cp.type(METHOD_HANDLE);
+		final int readObjectClass = cp.type(READ_OBJECT);
+		final int readObject = cp.interfaceMethod(READ_OBJECT, "read", "(L" + JSON_READER + ";)" + OBJECT);
+		final int invokeExact = cp.method(METHOD_HANDLE, "invokeExact", invokeDescriptor.toString());
+		final int readInt = cp.method("com/dslplatform/json/NumberConverter", "deserializeInt", "(L" + JSON_READER + ";)I");
+		final int readLong = cp.method("com/dslplatform/json/NumberConverter", "deserializeLong", "(L" + JSON_READER + ";)J");
+		final int readDouble = cp.method("com/dslplatform/json/NumberConverter", "deserializeDouble", "(L" + JSON_READER + ";)D");
+		final int readBool = cp.method("com/dslplatform/json/BoolConverter", "deserialize", "(L" + JSON_READER + ";)Z");
+
+		final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+		final DataOutputStream mo = new DataOutputStream(methods);
+
+		//static initializer which binds class data to constants
+		ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+		DataOutputStream code = new DataOutputStream(codeBytes);
+		loadClassData(code, cp);
+		code.writeByte(CHECKCAST);
+		code.writeShort(objectArrayClass);
+		code.writeByte(ASTORE_0);
+		code.writeByte(ALOAD_0);
+		code.writeByte(ICONST_0);
+		code.writeByte(AALOAD);
+		code.writeByte(CHECKCAST);
+		code.writeShort(methodHandleClass);
+		code.writeByte(PUTSTATIC);
+		code.writeShort(ctorField);
+		for (int i = 0; i < slots.length; i++) {
+			if (slots[i].isPrimitive()) continue;
+			code.writeByte(ALOAD_0);
+			pushInt(code, 1 + slots.length + i);
+			code.writeByte(AALOAD);
+			code.writeByte(CHECKCAST);
+			code.writeShort(readObjectClass);
+			code.writeByte(PUTSTATIC);
+			code.writeShort(readerFields[i]);
+			if (defaultFields[i] == 0) continue;
+			code.writeByte(ALOAD_0);
+			pushInt(code, 1 + i);
+			code.writeByte(AALOAD);
+			if (slots[i] != Object.class) {
+				code.writeByte(CHECKCAST);
+				code.writeShort(cp.type(slots[i].getName().replace('.', '/')));
+			}
+			code.writeByte(PUTSTATIC);
+			code.writeShort(defaultFields[i]);
+		}
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_STATIC, "<clinit>", "()V", codeName, 3, 1, codeBytes.toByteArray(), frameName, null);
+
+		//constructor which sets non-zero defaults
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(ALOAD_0);
+		code.writeByte(INVOKESPECIAL);
+		code.writeShort(superInit);
+		for (int i = 0; i < slots.length; i++) {
+			if (defaultFields[i] == 0) continue;
+			code.writeByte(ALOAD_0);
+			code.writeByte(GETSTATIC);
+			code.writeShort(defaultFields[i]);
+			code.writeByte(PUTFIELD);
+			code.writeShort(slotFields[i]);
+		}
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_PUBLIC, "<init>", "()V", codeName, 2, 1, codeBytes.toByteArray(), frameName, null);
+
+		//Object defaults()
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(ALOAD_0);
+		code.writeByte(ARETURN);
+		writeMethod(mo, cp, 0, "defaults", "()" + OBJECT, codeName, 1, 1, codeBytes.toByteArray(), frameName, null);
+
+		//Object fresh()
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(NEW);
+		code.writeShort(thisClass);
+		code.writeByte(DUP);
+		code.writeByte(INVOKESPECIAL);
+		code.writeShort(thisInit);
+		code.writeByte(ARETURN);
+		writeMethod(mo, cp, 0, "fresh", "()" + OBJECT, codeName, 2, 1, codeBytes.toByteArray(), frameName, null);
+
+		//void read(Object args, int index, JsonReader reader)
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		final int[] targets;
+		if (slots.length == 0) {
+			code.writeByte(RETURN);
+			targets = null;
+		} else {
+			code.writeByte(ILOAD_2);
+			final int switchAt = codeBytes.size();
+			code.writeByte(TABLESWITCH);
+			while (codeBytes.size() % 4 != 0) code.writeByte(0);
+			final int tableAt = codeBytes.size();
+			//placeholders for default, low, high and jump offsets
+			for (int i = 0; i < 3 + slots.length; i++) code.writeInt(0);
+			targets = new int[slots.length + 1];
+			for (int i = 0; i < slots.length; i++) {
+				targets[i] = codeBytes.size();
+				code.writeByte(ALOAD_1);
+				code.writeByte(CHECKCAST);
+				code.writeShort(thisClass);
+				if (!slots[i].isPrimitive()) {
+					code.writeByte(GETSTATIC);
+					code.writeShort(readerFields[i]);
+					code.writeByte(ALOAD_3);
+					code.writeByte(INVOKEINTERFACE);
+					code.writeShort(readObject);
+					code.writeByte(2);
+					code.writeByte(0);
+					if (slots[i] != Object.class) {
+						code.writeByte(CHECKCAST);
+						code.writeShort(cp.type(slots[i].getName().replace('.', '/')));
+					}
+				} else {
+					code.writeByte(ALOAD_3);
+					code.writeByte(INVOKESTATIC);
+					if (slots[i] == int.class) code.writeShort(readInt);
+					else if (slots[i] == long.class) code.writeShort(readLong);
+					else if (slots[i] == double.class) code.writeShort(readDouble);
+					else code.writeShort(readBool);
+				}
+				code.writeByte(PUTFIELD);
+				code.writeShort(slotFields[i]);
+				code.writeByte(RETURN);
+			}
+			targets[slots.length] = codeBytes.size();
+			code.writeByte(RETURN);
+			final byte[] raw = codeBytes.toByteArray();
+			writeInt(raw, tableAt, targets[slots.length] - switchAt);
+			writeInt(raw, tableAt + 4, 0);
+			writeInt(raw, tableAt + 8, slots.length - 1);
+			for (int i = 0; i < slots.length; i++) {
+				writeInt(raw, tableAt + 12 + i * 4, targets[i] - switchAt);
+			}
+			codeBytes = new ByteArrayOutputStream();
+			codeBytes.write(raw);
+		}
+		writeMethod(mo, cp, 0, "read", "(" + OBJECT + "IL" + JSON_READER + ";)V", codeName, 3, 4, codeBytes.toByteArray(), frameName, targets);
+
+		//Object create(Object args)
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		code.writeByte(ALOAD_1);
+		code.writeByte(CHECKCAST);
+		code.writeShort(thisClass);
+		code.writeByte(ASTORE_2);
+		code.writeByte(GETSTATIC);
+		code.writeShort(ctorField);
+		for (int i = 0; i < slots.length; i++) {
+			code.writeByte(ALOAD_2);
+			code.writeByte(GETFIELD);
+			code.writeShort(slotFields[i]);
+		}
+		code.writeByte(INVOKEVIRTUAL);
+		code.writeShort(invokeExact);
+		code.writeByte(ARETURN);
+		writeMethod(mo, cp, 0, "create", "(" + OBJECT + ")" + OBJECT, codeName, Math.max(createStack, 2), 3, codeBytes.toByteArray(), frameName, null);
+
+		final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+		final DataOutputStream fo = new DataOutputStream(fields);
+		writeField(fo, cp, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "CTOR", "L" + METHOD_HANDLE + ";");
+		for (int i = 0; i < slots.length; i++) {
+			if (readerFields[i] != 0) writeField(fo, cp, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "R" + i, "L" + READ_OBJECT + ";");
+			if (defaultFields[i] != 0) writeField(fo, cp, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "D" + i, descriptor(slots[i]));
+		}
+		for (int i = 0; i < slots.length; i++) {
+			writeField(fo, cp, ACC_PRIVATE, "s" + i, descriptor(slots[i]));
+		}
+		fo.flush();
+		mo.flush();
+		return assemble(cp, thisClass, superClass, 0, staticFields + slots.length, fields, 6, methods);
+	}
+}
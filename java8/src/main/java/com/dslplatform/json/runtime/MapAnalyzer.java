@@ -13,18 +13,14 @@ public abstract class MapAnalyzer {
 
 	private static final JsonReader.ReadObject<String> stringReader = reader -> reader.wasNull() ? null : reader.readString();
 
-	public static final DslJson.ConverterFactory<MapDecoder> READER = (manifest, dslJson) -> {
-		if (manifest instanceof Class<?>) {
-			return analyzeDecoder(manifest, Object.class, Object.class, (Class<?>)manifest, dslJson);
-		}
-		if (manifest instanceof ParameterizedType) {
-			final ParameterizedType pt = (ParameterizedType) manifest;
-			if (pt.getActualTypeArguments().length == 2 && pt.getRawType() instanceof Class<?>) {
-				return analyzeDecoder(manifest, pt.getActualTypeArguments()[0], pt.getActualTypeArguments()[1], (Class<?>) pt.getRawType(), dslJson);
-			}
-		}
-		return null;
-	};
+	public static final DslJson.ConverterFactory<MapDecoder> READER = (manifest, dslJson) -> analyzeDecoder(manifest, dslJson, true);
+
+	/**
+	 * Map reader which does not use reflection for creating map instances.
+	 * Only Map interface and types which can be satisfied by LinkedHashMap are supported,
+	 * while other concrete map types must be handled by some other converter.
+	 */
+	static final DslJson.ConverterFactory<MapDecoder> INTERFACE_READER = (manifest, dslJson) -> analyzeDecoder(manifest, dslJson, false);
 
 	public static final DslJson.ConverterFactory<MapEncoder> WRITER = (manifest, dslJson) -> {
 		if (manifest instanceof Class<?>) {
@@ -48,11 +44,30 @@ public abstract class MapAnalyzer {
 		}
 	}
 
-	private static MapDecoder analyzeDecoder(final Type manifest, final Type key, final Type value, final Class<?> map, final DslJson json) {
+	private static MapDecoder analyzeDecoder(final Type manifest, final DslJson json, final boolean allowConcrete) {
+		if (manifest instanceof Class<?>) {
+			return analyzeDecoder(manifest, Object.class, Object.class, (Class<?>)manifest, json, allowConcrete);
+		}
+		if (manifest instanceof ParameterizedType) {
+			final ParameterizedType pt = (ParameterizedType) manifest;
+			if (pt.getActualTypeArguments().length == 2 && pt.getRawType() instanceof Class<?>) {
+				return analyzeDecoder(manifest, pt.getActualTypeArguments()[0], pt.getActualTypeArguments()[1], (Class<?>) pt.getRawType(), json, allowConcrete);
+			}
+		}
+		return null;
+	}
+
+	private static MapDecoder analyzeDecoder(
+			final Type manifest,
+			final Type key,
+			final Type value,
+			final Class<?> map,
+			final DslJson json,
+			final boolean allowConcrete) {
 		if (!Map.class.isAssignableFrom(map)) return null;
 		final Callable newInstance;
-		if (!map.isInterface() && canNew(map)) {
-			newInstance = map::newInstance;
+		if (!map.isInterface() && allowConcrete && canNew(map)) {
+			newInstance = Reflection.callableFactory(map);
 		} else if (map.isAssignableFrom(LinkedHashMap.class)) {
 			newInstance = () -> new LinkedHashMap<>(4);
 		} else {
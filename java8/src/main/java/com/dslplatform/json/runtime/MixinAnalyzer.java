@@ -10,6 +10,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public abstract class MixinAnalyzer {
 
@@ -18,28 +20,39 @@ public abstract class MixinAnalyzer {
 		private final DslJson json;
 		private final Type type;
 		private JsonWriter.WriteObject resolvedWriter;
-		volatile ObjectFormatDescription resolved;
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile Thread analyzer = Thread.currentThread();
+		private volatile ObjectFormatDescription resolved;
 
 		LazyMixinDescription(DslJson json, Type type) {
 			this.json = json;
 			this.type = type;
 		}
 
+		void complete(final ObjectFormatDescription converter) {
+			resolved = converter;
+			analyzer = null;
+			completed.countDown();
+		}
+
+		boolean isCompleted() {
+			return completed.getCount() == 0;
+		}
+
 		private boolean checkSignatureNotFound() {
-			int i = 0;
-			while (i < 50) {
+			ObjectFormatDescription local = resolved;
+			if (local == null && analyzer != Thread.currentThread()) {
 				try {
-					Thread.sleep(100);
+					completed.await(5, TimeUnit.SECONDS);
 				} catch (InterruptedException e) {
 					throw new SerializationException(e);
 				}
-				if (resolved != null) {
-					resolvedWriter = resolved;
-					break;
-				}
-				i++;
+				local = resolved;
 			}
-			return resolved == null;
+			if (local != null) {
+				resolvedWriter = local;
+			}
+			return local == null;
 		}
 
 		@Override
@@ -87,20 +100,27 @@ public abstract class MixinAnalyzer {
 		final InstanceFactory newInstance = () -> { throw new IllegalArgumentException("Internal DSL-JSON error. Should not be used for deserialization"); };
 		final LazyMixinDescription lazy = new LazyMixinDescription(json, manifest);
 		if (!hasEncoder) json.registerWriter(manifest, lazy);
-		final LinkedHashMap<String, JsonWriter.WriteObject> foundWrite = new LinkedHashMap<>();
-		final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
-		for (final Field f : raw.getDeclaredFields()) {
-			analyzeField(json, foundWrite, f, genericMappings);
-		}
-		for (final Method m : raw.getDeclaredMethods()) {
-			analyzeMethods(m, json, foundWrite, genericMappings);
+		try {
+			final LinkedHashMap<String, JsonWriter.WriteObject> foundWrite = new LinkedHashMap<>();
+			final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
+			for (final Field f : raw.getDeclaredFields()) {
+				analyzeField(json, foundWrite, f, genericMappings);
+			}
+			for (final Method m : raw.getDeclaredMethods()) {
+				analyzeMethods(m, json, foundWrite, genericMappings);
+			}
+			//TODO: don't register bean if something can't be serialized
+			final JsonWriter.WriteObject[] writeProps = foundWrite.values().toArray(new JsonWriter.WriteObject[0]);
+			final ObjectFormatDescription<T, T> converter = ObjectFormatDescription.create(raw, newInstance, writeProps, new DecodePropertyInfo[0], json, true);
+			if (!hasEncoder) json.registerWriter(manifest, converter);
+			lazy.complete(converter);
+			return converter;
+		} finally {
+			if (!lazy.isCompleted()) {
+				if (!hasEncoder) json.registerWriter(manifest, null);
+				lazy.complete(null);
+			}
 		}
-		//TODO: don't register bean if something can't be serialized
-		final JsonWriter.WriteObject[] writeProps = foundWrite.values().toArray(new JsonWriter.WriteObject[0]);
-		final ObjectFormatDescription<T, T> converter = ObjectFormatDescription.create(raw, newInstance, writeProps, new DecodePropertyInfo[0], json, true);
-		if (!hasEncoder) json.registerWriter(manifest, converter);
-		lazy.resolved = converter;
-		return converter;
 	}
 
 	private static void analyzeField(
@@ -116,7 +136,7 @@ public abstract class MixinAnalyzer {
 			foundWrite.put(
 					field.getName(),
 					Settings.createEncoder(
-							new Reflection.ReadField(field),
+							field,
 							field.getName(),
 							json,
 							isUnknown ? null : concreteType));
@@ -141,7 +161,7 @@ public abstract class MixinAnalyzer {
 			foundWrite.put(
 					name,
 					Settings.createEncoder(
-							new Reflection.ReadMethod(mget),
+							mget,
 							name,
 							json,
 							isUnknown ? null : concreteType));
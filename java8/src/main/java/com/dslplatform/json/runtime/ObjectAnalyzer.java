@@ -8,6 +8,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public abstract class ObjectAnalyzer {
 
@@ -18,30 +20,39 @@ public abstract class ObjectAnalyzer {
 		private JsonWriter.WriteObject resolvedWriter;
 		private JsonReader.BindObject resolvedBinder;
 		private JsonReader.ReadObject resolvedReader;
-		volatile ObjectFormatDescription resolved;
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile Thread analyzer = Thread.currentThread();
+		private volatile ObjectFormatDescription resolved;
 
 		LazyObjectDescription(DslJson json, Type type) {
 			this.json = json;
 			this.type = type;
 		}
 
+		void complete(final ObjectFormatDescription converter) {
+			resolved = converter;
+			analyzer = null;
+			completed.countDown();
+		}
+
+		boolean isCompleted() {
+			return completed.getCount() == 0;
+		}
+
 		private boolean checkSignatureNotFound() {
-			int i = 0;
-			ObjectFormatDescription local = null;
-			while (i < 50) {
+			ObjectFormatDescription local = resolved;
+			if (local == null && analyzer != Thread.currentThread()) {
 				try {
-					Thread.sleep(100);
+					completed.await(5, TimeUnit.SECONDS);
 				} catch (InterruptedException e) {
 					throw new SerializationException(e);
 				}
 				local = resolved;
-				if (local != null) {
-					resolvedWriter = local;
-					resolvedReader = local;
-					resolvedBinder = local;
-					break;
-				}
-				i++;
+			}
+			if (local != null) {
+				resolvedWriter = local;
+				resolvedReader = local;
+				resolvedBinder = local;
 			}
 			return local == null;
 		}
@@ -89,20 +100,29 @@ public abstract class ObjectAnalyzer {
 		}
 	}
 
-	public static final DslJson.ConverterFactory<ObjectFormatDescription> CONVERTER = (manifest, dslJson) -> {
-		if (manifest instanceof Class<?>) {
-			return analyze(manifest, (Class<?>) manifest, dslJson);
-		}
-		if (manifest instanceof ParameterizedType) {
-			final ParameterizedType pt = (ParameterizedType) manifest;
-			if (pt.getRawType() instanceof Class<?>) {
-				return analyze(manifest, (Class<?>) pt.getRawType(), dslJson);
+	public static final DslJson.ConverterFactory<ObjectFormatDescription> CONVERTER = converter(false);
+
+	/**
+	 * Same as CONVERTER, but analyzed types will use runtime generated property dispatch when supported.
+	 */
+	public static final DslJson.ConverterFactory<ObjectFormatDescription> GENERATING_CONVERTER = converter(true);
+
+	private static DslJson.ConverterFactory<ObjectFormatDescription> converter(final boolean generate) {
+		return (manifest, dslJson) -> {
+			if (manifest instanceof Class<?>) {
+				return analyze(manifest, (Class<?>) manifest, dslJson, generate);
 			}
-		}
-		return null;
-	};
+			if (manifest instanceof ParameterizedType) {
+				final ParameterizedType pt = (ParameterizedType) manifest;
+				if (pt.getRawType() instanceof Class<?>) {
+					return analyze(manifest, (Class<?>) pt.getRawType(), dslJson, generate);
+				}
+			}
+			return null;
+		};
+	}
 
-	private static <T> ObjectFormatDescription<T, T> analyze(final Type manifest, final Class<T> raw, final DslJson json) {
+	private static <T> ObjectFormatDescription<T, T> analyze(final Type manifest, final Class<T> raw, final DslJson json, final boolean generate) {
 		if (raw.isArray()
 				|| Object.class == manifest
 				|| Collection.class.isAssignableFrom(raw)
@@ -122,35 +142,37 @@ public abstract class ObjectAnalyzer {
 		} catch (InstantiationException | IllegalAccessException ignore) {
 			return null;
 		}
-		final InstanceFactory newInstance = () -> {
-			try {
-				return raw.newInstance();
-			} catch (Exception ex) {
-				throw new SerializationException("Unable to create an instance of " + raw);
-			}
-		};
+		final InstanceFactory newInstance = Reflection.instanceFactory(raw);
 		final LazyObjectDescription lazy = new LazyObjectDescription(json, manifest);
 		if (!hasEncoder) json.registerWriter(manifest, lazy);
 		if (!hasDecoder) json.registerReader(manifest, lazy);
-		final LinkedHashMap<String, JsonWriter.WriteObject> foundWrite = new LinkedHashMap<>();
-		final LinkedHashMap<String, DecodePropertyInfo<JsonReader.BindObject>> foundRead = new LinkedHashMap<>();
-		final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
-		int index = 0;
-		for (final Field f : raw.getFields()) {
-			if (analyzeField(json, foundWrite, foundRead, f, index, genericMappings)) index++;
-		}
-		for (final Method m : raw.getMethods()) {
-			if (analyzeMethods(m, raw, json, foundWrite, foundRead, index, genericMappings)) index++;
+		try {
+			final LinkedHashMap<String, JsonWriter.WriteObject> foundWrite = new LinkedHashMap<>();
+			final LinkedHashMap<String, DecodePropertyInfo<JsonReader.BindObject>> foundRead = new LinkedHashMap<>();
+			final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
+			int index = 0;
+			for (final Field f : raw.getFields()) {
+				if (analyzeField(json, foundWrite, foundRead, f, index, genericMappings)) index++;
+			}
+			for (final Method m : raw.getMethods()) {
+				if (analyzeMethods(m, raw, json, foundWrite, foundRead, index, genericMappings)) index++;
+			}
+			//TODO: don't register bean if something can't be serialized
+			final JsonWriter.WriteObject[] writeProps = foundWrite.values().toArray(new JsonWriter.WriteObject[0]);
+			final DecodePropertyInfo<JsonReader.BindObject>[] readProps = foundRead.values().toArray(new DecodePropertyInfo[0]);
+			final ObjectFormatDescription<T, T> converter = new ObjectFormatDescription<>(raw, newInstance, t -> t, writeProps, readProps, json, true, generate);
+			if (!hasEncoder) json.registerWriter(manifest, converter);
+			if (!hasDecoder) json.registerReader(manifest, converter);
+			if (!hasBinder) json.registerBinder(manifest, converter);
+			lazy.complete(converter);
+			return converter;
+		} finally {
+			if (!lazy.isCompleted()) {
+				if (!hasEncoder) json.registerWriter(manifest, null);
+				if (!hasDecoder) json.registerReader(manifest, null);
+				lazy.complete(null);
+			}
 		}
-		//TODO: don't register bean if something can't be serialized
-		final JsonWriter.WriteObject[] writeProps = foundWrite.values().toArray(new JsonWriter.WriteObject[0]);
-		final DecodePropertyInfo<JsonReader.BindObject>[] readProps = foundRead.values().toArray(new DecodePropertyInfo[0]);
-		final ObjectFormatDescription<T, T> converter = ObjectFormatDescription.create(raw, newInstance, writeProps, readProps, json, true);
-		if (!hasEncoder) json.registerWriter(manifest, converter);
-		if (!hasDecoder) json.registerReader(manifest, converter);
-		if (!hasBinder) json.registerBinder(manifest, converter);
-		lazy.resolved = converter;
-		return converter;
 	}
 
 	private static boolean analyzeField(
@@ -168,14 +190,14 @@ public abstract class ObjectAnalyzer {
 			foundWrite.put(
 					field.getName(),
 					Settings.createEncoder(
-							new Reflection.ReadField(field),
+							field,
 							field.getName(),
 							json,
 							isUnknown ? null : concreteType));
 			foundRead.put(
 					field.getName(),
 					Settings.createDecoder(
-							new Reflection.SetField(field),
+							field,
 							field.getName(),
 							json,
 							false,
@@ -216,14 +238,14 @@ public abstract class ObjectAnalyzer {
 			foundWrite.put(
 					name,
 					Settings.createEncoder(
-							new Reflection.ReadMethod(mget),
+							mget,
 							name,
 							json,
 							isUnknown ? null : concreteType));
 			foundRead.put(
 					name,
 					Settings.createDecoder(
-							new Reflection.SetMethod(mset),
+							mset,
 							name,
 							json,
 							false,
@@ -17,6 +17,9 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 	private final boolean skipOnUnknown;
 	private final boolean hasMandatory;
 	private final long mandatoryFlag;
+	private final PropertyDispatch dispatch;
+	//mandatory flags remaining after first n properties were bound in order
+	private final long[] orderedMandatory;
 
 	public static <D> ObjectFormatDescription<D, D> create(
 			final Class<D> manifest,
@@ -36,18 +39,81 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 			final DecodePropertyInfo<JsonReader.BindObject>[] decoders,
 			final DslJson json,
 			final boolean skipOnUnknown) {
-		super(encoders, !json.omitDefaults);
+		this(manifest, newInstance, finalize, encoders, new Prepared(manifest, encoders, decoders, false), json, skipOnUnknown);
+	}
+
+	/**
+	 * Create description which can use generated property dispatch.
+	 * When generation is requested and supported by the runtime, a hidden class is emitted
+	 * with straight-line writing of properties, straight-line binding of properties in expected order
+	 * and switch based binding of the remaining ones,
+	 * so each property converter is invoked from its own call site.
+	 *
+	 * @param manifest         described type
+	 * @param newInstance      instance factory
+	 * @param finalize         conversion from builder to result
+	 * @param encoders         property encoders
+	 * @param decoders         property decoders
+	 * @param json             DSL-JSON instance
+	 * @param skipOnUnknown    skip unknown properties
+	 * @param generateDispatch emit specialized class for property dispatch
+	 */
+	public ObjectFormatDescription(
+			final Type manifest,
+			final InstanceFactory<B> newInstance,
+			final Function<B, T> finalize,
+			final JsonWriter.WriteObject[] encoders,
+			final DecodePropertyInfo<JsonReader.BindObject>[] decoders,
+			final DslJson json,
+			final boolean skipOnUnknown,
+			final boolean generateDispatch) {
+		this(manifest, newInstance, finalize, encoders, new Prepared(manifest, encoders, decoders, generateDispatch), json, skipOnUnknown);
+	}
+
+	private static final class Prepared {
+		final DecodePropertyInfo<JsonReader.BindObject>[] decoders;
+		final PropertyDispatch dispatch;
+
+		Prepared(
+				final Type manifest,
+				final JsonWriter.WriteObject[] encoders,
+				final DecodePropertyInfo<JsonReader.BindObject>[] decoders,
+				final boolean generateDispatch) {
+			if (decoders == null) throw new IllegalArgumentException("decoders can't be null");
+			this.decoders = DecodePropertyInfo.prepare(decoders);
+			if (generateDispatch && encoders != null) {
+				this.dispatch = PropertyDispatchGenerator.generate(manifest, encoders, this.decoders);
+			} else {
+				this.dispatch = null;
+			}
+		}
+	}
+
+	private ObjectFormatDescription(
+			final Type manifest,
+			final InstanceFactory<B> newInstance,
+			final Function<B, T> finalize,
+			final JsonWriter.WriteObject[] encoders,
+			final Prepared prepared,
+			final DslJson json,
+			final boolean skipOnUnknown) {
+		super(encoders, !json.omitDefaults, prepared.dispatch);
 		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
 		if (newInstance == null) throw new IllegalArgumentException("create can't be null");
 		if (finalize == null) throw new IllegalArgumentException("finalize can't be null");
-		if (decoders == null) throw new IllegalArgumentException("decoders can't be null");
 		this.manifest = manifest;
 		this.newInstance = newInstance;
 		this.finalize = finalize;
-		this.decoders = DecodePropertyInfo.prepare(decoders);
+		this.decoders = prepared.decoders;
+		this.dispatch = prepared.dispatch;
 		this.skipOnUnknown = skipOnUnknown;
 		this.mandatoryFlag = DecodePropertyInfo.calculateMandatory(this.decoders);
 		this.hasMandatory = mandatoryFlag != 0;
+		this.orderedMandatory = new long[decoders.length + 1];
+		orderedMandatory[0] = mandatoryFlag;
+		for (int i = 0; i < decoders.length; i++) {
+			orderedMandatory[i + 1] = orderedMandatory[i] & decoders[i].mandatoryValue;
+		}
 	}
 
 	@Override
@@ -84,6 +150,12 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 			}
 			return;
 		}
+		if (dispatch != null) {
+			final int bound = dispatch.bindContent(reader, instance);
+			if (bound < 0) bindObjectSlow(reader, instance, orderedMandatory[~bound]);
+			else finalChecks(reader, instance, orderedMandatory[bound]);
+			return;
+		}
 		long currentMandatory = mandatoryFlag;
 		int i = 0;
 		while(i < decoders.length) {
@@ -108,7 +180,8 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 	private void bindObjectSlow(final JsonReader reader, final B instance, long currentMandatory) throws IOException {
 		boolean processed = false;
 		final int oldHash = reader.getLastHash();
-		for (final DecodePropertyInfo<JsonReader.BindObject> ri : decoders) {
+		for (int i = 0; i < decoders.length; i++) {
+			final DecodePropertyInfo<JsonReader.BindObject> ri = decoders[i];
 			if (oldHash != ri.hash) continue;
 			if (ri.exactName) {
 				if (!reader.wasLastName(ri.nameBytes)) continue;
@@ -117,7 +190,8 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 			if (ri.nonNull && reader.wasNull()) {
 				throw new IOException("Null value found for property " + ri.name + " " + reader.positionDescription());
 			}
-			ri.value.bind(reader, instance);
+			if (dispatch != null) dispatch.bind(i, reader, instance);
+			else ri.value.bind(reader, instance);
 			currentMandatory = currentMandatory & ri.mandatoryValue;
 			processed = true;
 			break;
@@ -128,7 +202,8 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 			reader.getNextToken();
 			final int hash = reader.fillName();
 			processed = false;
-			for (final DecodePropertyInfo<JsonReader.BindObject> ri : decoders) {
+			for (int i = 0; i < decoders.length; i++) {
+				final DecodePropertyInfo<JsonReader.BindObject> ri = decoders[i];
 				if (hash != ri.hash) continue;
 				if (ri.exactName) {
 					if (!reader.wasLastName(ri.nameBytes)) continue;
@@ -137,7 +212,8 @@ public final class ObjectFormatDescription<B, T> extends WriteDescription<T> imp
 				if (ri.nonNull && reader.wasNull()) {
 					throw new IOException("Null value found for property " + ri.name + " " + reader.positionDescription());
 				}
-				ri.value.bind(reader, instance);
+				if (dispatch != null) dispatch.bind(i, reader, instance);
+				else ri.value.bind(reader, instance);
 				currentMandatory = currentMandatory & ri.mandatoryValue;
 				processed = true;
 				break;
@@ -0,0 +1,29 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Per type dispatch over property converters.
+ * Implementations are generated at runtime by {@link PropertyDispatchGenerator}
+ * so each type gets its own monomorphic call sites instead of shared loops over converter arrays.
+ */
+interface PropertyDispatch {
+	void writeContent(JsonWriter writer, Object instance);
+
+	/**
+	 * Bind properties while they are found in their expected order.
+	 * Reader must be positioned at the first property name.
+	 *
+	 * @param reader   JSON reader
+	 * @param instance bound instance
+	 * @return number of bound properties when the end of properties was reached
+	 * or its complement when a property was found out of order and its name was already read
+	 * @throws IOException unable to bind properties
+	 */
+	int bindContent(JsonReader reader, Object instance) throws IOException;
+
+	void bind(int index, JsonReader reader, Object instance) throws IOException;
+}
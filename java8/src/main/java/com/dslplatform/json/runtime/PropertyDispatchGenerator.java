@@ -0,0 +1,953 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.*;
+import java.util.HashMap;
+
+/**
+ * Emits a hidden class per described type which implements {@link PropertyDispatch}
+ * with straight-line property writing, straight-line binding of properties in their expected order
+ * and a table switch for binding of properties found out of order.
+ * Properties backed by a public field or bean method of a public type are accessed directly
+ * from the generated code, and their values are written or parsed by the property converter,
+ * or by the number and bool converters for primitives.
+ * Other properties are delegated to their attribute converters.
+ * Converters are stored in final fields of the generated class, so every property gets its own call site
+ * which JIT can inline, the same way as it does for annotation processor output.
+ * <p>
+ * Hidden classes are defined through Lookup.defineHiddenClassWithClassData when available (Java 16+)
+ * or through Unsafe.defineAnonymousClass on older runtimes.
+ * If neither is available, descriptions silently fall back to generic loops.
+ * When generation fails, they fall back the same way, but such failures can be surfaced with -Ddsljson.debug=true,
+ * in which case they are thrown as SerializationException.
+ */
+abstract class PropertyDispatchGenerator {
+
+	private interface Definer {
+		Class<?> define(byte[] bytes, Object data, int dataIndex) throws Exception;
+	}
+
+	static final boolean DEBUG = Boolean.getBoolean("dsljson.debug");
+
+	//hidden classes receive class data through MethodHandles.classData instead of a patched constant
+	private static boolean hiddenClassData;
+	private static final Definer DEFINER = createDefiner();
+	private static final int MAX_PROPERTIES = 1024;
+
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_PRIVATE = 0x0002;
+	static final int ACC_STATIC = 0x0008;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_SUPER = 0x0020;
+	static final int ACC_SYNTHETIC = 0x1000;
+
+	static final int ICONST_0 = 0x03;
+	static final int LDC = 0x12;
+	static final int LDC_W = 0x13;
+	static final int ICONST_1 = 0x04;
+	static final int BIPUSH = 0x10;
+	static final int SIPUSH = 0x11;
+	static final int ILOAD_1 = 0x1b;
+	static final int ILOAD_2 = 0x1c;
+	static final int LLOAD_2 = 0x20;
+	static final int DLOAD_2 = 0x28;
+	static final int ALOAD = 0x19;
+	static final int ALOAD_0 = 0x2a;
+	static final int ALOAD_1 = 0x2b;
+	static final int ALOAD_2 = 0x2c;
+	static final int ALOAD_3 = 0x2d;
+	static final int AALOAD = 0x32;
+	static final int ASTORE_0 = 0x4b;
+	static final int ASTORE_2 = 0x4d;
+	static final int POP = 0x57;
+	static final int POP2 = 0x58;
+	static final int DUP = 0x59;
+	static final int IFNE = 0x9a;
+	static final int TABLESWITCH = 0xaa;
+	static final int IRETURN = 0xac;
+	static final int LRETURN = 0xad;
+	static final int DRETURN = 0xaf;
+	static final int ARETURN = 0xb0;
+	static final int RETURN = 0xb1;
+	static final int GETSTATIC = 0xb2;
+	static final int PUTSTATIC = 0xb3;
+	static final int GETFIELD = 0xb4;
+	static final int PUTFIELD = 0xb5;
+	static final int INVOKEVIRTUAL = 0xb6;
+	static final int INVOKESPECIAL = 0xb7;
+	static final int INVOKESTATIC = 0xb8;
+	static final int INVOKEINTERFACE = 0xb9;
+	static final int NEW = 0xbb;
+	static final int CHECKCAST = 0xc0;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int SAME_FRAME_EXTENDED = 251;
+
+	private static final String CLASS_NAME = "com/dslplatform/json/runtime/PropertyDispatch$Generated";
+	private static final String GENERATOR = "com/dslplatform/json/runtime/PropertyDispatchGenerator";
+	private static final String DISPATCH = "com/dslplatform/json/runtime/PropertyDispatch";
+	private static final String WRITE_OBJECT = "com/dslplatform/json/JsonWriter$WriteObject";
+	private static final String READ_OBJECT = "com/dslplatform/json/JsonReader$ReadObject";
+	private static final String BIND_OBJECT = "com/dslplatform/json/JsonReader$BindObject";
+	private static final String JSON_WRITER = "com/dslplatform/json/JsonWriter";
+	private static final String JSON_READER = "com/dslplatform/json/JsonReader";
+	private static final String NUMBER_CONVERTER = "com/dslplatform/json/NumberConverter";
+	private static final String BOOL_CONVERTER = "com/dslplatform/json/BoolConverter";
+
+	private static Definer createDefiner() {
+		try {
+			final Class<?> optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+			final Object options = Array.newInstance(optionClass, 0);
+			final Method defineHidden = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, options.getClass());
+			final Method defineHiddenWithData = MethodHandles.Lookup.class.getMethod("defineHiddenClassWithClassData", byte[].class, Object.class, boolean.class, options.getClass());
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			hiddenClassData = true;
+			return (bytes, data, dataIndex) -> {
+				final Object defined = data == null
+						? defineHidden.invoke(lookup, bytes, true, options)
+						: defineHiddenWithData.invoke(lookup, bytes, data, true, options);
+				return ((MethodHandles.Lookup) defined).lookupClass();
+			};
+		} catch (Exception ignore) {
+		}
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			final Object unsafe = field.get(null);
+			final Method defineAnonymous = unsafeClass.getMethod("defineAnonymousClass", Class.class, byte[].class, Object[].class);
+			return (bytes, data, dataIndex) -> {
+				Object[] patches = null;
+				if (data != null) {
+					//constant pool count is right after magic and version
+					patches = new Object[((bytes[8] & 0xff) << 8) | (bytes[9] & 0xff)];
+					patches[dataIndex] = data;
+				}
+				return (Class<?>) defineAnonymous.invoke(unsafe, PropertyDispatchGenerator.class, bytes, patches);
+			};
+		} catch (Exception ignore) {
+		}
+		return null;
+	}
+
+	static boolean isSupported() {
+		return DEFINER != null;
+	}
+
+	static Class<?> define(final byte[] bytes) throws Exception {
+		return define(bytes, null, 0);
+	}
+
+	/**
+	 * Define class with attached data which its static initializer can load through {@link #loadClassData}.
+	 *
+	 * @param bytes     class file
+	 * @param data      class data or null
+	 * @param dataIndex constant pool index of class data set by loadClassData
+	 * @return defined class
+	 * @throws Exception when class can't be defined
+	 */
+	static Class<?> define(final byte[] bytes, final Object data, final int dataIndex) throws Exception {
+		if (DEFINER == null) throw new IllegalStateException("Hidden classes are not supported");
+		return DEFINER.define(bytes, data, dataIndex);
+	}
+
+	/**
+	 * Emit code which pushes class data of the class being initialized on the stack.
+	 * Hidden classes load it through MethodHandles.classData,
+	 * while anonymous classes have it patched into a string constant,
+	 * whose index is recorded in the constant pool.
+	 *
+	 * @param code static initializer code
+	 * @param cp   constant pool of the class
+	 * @throws IOException when code can't be written
+	 */
+	static void loadClassData(final DataOutputStream code, final ConstantPool cp) throws IOException {
+		if (hiddenClassData) {
+			code.writeByte(INVOKESTATIC);
+			code.writeShort(cp.method("java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;"));
+			ldc(code, cp.string("_"));
+			ldc(code, cp.type("java/lang/Object"));
+			code.writeByte(INVOKESTATIC);
+			code.writeShort(cp.method(
+					"java/lang/invoke/MethodHandles",
+					"classData",
+					"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;"));
+		} else {
+			cp.classData = cp.string("classData");
+			ldc(code, cp.classData);
+		}
+	}
+
+	private static void ldc(final DataOutputStream code, final int index) throws IOException {
+		if (index < 256) {
+			code.writeByte(LDC);
+			code.writeByte(index);
+		} else {
+			code.writeByte(LDC_W);
+			code.writeShort(index);
+		}
+	}
+
+	/**
+	 * Fallback when generation fails. Failure is thrown instead in debug mode.
+	 *
+	 * @param what     kind of generated class
+	 * @param manifest type for which class was generated
+	 * @param cause    generation failure
+	 * @return null so caller can use generic implementation
+	 */
+	static <T> T failed(final String what, final Type manifest, final Throwable cause) {
+		if (DEBUG) {
+			throw new SerializationException("Unable to generate " + what + " for " + manifest.getTypeName(), cause);
+		}
+		return null;
+	}
+
+	/**
+	 * Generate dispatch for provided converters.
+	 *
+	 * @param manifest described type
+	 * @param encoders property encoders in write order
+	 * @param decoders prepared property decoders in expected order
+	 * @return generated dispatch or null if it can't be generated
+	 */
+	static PropertyDispatch generate(
+			final Type manifest,
+			final JsonWriter.WriteObject[] encoders,
+			final DecodePropertyInfo<JsonReader.BindObject>[] decoders) {
+		if (encoders.length > MAX_PROPERTIES || decoders.length > MAX_PROPERTIES) return null;
+		if (DEFINER == null) return null;
+		final Property[] writes = writes(encoders);
+		final Property[] binds = binds(decoders);
+		final Object[] encoderArgs = new Object[encoders.length];
+		final Object[] nameArgs = new Object[encoders.length];
+		final Object[] decoderArgs = new Object[decoders.length];
+		final Object[] decoderNameArgs = new Object[decoders.length];
+		for (int i = 0; i < encoders.length; i++) {
+			encoderArgs[i] = writes[i].converter;
+			nameArgs[i] = writes[i].quotedName;
+		}
+		for (int i = 0; i < decoders.length; i++) {
+			decoderArgs[i] = binds[i].converter;
+			decoderNameArgs[i] = decoders[i].nameBytes;
+		}
+		try {
+			final Class<?> generated = define(emit(writes, binds, decoders));
+			final Constructor<?> ctor = generated.getDeclaredConstructors()[0];
+			ctor.setAccessible(true);
+			return (PropertyDispatch) ctor.newInstance(encoderArgs, nameArgs, decoderArgs, decoderNameArgs);
+		} catch (Exception | LinkageError ex) {
+			return failed("property dispatch", manifest, ex);
+		}
+	}
+
+	static byte[] emit(
+			final JsonWriter.WriteObject[] encoders,
+			final DecodePropertyInfo<JsonReader.BindObject>[] decoders) throws IOException {
+		return emit(writes(encoders), binds(decoders), decoders);
+	}
+
+	private static Property[] writes(final JsonWriter.WriteObject[] encoders) {
+		final Property[] writes = new Property[encoders.length];
+		for (int i = 0; i < encoders.length; i++) {
+			writes[i] = Property.write(encoders[i]);
+		}
+		return writes;
+	}
+
+	private static Property[] binds(final DecodePropertyInfo<JsonReader.BindObject>[] decoders) {
+		final Property[] binds = new Property[decoders.length];
+		for (int i = 0; i < decoders.length; i++) {
+			binds[i] = Property.bind(decoders[i].value);
+		}
+		return binds;
+	}
+
+	/**
+	 * Invoked from generated code before binding property in its expected order.
+	 * When the current name matches, reader is moved to the property value.
+	 *
+	 * @param reader   reader positioned at property name
+	 * @param weakHash weak hash of expected name
+	 * @param name     expected name
+	 * @param nonNull  is null value forbidden
+	 * @return false when current property is not the expected one
+	 * @throws IOException when null is found for non-null property
+	 */
+	static boolean nextName(final JsonReader reader, final int weakHash, final byte[] name, final boolean nonNull) throws IOException {
+		if (reader.fillNameWeakHash() != weakHash || !reader.wasLastName(name)) return false;
+		reader.getNextToken();
+		if (nonNull && reader.wasNull()) {
+			throw new IOException("Null value found for property " + new String(name, StandardCharsets.UTF_8) + " " + reader.positionDescription());
+		}
+		return true;
+	}
+
+	/**
+	 * Invoked from generated code after binding property which is not the last one.
+	 *
+	 * @param reader reader positioned at the end of property value
+	 * @return true when reader was moved to the next property
+	 * @throws IOException unable to read next token
+	 */
+	static boolean nextProperty(final JsonReader reader) throws IOException {
+		if (reader.getNextToken() != ',') return false;
+		reader.getNextToken();
+		return true;
+	}
+
+	/**
+	 * How a single property is accessed from generated code.
+	 * Generic properties delegate to attribute converter,
+	 * while others access field or bean method directly and invoke the value converter (for objects)
+	 * or the number and bool converters (for primitives).
+	 */
+	private static final class Property {
+		final Class<?> kind;
+		final Member member;
+		final Object converter;
+		final byte[] quotedName;
+
+		private Property(final Class<?> kind, final Member member, final Object converter, final byte[] quotedName) {
+			this.kind = kind;
+			this.member = member;
+			this.converter = converter;
+			this.quotedName = quotedName;
+		}
+
+		static Property write(final JsonWriter.WriteObject encoder) {
+			if (encoder instanceof AttributeObjectAlwaysEncoder) {
+				final AttributeObjectAlwaysEncoder attr = (AttributeObjectAlwaysEncoder) encoder;
+				if (canAccess(attr.getter, Object.class, false)) return new Property(Object.class, attr.getter, attr.encoder, attr.quotedName);
+			} else if (encoder instanceof AttributeIntEncoder) {
+				final AttributeIntEncoder attr = (AttributeIntEncoder) encoder;
+				if (!attr.omitDefaults && canAccess(attr.getter, int.class, false)) return new Property(int.class, attr.getter, null, attr.quotedName);
+			} else if (encoder instanceof AttributeLongEncoder) {
+				final AttributeLongEncoder attr = (AttributeLongEncoder) encoder;
+				if (!attr.omitDefaults && canAccess(attr.getter, long.class, false)) return new Property(long.class, attr.getter, null, attr.quotedName);
+			} else if (encoder instanceof AttributeDoubleEncoder) {
+				final AttributeDoubleEncoder attr = (AttributeDoubleEncoder) encoder;
+				if (!attr.omitDefaults && canAccess(attr.getter, double.class, false)) return new Property(double.class, attr.getter, null, attr.quotedName);
+			} else if (encoder instanceof AttributeBoolEncoder) {
+				final AttributeBoolEncoder attr = (AttributeBoolEncoder) encoder;
+				if (!attr.omitDefaults && canAccess(attr.getter, boolean.class, false)) return new Property(boolean.class, attr.getter, null, attr.quotedName);
+			}
+			return new Property(null, null, encoder, null);
+		}
+
+		static Property bind(final JsonReader.BindObject binder) {
+			if (binder instanceof AttributeDecoder) {
+				final AttributeDecoder attr = (AttributeDecoder) binder;
+				if (canAccess(attr.setter, Object.class, true)) return new Property(Object.class, attr.setter, attr.decoder, null);
+			} else if (binder instanceof AttributeIntDecoder) {
+				final AttributeIntDecoder attr = (AttributeIntDecoder) binder;
+				if (canAccess(attr.setter, int.class, true)) return new Property(int.class, attr.setter, null, null);
+			} else if (binder instanceof AttributeLongDecoder) {
+				final AttributeLongDecoder attr = (AttributeLongDecoder) binder;
+				if (canAccess(attr.setter, long.class, true)) return new Property(long.class, attr.setter, null, null);
+			} else if (binder instanceof AttributeDoubleDecoder) {
+				final AttributeDoubleDecoder attr = (AttributeDoubleDecoder) binder;
+				if (canAccess(attr.setter, double.class, true)) return new Property(double.class, attr.setter, null, null);
+			}
+			return new Property(null, null, binder, null);
+		}
+
+		boolean isDirect() {
+			return kind != null;
+		}
+	}
+
+	private static Class<?> valueType(final Member member, final boolean write) {
+		if (member instanceof Field) return ((Field) member).getType();
+		final Method method = (Method) member;
+		return write ? method.getParameterTypes()[0] : method.getReturnType();
+	}
+
+	/**
+	 * Generated class is defined in the library package with the library class loader,
+	 * so it can only reference public members of public types which are visible from that loader.
+	 */
+	private static boolean canAccess(final Member member, final Class<?> kind, final boolean write) {
+		if (member == null) return false;
+		final int modifiers = member.getModifiers();
+		if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers)) return false;
+		if (member.getDeclaringClass().isInterface() || !isVisible(member.getDeclaringClass())) return false;
+		if (member instanceof Field) {
+			if (write && Modifier.isFinal(modifiers)) return false;
+		} else if (((Method) member).getParameterTypes().length != (write ? 1 : 0)) {
+			return false;
+		}
+		final Class<?> type = valueType(member, write);
+		if (kind != Object.class) return type == kind;
+		return !type.isPrimitive() && isVisible(type);
+	}
+
+	static boolean isVisible(final Class<?> type) {
+		Class<?> raw = type;
+		while (raw.isArray()) raw = raw.getComponentType();
+		if (raw.isPrimitive()) return true;
+		if (!Modifier.isPublic(raw.getModifiers())) return false;
+		try {
+			return Class.forName(raw.getName(), false, PropertyDispatchGenerator.class.getClassLoader()) == raw;
+		} catch (ClassNotFoundException | LinkageError ignore) {
+			return false;
+		}
+	}
+
+	static String descriptor(final Class<?> type) {
+		if (type == int.class) return "I";
+		if (type == long.class) return "J";
+		if (type == double.class) return "D";
+		if (type == boolean.class) return "Z";
+		if (type == float.class) return "F";
+		if (type == short.class) return "S";
+		if (type == byte.class) return "B";
+		if (type == char.class) return "C";
+		if (type == void.class) return "V";
+		if (type.isArray()) return type.getName().replace('.', '/');
+		return "L" + type.getName().replace('.', '/') + ";";
+	}
+
+	private static void readMember(final DataOutputStream code, final ConstantPool cp, final Member member) throws IOException {
+		final String owner = member.getDeclaringClass().getName().replace('.', '/');
+		if (member instanceof Field) {
+			code.writeByte(GETFIELD);
+			code.writeShort(cp.field(owner, member.getName(), descriptor(((Field) member).getType())));
+		} else {
+			code.writeByte(INVOKEVIRTUAL);
+			code.writeShort(cp.method(owner, member.getName(), "()" + descriptor(((Method) member).getReturnType())));
+		}
+	}
+
+	private static void writeMember(final DataOutputStream code, final ConstantPool cp, final Member member) throws IOException {
+		final String owner = member.getDeclaringClass().getName().replace('.', '/');
+		if (member instanceof Field) {
+			code.writeByte(PUTFIELD);
+			code.writeShort(cp.field(owner, member.getName(), descriptor(((Field) member).getType())));
+		} else {
+			final Method method = (Method) member;
+			code.writeByte(INVOKEVIRTUAL);
+			code.writeShort(cp.method(owner, method.getName(), "(" + descriptor(method.getParameterTypes()[0]) + ")" + descriptor(method.getReturnType())));
+			if (method.getReturnType() == long.class || method.getReturnType() == double.class) {
+				code.writeByte(POP2);
+			} else if (method.getReturnType() != void.class) {
+				code.writeByte(POP);
+			}
+		}
+	}
+
+	static final class ConstantPool {
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(bytes);
+		private final HashMap<String, Integer> entries = new HashMap<>();
+		private int count = 1;
+		//string constant patched with class data on runtimes without hidden classes
+		int classData;
+
+		private int add(final String key, final int tag, final int first, final int second) throws IOException {
+			final Integer existing = entries.get(key);
+			if (existing != null) return existing;
+			out.writeByte(tag);
+			out.writeShort(first);
+			if (second >= 0) out.writeShort(second);
+			entries.put(key, count);
+			return count++;
+		}
+
+		int utf8(final String value) throws IOException {
+			final String key = "U" + value;
+			final Integer existing = entries.get(key);
+			if (existing != null) return existing;
+			out.writeByte(CONSTANT_UTF8);
+			out.writeUTF(value);
+			entries.put(key, count);
+			return count++;
+		}
+
+		int string(final String value) throws IOException {
+			final int utf = utf8(value);
+			return add("S" + value, CONSTANT_STRING, utf, -1);
+		}
+
+		int integer(final int value) throws IOException {
+			final Integer existing = entries.get("I" + value);
+			if (existing != null) return existing;
+			out.writeByte(CONSTANT_INTEGER);
+			out.writeInt(value);
+			entries.put("I" + value, count);
+			return count++;
+		}
+
+		int type(final String name) throws IOException {
+			final int utf = utf8(name);
+			return add("C" + name, CONSTANT_CLASS, utf, -1);
+		}
+
+		private int nameAndType(final String name, final String descriptor) throws IOException {
+			final int n = utf8(name);
+			final int d = utf8(descriptor);
+			return add("N" + name + ":" + descriptor, CONSTANT_NAME_AND_TYPE, n, d);
+		}
+
+		int field(final String owner, final String name, final String descriptor) throws IOException {
+			final int o = type(owner);
+			final int nt = nameAndType(name, descriptor);
+			return add("F" + owner + "." + name + ":" + descriptor, CONSTANT_FIELDREF, o, nt);
+		}
+
+		int method(final String owner, final String name, final String descriptor) throws IOException {
+			final int o = type(owner);
+			final int nt = nameAndType(name, descriptor);
+			return add("M" + owner + "." + name + ":" + descriptor, CONSTANT_METHODREF, o, nt);
+		}
+
+		int interfaceMethod(final String owner, final String name, final String descriptor) throws IOException {
+			final int o = type(owner);
+			final int nt = nameAndType(name, descriptor);
+			return add("I" + owner + "." + name + ":" + descriptor, CONSTANT_INTERFACE_METHODREF, o, nt);
+		}
+	}
+
+	static void pushInt(final DataOutputStream code, final int value) throws IOException {
+		if (value >= -1 && value <= 5) {
+			code.writeByte(ICONST_0 + value);
+		} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			code.writeByte(BIPUSH);
+			code.writeByte(value);
+		} else {
+			code.writeByte(SIPUSH);
+			code.writeShort(value);
+		}
+	}
+
+	private static void pushInt(final DataOutputStream code, final ConstantPool cp, final int value) throws IOException {
+		if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			pushInt(code, value);
+		} else {
+			ldc(code, cp.integer(value));
+		}
+	}
+
+	private static byte[] emit(
+			final Property[] writes,
+			final Property[] binds,
+			final DecodePropertyInfo<JsonReader.BindObject>[] decoders) throws IOException {
+		final ConstantPool cp = new ConstantPool();
+		final int thisClass = cp.type(CLASS_NAME);
+		final int superClass = cp.type("java/lang/Object");
+		final int dispatch = cp.type(DISPATCH);
+		final int codeName = cp.utf8("Code");
+		final int frameName = cp.utf8("StackMapTable");
+		final int[] encoderFields = new int[writes.length];
+		final int[] nameFields = new int[writes.length];
+		final int[] decoderFields = new int[binds.length];
+		final int[] decoderNameFields = new int[binds.length];
+		for (int i = 0; i < writes.length; i++) {
+			if (writes[i].converter != null) encoderFields[i] = cp.field(CLASS_NAME, "e" + i, "L" + WRITE_OBJECT + ";");
+			if (writes[i].isDirect()) nameFields[i] = cp.field(CLASS_NAME, "n" + i, "[B");
+		}
+		for (int i = 0; i < binds.length; i++) {
+			decoderNameFields[i] = cp.field(CLASS_NAME, "b" + i, "[B");
+			if (binds[i].converter == null) continue;
+			decoderFields[i] = binds[i].isDirect()
+					? cp.field(CLASS_NAME, "d" + i, "L" + READ_OBJECT + ";")
+					: cp.field(CLASS_NAME, "d" + i, "L" + BIND_OBJECT + ";");
+		}
+		final int writeObjectClass = cp.type(WRITE_OBJECT);
+		final int readObjectClass = cp.type(READ_OBJECT);
+		final int bindObjectClass = cp.type(BIND_OBJECT);
+		final int bytesClass = cp.type("[B");
+		final int objectInit = cp.method("java/lang/Object", "<init>", "()V");
+		final int writeByte = cp.method(JSON_WRITER, "writeByte", "(B)V");
+		final int writeAscii = cp.method(JSON_WRITER, "writeAscii", "([B)V");
+		final int write = cp.interfaceMethod(WRITE_OBJECT, "write", "(L" + JSON_WRITER + ";Ljava/lang/Object;)V");
+		final int nextName = cp.method(GENERATOR, "nextName", "(L" + JSON_READER + ";I[BZ)Z");
+		final int nextProperty = cp.method(GENERATOR, "nextProperty", "(L" + JSON_READER + ";)Z");
+		final int nextToken = cp.method(JSON_READER, "getNextToken", "()B");
+
+		final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+		final DataOutputStream mo = new DataOutputStream(methods);
+
+		//constructor(Object[] encoders, Object[] quotedNames, Object[] decoders, Object[] decoderNames)
+		ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+		DataOutputStream code = new DataOutputStream(codeBytes);
+		code.writeByte(ALOAD_0);
+		code.writeByte(INVOKESPECIAL);
+		code.writeShort(objectInit);
+		for (int i = 0; i < writes.length; i++) {
+			if (writes[i].converter != null) {
+				code.writeByte(ALOAD_0);
+				code.writeByte(ALOAD_1);
+				pushInt(code, i);
+				code.writeByte(AALOAD);
+				code.writeByte(CHECKCAST);
+				code.writeShort(writeObjectClass);
+				code.writeByte(PUTFIELD);
+				code.writeShort(encoderFields[i]);
+			}
+			if (writes[i].isDirect()) {
+				code.writeByte(ALOAD_0);
+				code.writeByte(ALOAD_2);
+				pushInt(code, i);
+				code.writeByte(AALOAD);
+				code.writeByte(CHECKCAST);
+				code.writeShort(bytesClass);
+				code.writeByte(PUTFIELD);
+				code.writeShort(nameFields[i]);
+			}
+		}
+		for (int i = 0; i < binds.length; i++) {
+			code.writeByte(ALOAD_0);
+			code.writeByte(ALOAD);
+			code.writeByte(4);
+			pushInt(code, i);
+			code.writeByte(AALOAD);
+			code.writeByte(CHECKCAST);
+			code.writeShort(bytesClass);
+			code.writeByte(PUTFIELD);
+			code.writeShort(decoderNameFields[i]);
+			if (binds[i].converter == null) continue;
+			code.writeByte(ALOAD_0);
+			code.writeByte(ALOAD_3);
+			pushInt(code, i);
+			code.writeByte(AALOAD);
+			code.writeByte(CHECKCAST);
+			code.writeShort(binds[i].isDirect() ? readObjectClass : bindObjectClass);
+			code.writeByte(PUTFIELD);
+			code.writeShort(decoderFields[i]);
+		}
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_PUBLIC, "<init>", "([Ljava/lang/Object;[Ljava/lang/Object;[Ljava/lang/Object;[Ljava/lang/Object;)V", codeName, 3, 5, codeBytes.toByteArray(), frameName, null);
+
+		//void writeContent(JsonWriter writer, Object instance)
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		for (int i = 0; i < writes.length; i++) {
+			final Property property = writes[i];
+			if (i > 0) {
+				code.writeByte(ALOAD_1);
+				code.writeByte(BIPUSH);
+				code.writeByte(JsonWriter.COMMA);
+				code.writeByte(INVOKEVIRTUAL);
+				code.writeShort(writeByte);
+			}
+			if (!property.isDirect()) {
+				code.writeByte(ALOAD_0);
+				code.writeByte(GETFIELD);
+				code.writeShort(encoderFields[i]);
+				code.writeByte(ALOAD_1);
+				code.writeByte(ALOAD_2);
+				code.writeByte(INVOKEINTERFACE);
+				code.writeShort(write);
+				code.writeByte(3);
+				code.writeByte(0);
+				continue;
+			}
+			code.writeByte(ALOAD_1);
+			code.writeByte(ALOAD_0);
+			code.writeByte(GETFIELD);
+			code.writeShort(nameFields[i]);
+			code.writeByte(INVOKEVIRTUAL);
+			code.writeShort(writeAscii);
+			if (property.kind == Object.class) {
+				code.writeByte(ALOAD_0);
+				code.writeByte(GETFIELD);
+				code.writeShort(encoderFields[i]);
+				code.writeByte(ALOAD_1);
+			}
+			code.writeByte(ALOAD_2);
+			code.writeByte(CHECKCAST);
+			code.writeShort(cp.type(property.member.getDeclaringClass().getName().replace('.', '/')));
+			readMember(code, cp, property.member);
+			if (property.kind == Object.class) {
+				code.writeByte(INVOKEINTERFACE);
+				code.writeShort(write);
+				code.writeByte(3);
+				code.writeByte(0);
+			} else {
+				code.writeByte(ALOAD_1);
+				code.writeByte(INVOKESTATIC);
+				code.writeShort(cp.method(
+						property.kind == boolean.class ? BOOL_CONVERTER : NUMBER_CONVERTER,
+						"serialize",
+						"(" + descriptor(property.kind) + "L" + JSON_WRITER + ";)V"));
+			}
+		}
+		code.writeByte(RETURN);
+		writeMethod(mo, cp, ACC_PUBLIC, "writeContent", "(L" + JSON_WRITER + ";Ljava/lang/Object;)V", codeName, 3, 3, codeBytes.toByteArray(), frameName, null);
+
+		//int bindContent(JsonReader reader, Object instance)
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		final int[] orderedTargets = new int[Math.max(0, 2 * binds.length - 1)];
+		for (int i = 0; i < binds.length; i++) {
+			//if (!nextName(reader, weakHash, name, nonNull)) return ~i;
+			code.writeByte(ALOAD_1);
+			pushInt(code, cp, decoders[i].weakHash);
+			code.writeByte(ALOAD_0);
+			code.writeByte(GETFIELD);
+			code.writeShort(decoderNameFields[i]);
+			code.writeByte(decoders[i].nonNull ? ICONST_1 : ICONST_0);
+			code.writeByte(INVOKESTATIC);
+			code.writeShort(nextName);
+			orderedTargets[2 * i] = returnUnless(codeBytes, code, ~i);
+			emitBind(code, cp, binds[i], decoderFields[i], 1, 2);
+			if (i + 1 < binds.length) {
+				//if (!nextProperty(reader)) return i + 1;
+				code.writeByte(ALOAD_1);
+				code.writeByte(INVOKESTATIC);
+				code.writeShort(nextProperty);
+				orderedTargets[2 * i + 1] = returnUnless(codeBytes, code, i + 1);
+			} else {
+				code.writeByte(ALOAD_1);
+				code.writeByte(INVOKEVIRTUAL);
+				code.writeShort(nextToken);
+				code.writeByte(POP);
+			}
+		}
+		pushInt(code, binds.length);
+		code.writeByte(IRETURN);
+		writeMethod(mo, cp, ACC_PUBLIC, "bindContent", "(L" + JSON_READER + ";Ljava/lang/Object;)I", codeName, 4, 3, codeBytes.toByteArray(), frameName, orderedTargets.length == 0 ? null : orderedTargets);
+
+		//void bind(int index, JsonReader reader, Object instance)
+		codeBytes = new ByteArrayOutputStream();
+		code = new DataOutputStream(codeBytes);
+		final int[] targets;
+		if (binds.length == 0) {
+			code.writeByte(RETURN);
+			targets = null;
+		} else {
+			code.writeByte(ILOAD_1);
+			final int switchAt = codeBytes.size();
+			code.writeByte(TABLESWITCH);
+			while (codeBytes.size() % 4 != 0) code.writeByte(0);
+			final int tableAt = codeBytes.size();
+			//placeholders for default, low, high and jump offsets
+			for (int i = 0; i < 3 + binds.length; i++) code.writeInt(0);
+			targets = new int[binds.length + 1];
+			for (int i = 0; i < binds.length; i++) {
+				targets[i] = codeBytes.size();
+				emitBind(code, cp, binds[i], decoderFields[i], 2, 3);
+				code.writeByte(RETURN);
+			}
+			targets[binds.length] = codeBytes.size();
+			code.writeByte(RETURN);
+			final byte[] raw = codeBytes.toByteArray();
+			writeInt(raw, tableAt, targets[binds.length] - switchAt);
+			writeInt(raw, tableAt + 4, 0);
+			writeInt(raw, tableAt + 8, binds.length - 1);
+			for (int i = 0; i < binds.length; i++) {
+				writeInt(raw, tableAt + 12 + i * 4, targets[i] - switchAt);
+			}
+			codeBytes = new ByteArrayOutputStream();
+			codeBytes.write(raw);
+		}
+		writeMethod(mo, cp, ACC_PUBLIC, "bind", "(IL" + JSON_READER + ";Ljava/lang/Object;)V", codeName, 3, 4, codeBytes.toByteArray(), frameName, targets);
+
+		final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+		final DataOutputStream fo = new DataOutputStream(fields);
+		int fieldCount = 0;
+		for (int i = 0; i < writes.length; i++) {
+			if (writes[i].converter != null) {
+				writeField(fo, cp, ACC_PRIVATE | ACC_FINAL, "e" + i, "L" + WRITE_OBJECT + ";");
+				fieldCount++;
+			}
+			if (writes[i].isDirect()) {
+				writeField(fo, cp, ACC_PRIVATE | ACC_FINAL, "n" + i, "[B");
+				fieldCount++;
+			}
+		}
+		for (int i = 0; i < binds.length; i++) {
+			writeField(fo, cp, ACC_PRIVATE | ACC_FINAL, "b" + i, "[B");
+			fieldCount++;
+			if (binds[i].converter == null) continue;
+			writeField(fo, cp, ACC_PRIVATE | ACC_FINAL, "d" + i, binds[i].isDirect() ? "L" + READ_OBJECT + ";" : "L" + BIND_OBJECT + ";");
+			fieldCount++;
+		}
+
+		fo.flush();
+		mo.flush();
+		return assemble(cp, thisClass, superClass, dispatch, fieldCount, fields, 4, methods);
+	}
+
+	/**
+	 * Emit return of the provided value when boolean on the stack is false.
+	 *
+	 * @return offset after the return, which is a jump target
+	 */
+	private static int returnUnless(
+			final ByteArrayOutputStream codeBytes,
+			final DataOutputStream code,
+			final int value) throws IOException {
+		final int jumpAt = codeBytes.size();
+		final ByteArrayOutputStream returnBytes = new ByteArrayOutputStream();
+		final DataOutputStream returnCode = new DataOutputStream(returnBytes);
+		pushInt(returnCode, value);
+		returnCode.writeByte(IRETURN);
+		code.writeByte(IFNE);
+		code.writeShort(3 + returnBytes.size());
+		returnBytes.writeTo(code);
+		return jumpAt + 3 + returnBytes.size();
+	}
+
+	/**
+	 * Emit binding of a single property from the reader positioned at its value.
+	 * Stack is empty before and after the emitted code.
+	 */
+	private static void emitBind(
+			final DataOutputStream code,
+			final ConstantPool cp,
+			final Property property,
+			final int decoderField,
+			final int readerSlot,
+			final int instanceSlot) throws IOException {
+		if (!property.isDirect()) {
+			code.writeByte(ALOAD_0);
+			code.writeByte(GETFIELD);
+			code.writeShort(decoderField);
+			code.writeByte(ALOAD_0 + readerSlot);
+			code.writeByte(ALOAD_0 + instanceSlot);
+			code.writeByte(INVOKEINTERFACE);
+			code.writeShort(cp.interfaceMethod(BIND_OBJECT, "bind", "(L" + JSON_READER + ";Ljava/lang/Object;)Ljava/lang/Object;"));
+			code.writeByte(3);
+			code.writeByte(0);
+			code.writeByte(POP);
+			return;
+		}
+		code.writeByte(ALOAD_0 + instanceSlot);
+		code.writeByte(CHECKCAST);
+		code.writeShort(cp.type(property.member.getDeclaringClass().getName().replace('.', '/')));
+		if (property.kind == Object.class) {
+			code.writeByte(ALOAD_0);
+			code.writeByte(GETFIELD);
+			code.writeShort(decoderField);
+			code.writeByte(ALOAD_0 + readerSlot);
+			code.writeByte(INVOKEINTERFACE);
+			code.writeShort(cp.interfaceMethod(READ_OBJECT, "read", "(L" + JSON_READER + ";)Ljava/lang/Object;"));
+			code.writeByte(2);
+			code.writeByte(0);
+			final Class<?> type = valueType(property.member, true);
+			if (type != Object.class) {
+				code.writeByte(CHECKCAST);
+				code.writeShort(cp.type(type.getName().replace('.', '/')));
+			}
+		} else {
+			code.writeByte(ALOAD_0 + readerSlot);
+			code.writeByte(INVOKESTATIC);
+			if (property.kind == int.class) {
+				code.writeShort(cp.method(NUMBER_CONVERTER, "deserializeInt", "(L" + JSON_READER + ";)I"));
+			} else if (property.kind == long.class) {
+				code.writeShort(cp.method(NUMBER_CONVERTER, "deserializeLong", "(L" + JSON_READER + ";)J"));
+			} else {
+				code.writeShort(cp.method(NUMBER_CONVERTER, "deserializeDouble", "(L" + JSON_READER + ";)D"));
+			}
+		}
+		writeMember(code, cp, property.member);
+	}
+
+	static void writeField(final DataOutputStream out, final ConstantPool cp, final int access, final String name, final String descriptor) throws IOException {
+		out.writeShort(access);
+		out.writeShort(cp.utf8(name));
+		out.writeShort(cp.utf8(descriptor));
+		out.writeShort(0);
+	}
+
+	static byte[] assemble(
+			final ConstantPool cp,
+			final int thisClass,
+			final int superClass,
+			final int implemented,
+			final int fieldCount,
+			final ByteArrayOutputStream fields,
+			final int methodCount,
+			final ByteArrayOutputStream methods) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(result);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(52);
+		out.writeShort(cp.count);
+		cp.out.flush();
+		cp.bytes.writeTo(out);
+		out.writeShort(ACC_SYNTHETIC | ACC_SUPER | ACC_FINAL);
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		if (implemented > 0) {
+			out.writeShort(1);
+			out.writeShort(implemented);
+		} else {
+			out.writeShort(0);
+		}
+		out.writeShort(fieldCount);
+		fields.writeTo(out);
+		out.writeShort(methodCount);
+		methods.writeTo(out);
+		out.writeShort(0);
+		out.flush();
+		return result.toByteArray();
+	}
+
+	static void writeInt(final byte[] target, final int offset, final int value) {
+		target[offset] = (byte) (value >>> 24);
+		target[offset + 1] = (byte) (value >>> 16);
+		target[offset + 2] = (byte) (value >>> 8);
+		target[offset + 3] = (byte) value;
+	}
+
+	static void writeMethod(
+			final DataOutputStream out,
+			final ConstantPool cp,
+			final int access,
+			final String name,
+			final String descriptor,
+			final int codeName,
+			final int maxStack,
+			final int maxLocals,
+			final byte[] code,
+			final int frameName,
+			final int[] frameTargets) throws IOException {
+		out.writeShort(access);
+		out.writeShort(cp.utf8(name));
+		out.writeShort(cp.utf8(descriptor));
+		out.writeShort(1);
+		out.writeShort(codeName);
+		//all jump targets have the same locals as method entry and an empty stack
+		final int framesLength = frameTargets == null ? 0 : 8 + frameTargets.length * 3;
+		out.writeInt(12 + code.length + framesLength);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(code.length);
+		out.write(code);
+		out.writeShort(0);
+		if (frameTargets == null) {
+			out.writeShort(0);
+		} else {
+			out.writeShort(1);
+			out.writeShort(frameName);
+			out.writeInt(2 + frameTargets.length * 3);
+			out.writeShort(frameTargets.length);
+			int previous = -1;
+			for (final int target : frameTargets) {
+				out.writeByte(SAME_FRAME_EXTENDED);
+				out.writeShort(target - previous - 1);
+				previous = target;
+			}
+		}
+	}
+}
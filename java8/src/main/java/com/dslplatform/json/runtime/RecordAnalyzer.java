@@ -0,0 +1,157 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.SerializationException;
+
+import java.lang.reflect.*;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * Analyzer for Java records.
+ * Record components define property names, accessors and the canonical constructor,
+ * so records don't depend on parameter names or getter heuristics from {@link ImmutableAnalyzer}.
+ * Properties are read through accessor lambdas and instances are created through the canonical constructor handle.
+ * <p>
+ * Record API is looked up reflectively, so this analyzer is a no-op on runtimes before Java 16.
+ */
+public abstract class RecordAnalyzer {
+
+	private static final Method isRecord;
+	private static final Method getRecordComponents;
+	private static final Method componentName;
+	private static final Method componentType;
+	private static final Method componentGenericType;
+	private static final Method componentAccessor;
+
+	static {
+		Method record = null;
+		Method components = null;
+		Method name = null;
+		Method type = null;
+		Method genericType = null;
+		Method accessor = null;
+		try {
+			final Class<?> componentClass = Class.forName("java.lang.reflect.RecordComponent");
+			record = Class.class.getMethod("isRecord");
+			components = Class.class.getMethod("getRecordComponents");
+			name = componentClass.getMethod("getName");
+			type = componentClass.getMethod("getType");
+			genericType = componentClass.getMethod("getGenericType");
+			accessor = componentClass.getMethod("getAccessor");
+		} catch (ClassNotFoundException | NoSuchMethodException ignore) {
+			record = null;
+		}
+		isRecord = record;
+		getRecordComponents = components;
+		componentName = name;
+		componentType = type;
+		componentGenericType = genericType;
+		componentAccessor = accessor;
+	}
+
+	public static final DslJson.ConverterFactory<ImmutableDescription> CONVERTER = converter(false);
+
+	/**
+	 * Same as CONVERTER, but analyzed types will use runtime generated property dispatch
+	 * and constructor invocation when supported.
+	 */
+	public static final DslJson.ConverterFactory<ImmutableDescription> GENERATING_CONVERTER = converter(true);
+
+	private static DslJson.ConverterFactory<ImmutableDescription> converter(final boolean generate) {
+		return (manifest, dslJson) -> {
+			if (isRecord == null) return null;
+			if (manifest instanceof Class<?>) {
+				return analyze(manifest, (Class<?>) manifest, dslJson, generate);
+			}
+			if (manifest instanceof ParameterizedType) {
+				final ParameterizedType pt = (ParameterizedType) manifest;
+				if (pt.getActualTypeArguments().length == 1 && pt.getRawType() instanceof Class<?>) {
+					return analyze(manifest, (Class<?>) pt.getRawType(), dslJson, generate);
+				}
+			}
+			return null;
+		};
+	}
+
+	static boolean isRecord(final Class<?> raw) {
+		if (isRecord == null) return false;
+		try {
+			return (Boolean) isRecord.invoke(raw);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new SerializationException("Unable to check if " + raw + " is a record", e);
+		}
+	}
+
+	private static <T> ImmutableDescription<T> analyze(final Type manifest, final Class<T> raw, final DslJson json, final boolean generate) {
+		if (!isRecord(raw)
+				|| (raw.getModifiers() & Modifier.PUBLIC) == 0
+				|| (raw.getDeclaringClass() != null && (raw.getModifiers() & Modifier.STATIC) == 0)) {
+			return null;
+		}
+		final Object[] components;
+		final String[] names;
+		final Class<?>[] rawTypes;
+		final Type[] types;
+		final Method[] accessors;
+		try {
+			components = (Object[]) getRecordComponents.invoke(raw);
+			names = new String[components.length];
+			rawTypes = new Class<?>[components.length];
+			types = new Type[components.length];
+			accessors = new Method[components.length];
+			for (int i = 0; i < components.length; i++) {
+				names[i] = (String) componentName.invoke(components[i]);
+				rawTypes[i] = (Class<?>) componentType.invoke(components[i]);
+				types[i] = (Type) componentGenericType.invoke(components[i]);
+				accessors[i] = (Method) componentAccessor.invoke(components[i]);
+			}
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new SerializationException("Unable to analyze record components of " + raw, e);
+		}
+		final Constructor<T> ctor;
+		try {
+			ctor = raw.getDeclaredConstructor(rawTypes);
+		} catch (NoSuchMethodException ignore) {
+			return null;
+		}
+		if ((ctor.getModifiers() & Modifier.PUBLIC) == 0) return null;
+		final ImmutableAnalyzer.LazyImmutableDescription lazy = new ImmutableAnalyzer.LazyImmutableDescription(json, manifest);
+		final JsonWriter.WriteObject oldWriter = json.registerWriter(manifest, lazy);
+		final JsonReader.ReadObject oldReader = json.registerReader(manifest, lazy);
+		try {
+			final HashMap<Type, Type> genericMappings = Generics.analyze(manifest, raw);
+			final Object[] defArgs = new Object[components.length];
+			final JsonWriter.WriteObject[] writeProps = new JsonWriter.WriteObject[components.length];
+			final DecodePropertyInfo<JsonReader.ReadObject>[] readProps = new DecodePropertyInfo[components.length];
+			for (int i = 0; i < components.length; i++) {
+				final Type concreteType = Generics.makeConcrete(types[i], genericMappings);
+				final boolean isUnknown = Generics.isUnknownType(types[i]);
+				if (!isUnknown && (json.tryFindWriter(concreteType) == null || json.tryFindReader(concreteType) == null)) {
+					return ImmutableAnalyzer.unregister(manifest, json, lazy, oldWriter, oldReader);
+				}
+				defArgs[i] = json.getDefault(concreteType);
+				writeProps[i] = Settings.createEncoder(accessors[i], names[i], json, isUnknown ? null : concreteType);
+				readProps[i] = new DecodePropertyInfo<>(names[i], false, false, i, false, new ImmutableAnalyzer.WriteCtor(json, concreteType, ctor));
+			}
+			final ImmutableDescription<T> converter = new ImmutableDescription<T>(
+					manifest,
+					defArgs,
+					(Function<Object[], T>) Reflection.constructor(ctor),
+					generate ? ImmutableSlotsGenerator.generate(ctor, defArgs, ImmutableDescription.readers(defArgs.length, readProps), json) : null,
+					writeProps,
+					readProps,
+					!json.omitDefaults,
+					true,
+					generate);
+			json.registerWriter(manifest, converter);
+			json.registerReader(manifest, converter);
+			lazy.complete(converter);
+			return converter;
+		} finally {
+			if (!lazy.isCompleted()) ImmutableAnalyzer.unregister(manifest, json, lazy, oldWriter, oldReader);
+		}
+	}
+}
@@ -2,14 +2,545 @@ package com.dslplatform.json.runtime;
 
 import com.dslplatform.json.SerializationException;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.concurrent.Callable;
+import java.util.function.*;
 
 abstract class Reflection {
 
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * Constructors are spun at analysis time via LambdaMetafactory when target is a public constructor
+	 * of a public class visible from this class loader, so invocation is as fast as a direct call.
+	 */
+	private static boolean canSpinLambda(final Member member) {
+		final Class<?> declaring = member.getDeclaringClass();
+		if (!Modifier.isPublic(member.getModifiers())) return false;
+		for (Class<?> it = declaring; it != null; it = it.getDeclaringClass()) {
+			if (!Modifier.isPublic(it.getModifiers())) return false;
+		}
+		try {
+			return Class.forName(declaring.getName(), false, Reflection.class.getClassLoader()) == declaring;
+		} catch (ClassNotFoundException | LinkageError ignore) {
+			return false;
+		}
+	}
+
+	private static Object spinLambda(
+			final Class<?> functionalInterface,
+			final String name,
+			final MethodType erased,
+			final MethodHandle target,
+			final MethodType instantiated) throws Throwable {
+		final CallSite site = LambdaMetafactory.metafactory(
+				LOOKUP,
+				name,
+				MethodType.methodType(functionalInterface),
+				erased,
+				target,
+				instantiated);
+		return site.getTarget().invoke();
+	}
+
+	/**
+	 * Field and method accessors are created at analysis time.
+	 * Method handle of the member is bound to a constant in a generated accessor class, so JIT can inline it.
+	 * When classes can't be generated, method handle is kept in an instance field,
+	 * while reflection is used as the last resort and for static members.
+	 */
+	static Function getter(final Field field) {
+		if (Modifier.isStatic(field.getModifiers())) return new ReadField(field);
+		final MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectGetter(field);
+		} catch (IllegalAccessException ignore) {
+			return new ReadField(field);
+		}
+		final BoundAccessor bound = AccessorGenerator.generate(field, handle, Object.class, false);
+		return bound != null ? bound : new ReadFieldHandle(field, handle);
+	}
+
+	static Function getter(final Method method) {
+		if (Modifier.isStatic(method.getModifiers())) return new ReadMethod(method);
+		final MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflect(method);
+		} catch (IllegalAccessException ignore) {
+			return new ReadMethod(method);
+		}
+		final BoundAccessor bound = AccessorGenerator.generate(method, handle, Object.class, false);
+		return bound != null ? bound : new ReadMethodHandle(method, handle);
+	}
+
+	static BiConsumer setter(final Field field) {
+		if (Modifier.isStatic(field.getModifiers())) return new SetField(field);
+		final MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectSetter(field);
+		} catch (IllegalAccessException ignore) {
+			return new SetField(field);
+		}
+		final BoundAccessor bound = AccessorGenerator.generate(field, handle, Object.class, true);
+		return bound != null ? bound : new SetFieldHandle(field, handle);
+	}
+
+	static BiConsumer setter(final Method method) {
+		if (Modifier.isStatic(method.getModifiers())) return new SetMethod(method);
+		final MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflect(method);
+		} catch (IllegalAccessException ignore) {
+			return new SetMethod(method);
+		}
+		final BoundAccessor bound = AccessorGenerator.generate(method, handle, Object.class, true);
+		return bound != null ? bound : new SetMethodHandle(method, handle);
+	}
+
+	/**
+	 * Primitive accessors avoid boxing of the attribute value.
+	 * They return null when member can't be accessed via method handles,
+	 * in which case caller should fall back to the boxed accessor.
+	 */
+	private static MethodHandle primitiveHandle(final Member member, final boolean read, final MethodType erased) {
+		if (Modifier.isStatic(member.getModifiers())) return null;
+		try {
+			if (member instanceof Method) {
+				return LOOKUP.unreflect((Method) member).asType(erased);
+			} else if (member instanceof Field) {
+				final Field field = (Field) member;
+				return (read ? LOOKUP.unreflectGetter(field) : LOOKUP.unreflectSetter(field)).asType(erased);
+			}
+		} catch (IllegalAccessException ignore) {
+		}
+		return null;
+	}
+
+	private static SerializationException accessFailure(final Member member, final Throwable cause) {
+		final String kind = member instanceof Field ? "access field " : "call method ";
+		return new SerializationException("Unable to " + kind + member.getName() + " of " + member.getDeclaringClass(), cause);
+	}
+
+	static ToIntFunction intGetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, true, MethodType.methodType(int.class, Object.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, int.class, false);
+		if (bound != null) return bound;
+		return instance -> {
+			try {
+				return (int) handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static ToLongFunction longGetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, true, MethodType.methodType(long.class, Object.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, long.class, false);
+		if (bound != null) return bound;
+		return instance -> {
+			try {
+				return (long) handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static ToDoubleFunction doubleGetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, true, MethodType.methodType(double.class, Object.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, double.class, false);
+		if (bound != null) return bound;
+		return instance -> {
+			try {
+				return (double) handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static Predicate boolGetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, true, MethodType.methodType(boolean.class, Object.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, boolean.class, false);
+		if (bound != null) return bound;
+		return instance -> {
+			try {
+				return (boolean) handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static ObjIntConsumer intSetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, false, MethodType.methodType(void.class, Object.class, int.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, int.class, true);
+		if (bound != null) return bound;
+		return (instance, value) -> {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static ObjLongConsumer longSetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, false, MethodType.methodType(void.class, Object.class, long.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, long.class, true);
+		if (bound != null) return bound;
+		return (instance, value) -> {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	static ObjDoubleConsumer doubleSetter(final Member member) {
+		final MethodHandle handle = primitiveHandle(member, false, MethodType.methodType(void.class, Object.class, double.class));
+		if (handle == null) return null;
+		final BoundAccessor bound = AccessorGenerator.generate(member, handle, double.class, true);
+		if (bound != null) return bound;
+		return (instance, value) -> {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> InstanceFactory<T> instanceFactory(final Class<T> raw) {
+		final Constructor<T> ctor;
+		try {
+			ctor = raw.getConstructor();
+		} catch (NoSuchMethodException ignore) {
+			return newInstance(raw);
+		}
+		if (canSpinLambda(ctor)) {
+			try {
+				return (InstanceFactory<T>) spinLambda(
+						InstanceFactory.class,
+						"create",
+						MethodType.methodType(Object.class),
+						LOOKUP.unreflectConstructor(ctor),
+						MethodType.methodType(raw));
+			} catch (Throwable ignore) {
+			}
+		}
+		return newInstance(raw);
+	}
+
+	static <T> Callable<T> callableFactory(final Class<T> raw) {
+		final InstanceFactory<T> factory = instanceFactory(raw);
+		return factory::create;
+	}
+
+	private static <T> InstanceFactory<T> newInstance(final Class<T> raw) {
+		return () -> {
+			try {
+				return raw.newInstance();
+			} catch (Exception ex) {
+				throw new SerializationException("Unable to create an instance of " + raw);
+			}
+		};
+	}
+
+	static MethodHandle constructorHandle(final Constructor<?> ctor) {
+		try {
+			return LOOKUP.unreflectConstructor(ctor);
+		} catch (IllegalAccessException ignore) {
+			return null;
+		}
+	}
+
+	static <T> Function<Object[], T> constructor(final Constructor<T> ctor) {
+		final MethodHandle handle;
+		try {
+			handle = LOOKUP.unreflectConstructor(ctor)
+					.asSpreader(Object[].class, ctor.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (IllegalAccessException ignore) {
+			return args -> {
+				try {
+					return ctor.newInstance(args);
+				} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+					throw new RuntimeException(e);
+				}
+			};
+		}
+		return args -> {
+			try {
+				return (T) (Object) handle.invokeExact(args);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		};
+	}
+
+	/**
+	 * Base for generated accessors, which implement only the method matching the accessed type,
+	 * by invoking method handle bound to their static final field.
+	 * Failures of the accessed member are reported as SerializationException.
+	 */
+	abstract static class BoundAccessor implements Function, BiConsumer, ToIntFunction, ToLongFunction, ToDoubleFunction,
+			Predicate, ObjIntConsumer, ObjLongConsumer, ObjDoubleConsumer {
+		private final Member member;
+
+		BoundAccessor(final Member member) {
+			this.member = member;
+		}
+
+		Object get(Object instance) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		int getInt(Object instance) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		long getLong(Object instance) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		double getDouble(Object instance) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		boolean getBool(Object instance) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		void set(Object instance, Object value) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		void setInt(Object instance, int value) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		void setLong(Object instance, long value) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		void setDouble(Object instance, double value) throws Throwable {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public final Object apply(Object instance) {
+			try {
+				return get(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final int applyAsInt(Object instance) {
+			try {
+				return getInt(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final long applyAsLong(Object instance) {
+			try {
+				return getLong(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final double applyAsDouble(Object instance) {
+			try {
+				return getDouble(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final boolean test(Object instance) {
+			try {
+				return getBool(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final void accept(Object instance, Object value) {
+			try {
+				set(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final void accept(Object instance, int value) {
+			try {
+				setInt(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final void accept(Object instance, long value) {
+			try {
+				setLong(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+
+		@Override
+		public final void accept(Object instance, double value) {
+			try {
+				setDouble(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessFailure(member, e);
+			}
+		}
+	}
+
+	private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	static final class ReadFieldHandle implements Function {
+		private final Field field;
+		private final MethodHandle handle;
+
+		ReadFieldHandle(Field field, MethodHandle handle) {
+			this.field = field;
+			this.handle = handle.asType(READ_TYPE);
+		}
+
+		@Override
+		public Object apply(Object instance) {
+			try {
+				return handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new SerializationException("Unable to read field " + field.getName() + " of " + field.getDeclaringClass(), e);
+			}
+		}
+	}
+
+	static final class ReadMethodHandle implements Function {
+		private final Method method;
+		private final MethodHandle handle;
+
+		ReadMethodHandle(Method method, MethodHandle handle) {
+			this.method = method;
+			this.handle = handle.asType(READ_TYPE);
+		}
+
+		@Override
+		public Object apply(Object instance) {
+			try {
+				return handle.invokeExact(instance);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new SerializationException("Unable to call method " + method.getName() + " of " + method.getDeclaringClass(), e);
+			}
+		}
+	}
+
+	static final class SetFieldHandle implements BiConsumer {
+		private final Field field;
+		private final MethodHandle handle;
+
+		SetFieldHandle(Field field, MethodHandle handle) {
+			this.field = field;
+			this.handle = handle.asType(WRITE_TYPE);
+		}
+
+		@Override
+		public void accept(Object instance, Object value) {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new SerializationException("Unable to set field " + field.getName() + " of " + field.getDeclaringClass(), e);
+			}
+		}
+	}
+
+	static final class SetMethodHandle implements BiConsumer {
+		private final Method method;
+		private final MethodHandle handle;
+
+		SetMethodHandle(Method method, MethodHandle handle) {
+			this.method = method;
+			this.handle = handle.asType(WRITE_TYPE);
+		}
+
+		@Override
+		public void accept(Object instance, Object value) {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new SerializationException("Unable to call method " + method.getName() + " of " + method.getDeclaringClass(), e);
+			}
+		}
+	}
+
 	static final class ReadField implements Function {
 		private final Field field;
 
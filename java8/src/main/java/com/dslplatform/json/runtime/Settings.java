@@ -2,10 +2,8 @@ package com.dslplatform.json.runtime;
 
 import com.dslplatform.json.*;
 
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.lang.reflect.*;
+import java.util.function.*;
 
 public abstract class Settings {
 	private static final DslJson.ConverterFactory<JsonReader.ReadObject> UNKNOWN_READER =
@@ -26,6 +24,15 @@ public abstract class Settings {
 			final String name,
 			final DslJson json,
 			final Type type) {
+		return createEncoder(read, name, json, type, null);
+	}
+
+	private static <T, R> JsonWriter.WriteObject<T> createEncoder(
+			final Function<T, R> read,
+			final String name,
+			final DslJson json,
+			final Type type,
+			final Member getter) {
 		if (read == null) throw new IllegalArgumentException("read can't be null");
 		if (name == null) throw new IllegalArgumentException("name can't be null");
 		if (json == null) throw new IllegalArgumentException("json can't be null");
@@ -36,7 +43,76 @@ public abstract class Settings {
 		if (json.omitDefaults) {
 			return new AttributeObjectNonDefaultEncoder<>(read, name, encoder, (R)json.getDefault(type));
 		}
-		return new AttributeObjectAlwaysEncoder<>(read, name, encoder);
+		return new AttributeObjectAlwaysEncoder<>(read, name, encoder, getter);
+	}
+
+	public static <T> JsonWriter.WriteObject<T> createIntEncoder(
+			final ToIntFunction<T> read,
+			final String name,
+			final DslJson json) {
+		if (read == null) throw new IllegalArgumentException("read can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return new AttributeIntEncoder<>(read, name, json.omitDefaults, null);
+	}
+
+	public static <T> JsonWriter.WriteObject<T> createLongEncoder(
+			final ToLongFunction<T> read,
+			final String name,
+			final DslJson json) {
+		if (read == null) throw new IllegalArgumentException("read can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return new AttributeLongEncoder<>(read, name, json.omitDefaults, null);
+	}
+
+	public static <T> JsonWriter.WriteObject<T> createDoubleEncoder(
+			final ToDoubleFunction<T> read,
+			final String name,
+			final DslJson json) {
+		if (read == null) throw new IllegalArgumentException("read can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return new AttributeDoubleEncoder<>(read, name, json.omitDefaults, null);
+	}
+
+	public static <T> JsonWriter.WriteObject<T> createBoolEncoder(
+			final Predicate<T> read,
+			final String name,
+			final DslJson json) {
+		if (read == null) throw new IllegalArgumentException("read can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return new AttributeBoolEncoder<>(read, name, json.omitDefaults, null);
+	}
+
+	/**
+	 * Properties of primitive types are accessed without boxing,
+	 * unless a custom converter was registered for the primitive type.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> JsonWriter.WriteObject<T> createEncoder(
+			final Member getter,
+			final String name,
+			final DslJson json,
+			final Type type) {
+		if (type == int.class && json.tryFindWriter(int.class) == NumberConverter.INT_WRITER) {
+			final ToIntFunction<T> read = Reflection.intGetter(getter);
+			if (read != null) return new AttributeIntEncoder<>(read, name, json.omitDefaults, getter);
+		} else if (type == long.class && json.tryFindWriter(long.class) == NumberConverter.LONG_WRITER) {
+			final ToLongFunction<T> read = Reflection.longGetter(getter);
+			if (read != null) return new AttributeLongEncoder<>(read, name, json.omitDefaults, getter);
+		} else if (type == double.class && json.tryFindWriter(double.class) == NumberConverter.DOUBLE_WRITER) {
+			final ToDoubleFunction<T> read = Reflection.doubleGetter(getter);
+			if (read != null) return new AttributeDoubleEncoder<>(read, name, json.omitDefaults, getter);
+		} else if (type == boolean.class && json.tryFindWriter(boolean.class) == BoolConverter.WRITER) {
+			final Predicate<T> read = Reflection.boolGetter(getter);
+			if (read != null) return new AttributeBoolEncoder<>(read, name, json.omitDefaults, getter);
+		}
+		final Function<T, Object> read = getter instanceof Field
+				? Reflection.getter((Field) getter)
+				: Reflection.getter((Method) getter);
+		return createEncoder(read, name, json, type, getter);
 	}
 
 	public static <T, R> JsonWriter.WriteObject<T> createArrayEncoder(
@@ -75,12 +151,25 @@ public abstract class Settings {
 			final int index,
 			final boolean nonNull,
 			final Type type) {
+		return createDecoder(write, name, json, exactNameMatch, isMandatory, index, nonNull, type, null);
+	}
+
+	private static <T, R> DecodePropertyInfo<JsonReader.BindObject<T>> createDecoder(
+			final BiConsumer<T, R> write,
+			final String name,
+			final DslJson json,
+			final boolean exactNameMatch,
+			final boolean isMandatory,
+			final int index,
+			final boolean nonNull,
+			final Type type,
+			final Member setter) {
 		if (write == null) throw new IllegalArgumentException("write can't be null");
 		if (name == null) throw new IllegalArgumentException("name can't be null");
 		if (json == null) throw new IllegalArgumentException("json can't be null");
 		final JsonReader.ReadObject<R> decoder = type != null ? json.tryFindReader(type) : null;
 		if (decoder == null || !isKnownType(type)) return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new LazyAttributeDecoder<>(write, json, type));
-		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(write, decoder));
+		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(write, decoder, setter));
 	}
 
 	public static <T, R> DecodePropertyInfo<JsonReader.BindObject<T>> createDecoder(
@@ -96,7 +185,100 @@ public abstract class Settings {
 		if (name == null) throw new IllegalArgumentException("name can't be null");
 		if (json == null) throw new IllegalArgumentException("json can't be null");
 		if (decoder == null) throw new IllegalArgumentException("decoder can't be null");
-		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(write, decoder));
+		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(write, decoder, null));
+	}
+
+	/**
+	 * Primitive decoders bypass boxing unless a custom converter was registered for the primitive type,
+	 * in which case the registered reader is used.
+	 * There is no boolean variant since java.util.function has no boolean consumer.
+	 * Boolean properties should be bound via a {@code BiConsumer} instead,
+	 * which does not allocate since {@code Boolean.valueOf} returns cached instances.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> DecodePropertyInfo<JsonReader.BindObject<T>> createIntDecoder(
+			final ObjIntConsumer<T> write,
+			final String name,
+			final DslJson json,
+			final boolean exactNameMatch,
+			final boolean isMandatory,
+			final int index,
+			final boolean nonNull) {
+		if (write == null) throw new IllegalArgumentException("write can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		final JsonReader.ReadObject<Integer> decoder = json.tryFindReader(int.class);
+		if (decoder != null && decoder != NumberConverter.INT_READER) {
+			final BiConsumer<T, Integer> boxed = (instance, value) -> write.accept(instance, value);
+			return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(boxed, decoder, null));
+		}
+		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeIntDecoder<>(write, null));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> DecodePropertyInfo<JsonReader.BindObject<T>> createLongDecoder(
+			final ObjLongConsumer<T> write,
+			final String name,
+			final DslJson json,
+			final boolean exactNameMatch,
+			final boolean isMandatory,
+			final int index,
+			final boolean nonNull) {
+		if (write == null) throw new IllegalArgumentException("write can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		final JsonReader.ReadObject<Long> decoder = json.tryFindReader(long.class);
+		if (decoder != null && decoder != NumberConverter.LONG_READER) {
+			final BiConsumer<T, Long> boxed = (instance, value) -> write.accept(instance, value);
+			return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(boxed, decoder, null));
+		}
+		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeLongDecoder<>(write, null));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> DecodePropertyInfo<JsonReader.BindObject<T>> createDoubleDecoder(
+			final ObjDoubleConsumer<T> write,
+			final String name,
+			final DslJson json,
+			final boolean exactNameMatch,
+			final boolean isMandatory,
+			final int index,
+			final boolean nonNull) {
+		if (write == null) throw new IllegalArgumentException("write can't be null");
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		final JsonReader.ReadObject<Double> decoder = json.tryFindReader(double.class);
+		if (decoder != null && decoder != NumberConverter.DOUBLE_READER) {
+			final BiConsumer<T, Double> boxed = (instance, value) -> write.accept(instance, value);
+			return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDecoder<>(boxed, decoder, null));
+		}
+		return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDoubleDecoder<>(write, null));
+	}
+
+	@SuppressWarnings("unchecked")
+	static DecodePropertyInfo<JsonReader.BindObject> createDecoder(
+			final Member setter,
+			final String name,
+			final DslJson json,
+			final boolean exactNameMatch,
+			final boolean isMandatory,
+			final int index,
+			final boolean nonNull,
+			final Type type) {
+		if (type == int.class && json.tryFindReader(int.class) == NumberConverter.INT_READER) {
+			final ObjIntConsumer write = Reflection.intSetter(setter);
+			if (write != null) return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeIntDecoder<>(write, setter));
+		} else if (type == long.class && json.tryFindReader(long.class) == NumberConverter.LONG_READER) {
+			final ObjLongConsumer write = Reflection.longSetter(setter);
+			if (write != null) return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeLongDecoder<>(write, setter));
+		} else if (type == double.class && json.tryFindReader(double.class) == NumberConverter.DOUBLE_READER) {
+			final ObjDoubleConsumer write = Reflection.doubleSetter(setter);
+			if (write != null) return new DecodePropertyInfo<>(name, exactNameMatch, isMandatory, index, nonNull, new AttributeDoubleDecoder<>(write, setter));
+		}
+		final BiConsumer write = setter instanceof Field
+				? Reflection.setter((Field) setter)
+				: Reflection.setter((Method) setter);
+		return (DecodePropertyInfo) createDecoder(write, name, json, exactNameMatch, isMandatory, index, nonNull, type, setter);
 	}
 
 	public static <T, R> JsonReader.BindObject<T> createArrayDecoder(
@@ -107,7 +289,7 @@ public abstract class Settings {
 		if (json == null) throw new IllegalArgumentException("json can't be null");
 		final JsonReader.ReadObject<R> decoder = type != null ? json.tryFindReader(type) : null;
 		if (decoder == null || !isKnownType(type)) return new LazyAttributeDecoder<>(write, json, type);
-		return new AttributeDecoder<>(write, decoder);
+		return new AttributeDecoder<>(write, decoder, null);
 	}
 
 	public static <T, R> JsonReader.BindObject<T> createArrayDecoder(
@@ -115,10 +297,56 @@ public abstract class Settings {
 			final JsonReader.ReadObject<R> decoder) {
 		if (write == null) throw new IllegalArgumentException("write can't be null");
 		if (decoder == null) throw new IllegalArgumentException("decoder can't be null");
-		return new AttributeDecoder<>(write, decoder);
+		return new AttributeDecoder<>(write, decoder, null);
+	}
+
+	/**
+	 * Setup for compile time databinding without runtime analysis of objects, immutables, records, enums and mixins.
+	 * Converters for such types must be generated by the annotation processor,
+	 * which avoids reflection on them at runtime (eg. for GraalVM native image).
+	 * Arrays, collection and map interfaces (eg. List, Set, Queue and Map) and Java 8 specific types are still supported.
+	 * Concrete collection and map types (eg. ArrayList or TreeMap) are not supported,
+	 * since they would require reflection for creating their instances.
+	 * Generated configuration can be provided directly through with(new ...),
+	 * when annotation processor is invoked with dsljson.configuration option,
+	 * so even ServiceLoader lookup can be avoided.
+	 *
+	 * @param <T> DslJson context
+	 * @return settings without reflection based analyzers
+	 */
+	public static <T> DslJson.Settings<T> basicSetup() {
+		return new DslJson.Settings()
+				.resolveReader(UNKNOWN_READER)
+				.resolveReader(CollectionAnalyzer.INTERFACE_READER)
+				.resolveWriter(CollectionAnalyzer.WRITER)
+				.resolveReader(ArrayAnalyzer.READER)
+				.resolveWriter(ArrayAnalyzer.WRITER)
+				.resolveReader(MapAnalyzer.INTERFACE_READER)
+				.resolveWriter(MapAnalyzer.WRITER)
+				.with(new ConfigureJava8());
 	}
 
 	public static <T> DslJson.Settings<T> withRuntime() {
+		return withRuntime(false);
+	}
+
+	/**
+	 * Runtime analysis of classes without compile time databinding.
+	 * When converter generation is enabled, analyzed objects and immutables get a hidden class
+	 * emitted at runtime which writes and binds properties through dedicated call sites
+	 * instead of generic loops over property converters.
+	 * Public fields and bean methods of public types are accessed directly from the generated class.
+	 * If the runtime doesn't support defining hidden classes, generic converters are used.
+	 * Generation failures can be thrown instead by running with -Ddsljson.debug=true.
+	 *
+	 * @param generateConverters emit specialized property dispatch at runtime
+	 * @param <T> DslJson context
+	 * @return settings with runtime analyzers
+	 */
+	public static <T> DslJson.Settings<T> withRuntime(final boolean generateConverters) {
+		final DslJson.ConverterFactory<ObjectFormatDescription> objects = generateConverters ? ObjectAnalyzer.GENERATING_CONVERTER : ObjectAnalyzer.CONVERTER;
+		final DslJson.ConverterFactory<ImmutableDescription> immutables = generateConverters ? ImmutableAnalyzer.GENERATING_CONVERTER : ImmutableAnalyzer.CONVERTER;
+		final DslJson.ConverterFactory<ImmutableDescription> records = generateConverters ? RecordAnalyzer.GENERATING_CONVERTER : RecordAnalyzer.CONVERTER;
 		return new DslJson.Settings()
 				.resolveReader(UNKNOWN_READER)
 				.resolveReader(CollectionAnalyzer.READER)
@@ -129,11 +357,13 @@ public abstract class Settings {
 				.resolveWriter(MapAnalyzer.WRITER)
 				.resolveWriter(EnumAnalyzer.CONVERTER)
 				.resolveReader(EnumAnalyzer.CONVERTER)
-				.resolveWriter(ObjectAnalyzer.CONVERTER)
-				.resolveBinder(ObjectAnalyzer.CONVERTER)
-				.resolveReader(ObjectAnalyzer.CONVERTER)
-				.resolveWriter(ImmutableAnalyzer.CONVERTER)
-				.resolveReader(ImmutableAnalyzer.CONVERTER)
+				.resolveWriter(records)
+				.resolveReader(records)
+				.resolveWriter(objects)
+				.resolveBinder(objects)
+				.resolveReader(objects)
+				.resolveWriter(immutables)
+				.resolveReader(immutables)
 				.resolveWriter(MixinAnalyzer.WRITER)
 				.with(new ConfigureJava8());
 	}
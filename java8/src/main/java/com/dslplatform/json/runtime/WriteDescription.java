@@ -7,12 +7,18 @@ abstract class WriteDescription<T> implements JsonWriter.WriteObject<T> {
 	private final boolean alwaysSerialize;
 	private final boolean isEmpty;
 	private final JsonWriter.WriteObject[] encoders;
+	private final PropertyDispatch dispatch;
 
 	WriteDescription(final JsonWriter.WriteObject[] encoders, final boolean alwaysSerialize) {
+		this(encoders, alwaysSerialize, null);
+	}
+
+	WriteDescription(final JsonWriter.WriteObject[] encoders, final boolean alwaysSerialize, final PropertyDispatch dispatch) {
 		if (encoders == null) throw new IllegalArgumentException("encoders can't be null or empty");
 		this.encoders = encoders.clone();
 		this.alwaysSerialize = alwaysSerialize;
 		this.isEmpty = encoders.length == 0;
+		this.dispatch = dispatch;
 	}
 
 	public final void write(final JsonWriter writer, final T instance) {
@@ -34,6 +40,10 @@ abstract class WriteDescription<T> implements JsonWriter.WriteObject<T> {
 
 	public final void writeContentFull(final JsonWriter writer, final T instance) {
 		if (isEmpty) return;
+		if (dispatch != null) {
+			dispatch.writeContent(writer, instance);
+			return;
+		}
 		encoders[0].write(writer, instance);
 		for (int i = 1; i < encoders.length; i++) {
 			writer.writeByte(JsonWriter.COMMA);
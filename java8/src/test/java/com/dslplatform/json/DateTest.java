@@ -119,4 +119,70 @@ public class DateTest {
 		dslJson.serialize(n, os);;
 		Assert.assertEquals("{\"at\":\"1930-09-04T00:03:48.750431006Z\"}", os.toString());
 	}
+
+	public static class Timestamps {
+		public OffsetDateTime offset;
+		public LocalDateTime local;
+		public Instant instant;
+	}
+
+	@Test
+	public void epochMillisInAClass() throws IOException {
+		Timestamps t = new Timestamps();
+		t.offset = OffsetDateTime.parse("2018-03-04T05:06:07.089+01:00");
+		t.local = LocalDateTime.parse("1930-09-04T00:03:48.750");
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().timestampFormat(DslJson.TimestampFormat.EPOCH_MILLIS));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(t, os);
+		Assert.assertEquals("{\"offset\":1520136367089,\"local\":-1241049371250,\"instant\":null}", os.toString());
+		Timestamps res = dslJson.deserialize(Timestamps.class, os.toByteArray(), os.size());
+		Assert.assertTrue(t.offset.isEqual(res.offset));
+		Assert.assertEquals(ZoneOffset.UTC, res.offset.getOffset());
+		Assert.assertEquals(t.local, res.local);
+		Assert.assertNull(res.instant);
+	}
+
+	@Test
+	public void epochNanosRoundtrip() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().timestampFormat(DslJson.TimestampFormat.EPOCH_NANOS));
+		Instant instant = Instant.parse("1969-12-31T23:59:59.999999999Z");
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(instant, os);
+		Assert.assertEquals("-1", os.toString());
+		Assert.assertEquals(instant, dslJson.deserialize(Instant.class, os.toByteArray(), os.size()));
+		LocalDateTime local = LocalDateTime.parse("2018-03-04T05:06:07.123456789");
+		os.reset();
+		dslJson.serialize(local, os);
+		Assert.assertEquals("1520139967123456789", os.toString());
+		Assert.assertEquals(local, dslJson.deserialize(LocalDateTime.class, os.toByteArray(), os.size()));
+	}
+
+	@Test
+	public void epochReaderAcceptsIso() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().timestampFormat(DslJson.TimestampFormat.EPOCH_MILLIS));
+		byte[] input = "\"2018-03-04T05:06:07.089Z\"".getBytes("UTF-8");
+		Instant value = dslJson.deserialize(Instant.class, input, input.length);
+		Assert.assertEquals(Instant.parse("2018-03-04T05:06:07.089Z"), value);
+	}
+
+	@Test
+	public void epochNanosOutOfRange() throws IOException {
+		JsonWriter jw = new JsonWriter(null);
+		try {
+			JavaTimeEpochConverter.serializeNanos(Instant.parse("2300-01-01T00:00:00Z"), jw);
+			Assert.fail("Expecting exception");
+		} catch (SerializationException ex) {
+			Assert.assertTrue(ex.getMessage().contains("out of range"));
+		}
+	}
+
+	@Test
+	public void instantIsoByDefault() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime());
+		Instant instant = Instant.parse("2018-03-04T05:06:07.089Z");
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(instant, os);
+		Assert.assertEquals("\"2018-03-04T05:06:07.089Z\"", os.toString());
+		Assert.assertEquals(instant, dslJson.deserialize(Instant.class, os.toByteArray(), os.size()));
+	}
 }
@@ -360,6 +360,46 @@ public class ReflectionTest {
 		Assert.assertEquals((byte)0, def.b);
 	}
 
+	@Test
+	public void immutableSlotsAreGenerated() throws Exception {
+		java.lang.reflect.Field field = Class.forName("com.dslplatform.json.runtime.ImmutableDescription").getDeclaredField("slots");
+		field.setAccessible(true);
+		DslJson<Object> generated = new DslJson<Object>(Settings.withRuntime(true).includeServiceLoader());
+		for (Class<?> manifest : Arrays.asList(ImmutableDefaults.class, Immutable.class)) {
+			Object slots = field.get(generated.tryFindReader(manifest));
+			Assert.assertTrue(slots.getClass().getName().startsWith("com.dslplatform.json.runtime.ImmutableSlots$Generated"));
+			Assert.assertFalse(field.get(json.tryFindReader(manifest)).getClass().getName().contains("$Generated"));
+		}
+		byte[] bytes = "{\"s\":\"abc\",\"x\":3}".getBytes();
+		Immutable first = generated.deserialize(Immutable.class, bytes, bytes.length);
+		Immutable second = generated.deserialize(Immutable.class, "{\"x\":4}".getBytes(), 7);
+		Assert.assertEquals(3, first.x);
+		Assert.assertEquals("abc", first.s);
+		Assert.assertEquals(4, second.x);
+		Assert.assertNull(second.s);
+	}
+
+	@Test
+	public void primitiveArguments() throws IOException {
+		byte[] bytes = "{\"l\":-3,\"i\":2,\"d\":1.25,\"b\":4,\"f\":0.5,\"s\":6}".getBytes();
+		ImmutableDefaults res = json.deserialize(ImmutableDefaults.class, bytes, bytes.length);
+		Assert.assertEquals(1.25, res.d, 0);
+		Assert.assertEquals(0.5, res.f, 0);
+		Assert.assertEquals(2, res.i);
+		Assert.assertEquals(6, res.s);
+		Assert.assertEquals(-3L, res.l);
+		Assert.assertEquals((byte) 4, res.b);
+		ImmutableDefaults partial = json.deserialize(ImmutableDefaults.class, "{\"i\":7}".getBytes(), 7);
+		Assert.assertEquals(7, partial.i);
+		Assert.assertEquals(0L, partial.l);
+		bytes = "{\"i\":null}".getBytes();
+		try {
+			json.deserialize(ImmutableDefaults.class, bytes, bytes.length);
+			Assert.fail("Expecting failure");
+		} catch (IOException ignore) {
+		}
+	}
+
 	@Test
 	public void testNestedCollection() throws IOException {
 		JsonWriter jw = json.newWriter();
@@ -486,4 +526,193 @@ public class ReflectionTest {
 		Assert.assertEquals(1, skip.x);
 		Assert.assertNull(skip.s);
 	}
+
+	@Test
+	public void concurrentFirstUseOfSelfReference() throws Exception {
+		final DslJson<Object> fresh = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		final Referencing ref = new Referencing();
+		ref.sc = new SimpleClass();
+		ref.sc.x = 5;
+		ref.self = new Referencing();
+		final byte[] expected;
+		{
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			json.serialize(ref, os);
+			expected = os.toByteArray();
+		}
+		final int threads = 8;
+		final String[] results = new String[threads];
+		final Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			final int index = i;
+			workers[i] = new Thread(() -> {
+				try {
+					ByteArrayOutputStream os = new ByteArrayOutputStream();
+					fresh.serialize(ref, os);
+					Referencing res = fresh.deserialize(Referencing.class, os.toByteArray(), os.size());
+					results[index] = res.sc.x + ":" + os.toString();
+				} catch (Exception ex) {
+					results[index] = ex.getMessage();
+				}
+			});
+		}
+		for (Thread t : workers) t.start();
+		for (Thread t : workers) t.join();
+		for (String r : results) {
+			Assert.assertEquals("5:" + new String(expected, "UTF-8"), r);
+		}
+	}
+
+	@Test
+	public void generatedConvertersMatchGeneric() throws Exception {
+		DslJson<Object> generated = new DslJson<Object>(Settings.withRuntime(true).includeServiceLoader());
+		Referencing ref = new Referencing();
+		ref.sc = new SimpleClass();
+		ref.sc.x = 7;
+		ref.sc.setY("abc");
+		ref.self = new Referencing();
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		json.serialize(ref, expected);
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		generated.serialize(ref, actual);
+		Assert.assertEquals(expected.toString(), actual.toString());
+		Referencing res = generated.deserialize(Referencing.class, actual.toByteArray(), actual.size());
+		Assert.assertEquals(7, res.sc.x);
+		Assert.assertEquals("abc", res.sc.getY());
+		Assert.assertNotNull(res.self);
+		byte[] unordered = "{\"y\":\"q\",\"unknown\":[1,2],\"x\":3}".getBytes("UTF-8");
+		SimpleClass sc = generated.deserialize(SimpleClass.class, unordered, unordered.length);
+		Assert.assertEquals(3, sc.x);
+		Assert.assertEquals("q", sc.getY());
+		Immutable im = new Immutable(5, "abc");
+		expected.reset();
+		actual.reset();
+		json.serialize(im, expected);
+		generated.serialize(im, actual);
+		Assert.assertEquals(expected.toString(), actual.toString());
+		Immutable im2 = generated.deserialize(Immutable.class, actual.toByteArray(), actual.size());
+		Assert.assertEquals(5, im2.x);
+		Assert.assertEquals("abc", im2.s);
+		Assert.assertNull(dispatchOf(json.tryFindWriter(SimpleClass.class)));
+		for (Class<?> manifest : Arrays.asList(SimpleClass.class, Referencing.class, Immutable.class)) {
+			Object dispatch = dispatchOf(generated.tryFindWriter(manifest));
+			Assert.assertNotNull(dispatch);
+			Assert.assertTrue(dispatch.getClass().getName().startsWith("com.dslplatform.json.runtime.PropertyDispatch$Generated"));
+			//public properties are accessed directly, so dispatch keeps their names instead of attribute converters
+			Set<String> fields = new HashSet<>();
+			for (java.lang.reflect.Field f : dispatch.getClass().getDeclaredFields()) {
+				fields.add(f.getName());
+			}
+			Assert.assertTrue(fields.contains("n0"));
+			Assert.assertTrue(fields.contains("n1"));
+		}
+	}
+
+	private static Object dispatchOf(Object description) throws Exception {
+		java.lang.reflect.Field field = Class.forName("com.dslplatform.json.runtime.WriteDescription").getDeclaredField("dispatch");
+		field.setAccessible(true);
+		return field.get(description);
+	}
+
+	public static class Primitives {
+		public int i;
+		public long l;
+		public double d;
+		public boolean b;
+		private int mi;
+		private double md;
+		public int getMi() { return mi; }
+		public void setMi(int value) { mi = value; }
+		public double getMd() { return md; }
+		public void setMd(double value) { md = value; }
+	}
+
+	@Test
+	public void primitiveAttributes() throws IOException {
+		Primitives p = new Primitives();
+		p.i = -5;
+		p.l = Long.MAX_VALUE;
+		p.d = 1.5;
+		p.b = true;
+		p.setMi(42);
+		p.setMd(-0.25);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(p, os);
+		Primitives res = json.deserialize(Primitives.class, os.toByteArray(), os.size());
+		Assert.assertEquals(-5, res.i);
+		Assert.assertEquals(Long.MAX_VALUE, res.l);
+		Assert.assertEquals(1.5, res.d, 0);
+		Assert.assertTrue(res.b);
+		Assert.assertEquals(42, res.getMi());
+		Assert.assertEquals(-0.25, res.getMd(), 0);
+		DslJson<Object> generated = new DslJson<Object>(Settings.withRuntime(true).includeServiceLoader());
+		ByteArrayOutputStream gos = new ByteArrayOutputStream();
+		generated.serialize(p, gos);
+		Assert.assertEquals(os.toString(), gos.toString());
+		Primitives gen = generated.deserialize(Primitives.class, gos.toByteArray(), gos.size());
+		Assert.assertEquals(-5, gen.i);
+		Assert.assertEquals(Long.MAX_VALUE, gen.l);
+		Assert.assertEquals(1.5, gen.d, 0);
+		Assert.assertTrue(gen.b);
+		Assert.assertEquals(42, gen.getMi());
+		Assert.assertEquals(-0.25, gen.getMd(), 0);
+		DslJson<Object> jsonMin = new DslJson<Object>(Settings.withRuntime().skipDefaultValues(true).includeServiceLoader());
+		os.reset();
+		jsonMin.serialize(new Primitives(), os);
+		Assert.assertEquals("{}", os.toString());
+		Primitives onlyDouble = new Primitives();
+		onlyDouble.setMd(2);
+		os.reset();
+		jsonMin.serialize(onlyDouble, os);
+		Assert.assertEquals("{\"md\":2.0}", os.toString());
+	}
+
+	@Test
+	public void primitiveDecoderUsesCustomReader() throws IOException {
+		DslJson<Object> custom = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		custom.registerReader(int.class, reader -> NumberConverter.deserializeInt(reader) * 2);
+		DecodePropertyInfo<JsonReader.BindObject<Primitives>> info =
+				Settings.createIntDecoder((p, v) -> p.i = v, "i", custom, false, false, 0, false);
+		byte[] input = "5".getBytes("UTF-8");
+		JsonReader<Object> reader = custom.newReader(input);
+		reader.getNextToken();
+		Assert.assertEquals(10, info.value.bind(reader, new Primitives()).i);
+		info = Settings.createIntDecoder((p, v) -> p.i = v, "i", json, false, false, 0, false);
+		reader = json.newReader(input);
+		reader.getNextToken();
+		Assert.assertEquals(5, info.value.bind(reader, new Primitives()).i);
+	}
+
+	@Test
+	public void recordAnalyzerSkipsRegularClasses() {
+		DslJson<Object> plain = new DslJson<Object>();
+		Assert.assertNull(RecordAnalyzer.CONVERTER.tryCreate(Immutable.class, plain));
+		Assert.assertNull(RecordAnalyzer.CONVERTER.tryCreate(SimpleClass.class, plain));
+		Assert.assertNull(plain.tryFindReader(Immutable.class));
+	}
+
+	public interface Exploding {
+	}
+
+	public static class HasExploding {
+		public Exploding exploding;
+	}
+
+	@Test
+	public void failedAnalysisIsUnregistered() {
+		final DslJson<Object> exploding = new DslJson<Object>(Settings.withRuntime().resolveWriter((manifest, dslJson) -> {
+			if (manifest == Exploding.class) throw new IllegalStateException("exploding");
+			return null;
+		}));
+		for (int i = 0; i < 2; i++) {
+			try {
+				exploding.tryFindWriter(HasExploding.class);
+				Assert.fail("Expecting failure");
+			} catch (IllegalStateException ex) {
+				Assert.assertEquals("exploding", ex.getMessage());
+			}
+			Assert.assertFalse(exploding.getRegisteredEncoders().contains(HasExploding.class));
+			Assert.assertFalse(exploding.getRegisteredDecoders().contains(HasExploding.class));
+		}
+	}
 }
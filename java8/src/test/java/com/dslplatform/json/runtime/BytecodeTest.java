@@ -0,0 +1,430 @@
+package com.dslplatform.json.runtime;
+
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.SerializationException;
+import com.dslplatform.json.StringConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.*;
+
+public class BytecodeTest {
+
+	public static class Model {
+		public int i;
+		public long l;
+		public String s;
+		private double d;
+
+		public double getD() {
+			return d;
+		}
+
+		public void setD(double value) {
+			d = value;
+		}
+	}
+
+	private static JsonWriter.WriteObject[] encoders() throws Exception {
+		return new JsonWriter.WriteObject[]{
+				new AttributeIntEncoder<Model>(m -> m.i, "i", false, Model.class.getField("i")),
+				new AttributeLongEncoder<Model>(m -> m.l, "l", false, Model.class.getField("l")),
+				new AttributeObjectAlwaysEncoder<Model, String>(m -> m.s, "s", StringConverter.WRITER, Model.class.getField("s")),
+				new AttributeDoubleEncoder<Model>(Model::getD, "d", false, Model.class.getMethod("getD")),
+				Settings.createEncoder((Model m) -> m.i, "x", new DslJson<>(), int.class)
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static DecodePropertyInfo<JsonReader.BindObject>[] decoders() throws Exception {
+		return DecodePropertyInfo.prepare(new DecodePropertyInfo[]{
+				new DecodePropertyInfo<>("i", false, false, 0, false, new AttributeIntDecoder<Model>((m, v) -> m.i = v, Model.class.getField("i"))),
+				new DecodePropertyInfo<>("l", false, false, 1, false, new AttributeLongDecoder<Model>((m, v) -> m.l = v, Model.class.getField("l"))),
+				new DecodePropertyInfo<>("s", false, false, 2, true, new AttributeDecoder<Model, String>((m, v) -> m.s = v, StringConverter.READER, Model.class.getField("s"))),
+				new DecodePropertyInfo<>("d", false, false, 3, false, new AttributeDoubleDecoder<Model>(Model::setD, Model.class.getMethod("setD", double.class))),
+				new DecodePropertyInfo<>("x", false, false, 4, false, new AttributeDecoder<Model, String>((m, v) -> m.s = v, StringConverter.READER, null))
+		});
+	}
+
+	@Test
+	public void constantPoolSharesEntries() throws IOException {
+		PropertyDispatchGenerator.ConstantPool cp = new PropertyDispatchGenerator.ConstantPool();
+		int type = cp.type("a/B");
+		Assert.assertEquals(1, cp.utf8("a/B"));
+		Assert.assertEquals(2, type);
+		Assert.assertEquals(type, cp.type("a/B"));
+		int method = cp.method("a/B", "m", "()V");
+		Assert.assertEquals(method, cp.method("a/B", "m", "()V"));
+		Assert.assertNotEquals(method, cp.interfaceMethod("a/B", "m", "()V"));
+		Assert.assertNotEquals(cp.field("a/B", "m", "I"), cp.field("a/B", "m", "J"));
+		Assert.assertEquals(cp.integer(100000), cp.integer(100000));
+		Assert.assertNotEquals(cp.string("a/B"), cp.type("a/B"));
+	}
+
+	@Test
+	public void dispatchIsWellFormed() throws Exception {
+		Map<String, MethodInfo> methods = ClassFile.check(PropertyDispatchGenerator.emit(encoders(), decoders()));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("<init>", "writeContent", "bindContent", "bind")), methods.keySet());
+		//name check and property separator for each property, but the last one
+		Assert.assertEquals(9, methods.get("bindContent").frames.size());
+		//switch cases and the default one
+		Assert.assertEquals(6, methods.get("bind").frames.size());
+		Assert.assertTrue(methods.get("writeContent").frames.isEmpty());
+	}
+
+	@Test
+	public void emptyDispatchIsWellFormed() throws Exception {
+		Map<String, MethodInfo> methods = ClassFile.check(
+				PropertyDispatchGenerator.emit(new JsonWriter.WriteObject[0], new DecodePropertyInfo[0]));
+		Assert.assertTrue(methods.get("bindContent").frames.isEmpty());
+		Assert.assertTrue(methods.get("bind").frames.isEmpty());
+	}
+
+	@Test
+	public void slotsAreWellFormed() throws Exception {
+		Map<String, MethodInfo> methods = ClassFile.check(ImmutableSlotsGenerator.emit(
+				new PropertyDispatchGenerator.ConstantPool(),
+				new Class<?>[]{int.class, String.class, Object.class, long.class, double.class, boolean.class},
+				new Object[]{null, "abc", 1.5f, null, null, null}));
+		Assert.assertEquals(
+				new HashSet<>(Arrays.asList("<clinit>", "<init>", "defaults", "fresh", "read", "create")),
+				methods.keySet());
+		Assert.assertEquals(7, methods.get("read").frames.size());
+	}
+
+	@Test
+	public void accessorsAreWellFormed() throws Exception {
+		for (Class<?> value : new Class<?>[]{Object.class, int.class, long.class, double.class, boolean.class}) {
+			for (boolean write : new boolean[]{false, true}) {
+				Map<String, MethodInfo> methods = ClassFile.check(
+						AccessorGenerator.emit(new PropertyDispatchGenerator.ConstantPool(), value, write));
+				Assert.assertEquals(3, methods.size());
+				Assert.assertTrue(methods.containsKey("<clinit>"));
+				Assert.assertTrue(methods.containsKey("<init>"));
+			}
+		}
+	}
+
+	public static class Failing {
+		public int getX() {
+			throw new IllegalStateException("failing");
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void accessorsAreBound() throws Exception {
+		Model model = new Model();
+		Reflection.setter(Model.class.getField("s")).accept(model, "abc");
+		Reflection.intSetter(Model.class.getField("i")).accept(model, 3);
+		Reflection.longSetter(Model.class.getField("l")).accept(model, 4L);
+		Reflection.doubleSetter(Model.class.getMethod("setD", double.class)).accept(model, 1.5);
+		Assert.assertEquals("abc", Reflection.getter(Model.class.getField("s")).apply(model));
+		Assert.assertEquals(3, Reflection.intGetter(Model.class.getField("i")).applyAsInt(model));
+		Assert.assertEquals(4L, Reflection.longGetter(Model.class.getField("l")).applyAsLong(model));
+		Assert.assertEquals(1.5, Reflection.doubleGetter(Model.class.getMethod("getD")).applyAsDouble(model), 0);
+		Assert.assertEquals(1.5, Reflection.getter(Model.class.getMethod("getD")).apply(model));
+		Assert.assertTrue(Reflection.getter(Model.class.getField("s")) instanceof Reflection.BoundAccessor);
+	}
+
+	@Test
+	public void accessorFailuresAreWrapped() throws Exception {
+		try {
+			Reflection.getter(Failing.class.getMethod("getX")).apply(new Failing());
+			Assert.fail("Expecting failure");
+		} catch (SerializationException ex) {
+			Assert.assertTrue(ex.getMessage().contains("getX"));
+			Assert.assertEquals("failing", ex.getCause().getMessage());
+		}
+		try {
+			Reflection.intGetter(Failing.class.getMethod("getX")).applyAsInt(new Failing());
+			Assert.fail("Expecting failure");
+		} catch (SerializationException ex) {
+			Assert.assertEquals("failing", ex.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void bindInOrderAndFallback() throws Exception {
+		PropertyDispatch dispatch = PropertyDispatchGenerator.generate(Model.class, encoders(), decoders());
+		Assert.assertNotNull(dispatch);
+		DslJson<Object> json = new DslJson<>();
+		Model model = new Model();
+		JsonReader<Object> reader = start(json, "{\"i\":1,\"l\":2,\"s\":\"abc\",\"d\":2.5,\"x\":\"def\"}");
+		Assert.assertEquals(5, dispatch.bindContent(reader, model));
+		Assert.assertEquals('}', reader.last());
+		Assert.assertEquals(1, model.i);
+		Assert.assertEquals(2L, model.l);
+		Assert.assertEquals(2.5, model.getD(), 0);
+		Assert.assertEquals("def", model.s);
+		reader = start(json, "{\"i\":3,\"s\":\"x\"}");
+		Assert.assertEquals(~1, dispatch.bindContent(reader, model));
+		Assert.assertEquals(3, model.i);
+		Assert.assertTrue(reader.wasLastName("s"));
+		reader = start(json, "{\"i\":4}");
+		Assert.assertEquals(1, dispatch.bindContent(reader, model));
+		Assert.assertEquals('}', reader.last());
+		reader = start(json, "{\"i\":5,\"l\":6,\"s\":null}");
+		try {
+			dispatch.bindContent(reader, model);
+			Assert.fail("Expecting failure");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Null value found for property s"));
+		}
+		JsonWriter writer = json.newWriter();
+		model.s = "abc";
+		dispatch.writeContent(writer, model);
+		Assert.assertEquals("\"i\":5,\"l\":6,\"s\":\"abc\",\"d\":2.5,\"x\":5", writer.toString());
+	}
+
+	private static JsonReader<Object> start(DslJson<Object> json, String input) throws IOException {
+		byte[] bytes = input.getBytes("UTF-8");
+		JsonReader<Object> reader = json.newReader(bytes, bytes.length);
+		reader.getNextToken();
+		reader.getNextToken();
+		return reader;
+	}
+
+	static final class MethodInfo {
+		final Set<Integer> frames = new TreeSet<>();
+	}
+
+	/**
+	 * Minimal class file checker for the subset of bytecode emitted by the generators.
+	 * It checks that constant pool references point to entries of the expected kind,
+	 * that jumps land on instruction boundaries with a stack map frame,
+	 * that code after unconditional control transfer starts with a frame
+	 * and that declared lengths match the content.
+	 */
+	static final class ClassFile {
+		private static final int UTF8 = 1;
+		private static final int INTEGER = 3;
+		private static final int CLASS = 7;
+		private static final int STRING = 8;
+		private static final int FIELD = 9;
+		private static final int METHOD = 10;
+		private static final int INTERFACE_METHOD = 11;
+		private static final int NAME_AND_TYPE = 12;
+
+		private final int[] tags;
+		private final int[][] refs;
+		private final String[] utf8;
+
+		private ClassFile(int count) {
+			tags = new int[count];
+			refs = new int[count][];
+			utf8 = new String[count];
+		}
+
+		private void expect(int index, int tag) {
+			Assert.assertTrue("Invalid constant index " + index, index > 0 && index < tags.length);
+			Assert.assertEquals("Unexpected constant kind at " + index, tag, tags[index]);
+		}
+
+		private void expect(int index, int... tags) {
+			Assert.assertTrue("Invalid constant index " + index, index > 0 && index < this.tags.length);
+			for (int tag : tags) {
+				if (this.tags[index] == tag) return;
+			}
+			Assert.fail("Unexpected constant kind " + this.tags[index] + " at " + index);
+		}
+
+		static Map<String, MethodInfo> check(byte[] bytes) throws IOException {
+			final DataInputStream is = new DataInputStream(new ByteArrayInputStream(bytes));
+			Assert.assertEquals(0xCAFEBABE, is.readInt());
+			is.readUnsignedShort();
+			Assert.assertEquals(52, is.readUnsignedShort());
+			final ClassFile cf = new ClassFile(is.readUnsignedShort());
+			for (int i = 1; i < cf.tags.length; i++) {
+				final int tag = is.readUnsignedByte();
+				cf.tags[i] = tag;
+				switch (tag) {
+					case UTF8:
+						cf.utf8[i] = is.readUTF();
+						break;
+					case INTEGER:
+						is.readInt();
+						break;
+					case CLASS:
+					case STRING:
+						cf.refs[i] = new int[]{is.readUnsignedShort()};
+						break;
+					case FIELD:
+					case METHOD:
+					case INTERFACE_METHOD:
+					case NAME_AND_TYPE:
+						cf.refs[i] = new int[]{is.readUnsignedShort(), is.readUnsignedShort()};
+						break;
+					default:
+						Assert.fail("Unexpected constant tag " + tag + " at " + i);
+				}
+			}
+			for (int i = 1; i < cf.tags.length; i++) {
+				switch (cf.tags[i]) {
+					case CLASS:
+					case STRING:
+						cf.expect(cf.refs[i][0], UTF8);
+						break;
+					case FIELD:
+					case METHOD:
+					case INTERFACE_METHOD:
+						cf.expect(cf.refs[i][0], CLASS);
+						cf.expect(cf.refs[i][1], NAME_AND_TYPE);
+						break;
+					case NAME_AND_TYPE:
+						cf.expect(cf.refs[i][0], UTF8);
+						cf.expect(cf.refs[i][1], UTF8);
+						break;
+				}
+			}
+			is.readUnsignedShort();
+			cf.expect(is.readUnsignedShort(), CLASS);
+			cf.expect(is.readUnsignedShort(), CLASS);
+			final int interfaces = is.readUnsignedShort();
+			for (int i = 0; i < interfaces; i++) {
+				cf.expect(is.readUnsignedShort(), CLASS);
+			}
+			final int fields = is.readUnsignedShort();
+			final Set<String> fieldNames = new HashSet<>();
+			for (int i = 0; i < fields; i++) {
+				is.readUnsignedShort();
+				final int name = is.readUnsignedShort();
+				cf.expect(name, UTF8);
+				cf.expect(is.readUnsignedShort(), UTF8);
+				Assert.assertTrue("Duplicate field " + cf.utf8[name], fieldNames.add(cf.utf8[name]));
+				Assert.assertEquals(0, is.readUnsignedShort());
+			}
+			final Map<String, MethodInfo> methods = new HashMap<>();
+			final int methodCount = is.readUnsignedShort();
+			for (int i = 0; i < methodCount; i++) {
+				is.readUnsignedShort();
+				final int name = is.readUnsignedShort();
+				cf.expect(name, UTF8);
+				cf.expect(is.readUnsignedShort(), UTF8);
+				Assert.assertEquals(1, is.readUnsignedShort());
+				cf.expect(is.readUnsignedShort(), UTF8);
+				final byte[] attribute = new byte[is.readInt()];
+				is.readFully(attribute);
+				Assert.assertNull("Duplicate method " + cf.utf8[name], methods.put(cf.utf8[name], cf.checkCode(cf.utf8[name], attribute)));
+			}
+			Assert.assertEquals(0, is.readUnsignedShort());
+			Assert.assertEquals(-1, is.read());
+			return methods;
+		}
+
+		private MethodInfo checkCode(String method, byte[] attribute) throws IOException {
+			final DataInputStream is = new DataInputStream(new ByteArrayInputStream(attribute));
+			Assert.assertTrue(is.readUnsignedShort() > 0);
+			final int maxLocals = is.readUnsignedShort();
+			final byte[] code = new byte[is.readInt()];
+			is.readFully(code);
+			Assert.assertEquals(0, is.readUnsignedShort());
+			final MethodInfo info = new MethodInfo();
+			final int attributes = is.readUnsignedShort();
+			if (attributes == 1) {
+				final int name = is.readUnsignedShort();
+				expect(name, UTF8);
+				Assert.assertEquals("StackMapTable", utf8[name]);
+				final int length = is.readInt();
+				final int frames = is.readUnsignedShort();
+				Assert.assertEquals(2 + frames * 3, length);
+				int offset = -1;
+				for (int i = 0; i < frames; i++) {
+					Assert.assertEquals(251, is.readUnsignedByte());
+					offset += is.readUnsignedShort() + 1;
+					info.frames.add(offset);
+				}
+			} else {
+				Assert.assertEquals(0, attributes);
+			}
+			Assert.assertEquals(-1, is.read());
+			final Set<Integer> starts = new HashSet<>();
+			final Set<Integer> required = new TreeSet<>();
+			int pc = 0;
+			while (pc < code.length) {
+				starts.add(pc);
+				final int op = code[pc] & 0xff;
+				final int length;
+				if (op >= 0x02 && op <= 0x08 || op == 0x32 || op >= 0x57 && op <= 0x59) {
+					length = 1;
+				} else if (op >= 0x1a && op <= 0x1d || op >= 0x2a && op <= 0x2d || op >= 0x4b && op <= 0x4e) {
+					final int local = op >= 0x4b ? op - 0x4b : op >= 0x2a ? op - 0x2a : op - 0x1a;
+					Assert.assertTrue(method + ": local " + local + " out of range", local < maxLocals);
+					length = 1;
+				} else if (op >= 0x1e && op <= 0x21 || op >= 0x26 && op <= 0x29) {
+					//long and double take two local slots
+					final int local = op >= 0x26 ? op - 0x26 : op - 0x1e;
+					Assert.assertTrue(method + ": local " + local + " out of range", local + 1 < maxLocals);
+					length = 1;
+				} else if (op >= 0xac && op <= 0xb1) {
+					length = 1;
+					if (pc + 1 < code.length) required.add(pc + 1);
+				} else if (op == 0x10) {
+					length = 2;
+				} else if (op == 0x19) {
+					Assert.assertTrue(method + ": local out of range", (code[pc + 1] & 0xff) < maxLocals);
+					length = 2;
+				} else if (op == 0x12) {
+					expect(code[pc + 1] & 0xff, INTEGER, STRING, CLASS);
+					length = 2;
+				} else if (op == 0x11) {
+					length = 3;
+				} else if (op == 0x13) {
+					expect(u2(code, pc + 1), INTEGER, STRING, CLASS);
+					length = 3;
+				} else if (op == 0x9a) {
+					required.add(pc + (short) u2(code, pc + 1));
+					length = 3;
+				} else if (op >= 0xb2 && op <= 0xb5) {
+					expect(u2(code, pc + 1), FIELD);
+					length = 3;
+				} else if (op >= 0xb6 && op <= 0xb8) {
+					expect(u2(code, pc + 1), METHOD);
+					length = 3;
+				} else if (op == 0xb9) {
+					expect(u2(code, pc + 1), INTERFACE_METHOD);
+					Assert.assertTrue(code[pc + 3] > 0);
+					Assert.assertEquals(0, code[pc + 4]);
+					length = 5;
+				} else if (op == 0xbb || op == 0xc0) {
+					expect(u2(code, pc + 1), CLASS);
+					length = 3;
+				} else if (op == 0xaa) {
+					int table = pc + 1;
+					while (table % 4 != 0) table++;
+					final int low = s4(code, table + 4);
+					final int high = s4(code, table + 8);
+					Assert.assertTrue(high >= low);
+					required.add(pc + s4(code, table));
+					for (int i = 0; i <= high - low; i++) {
+						required.add(pc + s4(code, table + 12 + i * 4));
+					}
+					length = table + 12 + (high - low + 1) * 4 - pc;
+					if (pc + length < code.length) required.add(pc + length);
+				} else {
+					throw new AssertionError(method + ": unexpected opcode " + Integer.toHexString(op) + " at " + pc);
+				}
+				pc += length;
+			}
+			Assert.assertEquals(method + ": code ends within an instruction", code.length, pc);
+			for (Integer target : required) {
+				Assert.assertTrue(method + ": jump into an instruction at " + target, starts.contains(target));
+			}
+			Assert.assertEquals(method + ": stack map frames", required, info.frames);
+			return info;
+		}
+
+		private static int u2(byte[] code, int at) {
+			return ((code[at] & 0xff) << 8) | (code[at + 1] & 0xff);
+		}
+
+		private static int s4(byte[] code, int at) {
+			return (code[at] << 24) | ((code[at + 1] & 0xff) << 16) | ((code[at + 2] & 0xff) << 8) | (code[at + 3] & 0xff);
+		}
+	}
+}
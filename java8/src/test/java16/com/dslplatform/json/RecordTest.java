@@ -0,0 +1,71 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.ImmutableDescription;
+import com.dslplatform.json.runtime.RecordAnalyzer;
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class RecordTest {
+
+	public record Point(int x, int y) {}
+
+	public record Named(String name, List<String> tags, Point point, double weight) {}
+
+	private static <T> T roundtrip(DslJson<Object> json, T value, Class<T> manifest, String expected) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(value, os);
+		Assert.assertEquals(expected, os.toString());
+		return json.deserialize(manifest, os.toByteArray(), os.size());
+	}
+
+	@Test
+	public void recordIsAnalyzed() {
+		DslJson<Object> json = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		Assert.assertTrue(RecordAnalyzer.CONVERTER.tryCreate(Point.class, json) instanceof ImmutableDescription);
+	}
+
+	@Test
+	public void simpleRecordRoundtrip() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		Point res = roundtrip(json, new Point(1, -2), Point.class, "{\"x\":1,\"y\":-2}");
+		Assert.assertEquals(new Point(1, -2), res);
+	}
+
+	@Test
+	public void nestedRecordRoundtrip() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		Named value = new Named("abc", Arrays.asList("a", "b"), new Point(3, 4), 1.5);
+		Named res = roundtrip(
+				json,
+				value,
+				Named.class,
+				"{\"name\":\"abc\",\"tags\":[\"a\",\"b\"],\"point\":{\"x\":3,\"y\":4},\"weight\":1.5}");
+		Assert.assertEquals(value, res);
+	}
+
+	@Test
+	public void missingComponentsUseDefaults() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(Settings.withRuntime().includeServiceLoader());
+		byte[] input = "{\"name\":\"abc\"}".getBytes("UTF-8");
+		Named res = json.deserialize(Named.class, input, input.length);
+		Assert.assertEquals(new Named("abc", null, null, 0), res);
+	}
+
+	@Test
+	public void generatedRecordRoundtrip() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(Settings.withRuntime(true).includeServiceLoader());
+		Named value = new Named("abc", Arrays.asList("a", "b"), new Point(3, 4), 1.5);
+		Named res = roundtrip(
+				json,
+				value,
+				Named.class,
+				"{\"name\":\"abc\",\"tags\":[\"a\",\"b\"],\"point\":{\"x\":3,\"y\":4},\"weight\":1.5}");
+		Assert.assertEquals(value, res);
+	}
+}
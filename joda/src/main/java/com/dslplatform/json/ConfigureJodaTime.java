@@ -5,7 +5,15 @@ public class ConfigureJodaTime implements Configuration {
 	public void configure(DslJson json) {
 		json.registerReader(org.joda.time.LocalDate.class, JodaTimeConverter.LocalDateReader);
 		json.registerWriter(org.joda.time.LocalDate.class, JodaTimeConverter.LocalDateWriter);
-		json.registerReader(org.joda.time.DateTime.class, JodaTimeConverter.DateTimeReader);
-		json.registerWriter(org.joda.time.DateTime.class, JodaTimeConverter.DateTimeWriter);
+		if (json.timestampFormat == DslJson.TimestampFormat.EPOCH_MILLIS) {
+			json.registerReader(org.joda.time.DateTime.class, JodaTimeEpochConverter.DATE_TIME_MILLIS_READER);
+			json.registerWriter(org.joda.time.DateTime.class, JodaTimeEpochConverter.DATE_TIME_MILLIS_WRITER);
+		} else if (json.timestampFormat == DslJson.TimestampFormat.EPOCH_NANOS) {
+			json.registerReader(org.joda.time.DateTime.class, JodaTimeEpochConverter.DATE_TIME_NANOS_READER);
+			json.registerWriter(org.joda.time.DateTime.class, JodaTimeEpochConverter.DATE_TIME_NANOS_WRITER);
+		} else {
+			json.registerReader(org.joda.time.DateTime.class, JodaTimeConverter.DateTimeReader);
+			json.registerWriter(org.joda.time.DateTime.class, JodaTimeConverter.DateTimeWriter);
+		}
 	}
 }
@@ -0,0 +1,81 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Numeric representation of Joda DateTime.
+ * Values are encoded as number of milliseconds or nanoseconds since 1970-01-01T00:00:00Z
+ * and are always decoded in UTC zone.
+ * <p>
+ * When decoding, ISO-8601 strings are still accepted.
+ * <p>
+ * Nested classes can be used as property converter via {@literal @}JsonAttribute(converter = ...)
+ */
+public abstract class JodaTimeEpochConverter {
+
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	public static final JsonReader.ReadObject<DateTime> DATE_TIME_MILLIS_READER = new JsonReader.ReadObject<DateTime>() {
+		@Override
+		public DateTime read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserializeDateTimeMillis(reader);
+		}
+	};
+	public static final JsonWriter.WriteObject<DateTime> DATE_TIME_MILLIS_WRITER = new JsonWriter.WriteObject<DateTime>() {
+		@Override
+		public void write(JsonWriter writer, DateTime value) {
+			if (value == null) writer.writeNull();
+			else serializeMillis(value, writer);
+		}
+	};
+	public static final JsonReader.ReadObject<DateTime> DATE_TIME_NANOS_READER = new JsonReader.ReadObject<DateTime>() {
+		@Override
+		public DateTime read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserializeDateTimeNanos(reader);
+		}
+	};
+	public static final JsonWriter.WriteObject<DateTime> DATE_TIME_NANOS_WRITER = new JsonWriter.WriteObject<DateTime>() {
+		@Override
+		public void write(JsonWriter writer, DateTime value) {
+			if (value == null) writer.writeNull();
+			else serializeNanos(value, writer);
+		}
+	};
+
+	public static class DateTimeMillis {
+		public static final JsonReader.ReadObject<DateTime> JSON_READER = DATE_TIME_MILLIS_READER;
+		public static final JsonWriter.WriteObject<DateTime> JSON_WRITER = DATE_TIME_MILLIS_WRITER;
+	}
+
+	public static class DateTimeNanos {
+		public static final JsonReader.ReadObject<DateTime> JSON_READER = DATE_TIME_NANOS_READER;
+		public static final JsonWriter.WriteObject<DateTime> JSON_WRITER = DATE_TIME_NANOS_WRITER;
+	}
+
+	public static void serializeMillis(final DateTime value, final JsonWriter sw) {
+		NumberConverter.serialize(value.getMillis(), sw);
+	}
+
+	public static void serializeNanos(final DateTime value, final JsonWriter sw) {
+		final long millis = value.getMillis();
+		if (millis > Long.MAX_VALUE / NANOS_PER_MILLI || millis < Long.MIN_VALUE / NANOS_PER_MILLI) {
+			throw new SerializationException("Timestamp is out of range for epoch nanoseconds.");
+		}
+		NumberConverter.serialize(millis * NANOS_PER_MILLI, sw);
+	}
+
+	public static DateTime deserializeDateTimeMillis(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JodaTimeConverter.deserializeDateTime(reader);
+		return new DateTime(NumberConverter.deserializeLong(reader), DateTimeZone.UTC);
+	}
+
+	public static DateTime deserializeDateTimeNanos(final JsonReader reader) throws IOException {
+		if (reader.last() == '"') return JodaTimeConverter.deserializeDateTime(reader);
+		final long nanos = NumberConverter.deserializeLong(reader);
+		final long millis = nanos / NANOS_PER_MILLI;
+		return new DateTime(nanos < 0 && millis * NANOS_PER_MILLI != nanos ? millis - 1 : millis, DateTimeZone.UTC);
+	}
+}
@@ -42,4 +42,28 @@ public class DateTest {
 		LocalDate value = JodaTimeConverter.deserializeLocalDate(jr);
 		Assert.assertEquals(today, value);
 	}
+
+	@Test
+	public void epochMillisSettings() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().timestampFormat(DslJson.TimestampFormat.EPOCH_MILLIS).includeServiceLoader());
+		DateTime value = new DateTime(2018, 3, 4, 5, 6, 7, 89, DateTimeZone.UTC);
+		java.io.ByteArrayOutputStream os = new java.io.ByteArrayOutputStream();
+		json.serialize(value, os);
+		Assert.assertEquals(Long.toString(value.getMillis()), os.toString());
+		DateTime res = json.deserialize(DateTime.class, os.toByteArray(), os.size());
+		Assert.assertEquals(value, res);
+		byte[] iso = "\"2018-03-04T05:06:07.089Z\"".getBytes("UTF-8");
+		Assert.assertEquals(value, json.deserialize(DateTime.class, iso, iso.length));
+	}
+
+	@Test
+	public void epochNanosConversion() throws IOException {
+		DateTime value = new DateTime(1900, 3, 4, 5, 6, 7, 89, DateTimeZone.UTC);
+		JsonWriter jw = new JsonWriter(null);
+		JodaTimeEpochConverter.DATE_TIME_NANOS_WRITER.write(jw, value);
+		Assert.assertEquals(Long.toString(value.getMillis() * 1000000L), jw.toString());
+		JsonReader<Object> jr = dslJson.newReader(Long.toString(value.getMillis() * 1000000L - 1).getBytes("UTF-8"));
+		jr.read();
+		Assert.assertEquals(value.minusMillis(1), JodaTimeEpochConverter.DATE_TIME_NANOS_READER.read(jr));
+	}
 }
@@ -87,7 +87,11 @@ abstract class Base64 {
 	}
 
 	static int encodeToBytes(byte[] sArr, byte[] dArr, final int start) {
-		final int sLen = sArr.length;
+		return encodeToBytes(sArr, sArr.length, dArr, start);
+	}
+
+	static int encodeToBytes(byte[] sArr, final int sLen, byte[] dArr, final int start) {
+		if (sLen == 0) return 0;
 
 		final int eLen = (sLen / 3) * 3;              // Length of even 24-bits.
 		final int dLen = ((sLen - 1) / 3 + 1) << 2;   // Returned character count
@@ -127,6 +131,21 @@ abstract class Base64 {
 		return sArr.length;
 	}
 
+	/**
+	 * Decode group of 4 characters into 24 bits.
+	 * Padding character is decoded as zero bits.
+	 *
+	 * @param sArr source
+	 * @param pos  start of the group
+	 * @return decoded bits or negative value if group contains invalid characters
+	 */
+	static int decodeQuad(final byte[] sArr, final int pos) {
+		return IA[sArr[pos] & 0xff] << 18
+				| IA[sArr[pos + 1] & 0xff] << 12
+				| IA[sArr[pos + 2] & 0xff] << 6
+				| IA[sArr[pos + 3] & 0xff];
+	}
+
 	private final static byte[] EMPTY_ARRAY = new byte[0];
 
 	static byte[] decodeFast(final byte[] sArr, final int start, final int end) {
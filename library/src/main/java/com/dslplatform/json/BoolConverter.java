@@ -59,6 +59,17 @@ public abstract class BoolConverter {
 		}
 	}
 
+	/**
+	 * Serialize boolean without checking for available space.
+	 * At least 5 bytes must be reserved upfront through JsonWriter reserve method.
+	 *
+	 * @param value boolean to serialize
+	 * @param sw    writer
+	 */
+	public static void serializeUnchecked(final boolean value, final JsonWriter sw) {
+		sw.writeAsciiUnchecked(value ? "true" : "false");
+	}
+
 	public static void serialize(final boolean[] value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
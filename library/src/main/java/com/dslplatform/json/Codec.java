@@ -0,0 +1,161 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Converter handle for a single type, resolved once through {@link DslJson#codecFor(Type)}.
+ * <p>
+ * Convenience DslJson APIs look up converter on every call and dispatch on the provided manifest.
+ * Codec binds reader and writer during creation, so each call goes directly to them
+ * while reusing thread local reader and writer from the DslJson instance.
+ * <p>
+ * Writer is resolved for the provided type, so subtypes will be serialized as the provided type.
+ * Codec is immutable and can be shared between threads.
+ *
+ * @param <T> type of processed values
+ */
+public final class Codec<T> {
+
+	private static final byte[] NULL = new byte[]{'n', 'u', 'l', 'l'};
+
+	/**
+	 * Type for which converters were resolved.
+	 */
+	public final Type manifest;
+	private final DslJson<?> json;
+	private final JsonReader.ReadObject<T> reader;
+	private final JsonWriter.WriteObject<T> writer;
+
+	Codec(
+			final DslJson<?> json,
+			final Type manifest,
+			final JsonReader.ReadObject<T> reader,
+			final JsonWriter.WriteObject<T> writer) {
+		this.json = json;
+		this.manifest = manifest;
+		this.reader = reader;
+		this.writer = writer;
+	}
+
+	/**
+	 * Codec can be created when only reader or writer is available.
+	 *
+	 * @return reader was resolved for the manifest
+	 */
+	public boolean canDecode() {
+		return reader != null;
+	}
+
+	/**
+	 * Codec can be created when only reader or writer is available.
+	 *
+	 * @return writer was resolved for the manifest
+	 */
+	public boolean canEncode() {
+		return writer != null;
+	}
+
+	private JsonReader.ReadObject<T> reader() {
+		if (reader == null) {
+			throw new SerializationException("Unable to find reader for " + manifest);
+		}
+		return reader;
+	}
+
+	private JsonWriter.WriteObject<T> writer() {
+		if (writer == null) {
+			throw new SerializationException("Unable to find writer for " + manifest);
+		}
+		return writer;
+	}
+
+	/**
+	 * Deserialize provided byte input.
+	 *
+	 * @param body input JSON
+	 * @param size length
+	 * @return deserialized instance
+	 * @throws IOException error during deserialization
+	 */
+	public T decode(final byte[] body, final int size) throws IOException {
+		if (body == null) {
+			throw new IllegalArgumentException("body can't be null");
+		}
+		final JsonReader.ReadObject<T> converter = reader();
+		final JsonReader input = json.localReader.get().process(body, size);
+		try {
+			input.getNextToken();
+			return converter.read(input);
+		} finally {
+			input.reset();
+		}
+	}
+
+	/**
+	 * Deserialize provided stream input.
+	 * Stream will be processed in chunks.
+	 *
+	 * @param stream input JSON
+	 * @return deserialized instance
+	 * @throws IOException error during deserialization
+	 */
+	public T decode(final InputStream stream) throws IOException {
+		if (stream == null) {
+			throw new IllegalArgumentException("stream can't be null");
+		}
+		final JsonReader.ReadObject<T> converter = reader();
+		final JsonReader input = json.localReader.get().process(stream);
+		try {
+			input.getNextToken();
+			return converter.read(input);
+		} finally {
+			input.reset();
+		}
+	}
+
+	/**
+	 * Serialize value into provided stream.
+	 *
+	 * @param value  instance to serialize
+	 * @param stream where to write resulting JSON
+	 * @throws IOException error when writing to stream
+	 */
+	public void encode(final T value, final OutputStream stream) throws IOException {
+		if (stream == null) {
+			throw new IllegalArgumentException("stream can't be null");
+		}
+		if (value == null) {
+			stream.write(NULL);
+			return;
+		}
+		final JsonWriter.WriteObject<T> converter = writer();
+		final JsonWriter output = json.localWriter.get();
+		output.reset(stream);
+		try {
+			converter.write(output, value);
+			output.flush();
+		} finally {
+			output.reset(null);
+		}
+	}
+
+	/**
+	 * Serialize value into provided writer.
+	 *
+	 * @param value  instance to serialize
+	 * @param output where to write resulting JSON
+	 */
+	public void encode(final T value, final JsonWriter output) {
+		if (output == null) {
+			throw new IllegalArgumentException("output can't be null");
+		}
+		if (value == null) {
+			output.writeNull();
+		} else {
+			writer().write(output, value);
+		}
+	}
+}
@@ -91,4 +91,55 @@ public @interface CompiledJson {
 	 * @return deserialization hint
 	 */
 	String deserializeName() default "";
+
+	/**
+	 * Serialization views for which separate writers will be generated.
+	 * View writer includes only properties which are not restricted to views through
+	 * {@literal @}JsonAttribute(views = ...) or are restricted to that exact view.
+	 * Writer for a view can be found through DslJson#tryFindWriter(type, view).
+	 * Views only affect serialization in object format.
+	 *
+	 * @return view markers for which writers will be generated
+	 */
+	Class[] views() default {};
+
+	/**
+	 * Generate a flyweight reader for this class.
+	 * Flyweight is generated as a separate public class named [Outer_]ClassFlyweight in the same package.
+	 * It scans the input only once to record where property values start
+	 * and decodes each property from the input bytes only when its accessor is invoked.
+	 * This is useful when only a few properties are used from a large object.
+	 * Flyweight is bound to the input byte[], which must not be changed while flyweight is in use.
+	 * Reader passed to parse is only used for scanning and can be reused,
+	 * while each flyweight decodes values with its own reader.
+	 * Flyweight caches decoded values without synchronization, so it's not thread-safe.
+	 * Flyweight reads only object format.
+	 *
+	 * @return should flyweight reader be generated
+	 */
+	boolean flyweight() default false;
+
+	/**
+	 * Cache encoded bytes of serialized instances and copy them into the output when the same instance is serialized again.
+	 * Instances are cached by identity, so this can be used only on immutable classes,
+	 * such as reference data which is serialized many times.
+	 * Annotation processor will report an error when class has non-final fields or setters.
+	 * Cache is bounded in size and doesn't prevent instances from being garbage collected.
+	 * Cache is not used when DslJson is configured to omit default values.
+	 * View writers are not cached.
+	 *
+	 * @return should serialized instances be cached
+	 */
+	boolean cacheSerialized() default false;
+
+	/**
+	 * Generate delta serialization for this class.
+	 * Converter will implement DeltaConverter which can write only properties changed since the baseline instance
+	 * and apply such partial object onto an existing instance.
+	 * Nested objects which also use delta serialization are compared and written recursively.
+	 * Delta is supported only on mutable non-generic classes in object format with inlined converters.
+	 *
+	 * @return should delta serialization be generated
+	 */
+	boolean delta() default false;
 }
\ No newline at end of file
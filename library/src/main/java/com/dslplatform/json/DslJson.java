@@ -3,10 +3,7 @@ package com.dslplatform.json;
 import org.w3c.dom.Element;
 
 import java.io.*;
-import java.lang.reflect.Array;
-import java.lang.reflect.GenericArrayType;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.lang.reflect.*;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.URI;
@@ -14,6 +11,9 @@ import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main DSL-JSON class.
@@ -83,12 +83,18 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * object will be serialized in such a way. Regardless of this value deserialization will support all formats.
 	 */
 	public final boolean allowArrayFormat;
+	/**
+	 * How should timestamps (date with time) be represented in JSON.
+	 * Time converters consult this value during configuration to decide if they should register
+	 * ISO-8601 string converters or numeric epoch based converters.
+	 */
+	public final TimestampFormat timestampFormat;
 
 	protected final StringCache keyCache;
 	protected final StringCache valuesCache;
-	protected final List<ConverterFactory<JsonWriter.WriteObject>> writerFactories = new ArrayList<ConverterFactory<JsonWriter.WriteObject>>();
-	protected final List<ConverterFactory<JsonReader.ReadObject>> readerFactories = new ArrayList<ConverterFactory<JsonReader.ReadObject>>();
-	protected final List<ConverterFactory<JsonReader.BindObject>> binderFactories = new ArrayList<ConverterFactory<JsonReader.BindObject>>();
+	protected final List<ConverterFactory<JsonWriter.WriteObject>> writerFactories = new CopyOnWriteArrayList<ConverterFactory<JsonWriter.WriteObject>>();
+	protected final List<ConverterFactory<JsonReader.ReadObject>> readerFactories = new CopyOnWriteArrayList<ConverterFactory<JsonReader.ReadObject>>();
+	protected final List<ConverterFactory<JsonReader.BindObject>> binderFactories = new CopyOnWriteArrayList<ConverterFactory<JsonReader.BindObject>>();
 	private final JsonReader.DoublePrecision doublePrecision;
 	private final JsonReader.UnknownNumberParsing unknownNumbers;
 	private final int maxNumberDigits;
@@ -108,6 +114,29 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 		T tryCreate(Type manifest, DslJson dslJson);
 	}
 
+	/**
+	 * Representation of timestamps (date with time) in JSON.
+	 * By default timestamps are encoded as ISO-8601 strings.
+	 * Epoch based formats encode timestamps as JSON numbers
+	 * which are smaller and can be processed via the number fast path.
+	 * When decoding, epoch based converters will still accept ISO-8601 strings.
+	 */
+	public enum TimestampFormat {
+		/**
+		 * ISO-8601 string, eg. "2018-01-31T12:34:56.789Z"
+		 */
+		ISO_8601,
+		/**
+		 * Number of milliseconds since 1970-01-01T00:00:00Z
+		 */
+		EPOCH_MILLIS,
+		/**
+		 * Number of nanoseconds since 1970-01-01T00:00:00Z.
+		 * Supported range is limited by long, eg. from year 1677 to year 2262
+		 */
+		EPOCH_NANOS
+	}
+
 	/**
 	 * Configuration for DslJson options.
 	 * By default key cache is enabled. Everything else is not configured.
@@ -128,10 +157,12 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 		private JsonReader.UnknownNumberParsing unknownNumbers = JsonReader.UnknownNumberParsing.LONG_AND_BIGDECIMAL;
 		private int maxNumberDigits = 512;
 		private int maxStringBuffer = 128 * 1024 * 1024;
+		private TimestampFormat timestampFormat = TimestampFormat.ISO_8601;
 		private final List<Configuration> configurations = new ArrayList<Configuration>();
 		private final List<ConverterFactory<JsonWriter.WriteObject>> writerFactories = new ArrayList<ConverterFactory<JsonWriter.WriteObject>>();
 		private final List<ConverterFactory<JsonReader.ReadObject>> readerFactories = new ArrayList<ConverterFactory<JsonReader.ReadObject>>();
 		private final List<ConverterFactory<JsonReader.BindObject>> binderFactories = new ArrayList<ConverterFactory<JsonReader.BindObject>>();
+		private List<Type> frozenRoots;
 
 		/**
 		 * Pass in context for DslJson.
@@ -355,6 +386,23 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 			return this;
 		}
 
+		/**
+		 * Specify how timestamps should be represented in JSON. Default is ISO-8601 string.
+		 * Numeric epoch formats are used by java.time and Joda converters
+		 * for OffsetDateTime, LocalDateTime, Instant and DateTime.
+		 * LocalDateTime is converted to epoch as if it was in UTC.
+		 * Compile time databindings with inlined converters are not affected by this setting,
+		 * instead specific converter can be specified via {@literal @}JsonAttribute(converter = ...)
+		 *
+		 * @param format timestamp representation
+		 * @return itself
+		 */
+		public Settings<TContext> timestampFormat(TimestampFormat format) {
+			if (format == null) throw new IllegalArgumentException("format can't be null");
+			this.timestampFormat = format;
+			return this;
+		}
+
 		/**
 		 * Configure DslJson with custom Configuration during startup.
 		 * Configurations are extension points for setting up readers/writers during DslJson initialization.
@@ -368,6 +416,20 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 			return this;
 		}
 
+		/**
+		 * Freeze DslJson at the end of initialization.
+		 * Provided root types and types of their properties will be resolved before the freeze,
+		 * after which no converters can be registered and factories will not be invoked anymore.
+		 *
+		 * @param roots types which will be resolved before freeze
+		 * @return itself
+		 */
+		public Settings<TContext> freeze(Type... roots) {
+			if (roots == null) throw new IllegalArgumentException("roots can't be null");
+			frozenRoots = new ArrayList<Type>(Arrays.asList(roots));
+			return this;
+		}
+
 		private Settings<TContext> with(Iterable<Configuration> confs) {
 			if (confs != null) {
 				withServiceLoader = true;
@@ -450,6 +512,7 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 		this.doublePrecision = settings.doublePrecision;
 		this.maxNumberDigits = settings.maxNumberDigits;
 		this.maxStringSize = settings.maxStringBuffer;
+		this.timestampFormat = settings.timestampFormat;
 		this.writerFactories.addAll(settings.writerFactories);
 		this.readerFactories.addAll(settings.readerFactories);
 		this.binderFactories.addAll(settings.binderFactories);
@@ -527,6 +590,10 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 		registerWriter(String.class, StringConverter.WRITER);
 		registerReader(UUID.class, UUIDConverter.READER);
 		registerWriter(UUID.class, UUIDConverter.WRITER);
+		registerReader(UUID[].class, UUIDConverter.ARRAY_READER);
+		registerWriter(UUID[].class, UUIDConverter.ARRAY_WRITER);
+		registerReader(RawJson.class, RawJsonConverter.READER);
+		registerWriter(RawJson.class, RawJsonConverter.WRITER);
 		registerReader(Number.class, NumberConverter.NumberReader);
 
 		for (Configuration serializer : settings.configurations) {
@@ -538,6 +605,9 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 			loadDefaultConverters(this, "dsl_json.json.ExternalSerialization");
 			loadDefaultConverters(this, "dsl_json_ExternalSerialization");
 		}
+		if (settings.frozenRoots != null) {
+			freeze(settings.frozenRoots.toArray(new Type[0]));
+		}
 	}
 
 	/**
@@ -778,6 +848,217 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	private final ConcurrentHashMap<Type, JsonReader.ReadObject<?>> readers = new ConcurrentHashMap<Type, JsonReader.ReadObject<?>>();
 	private final ConcurrentHashMap<Type, JsonReader.BindObject<?>> binders = new ConcurrentHashMap<Type, JsonReader.BindObject<?>>();
 
+	//Negative lookup cache. Each miss is stamped with registration version at which the lookup failed,
+	//including factories and writer signature scan.
+	//Explicit registration bumps the version which invalidates all previous misses.
+	//Converters created by factories don't bump it, since they only resolve the requested type,
+	//but writer misses of subtypes are dropped as they could be resolved through the new writer now.
+	//Caches are bounded and are cleared when they grow too large, so unknown types are not retained indefinitely
+	private static final int MAX_UNKNOWN_TYPES = 1024;
+	private final AtomicInteger registrationVersion = new AtomicInteger();
+	private final AtomicLong factoryInvocations = new AtomicLong();
+	private final ConcurrentHashMap<Type, Integer> unknownReaders = new ConcurrentHashMap<Type, Integer>();
+	private final ConcurrentHashMap<Type, Integer> unknownWriters = new ConcurrentHashMap<Type, Integer>();
+	private final ConcurrentHashMap<Type, Integer> unknownBinders = new ConcurrentHashMap<Type, Integer>();
+
+	private static final class Frozen {
+		final TypeTable<JsonReader.ReadObject<?>> readers;
+		final TypeTable<JsonWriter.WriteObject<?>> writers;
+		final TypeTable<JsonReader.BindObject<?>> binders;
+
+		Frozen(
+				final TypeTable<JsonReader.ReadObject<?>> readers,
+				final TypeTable<JsonWriter.WriteObject<?>> writers,
+				final TypeTable<JsonReader.BindObject<?>> binders) {
+			this.readers = readers;
+			this.writers = writers;
+			this.binders = binders;
+		}
+	}
+
+	//Snapshot of converters after freeze. Once set, lookups use it exclusively and factories are not invoked anymore
+	private volatile Frozen frozen;
+
+	private void checkNotFrozen() {
+		if (frozen != null) {
+			throw new IllegalStateException("DslJson is frozen. Converters can't be registered after freeze");
+		}
+	}
+
+	/**
+	 * Freeze current configuration.
+	 * All converters resolved so far are copied into immutable lookup tables
+	 * and converter factories will not be invoked anymore.
+	 * Types which were not resolved before freeze will be treated as unknown,
+	 * so all types which will be used should be resolved during startup or provided as roots.
+	 * This includes types which are written through a writer of their base type or interface,
+	 * since the type hierarchy is not scanned after freeze.
+	 * Roots are resolved transitively: types of their fields and getters and their type arguments
+	 * are resolved too, since converters usually look up nested converters on first use.
+	 * <p>
+	 * Registering converters after freeze is not allowed.
+	 *
+	 * @param roots types to resolve before the configuration is frozen
+	 * @throws IllegalArgumentException when neither reader nor writer can be found for a root type
+	 * @throws IllegalStateException when DslJson is already frozen
+	 */
+	public final synchronized void freeze(final Type... roots) {
+		if (roots == null) throw new IllegalArgumentException("roots can't be null");
+		checkNotFrozen();
+		final HashSet<Type> visited = new HashSet<Type>();
+		for (final Type root : roots) {
+			if (root == null) throw new IllegalArgumentException("roots can't contain null");
+			final boolean hasReader = tryFindReader(root) != null;
+			final boolean hasWriter = tryFindWriter(root) != null;
+			if (!hasReader && !hasWriter) {
+				throw new IllegalArgumentException("Unable to find reader or writer for " + root);
+			}
+			resolveGraph(root, visited);
+		}
+		//writers resolved through type hierarchy are copied too, so frozen lookup is a single table access
+		final HashMap<Type, JsonWriter.WriteObject<?>> writers = new HashMap<Type, JsonWriter.WriteObject<?>>(jsonWriters);
+		for (final Map.Entry<Class<?>, Class<?>> kv : writerMap.entrySet()) {
+			final JsonWriter.WriteObject<?> writer = jsonWriters.get(kv.getValue());
+			if (writer != null && !writers.containsKey(kv.getKey())) {
+				writers.put(kv.getKey(), writer);
+			}
+		}
+		frozen = new Frozen(
+				TypeTable.<JsonReader.ReadObject<?>>from(readers),
+				TypeTable.<JsonWriter.WriteObject<?>>from(writers),
+				TypeTable.<JsonReader.BindObject<?>>from(binders));
+	}
+
+	private void resolveGraph(final Type type, final HashSet<Type> visited) {
+		if (type instanceof TypeVariable<?> || !visited.add(type)) return;
+		tryFindReader(type);
+		tryFindWriter(type);
+		tryFindBinder(type);
+		if (type instanceof ParameterizedType) {
+			final ParameterizedType pt = (ParameterizedType) type;
+			resolveGraph(pt.getRawType(), visited);
+			for (final Type arg : pt.getActualTypeArguments()) {
+				resolveGraph(arg, visited);
+			}
+		} else if (type instanceof GenericArrayType) {
+			resolveGraph(((GenericArrayType) type).getGenericComponentType(), visited);
+		} else if (type instanceof WildcardType) {
+			for (final Type bound : ((WildcardType) type).getUpperBounds()) {
+				resolveGraph(bound, visited);
+			}
+		} else if (type instanceof Class<?>) {
+			final Class<?> raw = (Class<?>) type;
+			if (raw.isArray()) {
+				resolveGraph(raw.getComponentType(), visited);
+				return;
+			}
+			if (raw.isPrimitive() || raw.isEnum() || raw.getName().startsWith("java.")) return;
+			for (Class<?> c = raw; c != null && c != Object.class; c = c.getSuperclass()) {
+				for (final Field f : c.getDeclaredFields()) {
+					final int modifiers = f.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || f.isSynthetic()) continue;
+					resolveGraph(f.getGenericType(), visited);
+				}
+			}
+			for (final Method m : raw.getMethods()) {
+				if (Modifier.isStatic(m.getModifiers()) || m.getParameterTypes().length != 0
+						|| m.getReturnType() == void.class || m.getDeclaringClass() == Object.class) continue;
+				final String name = m.getName();
+				if (name.startsWith("get") || name.startsWith("is")) {
+					resolveGraph(m.getGenericReturnType(), visited);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if configuration was frozen via freeze method or Settings.
+	 *
+	 * @return no more converters can be registered or resolved
+	 */
+	public final boolean isFrozen() {
+		return frozen != null;
+	}
+
+	/**
+	 * Register reader factory which will be consulted when reader for requested type is not registered.
+	 * Factories registered this way are consulted before factories provided through Settings.
+	 * This is used by the annotation processor to register converters lazily,
+	 * so converter classes are loaded only when their type is requested for the first time.
+	 *
+	 * @param factory reader factory
+	 */
+	public final synchronized void registerReaderFactory(final ConverterFactory<JsonReader.ReadObject> factory) {
+		if (factory == null) throw new IllegalArgumentException("factory can't be null");
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
+		readerFactories.add(0, factory);
+	}
+
+	/**
+	 * Register writer factory which will be consulted when writer for requested type is not registered.
+	 * Factories registered this way are consulted before factories provided through Settings.
+	 * This is used by the annotation processor to register converters lazily,
+	 * so converter classes are loaded only when their type is requested for the first time.
+	 *
+	 * @param factory writer factory
+	 */
+	public final synchronized void registerWriterFactory(final ConverterFactory<JsonWriter.WriteObject> factory) {
+		if (factory == null) throw new IllegalArgumentException("factory can't be null");
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
+		writerFactories.add(0, factory);
+	}
+
+	/**
+	 * Register binder factory which will be consulted when binder for requested type is not registered.
+	 * Factories registered this way are consulted before factories provided through Settings.
+	 * This is used by the annotation processor to register converters lazily,
+	 * so converter classes are loaded only when their type is requested for the first time.
+	 *
+	 * @param factory binder factory
+	 */
+	public final synchronized void registerBinderFactory(final ConverterFactory<JsonReader.BindObject> factory) {
+		if (factory == null) throw new IllegalArgumentException("factory can't be null");
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
+		binderFactories.add(0, factory);
+	}
+
+	private static boolean isKnownMiss(final ConcurrentHashMap<Type, Integer> misses, final Type manifest, final int version) {
+		final Integer missed = misses.get(manifest);
+		return missed != null && missed == version;
+	}
+
+	private static void rememberMiss(final ConcurrentHashMap<Type, Integer> misses, final Type manifest, final int version) {
+		if (misses.size() >= MAX_UNKNOWN_TYPES) {
+			misses.clear();
+		}
+		misses.put(manifest, version);
+	}
+
+	private void forgetWriterMisses(final Type manifest) {
+		if (!(manifest instanceof Class<?>) || unknownWriters.isEmpty()) return;
+		final Class<?> published = (Class<?>) manifest;
+		for (final Type missed : unknownWriters.keySet()) {
+			if (missed instanceof Class<?> && published.isAssignableFrom((Class<?>) missed)) {
+				unknownWriters.remove(missed);
+			}
+		}
+	}
+
+	/**
+	 * Number of converter factory invocations performed during lookups.
+	 * Repeated lookups of unknown types are served from the negative cache,
+	 * so this number should stop growing after warm-up.
+	 * It can be used for monitoring or to verify that no factories are invoked after freeze.
+	 *
+	 * @return total number of converter factory invocations
+	 */
+	public final long getFactoryInvocations() {
+		return factoryInvocations.get();
+	}
+
 	public final Set<Type> getRegisteredDecoders() {
 		return readers.keySet();
 	}
@@ -804,7 +1085,9 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param <T>      type
 	 * @param <S>      type or subtype
 	 */
-	public <T, S extends T> void registerReader(final Class<T> manifest, final JsonReader.ReadObject<S> reader) {
+	public synchronized <T, S extends T> void registerReader(final Class<T> manifest, final JsonReader.ReadObject<S> reader) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (reader == null) readers.remove(manifest);
 		else readers.put(manifest, reader);
 	}
@@ -822,7 +1105,9 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param reader   provide custom implementation for reading JSON into an object instance
 	 * @return old registered value
 	 */
-	public JsonReader.ReadObject registerReader(final Type manifest, final JsonReader.ReadObject<?> reader) {
+	public synchronized JsonReader.ReadObject registerReader(final Type manifest, final JsonReader.ReadObject<?> reader) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (reader == null) return readers.remove(manifest);
 		try {
 			return readers.get(manifest);
@@ -846,7 +1131,9 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param <T>      type
 	 * @param <S>      type or subtype
 	 */
-	public <T, S extends T> void registerBinder(final Class<T> manifest, final JsonReader.BindObject<S> binder) {
+	public synchronized <T, S extends T> void registerBinder(final Class<T> manifest, final JsonReader.BindObject<S> binder) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (binder == null) binders.remove(manifest);
 		else binders.put(manifest, binder);
 	}
@@ -864,12 +1151,14 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param manifest specified type
 	 * @param binder   provide custom implementation for binding JSON to an object instance
 	 */
-	public void registerBinder(final Type manifest, final JsonReader.BindObject<?> binder) {
+	public synchronized void registerBinder(final Type manifest, final JsonReader.BindObject<?> binder) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (binder == null) binders.remove(manifest);
 		else binders.put(manifest, binder);
 	}
 
-	private final HashMap<Type, JsonWriter.WriteObject<?>> jsonWriters = new HashMap<Type, JsonWriter.WriteObject<?>>();
+	private final ConcurrentHashMap<Type, JsonWriter.WriteObject<?>> jsonWriters = new ConcurrentHashMap<Type, JsonWriter.WriteObject<?>>();
 
 	/**
 	 * Register custom writer for specific type (instance -&gt; JSON conversion).
@@ -884,7 +1173,9 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param writer   provide custom implementation for writing JSON from object instance
 	 * @param <T>      type
 	 */
-	public <T> void registerWriter(final Class<T> manifest, final JsonWriter.WriteObject<T> writer) {
+	public synchronized <T> void registerWriter(final Class<T> manifest, final JsonWriter.WriteObject<T> writer) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (writer == null) {
 			writerMap.remove(manifest);
 			jsonWriters.remove(manifest);
@@ -907,16 +1198,83 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @param writer   provide custom implementation for writing JSON from object instance
 	 * @return old registered value
 	 */
-	public JsonWriter.WriteObject registerWriter(final Type manifest, final JsonWriter.WriteObject<?> writer) {
+	public synchronized JsonWriter.WriteObject registerWriter(final Type manifest, final JsonWriter.WriteObject<?> writer) {
+		checkNotFrozen();
+		registrationVersion.incrementAndGet();
 		if (writer == null) return jsonWriters.remove(manifest);
-		try {
-			return jsonWriters.get(manifest);
-		} finally {
-			jsonWriters.put(manifest, writer);
-		}
+		return jsonWriters.put(manifest, writer);
 	}
 
 	private final ConcurrentMap<Class<?>, Class<?>> writerMap = new ConcurrentHashMap<Class<?>, Class<?>>();
+	private final ConcurrentMap<Class<?>, ConcurrentMap<Type, JsonWriter.WriteObject<?>>> viewWriters =
+			new ConcurrentHashMap<Class<?>, ConcurrentMap<Type, JsonWriter.WriteObject<?>>>();
+
+	/**
+	 * Register writer for specific type which will be used only for the specified view.
+	 * View writers are usually registered by the annotation processor for types with
+	 * {@literal @}CompiledJson(views = ...) and write only properties which belong to that view.
+	 * <p>
+	 * If null is registered for a writer, view writer will be removed.
+	 * <p>
+	 * View writers are not part of the frozen configuration and can be registered after freeze,
+	 * since converter factories register them while creating writers for their types.
+	 *
+	 * @param manifest specified type
+	 * @param view     view marker
+	 * @param writer   writer for the view
+	 * @return old registered value
+	 */
+	public JsonWriter.WriteObject registerWriter(final Type manifest, final Class<?> view, final JsonWriter.WriteObject<?> writer) {
+		if (view == null) throw new IllegalArgumentException("view can't be null");
+		ConcurrentMap<Type, JsonWriter.WriteObject<?>> writers = viewWriters.get(view);
+		if (writers == null) {
+			if (writer == null) return null;
+			viewWriters.putIfAbsent(view, new ConcurrentHashMap<Type, JsonWriter.WriteObject<?>>());
+			writers = viewWriters.get(view);
+		}
+		if (writer == null) return writers.remove(manifest);
+		return writers.put(manifest, writer);
+	}
+
+	/**
+	 * Try to find writer for provided type in the specified view.
+	 * When there is no writer registered for that view, regular writer lookup is performed,
+	 * which allows nested objects without views to be written as usual.
+	 * <p>
+	 * View writer is selected only once during lookup, so there is no per property overhead during serialization.
+	 *
+	 * @param manifest specified type
+	 * @param view     view marker
+	 * @return writer for specified type and view if found
+	 */
+	public JsonWriter.WriteObject<?> tryFindWriter(final Type manifest, final Class<?> view) {
+		if (view == null) return tryFindWriter(manifest);
+		JsonWriter.WriteObject<?> writer = findViewWriter(manifest, view);
+		if (writer != null) return writer;
+		//regular lookup can invoke converter factories which register view writers along the way
+		final JsonWriter.WriteObject<?> regular = tryFindWriter(manifest);
+		writer = findViewWriter(manifest, view);
+		return writer != null ? writer : regular;
+	}
+
+	private JsonWriter.WriteObject<?> findViewWriter(final Type manifest, final Class<?> view) {
+		final ConcurrentMap<Type, JsonWriter.WriteObject<?>> writers = viewWriters.get(view);
+		return writers != null ? writers.get(manifest) : null;
+	}
+
+	/**
+	 * Try to find writer for provided class in the specified view.
+	 * When there is no writer registered for that view, regular writer lookup is performed.
+	 *
+	 * @param manifest specified class
+	 * @param view     view marker
+	 * @param <T>      specified type
+	 * @return writer for specified type and view if found
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> JsonWriter.WriteObject<T> tryFindWriter(final Class<T> manifest, final Class<?> view) {
+		return (JsonWriter.WriteObject<T>) tryFindWriter((Type) manifest, view);
+	}
 
 	/**
 	 * Try to find registered writer for provided type.
@@ -929,32 +1287,40 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @return writer for specified type if found
 	 */
 	public JsonWriter.WriteObject<?> tryFindWriter(final Type manifest) {
+		final Frozen snapshot = frozen;
+		if (snapshot != null) return snapshot.writers.get(manifest);
 		JsonWriter.WriteObject writer = jsonWriters.get(manifest);
 		if (writer != null) return writer;
+		if (manifest instanceof Class<?>) {
+			final Class<?> found = writerMap.get(manifest);
+			if (found != null) {
+				return jsonWriters.get(found);
+			}
+		}
+		final int version = registrationVersion.get();
+		if (isKnownMiss(unknownWriters, manifest, version)) return null;
 		for (ConverterFactory<JsonWriter.WriteObject> wrt : writerFactories) {
+			factoryInvocations.incrementAndGet();
 			writer = wrt.tryCreate(manifest, this);
 			if (writer != null) {
-				jsonWriters.put(manifest, writer);
-				return writer;
+				final JsonWriter.WriteObject<?> published = jsonWriters.putIfAbsent(manifest, writer);
+				if (published == null) forgetWriterMisses(manifest);
+				return published != null ? published : writer;
 			}
 		}
-		if (manifest instanceof Class<?> == false) {
-			return null;
-		}
-		Class<?> found = writerMap.get(manifest);
-		if (found != null) {
-			return jsonWriters.get(found);
-		}
-		Class<?> container = (Class<?>) manifest;
-		final ArrayList<Class<?>> signatures = new ArrayList<Class<?>>();
-		findAllSignatures(container, signatures);
-		for (final Class<?> sig : signatures) {
-			writer = jsonWriters.get(sig);
-			if (writer != null) {
-				writerMap.putIfAbsent(container, sig);
-				return writer;
+		if (manifest instanceof Class<?>) {
+			final Class<?> container = (Class<?>) manifest;
+			final ArrayList<Class<?>> signatures = new ArrayList<Class<?>>();
+			findAllSignatures(container, signatures);
+			for (final Class<?> sig : signatures) {
+				writer = jsonWriters.get(sig);
+				if (writer != null) {
+					writerMap.putIfAbsent(container, sig);
+					return writer;
+				}
 			}
 		}
+		rememberMiss(unknownWriters, manifest, version);
 		return null;
 	}
 
@@ -973,15 +1339,21 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @return found reader for specified type
 	 */
 	public JsonReader.ReadObject<?> tryFindReader(final Type manifest) {
+		final Frozen snapshot = frozen;
+		if (snapshot != null) return snapshot.readers.get(manifest);
 		JsonReader.ReadObject found = readers.get(manifest);
 		if (found != null) return found;
+		final int version = registrationVersion.get();
+		if (isKnownMiss(unknownReaders, manifest, version)) return null;
 		for (ConverterFactory<JsonReader.ReadObject> rdr : readerFactories) {
+			factoryInvocations.incrementAndGet();
 			found = rdr.tryCreate(manifest, this);
 			if (found != null) {
-				readers.put(manifest, found);
-				return found;
+				final JsonReader.ReadObject<?> published = readers.putIfAbsent(manifest, found);
+				return published != null ? published : found;
 			}
 		}
+		rememberMiss(unknownReaders, manifest, version);
 		return null;
 	}
 
@@ -1000,17 +1372,22 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	 * @return found reader for specified type
 	 */
 	public JsonReader.BindObject<?> tryFindBinder(final Type manifest) {
+		final Frozen snapshot = frozen;
+		if (snapshot != null) return snapshot.binders.get(manifest);
 		JsonReader.BindObject found = binders.get(manifest);
-		if (found == null) {
-			for (ConverterFactory<JsonReader.BindObject> bnd : binderFactories) {
-				found = bnd.tryCreate(manifest, this);
-				if (found != null) {
-					binders.put(manifest, found);
-					break;
-				}
+		if (found != null) return found;
+		final int version = registrationVersion.get();
+		if (isKnownMiss(unknownBinders, manifest, version)) return null;
+		for (ConverterFactory<JsonReader.BindObject> bnd : binderFactories) {
+			factoryInvocations.incrementAndGet();
+			found = bnd.tryCreate(manifest, this);
+			if (found != null) {
+				final JsonReader.BindObject<?> published = binders.putIfAbsent(manifest, found);
+				return published != null ? published : found;
 			}
 		}
-		return found;
+		rememberMiss(unknownBinders, manifest, version);
+		return null;
 	}
 
 	/**
@@ -1069,6 +1446,67 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 		return (JsonReader.BindObject<T>) tryFindBinder((Type) manifest);
 	}
 
+	/**
+	 * Resolve reader and writer for specified type once,
+	 * so they can be invoked directly without lookup and dispatch on each call.
+	 * Resulting codec can be cached and shared between threads.
+	 * <p>
+	 * Codec is bound to converters which were resolved during this call.
+	 * If converters are registered for the type afterwards, new codec should be created.
+	 *
+	 * @param manifest specified type
+	 * @return codec with resolved reader and writer
+	 * @throws IllegalArgumentException when neither reader nor writer can be found for the type
+	 */
+	@SuppressWarnings("unchecked")
+	public Codec<Object> codecFor(final Type manifest) {
+		if (manifest == null) {
+			throw new IllegalArgumentException("manifest can't be null");
+		}
+		JsonReader.ReadObject<Object> reader = (JsonReader.ReadObject<Object>) tryFindReader(manifest);
+		JsonWriter.WriteObject<Object> writer = (JsonWriter.WriteObject<Object>) tryFindWriter(manifest);
+		if (manifest instanceof Class<?> && JsonObject.class.isAssignableFrom((Class<?>) manifest)) {
+			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader((Class<?>) manifest);
+			if (reader == null && objectReader != null) {
+				reader = new JsonReader.ReadObject<Object>() {
+					@Override
+					public Object read(final JsonReader input) throws IOException {
+						if (input.wasNull()) return null;
+						if (input.last() != '{') throw input.expecting("{");
+						input.getNextToken();
+						return objectReader.deserialize(input);
+					}
+				};
+			}
+			if (writer == null) {
+				writer = new JsonWriter.WriteObject<Object>() {
+					@Override
+					public void write(final JsonWriter output, final Object value) {
+						if (value == null) output.writeNull();
+						else ((JsonObject) value).serialize(output, omitDefaults);
+					}
+				};
+			}
+		}
+		if (reader == null && writer == null) {
+			throw new IllegalArgumentException("Unable to find reader or writer for " + manifest);
+		}
+		return new Codec<Object>(this, manifest, reader, writer);
+	}
+
+	/**
+	 * Resolve reader and writer for specified class once.
+	 *
+	 * @param manifest specified class
+	 * @param <T> specified type
+	 * @return codec with resolved reader and writer
+	 * @throws IllegalArgumentException when neither reader nor writer can be found for the class
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Codec<T> codecFor(final Class<T> manifest) {
+		return (Codec<T>) (Codec) codecFor((Type) manifest);
+	}
+
 	private static void findAllSignatures(final Class<?> manifest, final ArrayList<Class<?>> found) {
 		if (found.contains(manifest)) {
 			return;
@@ -1207,6 +1645,8 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 	/**
 	 * Check if DslJson knows how to serialize a type.
 	 * It will check if a writer for such type exists or can be used.
+	 * Writer created by a converter factory during this check is registered,
+	 * so subsequent lookups for the same type will reuse it.
 	 *
 	 * @param manifest type to check
 	 * @return can serialize this type into JSON
@@ -1247,12 +1687,7 @@ public class DslJson<TContext> implements UnknownSerializer, TypeLookup {
 					&& JsonObject.class.isAssignableFrom((Class<?>) gat.getGenericComponentType())
 					|| tryFindWriter(gat.getGenericComponentType()) != null;
 		}
-		for (ConverterFactory<JsonWriter.WriteObject> wrt : writerFactories) {
-			if (wrt.tryCreate(manifest, this) != null) {
-				return true;
-			}
-		}
-		return false;
+		return tryFindWriter(manifest) != null;
 	}
 
 	/**
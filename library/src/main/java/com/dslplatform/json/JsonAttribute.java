@@ -92,4 +92,34 @@ public @interface JsonAttribute {
 	 * @return should include type signature in JSON
 	 */
 	CompiledJson.TypeSignature typeSignature() default CompiledJson.TypeSignature.DEFAULT;
+
+	/**
+	 * Restrict this property to specified serialization views.
+	 * Views must be declared on {@literal @}CompiledJson(views = ...).
+	 * Property without views is included in every view.
+	 * Default writer (without a view) always includes all properties.
+	 *
+	 * @return views in which this property will be serialized
+	 */
+	Class[] views() default {};
+
+	/**
+	 * Hint for String properties which contain only ASCII characters that don't require escaping,
+	 * such as identifiers, ISO codes or hex hashes.
+	 * Such values are written without escaping and read without UTF-8 decoding and unescaping.
+	 * Non ASCII characters, quotes, backslashes or control characters in the value will result in invalid JSON.
+	 *
+	 * @return string consists only of ASCII characters which don't require escaping
+	 */
+	boolean asciiOnly() default false;
+
+	/**
+	 * When asciiOnly is used, input is validated during reading by default
+	 * and strings with escaped or non ASCII characters are processed as regular strings.
+	 * Validation can be disabled for trusted input, in which case non ASCII characters will not be decoded.
+	 * Escaped characters are not supported without validation and reading them will fail.
+	 *
+	 * @return validate input of asciiOnly properties
+	 */
+	boolean validateAscii() default true;
 }
\ No newline at end of file
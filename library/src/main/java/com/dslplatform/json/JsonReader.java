@@ -2,6 +2,9 @@ package com.dslplatform.json;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.*;
 
@@ -56,6 +59,11 @@ public final class JsonReader<TContext> {
 	private final byte[] originalBuffer;
 	private final int originalBufferLenWithExtraSpace;
 
+	//bytes of the raw value which were moved out of the buffer while processing a stream
+	private byte[] rawBuffer;
+	private int rawLength;
+	private int rawStart = -1;
+
 	public enum DoublePrecision {
 		EXACT(0),
 		HIGH(1),
@@ -262,6 +270,27 @@ public final class JsonReader<TContext> {
 		return this;
 	}
 
+	/**
+	 * Move reader to the specified position in the bound byte[] input and read the token found there.
+	 * This can be used for lazy processing, when positions of values were recorded during a previous scan
+	 * (through getCurrentIndex() - 1 after the value token was read).
+	 * Seek is not supported while processing a stream.
+	 *
+	 * @param position index in the input where the value starts
+	 * @return token at the specified position
+	 * @throws IOException unable to read the token
+	 */
+	public final byte seek(final int position) throws IOException {
+		if (stream != null) {
+			throw new IOException("Seek is not supported on stream input");
+		}
+		if (position < 0 || position >= length) {
+			throw new IllegalArgumentException("position must be within the input length");
+		}
+		currentIndex = position;
+		return getNextToken();
+	}
+
 	/**
 	 * Valid length of the input buffer.
 	 *
@@ -306,6 +335,9 @@ public final class JsonReader<TContext> {
 	}
 
 	private int prepareNextBlock() throws IOException {
+		if (rawStart != -1) {
+			keepRaw();
+		}
 		final int len = length - currentIndex;
 		System.arraycopy(buffer, currentIndex, buffer, 0, len);
 		final int available = readFully(buffer, stream, len);
@@ -434,6 +466,17 @@ public final class JsonReader<TContext> {
 		return 0;
 	}
 
+	/**
+	 * Mark fixed size token which was processed directly from the input buffer.
+	 * Token starts at the current index and must be fully contained within the buffer.
+	 *
+	 * @param end position after the token end
+	 */
+	final void consumeDirect(final int end) {
+		tokenStart = currentIndex;
+		currentIndex = end;
+	}
+
 	/**
 	 * Read simple ascii string. Will not use values cache to create instance.
 	 *
@@ -462,6 +505,45 @@ public final class JsonReader<TContext> {
 		return new String(tmp, 0, i);
 	}
 
+	/**
+	 * Read string which is expected to consist only of ASCII characters which don't require unescaping.
+	 * String is created directly from the input bytes without decoding.
+	 * When validation is enabled and escaped or non ASCII characters are found,
+	 * string will be processed as a regular string.
+	 * Without validation, input must be trusted since non ASCII characters will not be decoded.
+	 * Escaped characters are still detected and result in an error,
+	 * since an escaped quote would otherwise end the string early.
+	 * Will not use values cache to create instance.
+	 *
+	 * @param validate check for characters which require decoding
+	 * @return parsed string
+	 * @throws IOException unable to parse string
+	 */
+	@SuppressWarnings("deprecation")
+	public final String readSimpleString(final boolean validate) throws IOException {
+		if (last != '"') {
+			throw new IOException("Expecting '\"' " + positionDescription() + ". Found " + (char) last);
+		}
+		final byte[] _buf = buffer;
+		final int start = currentIndex;
+		int ci = start;
+		while (ci < length) {
+			final byte bb = _buf[ci];
+			if (bb == '"') {
+				currentIndex = ci + 1;
+				return new String(_buf, 0, start, ci - start);
+			}
+			if (bb == '\\') {
+				if (validate) break;
+				throw new IOException("Escaped characters are not allowed in unvalidated ASCII string " + positionDescription(ci - start));
+			}
+			if (validate && bb < 32) break;
+			ci++;
+		}
+		//string requires decoding or it's not fully contained in the buffer
+		return readString();
+	}
+
 	/**
 	 * Read simple "ascii string" into temporary buffer.
 	 * String length must be obtained through getTokenStart and getCurrentToken
@@ -541,7 +623,7 @@ public final class JsonReader<TContext> {
 		int soFar = --currentIndex - startIndex;
 
 		while (!isEndOfStream()) {
-			int bc = read();
+			final int bc = read();
 			if (bc == '"') {
 				return soFar;
 			}
@@ -553,38 +635,7 @@ public final class JsonReader<TContext> {
 					_tmp = chars = Arrays.copyOf(chars, newSize);
 					_tmpLen = _tmp.length;
 				}
-				bc = buffer[currentIndex++];
-
-				switch (bc) {
-					case 'b':
-						bc = '\b';
-						break;
-					case 't':
-						bc = '\t';
-						break;
-					case 'n':
-						bc = '\n';
-						break;
-					case 'f':
-						bc = '\f';
-						break;
-					case 'r':
-						bc = '\r';
-						break;
-					case '"':
-					case '/':
-					case '\\':
-						break;
-					case 'u':
-						bc = (hexToInt(buffer[currentIndex++]) << 12) +
-								(hexToInt(buffer[currentIndex++]) << 8) +
-								(hexToInt(buffer[currentIndex++]) << 4) +
-								hexToInt(buffer[currentIndex++]);
-						break;
-
-					default:
-						throw new IOException("Could not parse String " + positionDescription() + ". Invalid escape combination detected: '\\" + bc + "'");
-				}
+				_tmp[soFar++] = (char) readEscape();
 			} else if ((bc & 0x80) != 0) {
 				if (soFar >= _tmpLen - 4) {
 					final int newSize = chars.length * 2;
@@ -592,48 +643,135 @@ public final class JsonReader<TContext> {
 					_tmp = chars = Arrays.copyOf(chars, newSize);
 					_tmpLen = _tmp.length;
 				}
-				final int u2 = buffer[currentIndex++];
-				if ((bc & 0xE0) == 0xC0) {
-					bc = ((bc & 0x1F) << 6) + (u2 & 0x3F);
-				} else {
-					final int u3 = buffer[currentIndex++];
-					if ((bc & 0xF0) == 0xE0) {
-						bc = ((bc & 0x0F) << 12) + ((u2 & 0x3F) << 6) + (u3 & 0x3F);
-					} else {
-						final int u4 = buffer[currentIndex++];
-						if ((bc & 0xF8) == 0xF0) {
-							bc = ((bc & 0x07) << 18) + ((u2 & 0x3F) << 12) + ((u3 & 0x3F) << 6) + (u4 & 0x3F);
-						} else {
-							// there are legal 5 & 6 byte combinations, but none are _valid_
-							throw new IOException("Invalid unicode character detected " + positionDescription());
-						}
-
-						if (bc >= 0x10000) {
-							// check if valid unicode
-							if (bc >= 0x110000) {
-								throw new IOException("Invalid unicode character detected " + positionDescription());
-							}
-
-							// split surrogates
-							final int sup = bc - 0x10000;
-							_tmp[soFar++] = (char) ((sup >>> 10) + 0xd800);
-							_tmp[soFar++] = (char) ((sup & 0x3ff) + 0xdc00);
-							continue;
-						}
-					}
+				soFar = writeCodePoint(_tmp, soFar, readUtf8(bc));
+			} else {
+				if (soFar >= _tmpLen) {
+					final int newSize = chars.length * 2;
+					if (newSize > maxStringBuffer) throw new IOException("Unable to process input JSON. Maximum string buffer limit exceeded: " + maxStringBuffer);
+					_tmp = chars = Arrays.copyOf(chars, newSize);
+					_tmpLen = _tmp.length;
 				}
-			} else if (soFar >= _tmpLen) {
-				final int newSize = chars.length * 2;
-				if (newSize > maxStringBuffer) throw new IOException("Unable to process input JSON. Maximum string buffer limit exceeded: " + maxStringBuffer);
-				_tmp = chars = Arrays.copyOf(chars, newSize);
-				_tmpLen = _tmp.length;
+				_tmp[soFar++] = (char) bc;
 			}
+		}
+		throw new IOException("JSON string was not closed with a double quote " + positionDescription());
+	}
 
-			_tmp[soFar++] = (char) bc;
+	/**
+	 * Read string from JSON input directly into the provided output.
+	 * Temporary char buffer is used as a fixed size chunk and is flushed to the output
+	 * whenever it fills up, so large strings are not limited by the maximum string buffer
+	 * and can be processed while the stream buffer is refilled.
+	 * <p>
+	 * String value must start and end with a double quote (").
+	 *
+	 * @param output where to append decoded characters
+	 * @return number of decoded characters
+	 * @throws IOException error reading string input or unable to append to output
+	 */
+	public final long readStringTo(final Appendable output) throws IOException {
+		if (last != '"') {
+			throw new IOException("JSON string must start with a double quote " + positionDescription());
+		}
+		final char[] _tmp = chars;
+		final int limit = _tmp.length - 2;
+		long total = 0;
+		int soFar = 0;
+		while (!isEndOfStream()) {
+			final int bc = read();
+			if (bc == '"') {
+				if (soFar > 0) appendChars(output, _tmp, soFar);
+				return total + soFar;
+			}
+			if (soFar >= limit) {
+				appendChars(output, _tmp, soFar);
+				total += soFar;
+				soFar = 0;
+			}
+			if (bc == '\\') {
+				_tmp[soFar++] = (char) readEscape();
+			} else if ((bc & 0x80) != 0) {
+				soFar = writeCodePoint(_tmp, soFar, readUtf8(bc));
+			} else {
+				_tmp[soFar++] = (char) bc;
+			}
 		}
 		throw new IOException("JSON string was not closed with a double quote " + positionDescription());
 	}
 
+	//decode escape sequence which starts right after the backslash
+	private int readEscape() throws IOException {
+		final int bc = buffer[currentIndex++];
+		switch (bc) {
+			case 'b':
+				return '\b';
+			case 't':
+				return '\t';
+			case 'n':
+				return '\n';
+			case 'f':
+				return '\f';
+			case 'r':
+				return '\r';
+			case '"':
+			case '/':
+			case '\\':
+				return bc;
+			case 'u':
+				return (hexToInt(buffer[currentIndex++]) << 12) +
+						(hexToInt(buffer[currentIndex++]) << 8) +
+						(hexToInt(buffer[currentIndex++]) << 4) +
+						hexToInt(buffer[currentIndex++]);
+			default:
+				throw new IOException("Could not parse String " + positionDescription() + ". Invalid escape combination detected: '\\" + bc + "'");
+		}
+	}
+
+	//decode multibyte UTF-8 sequence which starts with the provided byte into a code point
+	private int readUtf8(final int bc) throws IOException {
+		final int u2 = buffer[currentIndex++];
+		if ((bc & 0xE0) == 0xC0) {
+			return ((bc & 0x1F) << 6) + (u2 & 0x3F);
+		}
+		final int u3 = buffer[currentIndex++];
+		if ((bc & 0xF0) == 0xE0) {
+			return ((bc & 0x0F) << 12) + ((u2 & 0x3F) << 6) + (u3 & 0x3F);
+		}
+		final int u4 = buffer[currentIndex++];
+		if ((bc & 0xF8) != 0xF0) {
+			// there are legal 5 & 6 byte combinations, but none are _valid_
+			throw new IOException("Invalid unicode character detected " + positionDescription());
+		}
+		final int cp = ((bc & 0x07) << 18) + ((u2 & 0x3F) << 12) + ((u3 & 0x3F) << 6) + (u4 & 0x3F);
+		// check if valid unicode
+		if (cp >= 0x110000) {
+			throw new IOException("Invalid unicode character detected " + positionDescription());
+		}
+		return cp;
+	}
+
+	//code points outside of the basic plane are split into surrogates
+	private static int writeCodePoint(final char[] target, final int position, final int cp) {
+		if (cp < 0x10000) {
+			target[position] = (char) cp;
+			return position + 1;
+		}
+		final int sup = cp - 0x10000;
+		target[position] = (char) ((sup >>> 10) + 0xd800);
+		target[position + 1] = (char) ((sup & 0x3ff) + 0xdc00);
+		return position + 2;
+	}
+
+	private static void appendChars(final Appendable output, final char[] chars, final int len) throws IOException {
+		if (output instanceof Writer) {
+			((Writer) output).write(chars, 0, len);
+		} else if (output instanceof StringBuilder) {
+			((StringBuilder) output).append(chars, 0, len);
+		} else {
+			output.append(CharBuffer.wrap(chars, 0, len));
+		}
+	}
+
 	private static int hexToInt(final byte value) throws IOException {
 		if (value >= '0' && value <= '9') return value - 0x30;
 		if (value >= 'A' && value <= 'F') return value - 0x37;
@@ -941,6 +1079,11 @@ public final class JsonReader<TContext> {
 	}
 
 	private byte skipString() throws IOException {
+		skipStringValue();
+		return getNextToken();
+	}
+
+	private void skipStringValue() throws IOException {
 		byte c = read();
 		byte prev = c;
 		boolean inEscape = false;
@@ -949,7 +1092,6 @@ public final class JsonReader<TContext> {
 			inEscape = !inEscape && prev == '\\';
 			c = read();
 		}
-		return getNextToken();
 	}
 
 	/**
@@ -960,10 +1102,22 @@ public final class JsonReader<TContext> {
 	 * @throws IOException unable to read next byte (end of stream, invalid JSON, ...)
 	 */
 	public final byte skip() throws IOException {
-		if (last == '"') return skipString();
-		if (last == '{') {
+		if (last == '"' || last == '{' || last == '[' || last == 'n' || last == 't' || last == 'f') {
+			skipValue();
+			return getNextToken();
+		}
+		while (last != ',' && last != '}' && last != ']') {
+			read();
+		}
+		return last;
+	}
+
+	private void skipValue() throws IOException {
+		if (last == '"') {
+			skipStringValue();
+		} else if (last == '{') {
 			byte nextToken = getNextToken();
-			if (nextToken == '}') return getNextToken();
+			if (nextToken == '}') return;
 			if (nextToken == '"') {
 				nextToken = skipString();
 			} else {
@@ -990,9 +1144,7 @@ public final class JsonReader<TContext> {
 			if (nextToken != '}') {
 				throw new IOException("Expecting '}' " + positionDescription() + ". Found " + (char) nextToken);
 			}
-			return getNextToken();
-		}
-		if (last == '[') {
+		} else if (last == '[') {
 			getNextToken();
 			byte nextToken = skip();
 			while (nextToken == ',') {
@@ -1002,30 +1154,67 @@ public final class JsonReader<TContext> {
 			if (nextToken != ']') {
 				throw new IOException("Expecting ']' " + positionDescription() + ". Found " + (char) nextToken);
 			}
-			return getNextToken();
-		}
-		if (last == 'n') {
+		} else if (last == 'n') {
 			if (!wasNull()) {
 				throw new IOException("Expecting 'null' " + positionDescription());
 			}
-			return getNextToken();
-		}
-		if (last == 't') {
+		} else if (last == 't') {
 			if (!wasTrue()) {
 				throw new IOException("Expecting 'true' " + positionDescription());
 			}
-			return getNextToken();
-		}
-		if (last == 'f') {
+		} else if (last == 'f') {
 			if (!wasFalse()) {
 				throw new IOException("Expecting 'false' " + positionDescription());
 			}
-			return getNextToken();
+		} else {
+			while (true) {
+				if (stream != null && currentIndex > readLimit) {
+					prepareNextBlock();
+				}
+				if (currentIndex == length) break;
+				final byte next = buffer[currentIndex];
+				if (next == ',' || next == '}' || next == ']' || next == ':' || WHITESPACE[next + 128]) break;
+				last = next;
+				currentIndex++;
+			}
 		}
-		while (last != ',' && last != '}' && last != ']') {
-			read();
+	}
+
+	/**
+	 * Read current JSON value as is, without parsing it into objects.
+	 * Value bounds are detected the same way as in skip, so only the structure of the value is validated.
+	 * Unlike skip, reader will stay at the last byte of the value,
+	 * which allows it to be used from within ReadObject implementations.
+	 * While processing a stream, bytes which are moved out of the buffer are collected on the side.
+	 *
+	 * @return bytes of the current JSON value
+	 * @throws IOException unable to find the end of the value (end of stream, invalid JSON, ...)
+	 */
+	public final byte[] readRaw() throws IOException {
+		rawStart = currentIndex - 1;
+		rawLength = 0;
+		try {
+			skipValue();
+			final int len = currentIndex - rawStart;
+			if (rawLength == 0) {
+				return Arrays.copyOfRange(buffer, rawStart, currentIndex);
+			}
+			final byte[] result = Arrays.copyOf(rawBuffer, rawLength + len);
+			System.arraycopy(buffer, rawStart, result, rawLength, len);
+			return result;
+		} finally {
+			rawStart = -1;
 		}
-		return last;
+	}
+
+	private void keepRaw() {
+		final int len = currentIndex - rawStart;
+		if (rawBuffer == null || rawBuffer.length < rawLength + len) {
+			rawBuffer = Arrays.copyOf(rawBuffer == null ? new byte[0] : rawBuffer, Math.max(rawLength + len, rawLength * 2));
+		}
+		System.arraycopy(buffer, rawStart, rawBuffer, rawLength, len);
+		rawLength += len;
+		rawStart = 0;
 	}
 
 	/**
@@ -1062,6 +1251,68 @@ public final class JsonReader<TContext> {
 		return Base64.decodeFast(buffer, start, currentIndex - 1);
 	}
 
+	/**
+	 * Decode Base64 string directly into the provided output.
+	 * Input is decoded in chunks while the reader buffer is refilled from the stream,
+	 * so the entire binary value is never held in memory.
+	 * Output stream will not be closed.
+	 *
+	 * @param output where to write decoded bytes
+	 * @return number of decoded bytes
+	 * @throws IOException invalid Base64 input or unable to write to output
+	 */
+	public final long readBase64To(final OutputStream output) throws IOException {
+		if (last != '"') {
+			throw new IOException("Expecting '\"' " + positionDescription() + " at base64 start. Found " + (char) last);
+		}
+		final byte[] chunk = new byte[3 * 1024];
+		int filled = 0;
+		long total = 0;
+		boolean padded = false;
+		while (true) {
+			if (stream != null && length - currentIndex < 4) {
+				prepareNextBlock();
+			}
+			if (currentIndex < length && buffer[currentIndex] == '"') {
+				last = buffer[currentIndex++];
+				break;
+			}
+			if (padded) {
+				throw new IOException("Expecting '\"' " + positionDescription() + " at base64 end. Found " + (char) buffer[currentIndex]);
+			}
+			if (length - currentIndex < 4) {
+				throw new IOException("Invalid base64 input " + positionDescription() + ". Premature end of JSON input");
+			}
+			final int bits = Base64.decodeQuad(buffer, currentIndex);
+			final byte c1 = buffer[currentIndex];
+			final byte c2 = buffer[currentIndex + 1];
+			final byte c3 = buffer[currentIndex + 2];
+			final byte c4 = buffer[currentIndex + 3];
+			if (bits < 0 || c1 == '=' || c2 == '=' || c3 == '=' && c4 != '=') {
+				throw new IOException("Invalid base64 input " + positionDescription());
+			}
+			if (filled + 3 > chunk.length) {
+				output.write(chunk, 0, filled);
+				total += filled;
+				filled = 0;
+			}
+			chunk[filled++] = (byte) (bits >> 16);
+			if (c4 == '=') {
+				padded = true;
+				if (c3 != '=') chunk[filled++] = (byte) (bits >> 8);
+			} else {
+				chunk[filled++] = (byte) (bits >> 8);
+				chunk[filled++] = (byte) bits;
+			}
+			currentIndex += 4;
+		}
+		if (filled > 0) {
+			output.write(chunk, 0, filled);
+			total += filled;
+		}
+		return total;
+	}
+
 	/**
 	 * Read key value of JSON input.
 	 * If key cache is used, it will be looked up from there.
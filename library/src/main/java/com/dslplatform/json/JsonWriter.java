@@ -1,6 +1,7 @@
 package com.dslplatform.json;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.*;
@@ -147,6 +148,32 @@ public final class JsonWriter {
 		buffer[position++] = value;
 	}
 
+	/**
+	 * Make sure there is space in the buffer for at least the specified number of bytes.
+	 * If there is not enough space, buffer will be flushed to the target stream or enlarged.
+	 * <p>
+	 * This allows checking capacity only once for a sequence of writes with known upper bound,
+	 * which can then be done through unchecked methods, such as writeByteUnchecked.
+	 * Unchecked methods must not write more than the reserved size.
+	 *
+	 * @param size upper bound of bytes which will be written
+	 */
+	public final void reserve(final int size) {
+		if (position + size >= buffer.length) {
+			enlargeOrFlush(position, size);
+		}
+	}
+
+	/**
+	 * Write a single byte into the JSON without checking for available space.
+	 * Space must be reserved upfront through reserve method.
+	 *
+	 * @param value byte to write into the JSON
+	 */
+	public final void writeByteUnchecked(final byte value) {
+		buffer[position++] = value;
+	}
+
 	/**
 	 * Write a quoted string into the JSON.
 	 * String will be appropriately escaped according to JSON escaping rules.
@@ -398,6 +425,34 @@ public final class JsonWriter {
 		position += len;
 	}
 
+	/**
+	 * Copy bytes into JSON as is without checking for available space.
+	 * Space must be reserved upfront through reserve method.
+	 *
+	 * @param buf byte buffer to copy
+	 */
+	public final void writeAsciiUnchecked(final byte[] buf) {
+		final int p = position;
+		final byte[] _result = buffer;
+		for (int i = 0; i < buf.length; i++) {
+			_result[p + i] = buf[i];
+		}
+		position += buf.length;
+	}
+
+	/**
+	 * Write string consisting of only ascii characters without checking for available space.
+	 * Space must be reserved upfront through reserve method.
+	 *
+	 * @param value ascii string
+	 */
+	@SuppressWarnings("deprecation")
+	public final void writeAsciiUnchecked(final String value) {
+		final int len = value.length();
+		value.getBytes(0, len, buffer, position);
+		position += len;
+	}
+
 	/**
 	 * Copy part of byte buffer into JSON as is.
 	 * Provided buffer can't be null.
@@ -432,6 +487,37 @@ public final class JsonWriter {
 		buffer[position++] = '"';
 	}
 
+	private static final int BASE64_CHUNK = 3 * 1024;
+
+	/**
+	 * Encode bytes from the input stream as Base 64.
+	 * Input is processed in chunks, so when writer targets an output stream
+	 * encoded content is flushed as it's produced and the input is never fully loaded into memory.
+	 * Provided stream can't be null and it will not be closed.
+	 *
+	 * @param value stream with bytes to encode
+	 * @throws IOException unable to read from the input stream
+	 */
+	public final void writeBinary(final InputStream value) throws IOException {
+		final byte[] chunk = new byte[BASE64_CHUNK];
+		writeByte(QUOTE);
+		int read;
+		do {
+			read = 0;
+			int cnt;
+			while (read < chunk.length && (cnt = value.read(chunk, read, chunk.length - read)) != -1) {
+				read += cnt;
+			}
+			if (read == 0) break;
+			final int encoded = ((read + 2) / 3) << 2;
+			if (position + encoded >= buffer.length) {
+				enlargeOrFlush(position, encoded);
+			}
+			position += Base64.encodeToBytes(chunk, read, buffer, position);
+		} while (read == chunk.length);
+		writeByte(QUOTE);
+	}
+
 	final void writeDouble(final double value) {
 		if (value == Double.POSITIVE_INFINITY) {
 			writeAscii("\"Infinity\"");
@@ -657,6 +743,9 @@ public final class JsonWriter {
 		if (array == null) {
 			writeNull();
 			return;
+		} else if (encoder == UUIDConverter.WRITER && array instanceof UUID[]) {
+			UUIDConverter.serialize((UUID[]) array, this);
+			return;
 		}
 		writeByte(ARRAY_START);
 		if (array.length != 0) {
@@ -691,10 +780,14 @@ public final class JsonWriter {
 	 * @param encoder instance serializer
 	 * @param <T> type of object
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> void serialize(final List<T> list, final WriteObject<T> encoder) {
 		if (list == null) {
 			writeNull();
 			return;
+		} else if (encoder == UUIDConverter.WRITER) {
+			UUIDConverter.serialize((Collection<UUID>) list, this);
+			return;
 		}
 		writeByte(ARRAY_START);
 		if (!list.isEmpty()) {
@@ -726,10 +819,14 @@ public final class JsonWriter {
 	 * @param encoder instance serializer
 	 * @param <T> type of object
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> void serialize(final Collection<T> collection, final WriteObject<T> encoder) {
 		if (collection == null) {
 			writeNull();
 			return;
+		} else if (encoder == UUIDConverter.WRITER) {
+			UUIDConverter.serialize((Collection<UUID>) collection, this);
+			return;
 		}
 		writeByte(ARRAY_START);
 		if (!collection.isEmpty()) {
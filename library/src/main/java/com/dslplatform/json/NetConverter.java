@@ -1,7 +1,10 @@
 package com.dslplatform.json;
 
 import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.NetworkInterface;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -75,14 +78,222 @@ public abstract class NetConverter {
 		}
 	}
 
+	/**
+	 * Write IP address in the same format as InetAddress.getHostAddress(),
+	 * but directly into the output buffer.
+	 * IPv6 is written in full (uncompressed) form with lowercase hex digits, eg. "fe80:0:0:0:202:b3ff:fe1e:8329"
+	 *
+	 * @param value IP address
+	 * @param sw    writer
+	 */
 	public static void serialize(final InetAddress value, final JsonWriter sw) {
+		final byte[] address = value.getAddress();
+		if (address.length == 4) {
+			final byte[] buf = sw.ensureCapacity(17);
+			int pos = sw.size();
+			buf[pos++] = '"';
+			pos = writeOctet(address[0] & 255, buf, pos);
+			for (int i = 1; i < 4; i++) {
+				buf[pos++] = '.';
+				pos = writeOctet(address[i] & 255, buf, pos);
+			}
+			buf[pos++] = '"';
+			sw.advance(pos - sw.size());
+			return;
+		}
+		final byte[] buf = sw.ensureCapacity(41);
+		int pos = sw.size();
+		buf[pos++] = '"';
+		pos = writeGroup(((address[0] & 255) << 8) | (address[1] & 255), buf, pos);
+		for (int i = 2; i < 16; i += 2) {
+			buf[pos++] = ':';
+			pos = writeGroup(((address[i] & 255) << 8) | (address[i + 1] & 255), buf, pos);
+		}
+		sw.advance(pos - sw.size());
+		if (value instanceof Inet6Address) {
+			final Inet6Address ipv6 = (Inet6Address) value;
+			final NetworkInterface scopedInterface = ipv6.getScopedInterface();
+			if (scopedInterface != null) {
+				sw.writeByte((byte) '%');
+				sw.writeAscii(scopedInterface.getName());
+			} else if (ipv6.getScopeId() != 0) {
+				sw.writeByte((byte) '%');
+				NumberConverter.serialize(ipv6.getScopeId(), sw);
+			}
+		}
 		sw.writeByte(JsonWriter.QUOTE);
-		sw.writeAscii(value.getHostAddress());
-		sw.writeByte(JsonWriter.QUOTE);
 	}
 
+	private static int writeOctet(final int value, final byte[] buf, int pos) {
+		if (value >= 100) {
+			final int hi = value / 100;
+			final int rem = value - hi * 100;
+			final int mid = rem / 10;
+			buf[pos] = (byte) ('0' + hi);
+			buf[pos + 1] = (byte) ('0' + mid);
+			buf[pos + 2] = (byte) ('0' + rem - mid * 10);
+			return pos + 3;
+		} else if (value >= 10) {
+			final int hi = value / 10;
+			buf[pos] = (byte) ('0' + hi);
+			buf[pos + 1] = (byte) ('0' + value - hi * 10);
+			return pos + 2;
+		}
+		buf[pos] = (byte) ('0' + value);
+		return pos + 1;
+	}
+
+	private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+	private static int writeGroup(final int value, final byte[] buf, int pos) {
+		if (value >= 0x1000) buf[pos++] = HEX_DIGITS[value >> 12];
+		if (value >= 0x100) buf[pos++] = HEX_DIGITS[(value >> 8) & 15];
+		if (value >= 0x10) buf[pos++] = HEX_DIGITS[(value >> 4) & 15];
+		buf[pos++] = HEX_DIGITS[value & 15];
+		return pos;
+	}
+
+	/**
+	 * Parse IPv4 or IPv6 address literal.
+	 * Host names are not allowed and will result in an error, so DNS lookup is never performed.
+	 * IPv6 addresses can have an embedded IPv4 address, a scope (either numeric or network interface name)
+	 * and can be enclosed in brackets.
+	 *
+	 * @param reader input
+	 * @return parsed IP address
+	 * @throws IOException when input is not a valid IP address literal
+	 */
 	public static InetAddress deserializeIp(final JsonReader reader) throws IOException {
-		return InetAddress.getByName(reader.readSimpleString());
+		final char[] tmp = reader.readSimpleQuote();
+		final int end = reader.getCurrentIndex();
+		final int len = end - reader.getTokenStart() - 1;
+		if (reader.buffer[end - 1] != '"') {
+			throw new IOException("IP address literal is too long " + reader.positionDescription());
+		}
+		final InetAddress address = parseIp(tmp, len);
+		if (address == null) {
+			throw new IOException("Invalid IP address literal: '" + new String(tmp, 0, len) + "' " + reader.positionDescription(len + 1));
+		}
+		return address;
+	}
+
+	private static InetAddress parseIp(final char[] tmp, final int len) throws IOException {
+		final byte[] ipv4 = new byte[4];
+		if (parseIpv4(tmp, 0, len, ipv4, 0)) {
+			return InetAddress.getByAddress(ipv4);
+		}
+		int start = 0;
+		int end = len;
+		if (len > 2 && tmp[0] == '[' && tmp[len - 1] == ']') {
+			start = 1;
+			end = len - 1;
+		}
+		int scopeStart = -1;
+		for (int i = start; i < end; i++) {
+			if (tmp[i] == '%') {
+				scopeStart = i;
+				break;
+			}
+		}
+		final byte[] ipv6 = new byte[16];
+		if (!parseIpv6(tmp, start, scopeStart == -1 ? end : scopeStart, ipv6)) {
+			return null;
+		}
+		if (scopeStart == -1) {
+			return InetAddress.getByAddress(ipv6);
+		} else if (scopeStart + 1 == end) {
+			return null;
+		}
+		int scopeId = 0;
+		for (int i = scopeStart + 1; i < end; i++) {
+			final int digit = tmp[i] - '0';
+			if (digit < 0 || digit > 9 || scopeId > 100000000) {
+				final NetworkInterface ni = NetworkInterface.getByName(new String(tmp, scopeStart + 1, end - scopeStart - 1));
+				return ni == null ? null : Inet6Address.getByAddress(null, ipv6, ni);
+			}
+			scopeId = scopeId * 10 + digit;
+		}
+		return Inet6Address.getByAddress(null, ipv6, scopeId);
+	}
+
+	private static boolean parseIpv4(final char[] tmp, final int start, final int end, final byte[] result, final int offset) {
+		int octet = 0;
+		int digits = 0;
+		int index = offset;
+		for (int i = start; i < end; i++) {
+			final char c = tmp[i];
+			if (c >= '0' && c <= '9') {
+				octet = octet * 10 + c - '0';
+				if (++digits > 3 || octet > 255) return false;
+			} else if (c == '.' && digits != 0 && index < offset + 3) {
+				result[index++] = (byte) octet;
+				octet = 0;
+				digits = 0;
+			} else {
+				return false;
+			}
+		}
+		if (digits == 0 || index != offset + 3) return false;
+		result[index] = (byte) octet;
+		return true;
+	}
+
+	private static boolean parseIpv6(final char[] tmp, final int start, final int end, final byte[] result) {
+		if (end - start < 2) return false;
+		int index = 0;
+		int compressAt = -1;
+		int i = start;
+		if (tmp[i] == ':') {
+			if (tmp[i + 1] != ':') return false;
+			compressAt = 0;
+			i += 2;
+			if (i == end) return true;
+		}
+		while (i < end) {
+			if (index == 16) return false;
+			final int groupStart = i;
+			int group = 0;
+			while (i < end && i - groupStart < 4) {
+				final int digit = hexValue(tmp[i]);
+				if (digit < 0) break;
+				group = (group << 4) + digit;
+				i++;
+			}
+			if (i < end && tmp[i] == '.') {
+				if (index > 12 || !parseIpv4(tmp, groupStart, end, result, index)) return false;
+				index += 4;
+				break;
+			}
+			if (i == groupStart) return false;
+			result[index++] = (byte) (group >> 8);
+			result[index++] = (byte) group;
+			if (i == end) break;
+			if (tmp[i] != ':') return false;
+			i++;
+			if (i == end) return false;
+			if (tmp[i] == ':') {
+				if (compressAt != -1) return false;
+				compressAt = index;
+				i++;
+			}
+		}
+		if (compressAt == -1) {
+			return index == 16;
+		}
+		if (index == 16) return false;
+		final int moved = index - compressAt;
+		System.arraycopy(result, compressAt, result, 16 - moved, moved);
+		for (int j = compressAt; j < 16 - moved; j++) {
+			result[j] = 0;
+		}
+		return true;
+	}
+
+	private static int hexValue(final char c) {
+		if (c >= '0' && c <= '9') return c - '0';
+		if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+		if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+		return -1;
 	}
 
 	@SuppressWarnings("unchecked")
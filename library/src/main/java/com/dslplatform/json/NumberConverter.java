@@ -729,6 +729,18 @@ public abstract class NumberConverter {
 		sw.advance(current - position);
 	}
 
+	/**
+	 * Serialize int without checking for available space.
+	 * At least 11 bytes must be reserved upfront through JsonWriter reserve method.
+	 *
+	 * @param value number to serialize
+	 * @param sw    writer
+	 */
+	public static void serializeUnchecked(final int value, final JsonWriter sw) {
+		final int position = sw.size();
+		sw.advance(serialize(sw.getByteBuffer(), position, value) - position);
+	}
+
 	private static int serialize(final byte[] buf, int pos, final int value) {
 		int i;
 		if (value < 0) {
@@ -1020,6 +1032,18 @@ public abstract class NumberConverter {
 		sw.advance(current - position);
 	}
 
+	/**
+	 * Serialize long without checking for available space.
+	 * At least 21 bytes must be reserved upfront through JsonWriter reserve method.
+	 *
+	 * @param value number to serialize
+	 * @param sw    writer
+	 */
+	public static void serializeUnchecked(final long value, final JsonWriter sw) {
+		final int position = sw.size();
+		sw.advance(serialize(sw.getByteBuffer(), position, value) - position);
+	}
+
 	private static int serialize(final byte[] buf, int pos, final long value) {
 		long i;
 		if (value < 0) {
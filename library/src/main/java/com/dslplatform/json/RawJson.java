@@ -0,0 +1,65 @@
+package com.dslplatform.json;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Already serialized JSON value which should be embedded into the output as is.
+ * It can be used as a property type to pass through JSON fragments without
+ * processing them into Map/List objects and serializing them again.
+ * <p>
+ * Bytes are not validated when instance is created, so they must contain a valid JSON value.
+ * Bytes are shared with the instance and should not be modified afterwards.
+ */
+public final class RawJson {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final byte[] bytes;
+
+	/**
+	 * Wrap already serialized JSON value.
+	 *
+	 * @param bytes UTF-8 bytes of a valid JSON value
+	 */
+	public RawJson(final byte[] bytes) {
+		if (bytes == null) throw new IllegalArgumentException("bytes can't be null");
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Wrap already serialized JSON value provided as a string.
+	 *
+	 * @param json valid JSON value
+	 * @return raw JSON with UTF-8 bytes of the provided string
+	 */
+	public static RawJson of(final String json) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		return new RawJson(json.getBytes(UTF_8));
+	}
+
+	/**
+	 * UTF-8 bytes of the JSON value.
+	 * Returned array is not a copy.
+	 *
+	 * @return JSON value bytes
+	 */
+	public byte[] bytes() {
+		return bytes;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return this == other || other instanceof RawJson && Arrays.equals(bytes, ((RawJson) other).bytes);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(bytes);
+	}
+
+	@Override
+	public String toString() {
+		return new String(bytes, UTF_8);
+	}
+}
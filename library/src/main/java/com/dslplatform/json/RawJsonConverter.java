@@ -0,0 +1,70 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+public abstract class RawJsonConverter {
+
+	public static final JsonReader.ReadObject<RawJson> READER = new JsonReader.ReadObject<RawJson>() {
+		@Override
+		public RawJson read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserialize(reader);
+		}
+	};
+	public static final JsonWriter.WriteObject<RawJson> WRITER = new JsonWriter.WriteObject<RawJson>() {
+		@Override
+		public void write(JsonWriter writer, RawJson value) {
+			serializeNullable(value, writer);
+		}
+	};
+
+	public static void serializeNullable(final RawJson value, final JsonWriter sw) {
+		if (value == null) {
+			sw.writeNull();
+		} else {
+			serialize(value, sw);
+		}
+	}
+
+	/**
+	 * Copy JSON bytes into the output as is.
+	 * Bytes are not validated, so the output will be invalid if they don't contain a valid JSON value.
+	 *
+	 * @param value raw JSON
+	 * @param sw    writer
+	 */
+	public static void serialize(final RawJson value, final JsonWriter sw) {
+		sw.writeAscii(value.bytes());
+	}
+
+	/**
+	 * Capture bytes of the current JSON value without parsing it into objects.
+	 * Value is only checked for structural validity while looking for its end.
+	 *
+	 * @param reader input
+	 * @return raw JSON of the current value
+	 * @throws IOException unable to find the end of the value
+	 */
+	public static RawJson deserialize(final JsonReader reader) throws IOException {
+		return new RawJson(reader.readRaw());
+	}
+
+	@SuppressWarnings("unchecked")
+	public static ArrayList<RawJson> deserializeCollection(final JsonReader reader) throws IOException {
+		return reader.deserializeCollection(READER);
+	}
+
+	public static void deserializeCollection(final JsonReader reader, final Collection<RawJson> res) throws IOException {
+		reader.deserializeCollection(READER, res);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static ArrayList<RawJson> deserializeNullableCollection(final JsonReader reader) throws IOException {
+		return reader.deserializeNullableCollection(READER);
+	}
+
+	public static void deserializeNullableCollection(final JsonReader reader, final Collection<RawJson> res) throws IOException {
+		reader.deserializeNullableCollection(READER, res);
+	}
+}
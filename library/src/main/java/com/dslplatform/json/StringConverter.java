@@ -21,6 +21,27 @@ public abstract class StringConverter {
 		}
 	};
 
+	public static final JsonReader.ReadObject<String> ASCII_READER = new JsonReader.ReadObject<String>() {
+		@Override
+		public String read(JsonReader reader) throws IOException {
+			if (reader.wasNull()) return null;
+			return reader.readSimpleString(true);
+		}
+	};
+	public static final JsonReader.ReadObject<String> UNVALIDATED_ASCII_READER = new JsonReader.ReadObject<String>() {
+		@Override
+		public String read(JsonReader reader) throws IOException {
+			if (reader.wasNull()) return null;
+			return reader.readSimpleString(false);
+		}
+	};
+	public static final JsonWriter.WriteObject<String> ASCII_WRITER = new JsonWriter.WriteObject<String>() {
+		@Override
+		public void write(JsonWriter writer, String value) {
+			serializeAsciiNullable(value, writer);
+		}
+	};
+
 	public static void serializeShortNullable(final String value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -45,6 +66,27 @@ public abstract class StringConverter {
 		sw.writeString(value);
 	}
 
+	public static void serializeAsciiNullable(final String value, final JsonWriter sw) {
+		if (value == null) {
+			sw.writeNull();
+		} else {
+			serializeAscii(value, sw);
+		}
+	}
+
+	/**
+	 * Write string which consists only of ASCII characters that don't require escaping.
+	 *
+	 * @param value ascii string
+	 * @param sw writer
+	 */
+	public static void serializeAscii(final String value, final JsonWriter sw) {
+		sw.reserve(value.length() + 2);
+		sw.writeByteUnchecked(JsonWriter.QUOTE);
+		sw.writeAsciiUnchecked(value);
+		sw.writeByteUnchecked(JsonWriter.QUOTE);
+	}
+
 	public static String deserialize(final JsonReader reader) throws IOException {
 		return reader.readString();
 	}
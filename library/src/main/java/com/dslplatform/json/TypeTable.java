@@ -0,0 +1,169 @@
+package com.dslplatform.json;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup table for converters of a frozen DslJson.
+ * <p>
+ * Table is built with hash and displace scheme: keys are grouped into buckets
+ * and each bucket gets a displacement which places all of its keys into distinct free slots.
+ * Lookup is therefore two array reads and a single key comparison, regardless of collisions.
+ * When such displacement can't be found (eg. distinct keys with same hash code)
+ * table falls back to linear probing.
+ *
+ * @param <V> converter type
+ */
+final class TypeTable<V> {
+
+	private static final int MAX_DISPLACEMENT = 1 << 16;
+
+	private final Type[] keys;
+	private final Object[] values;
+	private final int[] displacements;
+	private final int mask;
+	private final int bucketMask;
+	private final int size;
+
+	private TypeTable(final Type[] keys, final Object[] values, final int[] displacements, final int bucketMask, final int size) {
+		this.keys = keys;
+		this.values = values;
+		this.displacements = displacements;
+		this.mask = keys.length - 1;
+		this.bucketMask = bucketMask;
+		this.size = size;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isPerfect() {
+		return displacements != null;
+	}
+
+	private static int bucket(final int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int slot(final int hash, final int displacement) {
+		int h = hash ^ (displacement * 0x85EBCA6B);
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(final Type key) {
+		final int hash = key.hashCode();
+		if (displacements != null) {
+			final int index = slot(hash, displacements[bucket(hash) & bucketMask]) & mask;
+			final Type found = keys[index];
+			return found == key || found != null && found.equals(key) ? (V) values[index] : null;
+		}
+		int index = bucket(hash) & mask;
+		Type found;
+		while ((found = keys[index]) != null) {
+			if (found == key || found.equals(key)) return (V) values[index];
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	private static int powerOfTwo(final int minimum) {
+		int value = 1;
+		while (value < minimum) value <<= 1;
+		return value;
+	}
+
+	static <V> TypeTable<V> from(final Map<Type, ? extends V> map) {
+		final Type[] sourceKeys = map.keySet().toArray(new Type[0]);
+		final Object[] sourceValues = new Object[sourceKeys.length];
+		for (int i = 0; i < sourceKeys.length; i++) {
+			sourceValues[i] = map.get(sourceKeys[i]);
+		}
+		final int length = sourceKeys.length;
+		final int buckets = powerOfTwo(Math.max(1, length / 2));
+		for (int capacity = powerOfTwo(Math.max(2, length + length / 4 + 1)); capacity <= powerOfTwo(length * 4 + 2); capacity <<= 1) {
+			final TypeTable<V> table = displace(sourceKeys, sourceValues, buckets, capacity);
+			if (table != null) return table;
+		}
+		return probing(sourceKeys, sourceValues);
+	}
+
+	private static <V> TypeTable<V> displace(final Type[] sourceKeys, final Object[] sourceValues, final int buckets, final int capacity) {
+		final List<List<Integer>> grouped = new ArrayList<List<Integer>>(buckets);
+		for (int i = 0; i < buckets; i++) {
+			grouped.add(new ArrayList<Integer>(2));
+		}
+		for (int i = 0; i < sourceKeys.length; i++) {
+			grouped.get(bucket(sourceKeys[i].hashCode()) & (buckets - 1)).add(i);
+		}
+		final Integer[] order = new Integer[buckets];
+		for (int i = 0; i < buckets; i++) order[i] = i;
+		//place largest buckets first while there are still many free slots
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer left, final Integer right) {
+				return grouped.get(right).size() - grouped.get(left).size();
+			}
+		});
+		final Type[] keys = new Type[capacity];
+		final Object[] values = new Object[capacity];
+		final int[] displacements = new int[buckets];
+		final int[] slots = new int[sourceKeys.length];
+		final int mask = capacity - 1;
+		for (final Integer b : order) {
+			final List<Integer> members = grouped.get(b);
+			if (members.isEmpty()) break;
+			boolean placed = false;
+			for (int d = 0; d < MAX_DISPLACEMENT && !placed; d++) {
+				placed = true;
+				for (int m = 0; m < members.size() && placed; m++) {
+					final int index = slot(sourceKeys[members.get(m)].hashCode(), d) & mask;
+					if (keys[index] != null) {
+						placed = false;
+					} else {
+						for (int p = 0; p < m; p++) {
+							if (slots[p] == index) {
+								placed = false;
+								break;
+							}
+						}
+					}
+					slots[m] = index;
+				}
+				if (placed) {
+					displacements[b] = d;
+					for (int m = 0; m < members.size(); m++) {
+						keys[slots[m]] = sourceKeys[members.get(m)];
+						values[slots[m]] = sourceValues[members.get(m)];
+					}
+				}
+			}
+			if (!placed) return null;
+		}
+		return new TypeTable<V>(keys, values, displacements, buckets - 1, sourceKeys.length);
+	}
+
+	private static <V> TypeTable<V> probing(final Type[] sourceKeys, final Object[] sourceValues) {
+		final int capacity = powerOfTwo(Math.max(2, sourceKeys.length * 2));
+		final Type[] keys = new Type[capacity];
+		final Object[] values = new Object[capacity];
+		final int mask = capacity - 1;
+		for (int i = 0; i < sourceKeys.length; i++) {
+			int index = bucket(sourceKeys[i].hashCode()) & mask;
+			while (keys[index] != null) index = (index + 1) & mask;
+			keys[index] = sourceKeys[i];
+			values[index] = sourceValues[i];
+		}
+		return new TypeTable<V>(keys, values, null, 0, sourceKeys.length);
+	}
+}
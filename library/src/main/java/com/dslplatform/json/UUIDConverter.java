@@ -3,6 +3,7 @@ package com.dslplatform.json;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.UUID;
 
 public abstract class UUIDConverter {
@@ -21,29 +22,40 @@ public abstract class UUIDConverter {
 		}
 	};
 
-	private static final char[] Lookup;
-	private static final byte[] Values;
+	public static final JsonReader.ReadObject<UUID[]> ARRAY_READER = new JsonReader.ReadObject<UUID[]>() {
+		@Override
+		public UUID[] read(JsonReader reader) throws IOException {
+			return (UUID[]) reader.readArray(READER, EMPTY_ARRAY);
+		}
+	};
+	public static final JsonWriter.WriteObject<UUID[]> ARRAY_WRITER = new JsonWriter.WriteObject<UUID[]>() {
+		@Override
+		public void write(JsonWriter writer, UUID[] value) {
+			serialize(value, writer);
+		}
+	};
+
+	private static final UUID[] EMPTY_ARRAY = new UUID[0];
+	private static final int BLOCK_SIZE = 64;
+
+	//two lowercase hex characters for each byte value packed into 16 bits
+	private static final short[] HEX;
+
+	private static final long ASCII_MASK = 0x8080808080808080L;
+	private static final long NIBBLE_MASK = 0x0F0F0F0F0F0F0F0FL;
+	private static final long LOW_BIT_MASK = 0x0101010101010101L;
+	private static final long CASE_MASK = 0x2020202020202020L;
+	private static final long ZERO_PADDING = 0x3030303000000000L;
 
 	static {
-		Lookup = new char[256];
-		Values = new byte['f' + 1 - '0'];
+		HEX = new short[256];
 		for (int i = 0; i < 256; i++) {
 			int hi = (i >> 4) & 15;
 			int lo = i & 15;
-			Lookup[i] = (char) (((hi < 10 ? '0' + hi : 'a' + hi - 10) << 8) + (lo < 10 ? '0' + lo : 'a' + lo - 10));
-		}
-		for (char c = '0'; c <= '9'; c++) {
-			Values[c - '0'] = (byte) (c - '0');
-		}
-		for (char c = 'a'; c <= 'f'; c++) {
-			Values[c - '0'] = (byte) (c - 'a' + 10);
-		}
-		for (char c = 'A'; c <= 'F'; c++) {
-			Values[c - '0'] = (byte) (c - 'A' + 10);
+			HEX[i] = (short) (((hi < 10 ? '0' + hi : 'a' + hi - 10) << 8) + (lo < 10 ? '0' + lo : 'a' + lo - 10));
 		}
 	}
 
-
 	public static void serializeNullable(final UUID value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -53,123 +65,197 @@ public abstract class UUIDConverter {
 	}
 
 	public static void serialize(final UUID value, final JsonWriter sw) {
-		final long hi = value.getMostSignificantBits();
-		final long lo = value.getLeastSignificantBits();
-		final int hi1 = (int) (hi >> 32);
-		final int hi2 = (int) hi;
-		final int lo1 = (int) (lo >> 32);
-		final int lo2 = (int) lo;
 		final byte[] buf = sw.ensureCapacity(38);
 		final int pos = sw.size();
+		write(value, buf, pos);
+		sw.advance(38);
+	}
+
+	/**
+	 * Serialize UUID without checking for available space.
+	 * At least 38 bytes must be reserved upfront through JsonWriter reserve method.
+	 *
+	 * @param value UUID to serialize. Can't be null
+	 * @param sw    writer
+	 */
+	public static void serializeUnchecked(final UUID value, final JsonWriter sw) {
+		write(value, sw.getByteBuffer(), sw.size());
+		sw.advance(38);
+	}
+
+	/**
+	 * Serialize all UUIDs while reserving the required space once per block of elements.
+	 * Blocks are bounded, so a large input will not grow the buffer when writing to a stream.
+	 *
+	 * @param values array of UUIDs. Can contain nulls
+	 * @param sw     writer
+	 */
+	public static void serialize(final UUID[] values, final JsonWriter sw) {
+		if (values == null) {
+			sw.writeNull();
+			return;
+		} else if (values.length == 0) {
+			sw.writeAscii("[]");
+			return;
+		}
+		sw.writeByte(JsonWriter.ARRAY_START);
+		int i = 0;
+		while (i < values.length) {
+			final int end = Math.min(i + BLOCK_SIZE, values.length);
+			sw.reserve((end - i) * 39);
+			final byte[] buf = sw.getByteBuffer();
+			int position = sw.size();
+			for (; i < end; i++) {
+				position = writeElement(values[i], buf, position);
+			}
+			sw.advance(position - sw.size());
+		}
+		sw.getByteBuffer()[sw.size() - 1] = JsonWriter.ARRAY_END;
+	}
+
+	/**
+	 * Serialize all UUIDs while reserving the required space once per block of elements.
+	 * Blocks are bounded, so a large input will not grow the buffer when writing to a stream.
+	 *
+	 * @param values collection of UUIDs. Can contain nulls
+	 * @param sw     writer
+	 */
+	public static void serialize(final Collection<UUID> values, final JsonWriter sw) {
+		if (values == null) {
+			sw.writeNull();
+			return;
+		} else if (values.isEmpty()) {
+			sw.writeAscii("[]");
+			return;
+		}
+		sw.writeByte(JsonWriter.ARRAY_START);
+		final Iterator<UUID> iterator = values.iterator();
+		int remaining = values.size();
+		while (remaining > 0) {
+			final int count = Math.min(BLOCK_SIZE, remaining);
+			sw.reserve(count * 39);
+			final byte[] buf = sw.getByteBuffer();
+			int position = sw.size();
+			for (int i = 0; i < count; i++) {
+				position = writeElement(iterator.next(), buf, position);
+			}
+			sw.advance(position - sw.size());
+			remaining -= count;
+		}
+		sw.getByteBuffer()[sw.size() - 1] = JsonWriter.ARRAY_END;
+	}
+
+	private static int writeElement(final UUID value, final byte[] buf, final int pos) {
+		if (value == null) {
+			buf[pos] = 'n';
+			buf[pos + 1] = 'u';
+			buf[pos + 2] = 'l';
+			buf[pos + 3] = 'l';
+			buf[pos + 4] = ',';
+			return pos + 5;
+		}
+		write(value, buf, pos);
+		buf[pos + 38] = ',';
+		return pos + 39;
+	}
+
+	private static void write(final UUID value, final byte[] buf, final int pos) {
+		final long hi = value.getMostSignificantBits();
+		final long lo = value.getLeastSignificantBits();
 		buf[pos] = '"';
-		int v = (hi1 >> 24) & 255;
-		int l = Lookup[v];
-		buf[pos + 1] = (byte) (l >> 8);
-		buf[pos + 2] = (byte) l;
-		v = (hi1 >> 16) & 255;
-		l = Lookup[v];
-		buf[pos + 3] = (byte) (l >> 8);
-		buf[pos + 4] = (byte) l;
-		v = (hi1 >> 8) & 255;
-		l = Lookup[v];
-		buf[pos + 5] = (byte) (l >> 8);
-		buf[pos + 6] = (byte) l;
-		v = hi1 & 255;
-		l = Lookup[v];
-		buf[pos + 7] = (byte) (l >> 8);
-		buf[pos + 8] = (byte) l;
+		writeHex4((int) (hi >>> 48), buf, pos + 1);
+		writeHex4((int) (hi >>> 32), buf, pos + 5);
 		buf[pos + 9] = '-';
-		v = (hi2 >> 24) & 255;
-		l = Lookup[v];
-		buf[pos + 10] = (byte) (l >> 8);
-		buf[pos + 11] = (byte) l;
-		v = (hi2 >> 16) & 255;
-		l = Lookup[v];
-		buf[pos + 12] = (byte) (l >> 8);
-		buf[pos + 13] = (byte) l;
+		writeHex4((int) (hi >>> 16), buf, pos + 10);
 		buf[pos + 14] = '-';
-		v = (hi2 >> 8) & 255;
-		l = Lookup[v];
-		buf[pos + 15] = (byte) (l >> 8);
-		buf[pos + 16] = (byte) l;
-		v = hi2 & 255;
-		l = Lookup[v];
-		buf[pos + 17] = (byte) (l >> 8);
-		buf[pos + 18] = (byte) l;
+		writeHex4((int) hi, buf, pos + 15);
 		buf[pos + 19] = '-';
-		v = (lo1 >> 24) & 255;
-		l = Lookup[v];
-		buf[pos + 20] = (byte) (l >> 8);
-		buf[pos + 21] = (byte) l;
-		v = (lo1 >> 16) & 255;
-		l = Lookup[v];
-		buf[pos + 22] = (byte) (l >> 8);
-		buf[pos + 23] = (byte) l;
+		writeHex4((int) (lo >>> 48), buf, pos + 20);
 		buf[pos + 24] = '-';
-		v = (lo1 >> 8) & 255;
-		l = Lookup[v];
-		buf[pos + 25] = (byte) (l >> 8);
-		buf[pos + 26] = (byte) l;
-		v = lo1 & 255;
-		l = Lookup[v];
-		buf[pos + 27] = (byte) (l >> 8);
-		buf[pos + 28] = (byte) l;
-		v = (lo2 >> 24) & 255;
-		l = Lookup[v];
-		buf[pos + 29] = (byte) (l >> 8);
-		buf[pos + 30] = (byte) l;
-		v = (lo2 >> 16) & 255;
-		l = Lookup[v];
-		buf[pos + 31] = (byte) (l >> 8);
-		buf[pos + 32] = (byte) l;
-		v = (lo2 >> 8) & 255;
-		l = Lookup[v];
-		buf[pos + 33] = (byte) (l >> 8);
-		buf[pos + 34] = (byte) l;
-		v = lo2 & 255;
-		l = Lookup[v];
-		buf[pos + 35] = (byte) (l >> 8);
-		buf[pos + 36] = (byte) l;
+		writeHex4((int) (lo >>> 32), buf, pos + 25);
+		writeHex4((int) (lo >>> 16), buf, pos + 29);
+		writeHex4((int) lo, buf, pos + 33);
 		buf[pos + 37] = '"';
-		sw.advance(38);
+	}
+
+	private static void writeHex4(final int value, final byte[] buf, final int pos) {
+		final int h = HEX[(value >> 8) & 255];
+		final int l = HEX[value & 255];
+		buf[pos] = (byte) (h >> 8);
+		buf[pos + 1] = (byte) h;
+		buf[pos + 2] = (byte) (l >> 8);
+		buf[pos + 3] = (byte) l;
+	}
+
+	private static long load8(final byte[] buf, final int pos) {
+		return ((long) buf[pos] << 56)
+				| ((long) (buf[pos + 1] & 255) << 48)
+				| ((long) (buf[pos + 2] & 255) << 40)
+				| ((long) (buf[pos + 3] & 255) << 32)
+				| ((long) (buf[pos + 4] & 255) << 24)
+				| ((buf[pos + 5] & 255) << 16)
+				| ((buf[pos + 6] & 255) << 8)
+				| (buf[pos + 7] & 255);
+	}
+
+	private static long load4(final byte[] buf, final int pos) {
+		return ZERO_PADDING
+				| ((long) (buf[pos] & 255) << 24)
+				| ((buf[pos + 1] & 255) << 16)
+				| ((buf[pos + 2] & 255) << 8)
+				| (buf[pos + 3] & 255);
+	}
+
+	/**
+	 * Decode 8 ASCII hex characters packed into a long without branching on individual characters.
+	 * Each byte is checked to be within 0-9, a-f or A-F range via carry-less additions
+	 * which set the highest bit of the byte when the bound is crossed.
+	 *
+	 * @param x 8 characters in big endian order
+	 * @return decoded 32 bit value or -1 if any character is not a valid hex digit
+	 */
+	private static long decodeHex8(final long x) {
+		final long lower = x | CASE_MASK;
+		final long digit = (x + 0x5050505050505050L) & ~(x + 0x4646464646464646L);
+		final long alpha = (lower + 0x1F1F1F1F1F1F1F1FL) & ~(lower + 0x1919191919191919L);
+		final long valid = ((digit | alpha) & ~x) & ASCII_MASK;
+		long v = (x & NIBBLE_MASK) + 9 * ((x >>> 6) & LOW_BIT_MASK);
+		v = ((v >>> 4) | v) & 0x00FF00FF00FF00FFL;
+		v = ((v >>> 8) | v) & 0x0000FFFF0000FFFFL;
+		v = ((v >>> 16) | v) & 0xFFFFFFFFL;
+		return valid == ASCII_MASK ? v : -1;
 	}
 
 	public static UUID deserialize(final JsonReader reader) throws IOException {
-		final char[] buf = reader.readSimpleQuote();
-		final int len = reader.getCurrentIndex() - reader.getTokenStart();
-		if (len == 37 && buf[8] == '-' && buf[13] == '-' && buf[18] == '-' && buf[23] == '-') {
-			try {
-				long hi = 0;
-				for (int i = 0; i < 8; i++)
-					hi = (hi << 4) + Values[buf[i] - '0'];
-				for (int i = 9; i < 13; i++)
-					hi = (hi << 4) + Values[buf[i] - '0'];
-				for (int i = 14; i < 18; i++)
-					hi = (hi << 4) + Values[buf[i] - '0'];
-				long lo = 0;
-				for (int i = 19; i < 23; i++)
-					lo = (lo << 4) + Values[buf[i] - '0'];
-				for (int i = 24; i < 36; i++)
-					lo = (lo << 4) + Values[buf[i] - '0'];
-				return new UUID(hi, lo);
-			} catch (ArrayIndexOutOfBoundsException ex) {
-				return UUID.fromString(new String(buf, 0, 36));
-			}
-		} else if (len == 33) {
-			try {
-				long hi = 0;
-				for (int i = 0; i < 16; i++)
-					hi = (hi << 4) + Values[buf[i] - '0'];
-				long lo = 0;
-				for (int i = 16; i < 32; i++)
-					lo = (lo << 4) + Values[buf[i] - '0'];
-				return new UUID(hi, lo);
-			} catch (ArrayIndexOutOfBoundsException ex) {
-				return UUID.fromString(new String(buf, 0, 32));
+		if (reader.last() == '"') {
+			final byte[] buf = reader.buffer;
+			final int start = reader.getCurrentIndex();
+			if (start + 37 <= reader.length() && buf[start + 36] == '"'
+					&& buf[start + 8] == '-' && buf[start + 13] == '-' && buf[start + 18] == '-' && buf[start + 23] == '-') {
+				final long h1 = decodeHex8(load8(buf, start));
+				final long h2 = decodeHex8(load4(buf, start + 9));
+				final long h3 = decodeHex8(load4(buf, start + 14));
+				final long l1 = decodeHex8(load4(buf, start + 19));
+				final long l2 = decodeHex8(load4(buf, start + 24));
+				final long l3 = decodeHex8(load8(buf, start + 28));
+				if ((h1 | h2 | h3 | l1 | l2 | l3) >= 0) {
+					reader.consumeDirect(start + 37);
+					return new UUID(h1 << 32 | h2 << 16 | h3, l1 << 48 | l2 << 32 | l3);
+				}
+			} else if (start + 33 <= reader.length() && buf[start + 32] == '"') {
+				final long h1 = decodeHex8(load8(buf, start));
+				final long h2 = decodeHex8(load8(buf, start + 8));
+				final long l1 = decodeHex8(load8(buf, start + 16));
+				final long l2 = decodeHex8(load8(buf, start + 24));
+				if ((h1 | h2 | l1 | l2) >= 0) {
+					reader.consumeDirect(start + 33);
+					return new UUID(h1 << 32 | h2, l1 << 32 | l2);
+				}
 			}
-		} else {
-			return UUID.fromString(new String(buf, 0, len - 1));
 		}
+		final char[] tmp = reader.readSimpleQuote();
+		final int len = reader.getCurrentIndex() - reader.getTokenStart() - 1;
+		return UUID.fromString(new String(tmp, 0, len));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -531,6 +531,25 @@ public class Analysis {
 			if (alternativeNames != null) {
 				attr.alternativeNames.addAll(Arrays.asList(alternativeNames));
 			}
+			attr.views.addAll(getViews(annotation));
+			for (String view : attr.views) {
+				if (!info.views.contains(view)) {
+					hasError = true;
+					messager.printMessage(
+							Diagnostic.Kind.ERROR,
+							"View '" + view + "' used on property '" + name + "' is not declared in @CompiledJson views of '" + info.element.getQualifiedName() + "'",
+							element,
+							annotation);
+				}
+			}
+			if (annotation != null && booleanAnnotationValue(annotation, "asciiOnly()", false) && !String.class.getName().equals(attr.typeName)) {
+				hasError = true;
+				messager.printMessage(
+						Diagnostic.Kind.ERROR,
+						"asciiOnly can only be used on String properties. Found on property '" + name + "' of type " + attr.typeName,
+						element,
+						annotation);
+			}
 			if (attr.converter != null) {
 				TypeElement typeConverter = elements.getTypeElement(attr.converter.toString());
 				String javaType = type.toString();
@@ -713,6 +732,9 @@ public class Analysis {
 							isMinified(annotation),
 							formats);
 			info.path.addAll(path);
+			if (!isJsonObject) {
+				info.views.addAll(getViews(annotation));
+			}
 			if (type == ObjectType.ENUM) {
 				info.constants.addAll(getEnumConstants(info.element));
 			}
@@ -1109,6 +1131,24 @@ public class Analysis {
 		return null;
 	}
 
+	public static List<String> getViews(AnnotationMirror annotation) {
+		if (annotation == null) return Collections.emptyList();
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = annotation.getElementValues();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> ee : values.entrySet()) {
+			if (ee.getKey().toString().equals("views()")) {
+				@SuppressWarnings("unchecked")
+				List<AnnotationValue> val = (List) ee.getValue().getValue();
+				if (val == null) return Collections.emptyList();
+				List<String> views = new ArrayList<String>(val.size());
+				for (AnnotationValue v : val) {
+					views.add(v.getValue().toString());
+				}
+				return views;
+			}
+		}
+		return Collections.emptyList();
+	}
+
 	public boolean isFullMatch(Element property, AnnotationMirror dslAnn) {
 		if (dslAnn == null) return false;
 		Map<? extends ExecutableElement, ? extends AnnotationValue> values = dslAnn.getElementValues();
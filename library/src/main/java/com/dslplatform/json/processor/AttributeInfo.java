@@ -28,6 +28,7 @@ public class AttributeInfo {
 	public final TypeMirror converter;
 	public final boolean isJsonObject;
 	public final List<String> alternativeNames = new ArrayList<String>();
+	public final List<String> views = new ArrayList<String>();
 	public final String readProperty;
 	public final String typeName;
 	public final boolean isArray;
@@ -31,6 +31,7 @@ public class StructInfo {
 	public final LinkedHashMap<String, AttributeInfo> attributes = new LinkedHashMap<String, AttributeInfo>();
 	public final Set<Element> properties = new HashSet<Element>();
 	public final List<String> constants = new ArrayList<String>();
+	public final List<String> views = new ArrayList<String>();
 	public final Stack<String> path = new Stack<String>();
 	public final Map<String, TypeMirror> unknowns = new LinkedHashMap<String, TypeMirror>();
 
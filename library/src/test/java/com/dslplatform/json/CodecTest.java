@@ -0,0 +1,110 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.*;
+
+public class CodecTest {
+
+	private final DslJson<Object> dslJson = new DslJson<Object>();
+
+	@Test
+	public void simpleRoundtrip() throws IOException {
+		Codec<UUID> codec = dslJson.codecFor(UUID.class);
+		Assert.assertTrue(codec.canDecode());
+		Assert.assertTrue(codec.canEncode());
+		UUID value = UUID.randomUUID();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		codec.encode(value, os);
+		Assert.assertEquals("\"" + value + "\"", os.toString());
+		Assert.assertEquals(value, codec.decode(os.toByteArray(), os.size()));
+		Assert.assertEquals(value, codec.decode(new ByteArrayInputStream(os.toByteArray())));
+		JsonWriter writer = dslJson.newWriter();
+		codec.encode(value, writer);
+		Assert.assertEquals(os.toString(), writer.toString());
+	}
+
+	@Test
+	public void nulls() throws IOException {
+		Codec<String> codec = dslJson.codecFor(String.class);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		codec.encode(null, os);
+		Assert.assertEquals("null", os.toString());
+		Assert.assertNull(codec.decode(os.toByteArray(), os.size()));
+		JsonWriter writer = dslJson.newWriter();
+		codec.encode(null, writer);
+		Assert.assertEquals("null", writer.toString());
+	}
+
+	@Test
+	public void typeManifest() throws IOException {
+		Type type = int[].class;
+		Codec<Object> codec = dslJson.codecFor(type);
+		byte[] input = "[1,2,3]".getBytes("UTF-8");
+		Assert.assertArrayEquals(new int[]{1, 2, 3}, (int[]) codec.decode(input, input.length));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		codec.encode(new int[]{4, 5}, os);
+		Assert.assertEquals("[4,5]", os.toString());
+	}
+
+	@Test
+	public void jsonObjects() throws IOException {
+		Codec<StreamTest.Obj> codec = dslJson.codecFor(StreamTest.Obj.class);
+		StreamTest.Obj obj = new StreamTest.Obj();
+		obj.x = 5;
+		obj.y = 2.5;
+		obj.z = true;
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		codec.encode(obj, os);
+		Assert.assertEquals("{\"x\":5,\"y\":2.5,\"z\":true}", os.toString());
+		StreamTest.Obj res = codec.decode(os.toByteArray(), os.size());
+		Assert.assertEquals(5, res.x);
+		Assert.assertEquals(2.5, res.y, 0);
+		Assert.assertTrue(res.z);
+		byte[] nullInput = "null".getBytes("UTF-8");
+		Assert.assertNull(codec.decode(nullInput, nullInput.length));
+	}
+
+	@Test
+	public void unknownType() {
+		try {
+			dslJson.codecFor(CodecTest.class);
+			Assert.fail("Expecting failure");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unable to find reader or writer"));
+		}
+	}
+
+	@Test
+	public void sharedBetweenThreads() throws Exception {
+		final Codec<Integer> codec = dslJson.codecFor(Integer.class);
+		final List<String> errors = Collections.synchronizedList(new ArrayList<String>());
+		Thread[] workers = new Thread[4];
+		for (int t = 0; t < workers.length; t++) {
+			final int offset = t * 1000;
+			workers[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						ByteArrayOutputStream os = new ByteArrayOutputStream();
+						for (int i = offset; i < offset + 1000; i++) {
+							os.reset();
+							codec.encode(i, os);
+							if (codec.decode(os.toByteArray(), os.size()) != i) errors.add("Invalid value for " + i);
+						}
+					} catch (IOException ex) {
+						errors.add(ex.getMessage());
+					}
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread t : workers) t.join();
+		Assert.assertEquals(Collections.<String>emptyList(), errors);
+	}
+}
@@ -0,0 +1,200 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.*;
+
+public class FreezeTest {
+
+	static class Base {
+		int x;
+	}
+
+	static class Derived extends Base {
+	}
+
+	private static DslJson<Object> withBase(DslJson<Object> dslJson) {
+		dslJson.registerReader(Base.class, new JsonReader.ReadObject<Base>() {
+			@Override
+			public Base read(JsonReader reader) throws IOException {
+				Base base = new Base();
+				base.x = NumberConverter.deserializeInt(reader);
+				return base;
+			}
+		});
+		dslJson.registerWriter(Base.class, new JsonWriter.WriteObject<Base>() {
+			@Override
+			public void write(JsonWriter writer, Base value) {
+				NumberConverter.serialize(value.x, writer);
+			}
+		});
+		return dslJson;
+	}
+
+	@Test
+	public void lookupsAfterFreeze() throws IOException {
+		DslJson<Object> dslJson = withBase(new DslJson<Object>());
+		Assert.assertFalse(dslJson.isFrozen());
+		dslJson.freeze(Base.class);
+		Assert.assertTrue(dslJson.isFrozen());
+		Assert.assertNotNull(dslJson.tryFindReader(UUID.class));
+		Assert.assertNotNull(dslJson.tryFindWriter(UUID.class));
+		Base base = new Base();
+		base.x = 3;
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(base, os);
+		Assert.assertEquals("3", os.toString());
+		Base res = dslJson.deserialize(Base.class, os.toByteArray(), os.size());
+		Assert.assertEquals(3, res.x);
+	}
+
+	static class Other extends Base {
+	}
+
+	@Test
+	public void hierarchyLookupAfterFreeze() {
+		DslJson<Object> dslJson = withBase(new DslJson<Object>());
+		dslJson.freeze(Derived.class);
+		Assert.assertSame(dslJson.tryFindWriter(Base.class), dslJson.tryFindWriter(Derived.class));
+		Assert.assertNull(dslJson.tryFindWriter(Other.class));
+	}
+
+	@Test
+	public void registrationDuringFreezeIsOrdered() throws InterruptedException {
+		final DslJson<Object> dslJson = new DslJson<Object>();
+		final JsonWriter.WriteObject<FreezeTest> writer = new JsonWriter.WriteObject<FreezeTest>() {
+			@Override
+			public void write(JsonWriter writer, FreezeTest value) {
+				writer.writeNull();
+			}
+		};
+		final boolean[] registered = new boolean[1];
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					dslJson.registerWriter(FreezeTest.class, writer);
+					registered[0] = true;
+				} catch (IllegalStateException ignore) {
+				}
+			}
+		});
+		thread.start();
+		dslJson.freeze();
+		thread.join();
+		Assert.assertEquals(registered[0], dslJson.tryFindWriter(FreezeTest.class) == writer);
+	}
+
+	@Test
+	public void registrationIsRejected() {
+		DslJson<Object> dslJson = new DslJson<Object>();
+		dslJson.freeze();
+		try {
+			dslJson.registerReader(FreezeTest.class, new JsonReader.ReadObject<FreezeTest>() {
+				@Override
+				public FreezeTest read(JsonReader reader) {
+					return null;
+				}
+			});
+			Assert.fail("Expecting failure");
+		} catch (IllegalStateException ex) {
+			Assert.assertTrue(ex.getMessage().contains("frozen"));
+		}
+		try {
+			dslJson.freeze();
+			Assert.fail("Expecting failure");
+		} catch (IllegalStateException ignore) {
+		}
+	}
+
+	@Test
+	public void viewWritersAreAcceptedAfterFreeze() {
+		DslJson<Object> dslJson = withBase(new DslJson<Object>());
+		dslJson.freeze(Base.class);
+		JsonWriter.WriteObject<Base> view = new JsonWriter.WriteObject<Base>() {
+			@Override
+			public void write(JsonWriter writer, Base value) {
+				writer.writeNull();
+			}
+		};
+		dslJson.registerWriter(Base.class, Derived.class, view);
+		Assert.assertSame(view, dslJson.tryFindWriter(Base.class, Derived.class));
+		Assert.assertNotSame(view, dslJson.tryFindWriter(Base.class));
+	}
+
+	@Test
+	public void factoriesAreNotInvoked() {
+		DslJson<Object> dslJson = new DslJson<Object>();
+		dslJson.freeze();
+		long invocations = dslJson.getFactoryInvocations();
+		Assert.assertNull(dslJson.tryFindReader(FreezeTest.class));
+		Assert.assertNull(dslJson.tryFindBinder(FreezeTest.class));
+		dslJson.tryFindWriter(FreezeTest.class);
+		Assert.assertEquals(invocations, dslJson.getFactoryInvocations());
+	}
+
+	@Test
+	public void unknownRoot() {
+		DslJson<Object> dslJson = new DslJson<Object>();
+		try {
+			dslJson.freeze(FreezeTest.class);
+			Assert.fail("Expecting failure");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unable to find reader or writer"));
+		}
+		Assert.assertFalse(dslJson.isFrozen());
+	}
+
+	@Test
+	public void freezeFromSettings() {
+		DslJson<Object> dslJson = new DslJson<Object>(new DslJson.Settings<Object>().freeze(UUID.class));
+		Assert.assertTrue(dslJson.isFrozen());
+		Assert.assertNotNull(dslJson.tryFindWriter(UUID.class));
+	}
+
+	@Test
+	public void perfectTable() {
+		Map<Type, Integer> map = new HashMap<Type, Integer>();
+		Class<?>[] types = {String.class, Integer.class, Long.class, UUID.class, int[].class, Object.class, Date.class, URI.class};
+		for (int i = 0; i < types.length; i++) map.put(types[i], i);
+		TypeTable<Integer> table = TypeTable.from(map);
+		Assert.assertTrue(table.isPerfect());
+		Assert.assertEquals(types.length, table.size());
+		for (int i = 0; i < types.length; i++) Assert.assertEquals(Integer.valueOf(i), table.get(types[i]));
+		Assert.assertNull(table.get(FreezeTest.class));
+		Assert.assertNull(TypeTable.<Integer>from(new HashMap<Type, Integer>()).get(String.class));
+	}
+
+	private static class SameHash implements Type {
+		private final String name;
+
+		SameHash(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof SameHash && ((SameHash) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+	}
+
+	@Test
+	public void collidingHashes() {
+		Map<Type, String> map = new HashMap<Type, String>();
+		for (int i = 0; i < 5; i++) map.put(new SameHash("t" + i), "v" + i);
+		TypeTable<String> table = TypeTable.from(map);
+		Assert.assertFalse(table.isPerfect());
+		for (int i = 0; i < 5; i++) Assert.assertEquals("v" + i, table.get(new SameHash("t" + i)));
+		Assert.assertNull(table.get(new SameHash("t5")));
+	}
+}
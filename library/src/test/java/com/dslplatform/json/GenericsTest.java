@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 
 public class GenericsTest {
 	public abstract static class Generic<T> {
@@ -167,4 +168,102 @@ public class GenericsTest {
 		Assert.assertTrue(json.canSerialize(int[][].class));
 		Assert.assertTrue(json.canDeserialize(int[][].class));
 	}
+
+	@Test
+	public void concurrentFirstUsePublishesSingleConverter() throws Exception {
+		final DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(new ArrayReader())
+				.resolveWriter(new ArrayWriter()));
+		final int threads = 8;
+		final Object[] writers = new Object[threads];
+		final Object[] readers = new Object[threads];
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			final int index = i;
+			workers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException ignore) {
+					}
+					writers[index] = json.tryFindWriter(int[][].class);
+					readers[index] = json.tryFindReader(int[][].class);
+				}
+			});
+			workers[i].start();
+		}
+		start.countDown();
+		for (Thread t : workers) {
+			t.join();
+		}
+		for (int i = 0; i < threads; i++) {
+			Assert.assertNotNull(writers[i]);
+			Assert.assertSame(json.tryFindWriter(int[][].class), writers[i]);
+			Assert.assertSame(json.tryFindReader(int[][].class), readers[i]);
+		}
+	}
+
+	@Test
+	public void missingConvertersAreCachedUntilRegistration() {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(new ArrayReader())
+				.resolveWriter(new ArrayWriter()));
+		Assert.assertNull(json.tryFindWriter(Thread.class));
+		Assert.assertNull(json.tryFindReader(Thread.class));
+		long invocations = json.getFactoryInvocations();
+		Assert.assertTrue(invocations > 0);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertNull(json.tryFindWriter(Thread.class));
+			Assert.assertNull(json.tryFindReader(Thread.class));
+			Assert.assertFalse(json.canSerialize(Thread.class));
+		}
+		Assert.assertEquals(invocations, json.getFactoryInvocations());
+		json.registerWriter(Runnable.class, new JsonWriter.WriteObject<Runnable>() {
+			@Override
+			public void write(JsonWriter writer, Runnable value) {
+				writer.writeNull();
+			}
+		});
+		Assert.assertNotNull(json.tryFindWriter(Thread.class));
+		Assert.assertTrue(json.getFactoryInvocations() > invocations);
+		Assert.assertNotNull(json.tryFindWriter(int[][].class));
+		Assert.assertNotNull(json.tryFindReader(int[][].class));
+	}
+
+	@Test
+	public void convertersFromFactoriesKeepMisses() {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(new ArrayReader())
+				.resolveWriter(new ArrayWriter()));
+		Assert.assertNull(json.tryFindWriter(Thread.class));
+		Assert.assertNull(json.tryFindReader(Thread.class));
+		Assert.assertNotNull(json.tryFindWriter(int[][].class));
+		Assert.assertNotNull(json.tryFindReader(int[][].class));
+		long invocations = json.getFactoryInvocations();
+		Assert.assertNull(json.tryFindWriter(Thread.class));
+		Assert.assertNull(json.tryFindReader(Thread.class));
+		Assert.assertEquals(invocations, json.getFactoryInvocations());
+	}
+
+	@Test
+	public void writerFromFactoryResolvesSubtypes() {
+		final JsonWriter.WriteObject<Runnable> runnable = new JsonWriter.WriteObject<Runnable>() {
+			@Override
+			public void write(JsonWriter writer, Runnable value) {
+				writer.writeNull();
+			}
+		};
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveWriter(new DslJson.ConverterFactory<JsonWriter.WriteObject>() {
+					@Override
+					public JsonWriter.WriteObject tryCreate(Type manifest, DslJson dslJson) {
+						return Runnable.class.equals(manifest) ? runnable : null;
+					}
+				}));
+		Assert.assertNull(json.tryFindWriter(Thread.class));
+		Assert.assertSame(runnable, json.tryFindWriter(Runnable.class));
+		Assert.assertSame(runnable, json.tryFindWriter(Thread.class));
+	}
 }
@@ -0,0 +1,91 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+
+public class NetConverterTest {
+
+	private final DslJson<Object> dslJson = new DslJson<Object>();
+
+	private InetAddress parse(String input) throws IOException {
+		byte[] bytes = ("\"" + input + "\"").getBytes("UTF-8");
+		return dslJson.deserialize(InetAddress.class, bytes, bytes.length);
+	}
+
+	private String write(InetAddress address) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(address, os);
+		return os.toString();
+	}
+
+	@Test
+	public void ipv4Literals() throws IOException {
+		for (String ip : new String[]{"0.0.0.0", "127.0.0.1", "10.20.30.40", "255.255.255.255", "192.168.1.100"}) {
+			InetAddress address = parse(ip);
+			Assert.assertTrue(address instanceof Inet4Address);
+			Assert.assertEquals(InetAddress.getByName(ip), address);
+			Assert.assertEquals("\"" + address.getHostAddress() + "\"", write(address));
+		}
+	}
+
+	@Test
+	public void ipv6Literals() throws IOException {
+		for (String ip : new String[]{
+				"::", "::1", "1::", "fe80::202:b3ff:fe1e:8329", "2001:db8:0:0:1:0:0:1", "2001:DB8::1:0:0:1",
+				"1:2:3:4:5:6:7:8", "::1.2.3.4", "1:2:3:4:5:6:1.2.3.4", "[::1]", "ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"}) {
+			InetAddress address = parse(ip);
+			Assert.assertEquals(InetAddress.getByName(ip), address);
+			Assert.assertEquals("\"" + address.getHostAddress() + "\"", write(address));
+		}
+	}
+
+	@Test
+	public void ipv4MappedIsConverted() throws IOException {
+		InetAddress address = parse("::ffff:1.2.3.4");
+		Assert.assertTrue(address instanceof Inet4Address);
+		Assert.assertEquals("\"1.2.3.4\"", write(address));
+	}
+
+	@Test
+	public void numericScope() throws IOException {
+		InetAddress address = parse("fe80::1%3");
+		Assert.assertTrue(address instanceof Inet6Address);
+		Assert.assertEquals(3, ((Inet6Address) address).getScopeId());
+		Assert.assertEquals("\"fe80:0:0:0:0:0:0:1%3\"", write(address));
+		Assert.assertEquals(address, parse("fe80:0:0:0:0:0:0:1%3"));
+	}
+
+	@Test
+	public void hostNamesAreRejected() throws IOException {
+		for (String invalid : new String[]{
+				"localhost", "example.com", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1..2.3", "1.2.3.4 ", "",
+				":::", "1:2:3:4:5:6:7:8:9", "1::2::3", "12345::", "1:", ":1", "fe80::1%", "1.2.3.4%1", "::g"}) {
+			try {
+				parse(invalid);
+				Assert.fail("Expecting failure for " + invalid);
+			} catch (IOException ex) {
+				Assert.assertTrue(ex.getMessage().contains("Invalid IP address literal"));
+			}
+		}
+	}
+
+	@Test
+	public void tooLongLiteral() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append('1');
+		}
+		try {
+			parse(sb.toString());
+			Assert.fail("Expecting failure");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("too long"));
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class RawJsonConverterTest {
+
+	private final DslJson<Object> dslJson = new DslJson<Object>();
+
+	private static byte[] bytes(String json) throws IOException {
+		return json.getBytes("UTF-8");
+	}
+
+	@Test
+	public void valuesAreCapturedAsIs() throws IOException {
+		byte[] input = bytes("[ {\"a\" : [1, 2.5e3, null], \"b\":{}} , \"x\\\"y\",-12.5 ,true,false, null,[ ]]");
+		List<RawJson> values = dslJson.deserializeList(RawJson.class, input, input.length);
+		Assert.assertEquals(
+				Arrays.asList(
+						RawJson.of("{\"a\" : [1, 2.5e3, null], \"b\":{}}"),
+						RawJson.of("\"x\\\"y\""),
+						RawJson.of("-12.5"),
+						RawJson.of("true"),
+						RawJson.of("false"),
+						null,
+						RawJson.of("[ ]")),
+				values);
+	}
+
+	@Test
+	public void topLevelValue() throws IOException {
+		byte[] input = bytes("{\"nested\":{\"x\":\"ž\"}}");
+		RawJson raw = dslJson.deserialize(RawJson.class, input, input.length);
+		Assert.assertArrayEquals(input, raw.bytes());
+		input = bytes("1234");
+		Assert.assertEquals("1234", dslJson.deserialize(RawJson.class, input, input.length).toString());
+	}
+
+	@Test
+	public void writeAsIs() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(Arrays.asList(RawJson.of("{\"a\":[1,2]}"), null, RawJson.of("\"ž\"")), os);
+		Assert.assertEquals("[{\"a\":[1,2]},null,\"ž\"]", os.toString("UTF-8"));
+	}
+
+	@Test
+	public void invalidStructureIsDetected() throws IOException {
+		byte[] input = bytes("[{\"a\" 1}]");
+		try {
+			dslJson.deserializeList(RawJson.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Expecting ':'"));
+		}
+	}
+
+	@Test
+	public void valuesSpanningStreamChunks() throws IOException {
+		StringBuilder sb = new StringBuilder("{\"items\":[");
+		for (int i = 0; i < 100; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("{\"id\":").append(i).append(",\"name\":\"item ").append(i).append("\"}");
+		}
+		sb.append("]}");
+		String fragment = sb.toString();
+		byte[] input = bytes("[" + fragment + ",12345678," + fragment + "]");
+		List<RawJson> values = dslJson.deserializeList(RawJson.class, new ByteArrayInputStream(input), new byte[64]);
+		Assert.assertEquals(3, values.size());
+		Assert.assertEquals(fragment, values.get(0).toString());
+		Assert.assertEquals("12345678", values.get(1).toString());
+		Assert.assertEquals(fragment, values.get(2).toString());
+	}
+
+	@Test
+	public void skipIsNotAffected() throws IOException {
+		byte[] input = bytes("{\"a\":[1,{\"b\":null}], \"c\" : 5 }");
+		JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		reader.fillName();
+		reader.getNextToken();
+		Assert.assertEquals(',', reader.skip());
+		reader.getNextToken();
+		reader.fillName();
+		reader.getNextToken();
+		Assert.assertEquals('}', reader.skip());
+	}
+}
@@ -9,10 +9,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Random;
 
 public class StreamTest {
 
@@ -607,4 +609,142 @@ public class StreamTest {
 			Assert.assertEquals("split_in_buffer_with_very_long_name_more_than_buffer_size", input.getLastName());
 		}
 	}
+
+	private static byte[] base64Roundtrip(DslJson<Object> json, byte[] input, int bufferSize) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = json.newWriter(64);
+		writer.reset(os);
+		writer.writeBinary(new ByteArrayInputStream(input));
+		writer.flush();
+		JsonWriter expected = json.newWriter();
+		expected.writeBinary(input);
+		Assert.assertEquals(expected.toString(), os.toString());
+		JsonReader<Object> reader = json.newReader(new ByteArrayInputStream(os.toByteArray()), new byte[bufferSize]);
+		Assert.assertEquals('"', reader.getNextToken());
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		Assert.assertEquals(input.length, reader.readBase64To(decoded));
+		Assert.assertEquals('"', reader.last());
+		return decoded.toByteArray();
+	}
+
+	@Test
+	public void streamingBase64() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Random rnd = new Random(7);
+		for (int size : new int[]{0, 1, 2, 3, 4, 5, 3071, 3072, 3073, 100000}) {
+			byte[] input = new byte[size];
+			rnd.nextBytes(input);
+			Assert.assertArrayEquals(input, base64Roundtrip(json, input, 64));
+			Assert.assertArrayEquals(input, base64Roundtrip(json, input, 4096));
+		}
+	}
+
+	@Test
+	public void streamingBase64FromBytes() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = "[\"AQID\",\"AQ==\",\"AQI=\"]".getBytes("UTF-8");
+		JsonReader<Object> reader = json.newReader(bytes);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Assert.assertEquals('[', reader.getNextToken());
+		Assert.assertEquals('"', reader.getNextToken());
+		Assert.assertEquals(3, reader.readBase64To(os));
+		Assert.assertEquals(',', reader.getNextToken());
+		Assert.assertEquals('"', reader.getNextToken());
+		Assert.assertEquals(1, reader.readBase64To(os));
+		Assert.assertEquals(',', reader.getNextToken());
+		Assert.assertEquals('"', reader.getNextToken());
+		Assert.assertEquals(2, reader.readBase64To(os));
+		Assert.assertEquals(']', reader.getNextToken());
+		Assert.assertArrayEquals(new byte[]{1, 2, 3, 1, 1, 2}, os.toByteArray());
+	}
+
+	@Test
+	public void streamingBase64Invalid() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		for (String invalid : new String[]{"\"AQI\"", "\"A=ID\"", "\"AQ=D\"", "\"AQ==AQID\"", "\"AQ!D\"", "\"AQID"}) {
+			JsonReader<Object> reader = json.newReader(new ByteArrayInputStream(invalid.getBytes("UTF-8")), new byte[64]);
+			reader.getNextToken();
+			try {
+				reader.readBase64To(new ByteArrayOutputStream());
+				Assert.fail("Expecting failure for " + invalid);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void streamingLargeString() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().limitStringBuffer(1024));
+		StringBuilder sb = new StringBuilder();
+		Random rnd = new Random(3);
+		for (int i = 0; i < 100000; i++) {
+			switch (rnd.nextInt(6)) {
+				case 0: sb.append('"'); break;
+				case 1: sb.append('\n'); break;
+				case 2: sb.append('\u017E'); break;
+				case 3: sb.append("\uD83D\uDE00"); break;
+				default: sb.append((char) ('a' + rnd.nextInt(26)));
+			}
+		}
+		String value = sb.toString();
+		JsonWriter writer = json.newWriter();
+		writer.writeString(value);
+		byte[] bytes = writer.toByteArray();
+		JsonReader<Object> reader = json.newReader(bytes);
+		reader.getNextToken();
+		try {
+			reader.readString();
+			Assert.fail("Expecting string buffer limit");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum string buffer limit exceeded"));
+		}
+		reader = json.newReader(new ByteArrayInputStream(bytes), new byte[256]);
+		Assert.assertEquals('"', reader.getNextToken());
+		StringWriter sw = new StringWriter();
+		Assert.assertEquals(value.length(), reader.readStringTo(sw));
+		Assert.assertEquals('"', reader.last());
+		Assert.assertEquals(value, sw.toString());
+		reader = json.newReader(bytes);
+		reader.getNextToken();
+		StringBuilder copy = new StringBuilder();
+		Assert.assertEquals(value.length(), reader.readStringTo(copy));
+		Assert.assertEquals(value, copy.toString());
+	}
+
+	@Test
+	public void streamingStringNotClosed() throws IOException {
+		JsonReader<Object> reader = dslJson.newReader(new ByteArrayInputStream("\"abc".getBytes("UTF-8")), new byte[64]);
+		reader.getNextToken();
+		try {
+			reader.readStringTo(new StringBuilder());
+			Assert.fail("Expecting failure");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("not closed"));
+		}
+	}
+
+	@Test
+	public void reservedUncheckedWrites() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = dslJson.newWriter(new byte[32]);
+		writer.reset(os);
+		java.util.UUID uuid = java.util.UUID.randomUUID();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			writer.reserve(1 + 11 + 1 + 21 + 1 + 5 + 1 + 38);
+			writer.writeByteUnchecked(JsonWriter.ARRAY_START);
+			NumberConverter.serializeUnchecked(Integer.MIN_VALUE + i, writer);
+			writer.writeByteUnchecked(JsonWriter.COMMA);
+			NumberConverter.serializeUnchecked(Long.MAX_VALUE - i, writer);
+			writer.writeAsciiUnchecked(",".getBytes("UTF-8"));
+			BoolConverter.serializeUnchecked(i % 2 == 0, writer);
+			writer.writeAsciiUnchecked(",");
+			UUIDConverter.serializeUnchecked(uuid, writer);
+			writer.writeByte(JsonWriter.ARRAY_END);
+			expected.append('[').append(Integer.MIN_VALUE + i).append(',').append(Long.MAX_VALUE - i)
+					.append(',').append(i % 2 == 0).append(",\"").append(uuid).append("\"]");
+		}
+		writer.flush();
+		Assert.assertEquals(expected.toString(), os.toString("UTF-8"));
+	}
 }
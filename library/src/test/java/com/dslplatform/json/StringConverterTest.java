@@ -130,4 +130,64 @@ public class StringConverterTest {
 			Assert.assertEquals(expected, read);
 		}
 	}
+
+	@Test
+	public void asciiRoundtrip() throws IOException {
+		JsonWriter writer = dslJson.newWriter();
+		writer.writeByte(JsonWriter.ARRAY_START);
+		StringConverter.serializeAscii("ABC-123", writer);
+		writer.writeByte(JsonWriter.COMMA);
+		StringConverter.ASCII_WRITER.write(writer, null);
+		writer.writeByte(JsonWriter.ARRAY_END);
+		Assert.assertEquals("[\"ABC-123\",null]", writer.toString());
+		byte[] input = writer.toByteArray();
+		JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals("ABC-123", StringConverter.ASCII_READER.read(reader));
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertNull(StringConverter.ASCII_READER.read(reader));
+		Assert.assertEquals(']', reader.getNextToken());
+	}
+
+	@Test
+	public void asciiValidationFallsBackToDecoding() throws IOException {
+		byte[] input = "[\"a\\\"b\",\"\u010d\"]".getBytes("UTF-8");
+		JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals("a\"b", reader.readSimpleString(true));
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals("\u010d", reader.readSimpleString(true));
+		Assert.assertEquals(']', reader.getNextToken());
+	}
+
+	@Test
+	public void asciiWithoutValidation() throws IOException {
+		byte[] input = "[\"a-b\",\"a\\\"b\"]".getBytes("UTF-8");
+		JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals("a-b", StringConverter.UNVALIDATED_ASCII_READER.read(reader));
+		reader.getNextToken();
+		reader.getNextToken();
+		try {
+			StringConverter.UNVALIDATED_ASCII_READER.read(reader);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Escaped characters"));
+		}
+	}
+
+	@Test
+	public void asciiFromStream() throws IOException {
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < 1000; i++) sb.append((char) ('a' + i % 26));
+		sb.append('"');
+		JsonReader<Object> reader = dslJson.newReader(new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), new byte[64]);
+		reader.getNextToken();
+		Assert.assertEquals(sb.substring(1, sb.length() - 1), reader.readSimpleString(true));
+	}
 }
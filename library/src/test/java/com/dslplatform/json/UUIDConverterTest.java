@@ -0,0 +1,119 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+public class UUIDConverterTest {
+
+	private final DslJson<Object> dslJson = new DslJson<Object>();
+
+	private UUID roundtrip(UUID value) throws IOException {
+		JsonWriter jw = dslJson.newWriter();
+		UUIDConverter.serialize(value, jw);
+		Assert.assertEquals("\"" + value + "\"", jw.toString());
+		JsonReader<Object> jr = dslJson.newReader(jw.toByteArray());
+		jr.getNextToken();
+		UUID res = UUIDConverter.deserialize(jr);
+		Assert.assertEquals(jw.size(), jr.getCurrentIndex());
+		return res;
+	}
+
+	@Test
+	public void randomRoundtrip() throws IOException {
+		Random rnd = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			UUID value = new UUID(rnd.nextLong(), rnd.nextLong());
+			Assert.assertEquals(value, roundtrip(value));
+		}
+	}
+
+	@Test
+	public void edgeValues() throws IOException {
+		Assert.assertEquals(UUIDConverter.MIN_UUID, roundtrip(UUIDConverter.MIN_UUID));
+		UUID max = new UUID(-1L, -1L);
+		Assert.assertEquals(max, roundtrip(max));
+		UUID mixed = new UUID(Long.MIN_VALUE, Long.MAX_VALUE);
+		Assert.assertEquals(mixed, roundtrip(mixed));
+	}
+
+	@Test
+	public void upperCaseAndCompact() throws IOException {
+		UUID value = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+		byte[] upper = "\"0F8FAD5B-D9CB-469F-A165-70867728950E\"".getBytes("UTF-8");
+		Assert.assertEquals(value, dslJson.deserialize(UUID.class, upper, upper.length));
+		byte[] compact = "\"0f8fad5bd9cb469fa16570867728950e\"".getBytes("UTF-8");
+		Assert.assertEquals(value, dslJson.deserialize(UUID.class, compact, compact.length));
+	}
+
+	@Test
+	public void invalidCharacters() throws IOException {
+		for (String invalid : new String[]{
+				"0f8fad5b-d9cb-469f-a165-7086772895:e",
+				"0f8fad5b-d9cb-469f-a165-7086772895ge",
+				"0f8fad5b-d9cb-469f-a165-7086772895é",
+				"0f8fad5b-d9cb-469f-a165-7086772895@e"}) {
+			byte[] input = ("\"" + invalid + "\"").getBytes("UTF-8");
+			try {
+				dslJson.deserialize(UUID.class, input, input.length);
+				Assert.fail("Expecting failure for " + invalid);
+			} catch (IllegalArgumentException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void bulkPaths() throws IOException {
+		UUID[] values = new UUID[]{UUID.randomUUID(), null, UUID.randomUUID()};
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(values, os);
+		Assert.assertEquals("[\"" + values[0] + "\",null,\"" + values[2] + "\"]", os.toString());
+		UUID[] array = dslJson.deserialize(UUID[].class, os.toByteArray(), os.size());
+		Assert.assertArrayEquals(values, array);
+		List<UUID> list = Arrays.asList(values);
+		JsonWriter jw = dslJson.newWriter();
+		jw.serialize(list, UUIDConverter.WRITER);
+		Assert.assertEquals(os.toString(), jw.toString());
+		List<UUID> res = dslJson.deserializeList(UUID.class, os.toByteArray(), os.size());
+		Assert.assertEquals(list, res);
+		jw.reset();
+		jw.serialize(new UUID[0], UUIDConverter.WRITER);
+		Assert.assertEquals("[]", jw.toString());
+	}
+
+	@Test
+	public void streamingAcrossBlocks() throws IOException {
+		List<UUID> values = new ArrayList<UUID>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(UUID.randomUUID());
+		}
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(values, os);
+		List<UUID> res = dslJson.deserializeList(UUID.class, new ByteArrayInputStream(os.toByteArray()));
+		Assert.assertEquals(values, res);
+	}
+
+	@Test
+	public void bulkWriteIsFlushedInBlocks() throws IOException {
+		List<UUID> values = new ArrayList<UUID>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(i % 7 == 0 ? null : UUID.randomUUID());
+		}
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = dslJson.newWriter(new byte[512]);
+		writer.reset(os);
+		UUIDConverter.serialize(values, writer);
+		UUIDConverter.serialize(values.toArray(new UUID[0]), writer);
+		writer.flush();
+		Assert.assertTrue(writer.getByteBuffer().length < 39 * 1000);
+		String json = os.toString("UTF-8");
+		int split = json.indexOf(']') + 1;
+		Assert.assertEquals(json.substring(0, split), json.substring(split));
+		byte[] first = json.substring(0, split).getBytes("UTF-8");
+		Assert.assertEquals(values, dslJson.deserializeList(UUID.class, first, first.length));
+	}
+}
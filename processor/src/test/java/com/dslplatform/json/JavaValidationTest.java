@@ -462,4 +462,27 @@ public class JavaValidationTest extends AbstractAnnotationProcessorTest {
 	public void ctorIndexOrder() {
 		checkValidCompilation(ImmutablePerson.class);
 	}
+
+	@Test
+	public void cacheSerializedOnImmutableClass() {
+		checkValidCompilation(ImmutableCachedClass.class);
+	}
+
+	@Test
+	public void cacheSerializedRequiresFinalFields() {
+		assertCompilationReturned(
+				Diagnostic.Kind.ERROR,
+				8,
+				compileTestCase(MutableCachedClass.class),
+				"cacheSerialized can only be used on immutable classes. Field 'count' is not final");
+	}
+
+	@Test
+	public void cacheSerializedDoesNotAllowSetters() {
+		assertCompilationReturned(
+				Diagnostic.Kind.ERROR,
+				13,
+				compileTestCase(CachedClassWithSetter.class),
+				"cacheSerialized can only be used on immutable classes. Setter 'setCode' found");
+	}
 }
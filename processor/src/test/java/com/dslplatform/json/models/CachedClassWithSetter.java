@@ -0,0 +1,16 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson(cacheSerialized = true)
+public class CachedClassWithSetter {
+	private String code;
+
+	public String getCode() {
+		return code;
+	}
+
+	public void setCode(String value) {
+		this.code = value;
+	}
+}
@@ -0,0 +1,18 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson(cacheSerialized = true)
+public class ImmutableCachedClass {
+	public final String code;
+	private final int count;
+
+	public ImmutableCachedClass(String code, int count) {
+		this.code = code;
+		this.count = count;
+	}
+
+	public int getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,14 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson(cacheSerialized = true)
+public class MutableCachedClass {
+	public final String code;
+	public int count;
+
+	public MutableCachedClass(String code, int count) {
+		this.code = code;
+		this.count = count;
+	}
+}
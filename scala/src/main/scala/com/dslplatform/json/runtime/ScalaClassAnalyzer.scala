@@ -3,6 +3,7 @@ package runtime
 
 import java.io.IOException
 import java.lang.reflect.{Constructor, Method, Modifier, ParameterizedType, Type => JavaType}
+import java.util.concurrent.{CountDownLatch, TimeUnit}
 import java.util.function
 
 import scala.collection.mutable
@@ -64,24 +65,30 @@ object ScalaClassAnalyzer {
   private class LazyImmutableDescription(json: DslJson[_], manifest: JavaType) extends JsonWriter.WriteObject[AnyRef] with JsonReader.ReadObject[AnyRef] {
     private var encoder: Option[JsonWriter.WriteObject[AnyRef]] = None
     private var decoder: Option[JsonReader.ReadObject[AnyRef]] = None
-    var resolved: Option[ImmutableDescription[AnyRef]] = None
+    private val completed = new CountDownLatch(1)
+    @volatile private var analyzer = Thread.currentThread()
+    @volatile private var resolved: Option[ImmutableDescription[AnyRef]] = None
+
+    def complete(converter: Option[ImmutableDescription[AnyRef]]): Unit = {
+      resolved = converter
+      analyzer = null
+      completed.countDown()
+    }
 
     private def checkSignatureNotFound() = {
-      var i = 0
-      while (i < 50) {
+      if (resolved.isEmpty && (analyzer ne Thread.currentThread())) {
         try {
-          Thread.sleep(100)
+          completed.await(5, TimeUnit.SECONDS)
         } catch {
           case e: InterruptedException => throw new SerializationException(e)
         }
-        if (resolved.nonEmpty) {
-          encoder = Some(resolved.get.asInstanceOf[JsonWriter.WriteObject[AnyRef]])
-          decoder = Some(resolved.get.asInstanceOf[JsonReader.ReadObject[AnyRef]])
-          i = 50
-        }
-        i += 1
       }
-      resolved.isEmpty
+      val local = resolved
+      if (local.nonEmpty) {
+        encoder = Some(local.get.asInstanceOf[JsonWriter.WriteObject[AnyRef]])
+        decoder = Some(local.get.asInstanceOf[JsonReader.ReadObject[AnyRef]])
+      }
+      local.isEmpty
     }
 
     override def read(reader: JsonReader[_]): AnyRef = {
@@ -111,25 +118,31 @@ object ScalaClassAnalyzer {
     private var encoder: Option[JsonWriter.WriteObject[AnyRef]] = None
     private var decoder: Option[JsonReader.ReadObject[AnyRef]] = None
     private var binder: Option[JsonReader.BindObject[AnyRef]] = None
-    var resolved: Option[ObjectFormatDescription[AnyRef, AnyRef]] = None
+    private val completed = new CountDownLatch(1)
+    @volatile private var analyzer = Thread.currentThread()
+    @volatile private var resolved: Option[ObjectFormatDescription[AnyRef, AnyRef]] = None
+
+    def complete(converter: Option[ObjectFormatDescription[AnyRef, AnyRef]]): Unit = {
+      resolved = converter
+      analyzer = null
+      completed.countDown()
+    }
 
     private def checkSignatureNotFound() = {
-      var i = 0
-      while (i < 50) {
+      if (resolved.isEmpty && (analyzer ne Thread.currentThread())) {
         try {
-          Thread.sleep(100)
+          completed.await(5, TimeUnit.SECONDS)
         } catch {
           case e: InterruptedException => throw new SerializationException(e)
         }
-        if (resolved.nonEmpty) {
-          encoder = Some(resolved.get.asInstanceOf[JsonWriter.WriteObject[AnyRef]])
-          decoder = Some(resolved.get.asInstanceOf[JsonReader.ReadObject[AnyRef]])
-          binder = Some(resolved.get.asInstanceOf[JsonReader.BindObject[AnyRef]])
-          i = 50
-        }
-        i += 1
       }
-      resolved.isEmpty
+      val local = resolved
+      if (local.nonEmpty) {
+        encoder = Some(local.get.asInstanceOf[JsonWriter.WriteObject[AnyRef]])
+        decoder = Some(local.get.asInstanceOf[JsonReader.ReadObject[AnyRef]])
+        binder = Some(local.get.asInstanceOf[JsonReader.BindObject[AnyRef]])
+      }
+      local.isEmpty
     }
 
     override def read(reader: JsonReader[_]): AnyRef = {
@@ -280,7 +293,7 @@ object ScalaClassAnalyzer {
         arguments.flatMap { ti =>
           raw.getMethods.find(it => it.getName == ti.name && it.getParameterCount == 0).map { m =>
             Settings.createEncoder(
-              new Reflection.ReadMethod(m),
+              Reflection.getter(m),
               ti.name,
               json,
               if (ti.isUnknown) null else ti.concreteType)
@@ -312,7 +325,7 @@ object ScalaClassAnalyzer {
           readProps,
           !json.omitDefaults,
           true)
-        tmp.resolved = Some(converter)
+        tmp.complete(Some(converter))
         json.registerWriter(manifest, converter)
         //TODO: since nested case classes have their type signatures broken allow encoding,
         //TODO: but don't allow decoding if some types are erased
@@ -325,6 +338,7 @@ object ScalaClassAnalyzer {
       } else {
         json.registerWriter(manifest, oldWriter)
         json.registerReader(manifest, oldReader)
+        tmp.complete(None)
         None
       }
     } else None
@@ -367,7 +381,7 @@ object ScalaClassAnalyzer {
       val writeProps = foundWrite.values.toArray
       val readProps = foundRead.values.toArray
       val converter = ObjectFormatDescription.create(rawAny, newInstance, writeProps, readProps, json, true)
-      tmp.resolved = Some(converter)
+      tmp.complete(Some(converter))
       json.registerWriter(manifest, converter)
       if (foundRead.size == methods.size) {
         json.registerReader(manifest, converter)
@@ -379,6 +393,7 @@ object ScalaClassAnalyzer {
     } else {
       json.registerWriter(manifest, oldWriter)
       json.registerReader(manifest, oldReader)
+      tmp.complete(None)
       None
     }
   }
@@ -422,7 +437,7 @@ object ScalaClassAnalyzer {
             foundWrite.put(
               name,
               Settings.createEncoder(
-                new Reflection.ReadMethod(mget),
+                Reflection.getter(mget),
                 name,
                 json,
                 if (isUnknown) null else concreteType))
@@ -430,7 +445,7 @@ object ScalaClassAnalyzer {
               foundRead.put(
                 name,
                 Settings.createDecoder(
-                  new Reflection.SetMethod(mset),
+                  Reflection.setter(mset),
                   name,
                   json,
                   false,
@@ -0,0 +1,89 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class AsciiOnlyTest {
+
+	@CompiledJson
+	public static class Codes {
+		@JsonAttribute(asciiOnly = true)
+		public String country;
+		@JsonAttribute(asciiOnly = true, nullable = false)
+		public String hash;
+		@JsonAttribute(asciiOnly = true, validateAscii = false)
+		public String trusted;
+		public String text;
+	}
+
+	@CompiledJson
+	public static class ImmutableCodes {
+		@JsonAttribute(asciiOnly = true)
+		public final String id;
+
+		public ImmutableCodes(String id) {
+			this.id = id;
+		}
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+
+	@Test
+	public void roundtrip() throws IOException {
+		Codes codes = new Codes();
+		codes.country = "HR";
+		codes.hash = "0a1b2c";
+		codes.text = "\"quoted\"";
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(codes, os);
+		Assert.assertEquals("{\"hash\":\"0a1b2c\",\"text\":\"\\\"quoted\\\"\",\"trusted\":null,\"country\":\"HR\"}", os.toString());
+		Codes res = dslJson.deserialize(Codes.class, os.toByteArray(), os.size());
+		Assert.assertEquals("HR", res.country);
+		Assert.assertEquals("0a1b2c", res.hash);
+		Assert.assertNull(res.trusted);
+		Assert.assertEquals("\"quoted\"", res.text);
+	}
+
+	@Test
+	public void validatedInputIsDecoded() throws IOException {
+		byte[] input = "{\"country\":\"\\u0048R\",\"hash\":\"x\",\"trusted\":\"HR\"}".getBytes("UTF-8");
+		Codes res = dslJson.deserialize(Codes.class, input, input.length);
+		Assert.assertEquals("HR", res.country);
+		Assert.assertEquals("HR", res.trusted);
+	}
+
+	@Test
+	public void unvalidatedInputRejectsEscapes() throws IOException {
+		byte[] input = "{\"trusted\":\"a\\\"b\",\"hash\":\"x\"}".getBytes("UTF-8");
+		try {
+			dslJson.deserialize(Codes.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Escaped characters"));
+		}
+	}
+
+	@Test
+	public void nullIsNotAllowed() throws IOException {
+		byte[] input = "{\"hash\":null}".getBytes("UTF-8");
+		try {
+			dslJson.deserialize(Codes.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("not allowed to be null"));
+		}
+	}
+
+	@Test
+	public void immutable() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(new ImmutableCodes("abc"), os);
+		Assert.assertEquals("{\"id\":\"abc\"}", os.toString());
+		ImmutableCodes res = dslJson.deserialize(ImmutableCodes.class, os.toByteArray(), os.size());
+		Assert.assertEquals("abc", res.id);
+	}
+}
@@ -0,0 +1,115 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.CachingEncoder;
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+public class CacheSerializedTest {
+
+	@CompiledJson(cacheSerialized = true)
+	public static class Product {
+		public final String code;
+		public final double price;
+
+		public Product(String code, double price) {
+			this.code = code;
+			this.price = price;
+		}
+	}
+
+	public static class NotCompiled {
+		public String name;
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+
+	//instances are cached by identity, so changes made behind the processor's back are not visible
+	private static void changePrice(Product product, double price) throws ReflectiveOperationException {
+		Field field = Product.class.getField("price");
+		field.setAccessible(true);
+		field.setDouble(product, price);
+	}
+
+	private static String serialize(DslJson<Object> json, Object value) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(value, os);
+		return os.toString();
+	}
+
+	@Test
+	public void cachedWriterIsRegistered() {
+		Assert.assertTrue(dslJson.tryFindWriter(Product.class) instanceof CachingEncoder);
+	}
+
+	@Test
+	public void sameInstanceIsWrittenFromCache() throws Exception {
+		Product product = new Product("abc", 1);
+		Assert.assertEquals("{\"code\":\"abc\",\"price\":1.0}", serialize(dslJson, product));
+		changePrice(product, 2);
+		Assert.assertEquals("{\"code\":\"abc\",\"price\":1.0}", serialize(dslJson, product));
+		Assert.assertEquals("{\"code\":\"abc\",\"price\":2.0}", serialize(dslJson, new Product("abc", 2)));
+	}
+
+	@Test
+	public void cachedInstancesInsideCollection() throws IOException {
+		Product product = new Product("abc", 1.5);
+		String expected = serialize(dslJson, product);
+		Assert.assertEquals(
+				"[" + expected + ",null," + expected + "]",
+				serialize(dslJson, Arrays.asList(product, null, product)));
+		Product res = dslJson.deserialize(Product.class, expected.getBytes("UTF-8"), expected.length());
+		Assert.assertEquals("abc", res.code);
+		Assert.assertEquals(1.5, res.price, 0);
+	}
+
+	@Test
+	public void notUsedWhenOmittingDefaults() throws Exception {
+		DslJson<Object> json = new DslJson<>(Settings.withRuntime().skipDefaultValues(true).includeServiceLoader());
+		Assert.assertFalse(json.tryFindWriter(Product.class) instanceof CachingEncoder);
+		Product product = new Product(null, 0);
+		Assert.assertEquals("{}", serialize(json, product));
+		changePrice(product, 3);
+		Assert.assertEquals("{\"price\":3.0}", serialize(json, product));
+	}
+
+	@Test
+	public void runtimeWrapper() throws IOException {
+		DslJson<Object> json = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		json.registerWriter(NotCompiled.class, new CachingEncoder<>(json.tryFindWriter(NotCompiled.class), 4));
+		NotCompiled instance = new NotCompiled();
+		instance.name = "first";
+		Assert.assertEquals("{\"name\":\"first\"}", serialize(json, instance));
+		instance.name = "second";
+		Assert.assertEquals("{\"name\":\"first\"}", serialize(json, instance));
+	}
+
+	@Test
+	public void flushedInstanceIsNotCached() throws Exception {
+		Product product = new Product("a", 1);
+		JsonWriter writer = dslJson.newWriter(new byte[16]);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		writer.reset(os);
+		writer.writeAscii("\"0123456789abc\"");
+		dslJson.serialize(writer, product);
+		writer.flush();
+		Assert.assertEquals("\"0123456789abc\"{\"code\":\"a\",\"price\":1.0}", os.toString());
+		changePrice(product, 2);
+		Assert.assertEquals("{\"code\":\"a\",\"price\":2.0}", serialize(dslJson, product));
+	}
+
+	@Test
+	public void invalidSize() {
+		try {
+			new CachingEncoder<>(dslJson.tryFindWriter(Product.class), 0);
+			Assert.fail("Expecting exception");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("size"));
+		}
+	}
+}
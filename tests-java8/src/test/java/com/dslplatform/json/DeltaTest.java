@@ -0,0 +1,152 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.DeltaConverter;
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DeltaTest {
+
+	@CompiledJson(delta = true)
+	public static class Player {
+		public String name;
+		public int score;
+		public double x;
+		public int[] items;
+		public List<String> tags;
+		public Position position;
+		public Plain plain;
+		@JsonAttribute(mandatory = true)
+		public boolean active;
+	}
+
+	@CompiledJson(delta = true)
+	public static class Position {
+		public float lat;
+		public float lon;
+	}
+
+	@CompiledJson
+	public static class Plain {
+		public String value;
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+
+	@SuppressWarnings("unchecked")
+	private DeltaConverter<Player> converter() {
+		return (DeltaConverter<Player>) dslJson.tryFindWriter(Player.class);
+	}
+
+	private String delta(Player previous, Player current) {
+		JsonWriter writer = dslJson.newWriter();
+		converter().writeDelta(writer, previous, current);
+		return writer.toString();
+	}
+
+	private Player apply(String delta, Player instance) throws IOException {
+		byte[] input = delta.getBytes("UTF-8");
+		JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		JsonReader.BindObject<Player> binder = converter()::bindDelta;
+		return binder.bind(reader, instance);
+	}
+
+	private static final Plain PLAIN = new Plain();
+
+	private static Player player() {
+		Player player = new Player();
+		player.name = "abc";
+		player.score = 10;
+		player.x = 1.5;
+		player.items = new int[]{1, 2};
+		player.tags = new ArrayList<>(Arrays.asList("a", "b"));
+		player.position = new Position();
+		player.position.lat = 1;
+		player.position.lon = 2;
+		player.plain = PLAIN;
+		player.active = true;
+		return player;
+	}
+
+	@Test
+	public void noChanges() {
+		Player previous = player();
+		Player current = player();
+		Assert.assertFalse(converter().isChanged(previous, current));
+		Assert.assertEquals("{}", delta(previous, current));
+	}
+
+	@Test
+	public void onlyChangedProperties() throws IOException {
+		Player previous = player();
+		Player current = player();
+		current.score = 11;
+		current.tags.add("c");
+		current.items = new int[]{1, 2};
+		current.name = null;
+		Assert.assertTrue(converter().isChanged(previous, current));
+		String delta = delta(previous, current);
+		Assert.assertEquals("{\"tags\":[\"a\",\"b\",\"c\"],\"name\":null,\"score\":11}", delta);
+		Player res = apply(delta, player());
+		Assert.assertEquals(11, res.score);
+		Assert.assertNull(res.name);
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), res.tags);
+		Assert.assertEquals(1.5, res.x, 0);
+		Assert.assertEquals(2, res.position.lon, 0);
+	}
+
+	@Test
+	public void nestedDelta() throws IOException {
+		Player previous = player();
+		Player current = player();
+		current.position.lon = 3;
+		current.plain = new Plain();
+		current.plain.value = "q";
+		String delta = delta(previous, current);
+		Assert.assertEquals("{\"position\":{\"lon\":3.0},\"plain\":{\"value\":\"q\"}}", delta);
+		Player target = player();
+		Position position = target.position;
+		Player res = apply(delta, target);
+		Assert.assertSame(position, res.position);
+		Assert.assertEquals(1, res.position.lat, 0);
+		Assert.assertEquals(3, res.position.lon, 0);
+		Assert.assertNotSame(PLAIN, res.plain);
+		Assert.assertEquals("q", res.plain.value);
+	}
+
+	@Test
+	public void nestedNull() throws IOException {
+		Player previous = player();
+		Player current = player();
+		current.position = null;
+		String delta = delta(previous, current);
+		Assert.assertEquals("{\"position\":null}", delta);
+		Assert.assertNull(apply(delta, player()).position);
+		Assert.assertEquals("{\"position\":{\"lat\":1.0,\"lon\":2.0}}", delta(current, previous));
+		Player res = apply(delta(current, previous), current);
+		Assert.assertEquals(2, res.position.lon, 0);
+	}
+
+	@Test
+	public void fullObjectWithoutBaseline() throws IOException {
+		Player current = player();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(current, os);
+		Assert.assertEquals(os.toString(), delta(null, current));
+		Assert.assertEquals("null", delta(current, null));
+	}
+
+	@Test
+	public void mandatoryIsNotRequired() throws IOException {
+		Player res = apply("{\"score\":3}", player());
+		Assert.assertEquals(3, res.score);
+		Assert.assertTrue(res.active);
+	}
+}
@@ -0,0 +1,77 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+public class EpochTimestampTest {
+
+	@CompiledJson
+	public static class Timestamps {
+		@JsonAttribute(converter = JavaTimeEpochConverter.OffsetDateTimeMillis.class)
+		public OffsetDateTime offset;
+		@JsonAttribute(converter = JavaTimeEpochConverter.LocalDateTimeNanos.class)
+		public LocalDateTime local;
+		@JsonAttribute(converter = JavaTimeEpochConverter.InstantMillis.class)
+		public Instant instant;
+		public Instant iso;
+	}
+
+	@CompiledJson
+	public static class Event {
+		public OffsetDateTime at;
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>();
+
+	@Test
+	public void attributeConverters() throws IOException {
+		Timestamps t = new Timestamps();
+		t.offset = OffsetDateTime.of(2018, 3, 4, 5, 6, 7, 89000000, ZoneOffset.UTC);
+		t.local = LocalDateTime.of(2018, 3, 4, 5, 6, 7, 123456789);
+		t.iso = Instant.ofEpochMilli(1520136367089L);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(t, os);
+		Assert.assertEquals("{\"instant\":null,\"local\":1520139967123456789,\"iso\":\"2018-03-04T04:06:07.089Z\",\"offset\":1520139967089}", os.toString());
+		Timestamps res = dslJson.deserialize(Timestamps.class, os.toByteArray(), os.size());
+		Assert.assertEquals(t.offset, res.offset);
+		Assert.assertEquals(t.local, res.local);
+		Assert.assertNull(res.instant);
+		Assert.assertEquals(t.iso, res.iso);
+	}
+
+	@Test
+	public void compiledClassUsesTimestampFormat() throws IOException {
+		Event e = new Event();
+		e.at = OffsetDateTime.of(2018, 3, 4, 5, 6, 7, 89000000, ZoneOffset.UTC);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(e, os);
+		Assert.assertEquals("{\"at\":\"2018-03-04T05:06:07.089Z\"}", os.toString());
+		DslJson<Object> epoch = new DslJson<>(Settings.withRuntime().timestampFormat(DslJson.TimestampFormat.EPOCH_MILLIS).includeServiceLoader());
+		os.reset();
+		epoch.serialize(e, os);
+		Assert.assertEquals("{\"at\":1520139967089}", os.toString());
+		Event res = epoch.deserialize(Event.class, os.toByteArray(), os.size());
+		Assert.assertEquals(e.at, res.at);
+	}
+
+	@Test
+	public void millisOutOfRange() {
+		JsonWriter writer = dslJson.newWriter();
+		try {
+			JavaTimeEpochConverter.INSTANT_MILLIS_WRITER.write(writer, Instant.MAX);
+			Assert.fail("Expecting exception");
+		} catch (SerializationException ex) {
+			Assert.assertTrue(ex.getMessage().contains("out of range"));
+		}
+		JavaTimeEpochConverter.INSTANT_MILLIS_WRITER.write(writer, Instant.ofEpochSecond(-1, 999999999));
+		Assert.assertEquals("-1", writer.toString());
+	}
+}
@@ -0,0 +1,138 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class FlyweightTest {
+
+	public enum Status {
+		OPEN, CLOSED
+	}
+
+	@CompiledJson(flyweight = true)
+	public static class Order {
+		public long id;
+		public String name;
+		public Integer quantity;
+		public double price;
+		public Status status;
+		public List<String> tags;
+		public Map<String, Integer> counts;
+		public Order child;
+		@JsonAttribute(mandatory = true, alternativeNames = {"ref"})
+		public String code;
+		@JsonAttribute(nullable = false)
+		public String note;
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+	private final JsonReader<Object> reader = dslJson.newReader();
+
+	private static byte[] bytes(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void lazyAccess() throws IOException {
+		byte[] input = bytes("{\"id\":3,\"name\":\"abc\",\"quantity\":null,\"price\":1.5,\"status\":\"CLOSED\",\"tags\":[\"x\",\"y\"],\"counts\":{\"a\":1},\"child\":{\"id\":4,\"code\":\"c\"},\"code\":\"A\",\"note\":\"n\"}");
+		FlyweightTest_OrderFlyweight order = FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length);
+		Assert.assertEquals(3, order.id());
+		Assert.assertEquals("abc", order.name());
+		Assert.assertNull(order.quantity());
+		Assert.assertEquals(1.5, order.price(), 0);
+		Assert.assertEquals(Status.CLOSED, order.status());
+		Assert.assertEquals(Arrays.asList("x", "y"), order.tags());
+		Assert.assertEquals(Integer.valueOf(1), order.counts().get("a"));
+		Assert.assertEquals(4, order.child().id);
+		Assert.assertEquals("c", order.child().code);
+		Assert.assertEquals("A", order.code());
+		Assert.assertEquals("n", order.note());
+	}
+
+	@Test
+	public void valuesAreCached() throws IOException {
+		byte[] input = bytes("{\"code\":\"A\",\"tags\":[\"x\"]}");
+		FlyweightTest_OrderFlyweight order = FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length);
+		Assert.assertSame(order.tags(), order.tags());
+	}
+
+	@Test
+	public void missingPropertiesHaveDefaults() throws IOException {
+		byte[] input = bytes("{ \"unknown\" : [1, {\"id\":2}], \"ref\" : \"B\" }");
+		FlyweightTest_OrderFlyweight order = FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length);
+		Assert.assertEquals(0, order.id());
+		Assert.assertNull(order.name());
+		Assert.assertNull(order.tags());
+		Assert.assertEquals("B", order.code());
+	}
+
+	@Test
+	public void mandatoryIsCheckedDuringScan() {
+		byte[] input = bytes("{\"id\":1}");
+		try {
+			FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Property 'code' is mandatory"));
+		}
+	}
+
+	@Test
+	public void invalidValueIsDetectedOnAccess() throws IOException {
+		byte[] input = bytes("{\"code\":\"A\",\"id\":\"abc\",\"note\":null}");
+		FlyweightTest_OrderFlyweight order = FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length);
+		Assert.assertEquals("A", order.code());
+		try {
+			order.id();
+			Assert.fail("Expecting exception");
+		} catch (SerializationException ex) {
+			Assert.assertTrue(ex.getMessage().contains("'id'"));
+		}
+		try {
+			order.note();
+			Assert.fail("Expecting exception");
+		} catch (SerializationException ex) {
+			Assert.assertTrue(ex.getCause().getMessage().contains("not allowed to be null"));
+		}
+	}
+
+	@Test
+	public void sharedReader() throws IOException {
+		byte[] first = bytes("{\"code\":\"A\",\"id\":1}");
+		byte[] second = bytes("{\"code\":\"B\",\"id\":2}");
+		FlyweightTest_OrderFlyweight one = FlyweightTest_OrderFlyweight.parse(dslJson, reader, first, first.length);
+		FlyweightTest_OrderFlyweight two = FlyweightTest_OrderFlyweight.parse(dslJson, reader, second, second.length);
+		Assert.assertEquals(2, two.id());
+		Assert.assertEquals(1, one.id());
+		Assert.assertEquals("A", one.code());
+		Assert.assertEquals("B", two.code());
+	}
+
+	@Test
+	public void accessDoesNotChangeSharedReader() throws IOException {
+		byte[] first = bytes("{\"code\":\"A\",\"id\":1}");
+		byte[] second = bytes("[1,2,3]");
+		FlyweightTest_OrderFlyweight one = FlyweightTest_OrderFlyweight.parse(dslJson, reader, first, first.length);
+		reader.process(second, second.length);
+		Assert.assertEquals('[', reader.getNextToken());
+		Assert.assertEquals('1', reader.getNextToken());
+		Assert.assertEquals(1, one.id());
+		Assert.assertEquals("A", one.code());
+		Assert.assertEquals(',', reader.getNextToken());
+		reader.getNextToken();
+		Assert.assertEquals(2, NumberConverter.deserializeInt(reader));
+	}
+
+	@Test
+	public void nullInput() throws IOException {
+		byte[] input = bytes("null");
+		Assert.assertNull(FlyweightTest_OrderFlyweight.parse(dslJson, reader, input, input.length));
+	}
+}
@@ -0,0 +1,46 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+public class FreezeTest {
+
+	@CompiledJson
+	public static class Root {
+		public List<Child> children;
+		public Set<UUID> ids;
+		public Map<String, List<Child>> lookup;
+	}
+
+	@CompiledJson
+	public static class Child {
+		public String name;
+	}
+
+	@Test
+	public void nestedGenericPropertiesAreResolved() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader().freeze(Root.class));
+		Assert.assertTrue(dslJson.isFrozen());
+		Root root = new Root();
+		Child child = new Child();
+		child.name = "abc";
+		UUID id = UUID.randomUUID();
+		root.children = Collections.singletonList(child);
+		root.ids = Collections.singleton(id);
+		root.lookup = Collections.singletonMap("x", Collections.singletonList(child));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(root, os);
+		Assert.assertEquals(
+				"{\"ids\":[\"" + id + "\"],\"children\":[{\"name\":\"abc\"}],\"lookup\":{\"x\":[{\"name\":\"abc\"}]}}",
+				os.toString());
+		Root res = dslJson.deserialize(Root.class, os.toByteArray(), os.size());
+		Assert.assertEquals("abc", res.children.get(0).name);
+		Assert.assertEquals(Collections.singleton(id), res.ids);
+		Assert.assertEquals("abc", res.lookup.get("x").get(0).name);
+	}
+}
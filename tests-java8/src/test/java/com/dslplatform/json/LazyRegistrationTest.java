@@ -0,0 +1,91 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class LazyRegistrationTest {
+
+	@CompiledJson
+	public static class Single {
+		public int x;
+		public Kind kind;
+	}
+
+	@CompiledJson(formats = {CompiledJson.Format.OBJECT, CompiledJson.Format.ARRAY})
+	public static class Both {
+		@JsonAttribute(index = 1)
+		public String s;
+	}
+
+	@CompiledJson
+	public static class Immutable {
+		public final long y;
+
+		public Immutable(long y) {
+			this.y = y;
+		}
+	}
+
+	public enum Kind {
+		FIRST, SECOND
+	}
+
+	@Test
+	public void convertersAreRegisteredOnFirstUse() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		Assert.assertFalse(dslJson.getRegisteredEncoders().contains(Single.class));
+		Assert.assertFalse(dslJson.getRegisteredDecoders().contains(Single.class));
+		Single single = new Single();
+		single.x = 5;
+		single.kind = Kind.SECOND;
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(single, os);
+		Assert.assertEquals("{\"x\":5,\"kind\":\"SECOND\"}", os.toString());
+		Assert.assertTrue(dslJson.getRegisteredEncoders().contains(Single.class));
+		Single res = dslJson.deserialize(Single.class, os.toByteArray(), os.size());
+		Assert.assertEquals(5, res.x);
+		Assert.assertEquals(Kind.SECOND, res.kind);
+		Assert.assertTrue(dslJson.getRegisteredDecoders().contains(Single.class));
+	}
+
+	@Test
+	public void lazyConvertersAreCompiled() {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		Assert.assertTrue(dslJson.tryFindReader(Single.class).getClass().getName().startsWith(NativeImageTest.CONFIGURATION));
+		Assert.assertTrue(dslJson.tryFindWriter(Kind.class).getClass().getName().startsWith(NativeImageTest.CONFIGURATION));
+		Assert.assertNotNull(dslJson.tryFindBinder(Single.class));
+		Assert.assertNull(dslJson.tryFindBinder(Immutable.class));
+		Assert.assertNotNull(dslJson.tryFindReader(Immutable.class));
+	}
+
+	@Test
+	public void convertersOfTypeAreShared() {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		Object binder = dslJson.tryFindBinder(Single.class);
+		Assert.assertSame(binder, dslJson.tryFindReader(Single.class));
+		Assert.assertSame(binder, dslJson.tryFindWriter(Single.class));
+		Assert.assertSame(dslJson.tryFindWriter(Kind.class), dslJson.tryFindReader(Kind.class));
+		DslJson<Object> other = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		Assert.assertNotSame(binder, other.tryFindReader(Single.class));
+	}
+
+	@Test
+	public void combinedFormats() throws IOException {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().allowArrayFormat(true).includeServiceLoader());
+		byte[] input = "[\"abc\"]".getBytes("UTF-8");
+		Both res = dslJson.deserialize(Both.class, input, input.length);
+		Assert.assertEquals("abc", res.s);
+		Assert.assertTrue(dslJson.tryFindWriter(Both.class) instanceof com.dslplatform.json.runtime.FormatDescription);
+	}
+
+	@Test
+	public void lookupAfterFreeze() {
+		DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		dslJson.freeze(Single.class);
+		Assert.assertNotNull(dslJson.tryFindWriter(Single.class));
+	}
+}
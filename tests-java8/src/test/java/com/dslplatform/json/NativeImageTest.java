@@ -0,0 +1,86 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.TreeMap;
+
+public class NativeImageTest {
+
+	//tests-java8 names the generated configuration, while tests-java8-lazy keeps the default name
+	static final String CONFIGURATION = configurationName();
+
+	private static String configurationName() {
+		try {
+			return Class.forName("com.dslplatform.json.ExternalSerialization").getName();
+		} catch (ClassNotFoundException ignore) {
+			return "dsl_json_Annotation_Processor_External_Serialization";
+		}
+	}
+
+	@CompiledJson
+	public static class Model {
+		public String name;
+		public List<Integer> numbers;
+	}
+
+	public static class NotCompiled {
+		public int x;
+	}
+
+	private static String resource(String name) throws IOException {
+		try (InputStream is = NativeImageTest.class.getClassLoader().getResourceAsStream(name)) {
+			Assert.assertNotNull(is);
+			return new Scanner(is, "UTF-8").useDelimiter("\\A").next();
+		}
+	}
+
+	@Test
+	public void reflectConfig() throws IOException {
+		String json = resource("META-INF/native-image/com.dslplatform.json/" + CONFIGURATION + "/reflect-config.json");
+		Assert.assertTrue(json.contains("\"name\": \"" + CONFIGURATION + "\""));
+		Assert.assertTrue(json.contains("\"<init>\""));
+		Assert.assertTrue(new DslJson<>(Settings.withRuntime()).deserialize(Object.class, json.getBytes("UTF-8"), json.length()) instanceof List);
+	}
+
+	@Test
+	public void resourceConfig() throws IOException {
+		String json = resource("META-INF/native-image/com.dslplatform.json/" + CONFIGURATION + "/resource-config.json");
+		Assert.assertTrue(json.contains("META-INF/services/com.dslplatform.json.Configuration"));
+		Assert.assertTrue(new DslJson<>(Settings.withRuntime()).deserialize(Object.class, json.getBytes("UTF-8"), json.length()) instanceof Map);
+	}
+
+	@Test
+	public void basicSetupWithoutServiceLoader() throws IOException, ReflectiveOperationException {
+		Configuration configuration = (Configuration) Class.forName(CONFIGURATION).newInstance();
+		DslJson<Object> dslJson = new DslJson<>(Settings.basicSetup().with(configuration));
+		Model model = new Model();
+		model.name = "abc";
+		model.numbers = Arrays.asList(1, 2);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(model, os);
+		Assert.assertEquals("{\"numbers\":[1,2],\"name\":\"abc\"}", os.toString());
+		Model res = dslJson.deserialize(Model.class, os.toByteArray(), os.size());
+		Assert.assertEquals(model.numbers, res.numbers);
+		Assert.assertNull(dslJson.tryFindReader(NotCompiled.class));
+	}
+
+	@Test
+	public void basicSetupSupportsOnlyInterfaceContainers() {
+		DslJson<Object> dslJson = new DslJson<>(Settings.basicSetup());
+		Assert.assertNotNull(dslJson.tryFindReader(List.class));
+		Assert.assertNotNull(dslJson.tryFindReader(Map.class));
+		Assert.assertNull(dslJson.tryFindReader(ArrayList.class));
+		Assert.assertNull(dslJson.tryFindReader(TreeMap.class));
+		Assert.assertNotNull(dslJson.tryFindWriter(ArrayList.class));
+	}
+}
@@ -6,8 +6,7 @@ import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 public class ObjectFormatTest {
 
@@ -37,6 +36,53 @@ public class ObjectFormatTest {
 		}
 	}
 
+	@CompiledJson
+	public static class CollidingNames {
+		public int n3307663;
+		public int n519524;
+		public String other;
+	}
+
+	@CompiledJson
+	public static class ImmutableCollidingNames {
+		public final int n3307663;
+		public final int n519524;
+
+		public ImmutableCollidingNames(int n3307663, int n519524) {
+			this.n3307663 = n3307663;
+			this.n519524 = n519524;
+		}
+	}
+
+	public enum Level {
+		LOW,
+		HIGHEST
+	}
+
+	//constants have the same hash, so they must be resolved by comparing names
+	public enum CollidingConstants {
+		n3307663,
+		n519524,
+		other
+	}
+
+	@CompiledJson
+	public static class HasCollidingConstants {
+		public CollidingConstants first;
+		public List<CollidingConstants> all;
+	}
+
+	@CompiledJson
+	public static class Flat {
+		public int i;
+		public long l;
+		public boolean b;
+		public UUID u;
+		public Level e;
+		public String s;
+		public Long n;
+	}
+
 	private final DslJson<Object> dslJsonFull = new DslJson<>(Settings.withRuntime().allowArrayFormat(true).includeServiceLoader());
 	private final DslJson<Object> dslJsonMinimal = new DslJson<>(Settings.withRuntime().allowArrayFormat(true).skipDefaultValues(true).includeServiceLoader());
 
@@ -76,4 +122,63 @@ public class ObjectFormatTest {
 			Assert.assertArrayEquals(c.x, res.x);
 		}
 	}
+
+	@Test
+	public void collidingNamesOutOfOrder() throws IOException {
+		for (DslJson<Object> dslJson : dslJsons) {
+			byte[] input = "{\"other\":\"x\",\"unknown\":1,\"n519524\":2,\"n3307663\":1}".getBytes("UTF-8");
+			CollidingNames res = dslJson.deserialize(CollidingNames.class, input, input.length);
+			Assert.assertEquals(1, res.n3307663);
+			Assert.assertEquals(2, res.n519524);
+			Assert.assertEquals("x", res.other);
+			ImmutableCollidingNames imm = dslJson.deserialize(ImmutableCollidingNames.class, input, input.length);
+			Assert.assertEquals(1, imm.n3307663);
+			Assert.assertEquals(2, imm.n519524);
+		}
+	}
+
+	@Test
+	public void collidingEnumConstants() throws IOException {
+		for (DslJson<Object> dslJson : dslJsons) {
+			HasCollidingConstants c = new HasCollidingConstants();
+			c.first = CollidingConstants.n519524;
+			c.all = Arrays.asList(CollidingConstants.n3307663, CollidingConstants.other, CollidingConstants.n519524);
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			dslJson.serialize(c, os);
+			HasCollidingConstants res = dslJson.deserialize(HasCollidingConstants.class, os.toByteArray(), os.size());
+			Assert.assertEquals(CollidingConstants.n519524, res.first);
+			Assert.assertEquals(c.all, res.all);
+		}
+	}
+
+	@Test
+	public void reservedWritesAcrossFlushes() throws IOException {
+		List<Flat> items = new ArrayList<>();
+		for (int x = 0; x < 1000; x++) {
+			Flat f = new Flat();
+			f.i = x % 2 == 0 ? Integer.MIN_VALUE : x;
+			f.l = x % 3 == 0 ? Long.MIN_VALUE : x;
+			f.b = x % 2 == 0;
+			f.u = x % 5 == 0 ? null : UUID.randomUUID();
+			f.e = x % 7 == 0 ? null : Level.HIGHEST;
+			f.s = x % 4 == 0 ? null : "abc" + x;
+			f.n = x % 6 == 0 ? null : (long) -x;
+			items.add(f);
+		}
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJsonFull.serialize(items, os);
+		List<Flat> res = dslJsonFull.deserializeList(Flat.class, os.toByteArray(), os.size());
+		Assert.assertEquals(items.size(), res.size());
+		for (int x = 0; x < items.size(); x++) {
+			Flat f = items.get(x);
+			Flat r = res.get(x);
+			Assert.assertEquals(f.i, r.i);
+			Assert.assertEquals(f.l, r.l);
+			Assert.assertEquals(f.b, r.b);
+			Assert.assertEquals(f.u, r.u);
+			Assert.assertEquals(f.e, r.e);
+			Assert.assertEquals(f.s, r.s);
+			Assert.assertEquals(f.n, r.n);
+		}
+	}
 }
@@ -0,0 +1,70 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class RawJsonTest {
+
+	@CompiledJson
+	public static class Envelope {
+		public String id;
+		public RawJson payload;
+		@JsonAttribute(nullable = false)
+		public RawJson meta;
+		public List<RawJson> parts;
+	}
+
+	public static class RuntimeEnvelope {
+		public RawJson payload;
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+
+	@Test
+	public void compiledRoundtrip() throws IOException {
+		byte[] input = "{\"id\":\"a\",\"payload\": {\"x\": [1, 2], \"y\":\"z\"} ,\"meta\":5,\"parts\":[true,\"s\",{}]}".getBytes("UTF-8");
+		Envelope envelope = dslJson.deserialize(Envelope.class, input, input.length);
+		Assert.assertEquals("a", envelope.id);
+		Assert.assertEquals(RawJson.of("{\"x\": [1, 2], \"y\":\"z\"}"), envelope.payload);
+		Assert.assertEquals(RawJson.of("5"), envelope.meta);
+		Assert.assertEquals(Arrays.asList(RawJson.of("true"), RawJson.of("\"s\""), RawJson.of("{}")), envelope.parts);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(envelope, os);
+		Envelope res = dslJson.deserialize(Envelope.class, os.toByteArray(), os.size());
+		Assert.assertEquals(envelope.payload, res.payload);
+		Assert.assertEquals(envelope.meta, res.meta);
+		Assert.assertEquals(envelope.parts, res.parts);
+	}
+
+	@Test
+	public void compiledConverterIsUsed() {
+		Assert.assertTrue(dslJson.tryFindWriter(Envelope.class).getClass().getName().startsWith(NativeImageTest.CONFIGURATION));
+	}
+
+	@Test
+	public void nonNullable() throws IOException {
+		byte[] input = "{\"meta\":null}".getBytes("UTF-8");
+		try {
+			dslJson.deserialize(Envelope.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("not allowed to be null"));
+		}
+	}
+
+	@Test
+	public void runtimeRoundtrip() throws IOException {
+		byte[] input = "{\"payload\":[{\"a\":null}]}".getBytes("UTF-8");
+		RuntimeEnvelope envelope = dslJson.deserialize(RuntimeEnvelope.class, input, input.length);
+		Assert.assertEquals("[{\"a\":null}]", envelope.payload.toString());
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		dslJson.serialize(envelope, os);
+		Assert.assertEquals("{\"payload\":[{\"a\":null}]}", os.toString());
+	}
+}
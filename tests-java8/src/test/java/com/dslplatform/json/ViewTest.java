@@ -0,0 +1,150 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.runtime.Settings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class ViewTest {
+
+	public interface Summary {
+	}
+
+	public interface Detail {
+	}
+
+	public interface Internal {
+	}
+
+	@CompiledJson(views = {Summary.class, Detail.class})
+	public static class Account {
+		public int id;
+		@JsonAttribute(views = Detail.class)
+		public String email;
+		@JsonAttribute(views = {Summary.class, Detail.class})
+		public String name;
+		@JsonAttribute(views = Detail.class)
+		public List<Item> items;
+		public Item primary;
+	}
+
+	@CompiledJson(views = {Summary.class, Internal.class})
+	public static class Item {
+		public String code;
+		@JsonAttribute(views = {})
+		public long count;
+		@JsonAttribute(views = Internal.class)
+		public String note;
+	}
+
+	@CompiledJson(views = Summary.class)
+	public static class Order {
+		public List<Item> lines;
+	}
+
+	@CompiledJson(views = Summary.class)
+	public static class ImmutableItem {
+		@JsonAttribute(views = Summary.class)
+		public final String code;
+		public final long count;
+
+		public ImmutableItem(String code, long count) {
+			this.code = code;
+			this.count = count;
+		}
+	}
+
+	private final DslJson<Object> dslJson = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+	private final DslJson<Object> dslJsonMinimal = new DslJson<>(Settings.withRuntime().skipDefaultValues(true).includeServiceLoader());
+
+	private static Account account() {
+		Account a = new Account();
+		a.id = 7;
+		a.email = "a@b.c";
+		a.name = "abc";
+		Item item = new Item();
+		item.code = "X";
+		item.count = 2;
+		item.note = "n";
+		a.items = Arrays.asList(item);
+		a.primary = item;
+		return a;
+	}
+
+	private static <T> String write(DslJson<Object> json, Class<T> manifest, Class<?> view, T value) {
+		JsonWriter.WriteObject<T> writer = json.tryFindWriter(manifest, view);
+		Assert.assertNotNull(writer);
+		JsonWriter output = json.newWriter();
+		writer.write(output, value);
+		return output.toString();
+	}
+
+	@Test
+	public void defaultWriterIncludesEverything() throws IOException {
+		Assert.assertEquals(
+				"{\"primary\":{\"count\":2,\"code\":\"X\",\"note\":\"n\"},\"email\":\"a@b.c\",\"items\":[{\"count\":2,\"code\":\"X\",\"note\":\"n\"}],\"id\":7,\"name\":\"abc\"}",
+				write(dslJson, Account.class, null, account()));
+	}
+
+	@Test
+	public void summaryView() {
+		String summary = write(dslJson, Account.class, Summary.class, account());
+		Assert.assertEquals(
+				"{\"primary\":{\"count\":2,\"code\":\"X\"},\"id\":7,\"name\":\"abc\"}",
+				summary);
+		Assert.assertFalse(summary.contains("note"));
+	}
+
+	@Test
+	public void collectionContentUsesView() {
+		Order order = new Order();
+		order.lines = account().items;
+		Assert.assertEquals(
+				"{\"lines\":[{\"count\":2,\"code\":\"X\"}]}",
+				write(dslJson, Order.class, Summary.class, order));
+	}
+
+	@Test
+	public void viewResolvesContentWriterOnFirstWrite() {
+		DslJson<Object> json = new DslJson<>(Settings.withRuntime().includeServiceLoader());
+		JsonWriter.WriteObject<Order> writer = json.tryFindWriter(Order.class, Summary.class);
+		json.registerWriter(Item.class, Summary.class, (JsonWriter.WriteObject<Item>) (w, v) -> w.writeAscii("\"" + v.code + "\""));
+		Order order = new Order();
+		order.lines = account().items;
+		JsonWriter output = json.newWriter();
+		writer.write(output, order);
+		Assert.assertEquals("{\"lines\":[\"X\"]}", output.toString());
+	}
+
+	@Test
+	public void detailView() {
+		Assert.assertEquals(
+				"{\"primary\":{\"count\":2,\"code\":\"X\",\"note\":\"n\"},\"email\":\"a@b.c\",\"items\":[{\"count\":2,\"code\":\"X\",\"note\":\"n\"}],\"id\":7,\"name\":\"abc\"}",
+				write(dslJson, Account.class, Detail.class, account()));
+	}
+
+	@Test
+	public void viewWithoutWriterFallsBack() {
+		Assert.assertSame(dslJson.tryFindWriter(Item.class), dslJson.tryFindWriter(Item.class, Detail.class));
+		Assert.assertNotSame(dslJson.tryFindWriter(Item.class), dslJson.tryFindWriter(Item.class, Summary.class));
+	}
+
+	@Test
+	public void immutableView() {
+		Assert.assertEquals(
+				"{\"code\":\"A\",\"count\":3}",
+				write(dslJson, ImmutableItem.class, Summary.class, new ImmutableItem("A", 3)));
+	}
+
+	@Test
+	public void viewRespectsOmitDefaults() {
+		Account a = account();
+		a.name = null;
+		Assert.assertEquals(
+				"{\"primary\":{\"count\":2,\"code\":\"X\"},\"id\":7}",
+				write(dslJsonMinimal, Account.class, Summary.class, a));
+	}
+}